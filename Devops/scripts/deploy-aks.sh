@@ -289,7 +289,7 @@ echo ""
 echo -e "${YELLOW}7️⃣  Verifying Deployments...${NC}"
 
 echo -e "${BLUE}Backend Services:${NC}"
-kubectl get deployments -n "$BACKEND_NAMESPACE"
+kubectl get deployments,statefulsets -n "$BACKEND_NAMESPACE"
 
 echo ""
 echo -e "${BLUE}Frontend:${NC}"
@@ -103,7 +103,7 @@ Write-Host "Deployment Status:" -ForegroundColor Yellow
 Write-Host ""
 
 Write-Host "Backend Services:" -ForegroundColor Cyan
-kubectl get deployments -n backend 2>$null
+kubectl get deployments,statefulsets -n backend 2>$null
 Write-Host ""
 kubectl get pods -n backend 2>$null
 
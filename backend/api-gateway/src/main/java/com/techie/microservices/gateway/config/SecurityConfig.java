@@ -1,9 +1,21 @@
 package com.techie.microservices.gateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -13,6 +25,30 @@ import java.util.List;
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * Operator-only requests take the operator's HTTP Basic credentials ({@code gateway.operator.*}).
+     * Without a configured password nobody can use them.
+     * <ul>
+     *     <li>/actuator/profiling: JFR recordings and dumps hold thread stacks, heap contents and
+     *     request details.</li>
+     *     <li>GET /api/order/**: order lookups and history return any customer's orders by email
+     *     or by order number, and order numbers are time-ordered, so easy to guess. Customers only
+     *     place orders.</li>
+     * </ul>
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain operatorSecurityFilterChain(HttpSecurity httpSecurity) throws Exception {
+        return httpSecurity
+                .securityMatcher(new OrRequestMatcher(EndpointRequest.to("profiling"),
+                        AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/api/order/**")))
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().hasRole("OPERATOR"))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .csrf(csrf -> csrf.disable())
+                .build();
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
         return httpSecurity
@@ -22,6 +58,18 @@ public class SecurityConfig {
                 .build();
     }
 
+    @Bean
+    UserDetailsService operatorUserDetailsService(@Value("${gateway.operator.username:operator}") String username,
+                                                  @Value("${gateway.operator.password:}") String password) {
+        if (password.isBlank()) {
+            return new InMemoryUserDetailsManager();
+        }
+        return new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(PasswordEncoderFactories.createDelegatingPasswordEncoder().encode(password))
+                .roles("OPERATOR")
+                .build());
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -33,4 +81,3 @@ public class SecurityConfig {
         return source;
     }
 }
-
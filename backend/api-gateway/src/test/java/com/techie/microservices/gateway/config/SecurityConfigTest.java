@@ -0,0 +1,73 @@
+package com.techie.microservices.gateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "gateway.operator.password=s3cret")
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void profiling_WithoutOperatorCredentials_ShouldBeUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/profiling"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/profiling").header(HttpHeaders.AUTHORIZATION, basic("operator", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void profiling_WithOperatorCredentials_ShouldBeAllowed() throws Exception {
+        mockMvc.perform(get("/actuator/profiling").header(HttpHeaders.AUTHORIZATION, basic("operator", "s3cret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void orderLookups_WithoutOperatorCredentials_ShouldBeUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/order/history").param("email", "customer@example.com"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/order/ORD-20240101-0001"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void orderLookups_WithOperatorCredentials_ShouldPassSecurity() throws Exception {
+        // order-service is not running here, so the route answers with its fallback
+        mockMvc.perform(get("/api/order/history").param("email", "customer@example.com")
+                        .header(HttpHeaders.AUTHORIZATION, basic("operator", "s3cret")))
+                .andExpect(result -> assertNotEquals(401, result.getResponse().getStatus()));
+    }
+
+    @Test
+    void placeOrder_ShouldStayOpen() throws Exception {
+        // order-service is not running here, so the route answers with its fallback
+        mockMvc.perform(post("/api/order").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(result -> assertNotEquals(401, result.getResponse().getStatus()));
+    }
+
+    @Test
+    void health_ShouldStayOpen() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
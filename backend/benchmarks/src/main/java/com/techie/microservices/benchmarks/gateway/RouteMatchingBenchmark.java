@@ -0,0 +1,78 @@
+package com.techie.microservices.benchmarks.gateway;
+
+import com.techie.microservices.gateway.routes.Routes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the handler for a request in the gateway's {@link Routes}, composed in bean order as
+ * {@code RouterFunctionMapping} composes them. Paths are tried in that order, so routes declared
+ * later (inventory, and unmatched paths that fall through every route) cost more. Matching
+ * stores the matched pattern on the request, so each lookup gets a new request with its path
+ * parsed, as the DispatcherServlet hands it over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RouteMatchingBenchmark {
+
+    @Param({"/api/auth/login", "/api/product/6650f1c2a4b5c6d7e8f90001", "/api/order", "/api/inventory",
+            "/aggregate/inventory-service/v3/api-docs", "/api/unknown"})
+    private String path;
+
+    private AnnotationConfigApplicationContext context;
+    private RouterFunction<?> routerFunction;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("services", Map.of(
+                "product.service.url", "http://localhost:8080",
+                "order.service.url", "http://localhost:8081",
+                "inventory.service.url", "http://localhost:8082")));
+        context.register(Routes.class);
+        context.refresh();
+        routerFunction = context.getBeanProvider(RouterFunction.class)
+                .orderedStream()
+                .<RouterFunction<?>>map(route -> route)
+                .reduce((first, second) -> first.andOther(second))
+                .orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<? extends HandlerFunction<?>> route() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", path);
+        ServletRequestPathUtils.parseAndCache(servletRequest);
+        return routerFunction.route(ServerRequest.create(servletRequest, List.of()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.techie.microservices.benchmarks.notification;
+
+import com.techie.microservices.order.event.kafka.AvroSchemaRegistry;
+import com.techie.microservices.order.event.kafka.OrderPlacedEventDeserializer;
+import com.techie.microservices.order.event.kafka.OrderPlacedEventSerializer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes/sec of {@link OrderPlacedEventSerializer} and
+ * {@link OrderPlacedEventDeserializer} against the generic path of the registry serde: a cached
+ * specific datum writer/reader with a new stream, encoder or decoder and event per record. Registry
+ * lookups are left out of the baseline, so it is the best case for the registry serde. The gc
+ * profiler reports {@code gc.alloc.rate.norm}, bytes allocated per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AvroSerdeBenchmark {
+
+    private static final String TOPIC = "order-placed";
+    private static final int SCHEMA_ID = 1;
+
+    private OrderPlacedEventSerializer serializer;
+    private OrderPlacedEventDeserializer deserializer;
+    private DatumWriter<OrderPlacedEvent> datumWriter;
+    private DatumReader<OrderPlacedEvent> datumReader;
+    private OrderPlacedEvent orderPlacedEvent;
+    private OrderPlacedEvent reusableEvent;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        AvroSchemaRegistry schemaRegistry = new AvroSchemaRegistry("http://localhost:8085") {
+            @Override
+            public int register(String subject, Schema schema) {
+                return SCHEMA_ID;
+            }
+
+            @Override
+            public Schema getById(int id) {
+                return OrderPlacedEvent.getClassSchema();
+            }
+        };
+        serializer = new OrderPlacedEventSerializer(schemaRegistry);
+        serializer.configure(Map.of(), false);
+        deserializer = new OrderPlacedEventDeserializer(schemaRegistry);
+        deserializer.configure(Map.of(), false);
+        datumWriter = new SpecificDatumWriter<>(OrderPlacedEvent.getClassSchema());
+        datumReader = new SpecificDatumReader<>(OrderPlacedEvent.getClassSchema());
+        orderPlacedEvent = new OrderPlacedEvent("0ABCDEF123456", "customer@example.com", "John", "Doe");
+        encoded = serializer.serialize(TOPIC, orderPlacedEvent);
+        reusableEvent = deserializer.deserialize(TOPIC, encoded);
+    }
+
+    @Benchmark
+    public byte[] encodeLightweight() {
+        return serializer.serialize(TOPIC, orderPlacedEvent);
+    }
+
+    @Benchmark
+    public byte[] encodeGeneric() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0);
+        out.write(ByteBuffer.allocate(4).putInt(SCHEMA_ID).array());
+        BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+        datumWriter.write(orderPlacedEvent, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public OrderPlacedEvent decodeLightweight() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+
+    @Benchmark
+    public OrderPlacedEvent decodeLightweightIntoReusedEvent() {
+        return deserializer.deserialize(TOPIC, encoded, reusableEvent);
+    }
+
+    @Benchmark
+    public OrderPlacedEvent decodeGeneric() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        if (buffer.get() != 0 || buffer.getInt() != SCHEMA_ID) {
+            throw new IllegalStateException("Unexpected header");
+        }
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(buffer.array(), buffer.position(),
+                buffer.remaining(), null);
+        return datumReader.read(null, decoder);
+    }
+}
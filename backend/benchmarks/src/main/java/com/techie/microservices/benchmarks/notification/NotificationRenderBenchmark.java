@@ -0,0 +1,79 @@
+package com.techie.microservices.benchmarks.notification;
+
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.avro.util.Utf8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders/sec of the compiled order-placed templates against the previous {@code String.format}
+ * rendering, both from Avro {@link Utf8} fields as the Kafka deserializer produces them, and of a
+ * digest of {@value #DIGEST_SIZE} orders. The gc profiler reports allocation per render.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NotificationRenderBenchmark {
+
+    private static final int DIGEST_SIZE = 10;
+
+    private NotificationRenderer notificationRenderer;
+    private OrderPlacedEvent orderPlacedEvent;
+    private List<OrderPlacedEvent> digest;
+
+    @Setup
+    public void setUp() {
+        notificationRenderer = new NotificationRenderer(List.of("fr"), "en");
+        orderPlacedEvent = new OrderPlacedEvent();
+        orderPlacedEvent.setOrderNumber(new Utf8("0ABCDEF123456"));
+        orderPlacedEvent.setEmail(new Utf8("customer@example.com"));
+        orderPlacedEvent.setFirstName(new Utf8("John"));
+        orderPlacedEvent.setLastName(new Utf8("Doe"));
+        digest = Collections.nCopies(DIGEST_SIZE, orderPlacedEvent);
+    }
+
+    @Benchmark
+    public NotificationRenderer.RenderedNotification compiledTextAndHtml() {
+        return notificationRenderer.render(orderPlacedEvent, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public NotificationRenderer.RenderedNotification compiledDigest() {
+        return notificationRenderer.renderDigest(digest);
+    }
+
+    @Benchmark
+    public String stringFormatText() {
+        String subject = String.format("Your Order with OrderNumber %s is placed successfully",
+                orderPlacedEvent.getOrderNumber());
+        String text = String.format("""
+                        Hi %s,%s
+
+                        Your order with order number %s is now placed successfully.
+
+                        Best Regards
+                        Spring Shop
+                        """,
+                orderPlacedEvent.getFirstName().toString(),
+                orderPlacedEvent.getLastName().toString(),
+                orderPlacedEvent.getOrderNumber());
+        return subject + text;
+    }
+}
@@ -0,0 +1,122 @@
+package com.techie.microservices.benchmarks.order;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.techie.microservices.order.client.InventoryAsyncClient;
+import com.techie.microservices.order.dto.CartRequest;
+import com.techie.microservices.order.dto.OrderRequest;
+import com.techie.microservices.order.dto.StockAvailability;
+import com.techie.microservices.order.dto.StockRequest;
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.model.OrderOutbox;
+import com.techie.microservices.order.repository.OrderLineRepository;
+import com.techie.microservices.order.repository.OrderOutboxRepository;
+import com.techie.microservices.order.repository.OrderRepository;
+import com.techie.microservices.order.service.OrderBatchWriter;
+import com.techie.microservices.order.service.OrderIdGenerator;
+import com.techie.microservices.order.service.OrderIdempotencyService;
+import com.techie.microservices.order.service.OrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Carts/sec through {@link OrderService#placeCart} for carts of 1, 10 and 50 lines: the order
+ * header saved through Hibernate, the lines written by {@link OrderLineRepository} as one JDBC
+ * batch and the event stored in the outbox, all in one transaction. inventory-service is a mock
+ * that finds every line in stock, so the cost is the cart's own write path. t_orders,
+ * t_order_lines and t_order_outbox are created by the service's Flyway migrations in a scratch
+ * database next to the {@link OrderBenchmarkDatabase}, dropped afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CartPlacementBenchmark {
+
+    private static final String DATABASE = "order_cart_benchmark";
+
+    private static final Logger ORDER_SERVICE_LOG = (Logger) LoggerFactory.getLogger(OrderService.class);
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private OrderService orderService;
+    private CartRequest cartRequest;
+
+    @Setup
+    public void setUp() {
+        // One INFO line per cart would be measured along with it
+        ORDER_SERVICE_LOG.setLevel(Level.WARN);
+        dataSource = OrderBenchmarkDatabase.migrate(DATABASE);
+        entityManagerFactory = OrderBenchmarkDatabase.entityManagerFactory(dataSource, Order.class, OrderOutbox.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+
+        InventoryAsyncClient inventoryClient = mock(InventoryAsyncClient.class, withSettings().stubOnly());
+        when(inventoryClient.checkStock(anyList(), any())).thenAnswer(invocation -> {
+            List<StockRequest> stockRequests = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(stockRequests.stream()
+                    .map(request -> new StockAvailability(request.skuCode(), request.quantity(), request.quantity(), true))
+                    .toList());
+        });
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderService(repositoryFactory.getRepository(OrderRepository.class), inventoryClient,
+                repositoryFactory.getRepository(OrderOutboxRepository.class),
+                new OrderLineRepository(new JdbcTemplate(dataSource)), new OrderIdGenerator(1),
+                mock(OrderIdempotencyService.class, withSettings().stubOnly()),
+                new OrderBatchWriter(transactionTemplate, meterRegistry, false, 16, Duration.ofMillis(2), 16),
+                transactionTemplate, meterRegistry);
+        cartRequest = new CartRequest(IntStream.range(0, lines)
+                .mapToObj(line -> new CartRequest.Line("sku_" + line, new BigDecimal("19.99"), 2))
+                .toList(), new OrderRequest.UserDetails("john@example.com", "John", "Doe"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        OrderBenchmarkDatabase.drop(dataSource, DATABASE);
+        ORDER_SERVICE_LOG.setLevel(null);
+    }
+
+    @Benchmark
+    public Order placeCart() {
+        return orderService.placeCart(cartRequest, null);
+    }
+}
@@ -0,0 +1,109 @@
+package com.techie.microservices.benchmarks.order;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import com.techie.microservices.order.event.kafka.AvroSchemaRegistry;
+import com.techie.microservices.order.event.kafka.OrderPlacedEventSerializer;
+import com.techie.microservices.order.kafka.ProducerProfile;
+import org.apache.avro.Schema;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Acknowledged events/sec for each {@link ProducerProfile}, publishing order events the way the
+ * outbox relay does: one thread handing {@value #EVENTS} records keyed by customer to the producer
+ * without waiting, then waiting for all of them to be acknowledged by an embedded single-node
+ * broker. The broker shares the machine with the producer and does not replicate, so compare the
+ * profiles with each other rather than with a production cluster.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class KafkaProducerProfileBenchmark {
+
+    private static final String TOPIC = "order-placed-bench";
+    private static final int EVENTS = 10_000;
+    private static final int CUSTOMERS = 1_000;
+
+    @Param
+    private ProducerProfile profile;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaProducer<String, OrderPlacedEvent> producer;
+    private OrderPlacedEvent[] events;
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, 6, TOPIC);
+        broker.afterPropertiesSet();
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        profile.applyTo(configs);
+        OrderPlacedEventSerializer valueSerializer = new OrderPlacedEventSerializer(
+                new AvroSchemaRegistry("http://localhost:8085") {
+                    @Override
+                    public int register(String subject, Schema schema) {
+                        return 1;
+                    }
+                });
+        producer = new KafkaProducer<>(configs, new StringSerializer(), valueSerializer);
+        events = new OrderPlacedEvent[EVENTS];
+        emails = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            emails[i] = "customer" + (i % CUSTOMERS) + "@example.com";
+            events[i] = new OrderPlacedEvent("ORDER-" + i, emails[i], "John", "Doe");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        producer.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void publish() throws InterruptedException {
+        CountDownLatch acknowledged = new CountDownLatch(EVENTS);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        for (int i = 0; i < EVENTS; i++) {
+            producer.send(new ProducerRecord<>(TOPIC, emails[i], events[i]), (metadata, exception) -> {
+                if (exception != null) {
+                    failure.compareAndSet(null, exception);
+                }
+                acknowledged.countDown();
+            });
+        }
+        if (!acknowledged.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Events not acknowledged within a minute");
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Publishing failed", failure.get());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.techie.microservices.benchmarks.order;
+
+import com.techie.microservices.order.service.OrderBatchWriter;
+import com.techie.microservices.order.service.OrderIdGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders/ms and write latency percentiles through {@link OrderBatchWriter} for batch sizes 1, 16
+ * and 128, with {@value #CALLERS} concurrent callers each committing one t_orders-shaped row per
+ * operation. Batch size 1 is the commit-per-order baseline. Rows go to a scratch table in the
+ * {@link OrderBenchmarkDatabase}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(OrderBatchWriterBenchmark.CALLERS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderBatchWriterBenchmark {
+
+    static final int CALLERS = 128;
+
+    @Param({"1", "16", "128"})
+    private int batchSize;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private OrderBatchWriter writer;
+    private OrderIdGenerator orderIdGenerator;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(OrderBenchmarkDatabase.url(), OrderBenchmarkDatabase.user(),
+                OrderBenchmarkDatabase.password(), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_orders_group_commit");
+        jdbcTemplate.execute("""
+                CREATE TABLE bench_orders_group_commit (
+                    id bigint NOT NULL,
+                    order_number char(13) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+                    sku_code varchar(255), quantity int, created_at datetime(6) NOT NULL,
+                    PRIMARY KEY (id), UNIQUE INDEX (order_number))""");
+
+        // The writer is the only thread touching the database, so one connection is enough
+        writer = new OrderBatchWriter(new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new SimpleMeterRegistry(), true, batchSize, Duration.ofMillis(2), CALLERS * 2);
+        writer.start();
+        orderIdGenerator = new OrderIdGenerator(1);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        writer.stop();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_orders_group_commit");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public void write() {
+        long id = orderIdGenerator.nextId();
+        writer.write(() -> jdbcTemplate.update(
+                "INSERT INTO bench_orders_group_commit (id, order_number, sku_code, quantity, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                id, OrderIdGenerator.toOrderNumber(id), "iphone_15", 1, Timestamp.from(Instant.now())));
+    }
+}
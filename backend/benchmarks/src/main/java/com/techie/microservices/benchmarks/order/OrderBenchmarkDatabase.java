@@ -0,0 +1,81 @@
+package com.techie.microservices.benchmarks.order;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The MySQL database the order benchmarks write to: BENCHMARK_JDBC_URL (default the docker-compose
+ * order_service database), BENCHMARK_JDBC_USER and BENCHMARK_JDBC_PASSWORD. Statements are batched
+ * on the wire as in the service.
+ */
+final class OrderBenchmarkDatabase {
+
+    private OrderBenchmarkDatabase() {
+    }
+
+    static String url() {
+        return baseUrl() + "?rewriteBatchedStatements=true";
+    }
+
+    static String user() {
+        return System.getenv().getOrDefault("BENCHMARK_JDBC_USER", "root");
+    }
+
+    static String password() {
+        return System.getenv().getOrDefault("BENCHMARK_JDBC_PASSWORD", "mysql");
+    }
+
+    /**
+     * A pool on a scratch database next to {@link #url()}, created and migrated with the service's
+     * own Flyway scripts, for benchmarks that need the real schema; {@link #drop} removes it.
+     */
+    static HikariDataSource migrate(String database) {
+        String url = baseUrl();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url.substring(0, url.lastIndexOf('/') + 1) + database
+                + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true");
+        dataSource.setUsername(user());
+        dataSource.setPassword(password());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+
+    static void drop(HikariDataSource dataSource, String database) {
+        new JdbcTemplate(dataSource).execute("DROP DATABASE " + database);
+        dataSource.close();
+    }
+
+    /**
+     * Hibernate over the given entities, with what Spring Boot and application.properties configure
+     * for the service: its naming strategies and batches of 50 inserts.
+     */
+    static EntityManagerFactory entityManagerFactory(DataSource dataSource, Class<?>... entities) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(
+                Arrays.stream(entities).map(Class::getName).toArray(String[]::new)));
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.physical_naming_strategy",
+                "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+                "hibernate.implicit_naming_strategy",
+                "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy",
+                "hibernate.jdbc.batch_size", "50",
+                "hibernate.order_inserts", "true"));
+        factoryBean.afterPropertiesSet();
+        return factoryBean.getObject();
+    }
+
+    private static String baseUrl() {
+        return System.getenv().getOrDefault("BENCHMARK_JDBC_URL", "jdbc:mysql://localhost:3306/order_service");
+    }
+}
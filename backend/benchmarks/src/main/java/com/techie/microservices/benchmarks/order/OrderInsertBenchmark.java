@@ -0,0 +1,161 @@
+package com.techie.microservices.benchmarks.order;
+
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.model.OrderStatus;
+import com.techie.microservices.order.repository.OrderRepository;
+import com.techie.microservices.order.service.OrderIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders/sec saved through {@link OrderRepository#save}, {@value #ORDERS_PER_TRANSACTION} per
+ * transaction, with the service's Hibernate settings: ids assigned by {@link OrderIdGenerator} let
+ * hibernate.jdbc.batch_size send the inserts of a transaction as one JDBC batch. The baseline saves
+ * the same orders as an IDENTITY-keyed entity with a random UUID order number, the t_orders
+ * mapping before V5, which Hibernate inserts one statement at a time to read each key back.
+ * <p>
+ * t_orders is created by the service's Flyway migrations in a scratch database next to the
+ * {@link OrderBenchmarkDatabase}, dropped afterwards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderInsertBenchmark {
+
+    private static final String DATABASE = "order_insert_benchmark";
+    private static final int ORDERS_PER_TRANSACTION = 50;
+
+    private HikariDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private OrderRepository orderRepository;
+    private IdentityOrderRepository identityOrderRepository;
+    private OrderIdGenerator orderIdGenerator;
+
+    @Setup
+    public void setUp() {
+        dataSource = OrderBenchmarkDatabase.migrate(DATABASE);
+        new JdbcTemplate(dataSource).execute("""
+                CREATE TABLE bench_orders_identity (
+                    id bigint NOT NULL AUTO_INCREMENT,
+                    order_number varchar(255) NOT NULL,
+                    sku_code varchar(255), price decimal(19, 2), quantity int,
+                    status varchar(20) NOT NULL, email varchar(255), first_name varchar(255),
+                    last_name varchar(255), created_at datetime(6) NOT NULL,
+                    PRIMARY KEY (id), INDEX (order_number))""");
+        entityManagerFactory = OrderBenchmarkDatabase.entityManagerFactory(dataSource, Order.class, IdentityOrder.class);
+        transactionTemplate = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        JpaRepositoryFactory repositoryFactory = new JpaRepositoryFactory(
+                SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory));
+        orderRepository = repositoryFactory.getRepository(OrderRepository.class);
+        identityOrderRepository = repositoryFactory.getRepository(IdentityOrderRepository.class);
+        orderIdGenerator = new OrderIdGenerator(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManagerFactory.close();
+        OrderBenchmarkDatabase.drop(dataSource, DATABASE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_TRANSACTION)
+    public void assignedIds() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ORDERS_PER_TRANSACTION; i++) {
+                Order order = new Order();
+                order.setId(orderIdGenerator.nextId());
+                order.setOrderNumber(OrderIdGenerator.toOrderNumber(order.getId()));
+                order.setSkuCode("iphone_15");
+                order.setPrice(new BigDecimal("999.99"));
+                order.setQuantity(1);
+                order.setStatus(OrderStatus.PLACED);
+                order.setEmail("john@example.com");
+                order.setFirstName("John");
+                order.setLastName("Doe");
+                order.setCreatedAt(Instant.now());
+                orderRepository.save(order);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_TRANSACTION)
+    public void identityAndUuid() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ORDERS_PER_TRANSACTION; i++) {
+                IdentityOrder order = new IdentityOrder();
+                order.orderNumber = UUID.randomUUID().toString();
+                order.skuCode = "iphone_15";
+                order.price = new BigDecimal("999.99");
+                order.quantity = 1;
+                order.status = OrderStatus.PLACED;
+                order.email = "john@example.com";
+                order.firstName = "John";
+                order.lastName = "Doe";
+                order.createdAt = Instant.now();
+                identityOrderRepository.save(order);
+            }
+        });
+    }
+
+    /**
+     * t_orders as mapped before V5: a database-generated key and a UUID order number.
+     */
+    @Entity
+    @Table(name = "bench_orders_identity")
+    public static class IdentityOrder {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        @Column(nullable = false)
+        private String orderNumber;
+        private String skuCode;
+        private BigDecimal price;
+        private Integer quantity;
+        @Enumerated(EnumType.STRING)
+        private OrderStatus status;
+        private String email;
+        private String firstName;
+        private String lastName;
+        private Instant createdAt;
+    }
+
+    public interface IdentityOrderRepository extends JpaRepository<IdentityOrder, Long> {
+    }
+}
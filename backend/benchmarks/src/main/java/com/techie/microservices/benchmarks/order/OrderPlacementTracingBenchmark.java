@@ -0,0 +1,184 @@
+package com.techie.microservices.benchmarks.order;
+
+import brave.Tracing;
+import brave.handler.SpanHandler;
+import brave.sampler.Sampler;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.techie.microservices.order.client.InventoryAsyncClient;
+import com.techie.microservices.order.dto.OrderRequest;
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.repository.OrderLineRepository;
+import com.techie.microservices.order.repository.OrderOutboxRepository;
+import com.techie.microservices.order.repository.OrderRepository;
+import com.techie.microservices.order.service.OrderBatchWriter;
+import com.techie.microservices.order.service.OrderIdGenerator;
+import com.techie.microservices.order.service.OrderIdempotencyService;
+import com.techie.microservices.order.service.OrderService;
+import com.techie.microservices.profiling.tracing.TailSamplingProperties;
+import com.techie.microservices.profiling.tracing.TailSamplingSpanHandler;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.brave.bridge.BraveBaggageManager;
+import io.micrometer.tracing.brave.bridge.BraveCurrentTraceContext;
+import io.micrometer.tracing.brave.bridge.BraveTracer;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import zipkin2.Call;
+import zipkin2.codec.Encoding;
+import zipkin2.reporter.Sender;
+import zipkin2.reporter.brave.AsyncZipkinSpanHandler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Orders/sec through {@link OrderService#placeOrder} from {@value #CALLERS} callers with tracing
+ * off, head sampled at 10% and 100%, and tail sampled with a 1% baseline. Each order is a server
+ * observation around placeOrder with a client observation for the inventory call, as in the
+ * running service; repositories and inventory-service are mocks, so the difference between modes
+ * is the cost of tracing itself. Spans are encoded to Zipkin JSON and discarded by the sender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(OrderPlacementTracingBenchmark.CALLERS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderPlacementTracingBenchmark {
+
+    static final int CALLERS = 16;
+
+    private static final Logger ORDER_SERVICE_LOG = (Logger) LoggerFactory.getLogger(OrderService.class);
+
+    public enum TracingMode {
+        OFF, HEAD_10, HEAD_100, TAIL
+    }
+
+    @Param
+    private TracingMode mode;
+
+    private ObservationRegistry observationRegistry;
+    private AsyncZipkinSpanHandler zipkinSpanHandler;
+    private Tracing tracing;
+    private OrderService orderService;
+    private OrderRequest orderRequest;
+
+    @Setup
+    public void setUp() {
+        // One INFO line per order would serialize the callers on the console appender
+        ORDER_SERVICE_LOG.setLevel(Level.WARN);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        zipkinSpanHandler = AsyncZipkinSpanHandler.create(new DiscardingSender());
+        TailSamplingSpanHandler tailSamplingSpanHandler = new TailSamplingSpanHandler(new TailSamplingProperties(
+                true, Duration.ofMillis(500), List.of(), 0.01, Duration.ofSeconds(5), 10_000, 1_000), meterRegistry);
+        tailSamplingSpanHandler.wrap(List.of(zipkinSpanHandler));
+
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        if (mode != TracingMode.OFF) {
+            SpanHandler spanHandler = mode == TracingMode.TAIL ? tailSamplingSpanHandler : zipkinSpanHandler;
+            Sampler sampler = mode == TracingMode.HEAD_10 ? Sampler.create(0.1f) : Sampler.ALWAYS_SAMPLE;
+            tracing = Tracing.newBuilder().localServiceName("order-service").sampler(sampler)
+                    .addSpanHandler(spanHandler).build();
+            BraveTracer tracer = new BraveTracer(tracing.tracer(),
+                    new BraveCurrentTraceContext(tracing.currentTraceContext()), new BraveBaggageManager());
+            observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+        }
+        orderService = orderService(observationRegistry, meterRegistry);
+        orderRequest = new OrderRequest(null, null, "iphone_15", new BigDecimal("999.00"), 1,
+                new OrderRequest.UserDetails("john@example.com", "John", "Doe"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        zipkinSpanHandler.close();
+        if (tracing != null) {
+            tracing.close();
+        }
+        ORDER_SERVICE_LOG.setLevel(null);
+    }
+
+    @Benchmark
+    public Order placeOrder() {
+        return Observation.createNotStarted("http.server.requests", observationRegistry)
+                .contextualName("http post /order")
+                .lowCardinalityKeyValue("uri", "/order")
+                .observe(() -> orderService.placeOrder(orderRequest, null));
+    }
+
+    private static OrderService orderService(ObservationRegistry observationRegistry,
+                                             SimpleMeterRegistry meterRegistry) {
+        InventoryAsyncClient inventoryClient = mock(InventoryAsyncClient.class, withSettings().stubOnly());
+        when(inventoryClient.isInStock(anyString(), anyInt(), any())).thenAnswer(invocation ->
+                Observation.createNotStarted("http.client.requests", observationRegistry)
+                        .contextualName("http get /api/inventory")
+                        .lowCardinalityKeyValue("uri", "/api/inventory")
+                        .observe(() -> CompletableFuture.completedFuture(true)));
+        OrderRepository orderRepository = mock(OrderRepository.class, withSettings().stubOnly());
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                mock(PlatformTransactionManager.class, withSettings().stubOnly()));
+        OrderBatchWriter orderBatchWriter = new OrderBatchWriter(transactionTemplate, meterRegistry, false, 16,
+                Duration.ofMillis(2), 16);
+        return new OrderService(orderRepository, inventoryClient,
+                mock(OrderOutboxRepository.class, withSettings().stubOnly()),
+                mock(OrderLineRepository.class, withSettings().stubOnly()), new OrderIdGenerator(1),
+                mock(OrderIdempotencyService.class, withSettings().stubOnly()), orderBatchWriter, transactionTemplate,
+                meterRegistry);
+    }
+
+    /**
+     * Drops encoded spans instead of posting them to Tempo.
+     */
+    private static final class DiscardingSender extends Sender {
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.JSON;
+        }
+
+        @Override
+        public int messageMaxBytes() {
+            return 500_000;
+        }
+
+        @Override
+        public int messageSizeInBytes(List<byte[]> encodedSpans) {
+            return Encoding.JSON.listSizeInBytes(encodedSpans);
+        }
+
+        @Override
+        public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+            return Call.create(null);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.techie.microservices.benchmarks.product;
+
+import com.techie.microservices.product.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtService} as used by login (issue) and by every authenticated request (verify, then
+ * read the role claim). The service comes from a Spring context so its {@code jwt.*} defaults are
+ * the ones the service runs with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(JwtService.class);
+        jwtService = context.getBean(JwtService.class);
+        token = jwtService.generateToken("john.doe@example.com", "USER");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.generateToken("john.doe@example.com", "USER");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return jwtService.isTokenValid(token);
+    }
+
+    @Benchmark
+    public String extractRole() {
+        return jwtService.extractRole(token);
+    }
+}
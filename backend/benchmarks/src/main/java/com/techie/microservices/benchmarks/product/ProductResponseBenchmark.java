@@ -0,0 +1,91 @@
+package com.techie.microservices.benchmarks.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techie.microservices.product.dto.ProductResponse;
+import com.techie.microservices.product.model.Product;
+import com.techie.microservices.product.repository.ProductRepository;
+import com.techie.microservices.product.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * GET /api/product without MongoDB: {@link ProductService#getAllProducts()} maps a page of
+ * {@code products} documents to {@link ProductResponse}s, and the page is written to JSON by an
+ * ObjectMapper configured the way Spring MVC's message converter configures it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductResponseBenchmark {
+
+    @Param({"1", "50"})
+    private int products;
+
+    private ProductService productService;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        List<Product> page = IntStream.range(0, products).mapToObj(ProductResponseBenchmark::product).toList();
+        ProductRepository productRepository = (ProductRepository) Proxy.newProxyInstance(
+                ProductRepository.class.getClassLoader(), new Class<?>[]{ProductRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && method.getParameterCount() == 0) {
+                        return page;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // Images are not touched when reading products
+        productService = new ProductService(productRepository, null);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<ProductResponse> map() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(productService.getAllProducts());
+    }
+
+    private static Product product(int index) {
+        return Product.builder()
+                .id("6650f1c2a4b5c6d7e8f9%04d".formatted(index))
+                .name("iPhone 15 Pro " + index)
+                .description("A17 Pro chip, titanium design and a 48MP main camera for sharper photos")
+                .skuCode("iphone_15_pro_" + index)
+                .price(new BigDecimal("1199.00"))
+                .category("Smartphones")
+                .images(List.of("/api/images/iphone-15-pro-front.png", "/api/images/iphone-15-pro-back.png",
+                        "/api/images/iphone-15-pro-side.png"))
+                .coverImage("/api/images/iphone-15-pro-front.png")
+                .rating(4.7)
+                .reviews(1284)
+                .inStock(42)
+                .colors(List.of("Natural Titanium", "Blue Titanium", "Black Titanium"))
+                .sizes(List.of("128GB", "256GB", "512GB"))
+                .build();
+    }
+}
@@ -1,19 +1,44 @@
 package com.techie.microservices.inventory.controller;
 
+import com.techie.microservices.inventory.dto.InventoryImportReport;
+import com.techie.microservices.inventory.dto.InventoryRecord;
+import com.techie.microservices.inventory.dto.StockAvailability;
+import com.techie.microservices.inventory.service.InventoryImportService;
 import com.techie.microservices.inventory.service.InventoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/inventory")
 @RequiredArgsConstructor
 public class InventoryController {
     private final InventoryService inventoryService;
+    private final InventoryImportService inventoryImportService;
 
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
     public boolean isInStock(@RequestParam String skuCode, @RequestParam Integer quantity) {
         return inventoryService.isInStock(skuCode, quantity);
     }
+
+    @PostMapping("/check")
+    @ResponseStatus(HttpStatus.OK)
+    public List<StockAvailability> checkStock(@RequestBody List<InventoryRecord> requests) {
+        return inventoryService.checkStock(requests);
+    }
+
+    @PostMapping("/import")
+    @ResponseStatus(HttpStatus.OK)
+    public InventoryImportReport importInventory(@RequestPart("file") MultipartFile file,
+                                                 @RequestParam(defaultValue = "csv") String format) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return inventoryImportService.importInventory(inputStream, format);
+        }
+    }
 }
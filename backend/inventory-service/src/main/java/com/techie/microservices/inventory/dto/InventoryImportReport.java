@@ -0,0 +1,5 @@
+package com.techie.microservices.inventory.dto;
+
+public record InventoryImportReport(long added, long changed, long unchanged, long rejected,
+                                    long durationMillis, double rowsPerSecond) {
+}
@@ -0,0 +1,4 @@
+package com.techie.microservices.inventory.dto;
+
+public record InventoryRecord(String skuCode, Integer quantity) {
+}
@@ -0,0 +1,4 @@
+package com.techie.microservices.inventory.dto;
+
+public record StockAvailability(String skuCode, Integer requested, Integer available, boolean inStock) {
+}
@@ -0,0 +1,61 @@
+package com.techie.microservices.inventory.repository;
+
+import com.techie.microservices.inventory.dto.InventoryRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to t_inventory for bulk operations. JPA is bypassed here so that
+ * statements go out as JDBC batches (rewritten into multi-row statements by the MySQL
+ * driver when rewriteBatchedStatements=true).
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryBulkRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<String, Integer> findQuantitiesBySkuCodes(List<String> skuCodes) {
+        Map<String, Integer> quantities = new HashMap<>(skuCodes.size() * 2);
+        if (skuCodes.isEmpty()) {
+            return quantities;
+        }
+        jdbcTemplate.query("SELECT sku_code, quantity FROM t_inventory WHERE sku_code IN (:skuCodes)",
+                new MapSqlParameterSource("skuCodes", skuCodes),
+                rs -> {
+                    quantities.put(rs.getString(1), rs.getInt(2));
+                });
+        return quantities;
+    }
+
+    public void batchInsert(List<InventoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO t_inventory (sku_code, quantity) VALUES (?, ?) " +
+                        "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)",
+                records, records.size(), (ps, inventoryRecord) -> {
+                    ps.setString(1, inventoryRecord.skuCode());
+                    ps.setInt(2, inventoryRecord.quantity());
+                });
+    }
+
+    public void batchUpdateQuantities(List<InventoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE t_inventory SET quantity = ? WHERE sku_code = ?",
+                records, records.size(), (ps, inventoryRecord) -> {
+                    ps.setInt(1, inventoryRecord.quantity());
+                    ps.setString(2, inventoryRecord.skuCode());
+                });
+    }
+}
@@ -3,6 +3,11 @@ package com.techie.microservices.inventory.repository;
 import com.techie.microservices.inventory.model.Inventory;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     boolean existsBySkuCodeAndQuantityIsGreaterThanEqual(String skuCode, Integer quantity);
+
+    List<Inventory> findBySkuCodeIn(Collection<String> skuCodes);
 }
@@ -0,0 +1,259 @@
+package com.techie.microservices.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.techie.microservices.inventory.dto.InventoryImportReport;
+import com.techie.microservices.inventory.dto.InventoryRecord;
+import com.techie.microservices.inventory.repository.InventoryBulkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams a CSV ({@code skuCode,quantity}) or NDJSON ({@code {"skuCode":..,"quantity":..}}) file
+ * into t_inventory. Rows are partitioned by SKU hash so each partition worker owns a disjoint set
+ * of rows, and every chunk is diffed and upserted in its own short transaction to keep row locks
+ * away from live stock checks.
+ */
+@Service
+@Slf4j
+public class InventoryImportService {
+
+    private static final List<InventoryRecord> END_OF_STREAM = List.of();
+
+    private final InventoryBulkRepository inventoryBulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader ndjsonReader;
+    private final Timer importTimer;
+    private final Counter addedCounter;
+    private final Counter changedCounter;
+    private final Counter unchangedCounter;
+    private final Counter rejectedCounter;
+
+    @Value("${inventory.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${inventory.import.partitions:4}")
+    private int partitions = 4;
+
+    public InventoryImportService(InventoryBulkRepository inventoryBulkRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry) {
+        this.inventoryBulkRepository = inventoryBulkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ndjsonReader = objectMapper.readerFor(InventoryRecord.class);
+        this.importTimer = meterRegistry.timer("inventory.import.duration");
+        this.addedCounter = meterRegistry.counter("inventory.import.rows", "result", "added");
+        this.changedCounter = meterRegistry.counter("inventory.import.rows", "result", "changed");
+        this.unchangedCounter = meterRegistry.counter("inventory.import.rows", "result", "unchanged");
+        this.rejectedCounter = meterRegistry.counter("inventory.import.rows", "result", "rejected");
+    }
+
+    public InventoryImportReport importInventory(InputStream inputStream, String format) throws IOException {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        if (!ndjson && !"csv".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported import format " + format + ", expected csv or ndjson");
+        }
+        log.info(" Start -- Inventory import in {} format, {} partitions, chunk size {}", format, partitions, chunkSize);
+        long start = System.nanoTime();
+        ImportTally tally = new ImportTally();
+
+        List<BlockingQueue<List<InventoryRecord>>> queues = new ArrayList<>(partitions);
+        List<Future<?>> workers = new ArrayList<>(partitions);
+        try (ExecutorService executor = Executors.newFixedThreadPool(partitions)) {
+            for (int i = 0; i < partitions; i++) {
+                BlockingQueue<List<InventoryRecord>> queue = new ArrayBlockingQueue<>(2);
+                queues.add(queue);
+                workers.add(executor.submit(() -> {
+                    drain(queue, tally);
+                    return null;
+                }));
+            }
+            readInto(inputStream, ndjson, queues, workers, tally);
+            for (Future<?> worker : workers) {
+                await(worker);
+            }
+        }
+
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        importTimer.record(durationMillis, TimeUnit.MILLISECONDS);
+        long processed = tally.added.get() + tally.changed.get() + tally.unchanged.get();
+        InventoryImportReport report = new InventoryImportReport(tally.added.get(), tally.changed.get(),
+                tally.unchanged.get(), tally.rejected.get(), durationMillis,
+                durationMillis == 0 ? processed : processed * 1000.0 / durationMillis);
+        log.info(" End -- Inventory import finished {}", report);
+        return report;
+    }
+
+    private void readInto(InputStream inputStream, boolean ndjson, List<BlockingQueue<List<InventoryRecord>>> queues,
+                          List<Future<?>> workers, ImportTally tally) throws IOException {
+        List<List<InventoryRecord>> buffers = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            buffers.add(new ArrayList<>(chunkSize));
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                InventoryRecord inventoryRecord = ndjson ? parseNdjson(line) : parseCsv(line);
+                boolean csvHeader = firstLine && !ndjson && inventoryRecord == null;
+                firstLine = false;
+                if (csvHeader) {
+                    continue;
+                }
+                if (inventoryRecord == null) {
+                    tally.rejected.incrementAndGet();
+                    rejectedCounter.increment();
+                    continue;
+                }
+                int partition = Math.floorMod(inventoryRecord.skuCode().hashCode(), partitions);
+                List<InventoryRecord> buffer = buffers.get(partition);
+                buffer.add(inventoryRecord);
+                if (buffer.size() >= chunkSize) {
+                    if (!hand(queues.get(partition), workers.get(partition), buffer)) {
+                        // The worker died; surface its failure rather than reading on
+                        await(workers.get(partition));
+                    }
+                    buffers.set(partition, new ArrayList<>(chunkSize));
+                }
+            }
+        } finally {
+            for (int i = 0; i < partitions; i++) {
+                if (!buffers.get(i).isEmpty()) {
+                    hand(queues.get(i), workers.get(i), buffers.get(i));
+                }
+                hand(queues.get(i), workers.get(i), END_OF_STREAM);
+            }
+        }
+    }
+
+    private boolean hand(BlockingQueue<List<InventoryRecord>> queue, Future<?> worker, List<InventoryRecord> chunk) {
+        try {
+            while (!queue.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (worker.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Inventory import interrupted", e);
+        }
+    }
+
+    private void drain(BlockingQueue<List<InventoryRecord>> queue, ImportTally tally) throws InterruptedException {
+        List<InventoryRecord> chunk;
+        while ((chunk = queue.take()) != END_OF_STREAM) {
+            applyChunk(chunk, tally);
+        }
+    }
+
+    void applyChunk(List<InventoryRecord> chunk, ImportTally tally) {
+        // Last occurrence of a SKU within the chunk wins; sorting keeps lock order stable
+        Map<String, InventoryRecord> latest = new LinkedHashMap<>(chunk.size() * 2);
+        for (InventoryRecord inventoryRecord : chunk) {
+            latest.put(inventoryRecord.skuCode(), inventoryRecord);
+        }
+        List<InventoryRecord> records = new ArrayList<>(latest.values());
+        records.sort(Comparator.comparing(InventoryRecord::skuCode));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Integer> existing = inventoryBulkRepository.findQuantitiesBySkuCodes(
+                    records.stream().map(InventoryRecord::skuCode).toList());
+            List<InventoryRecord> added = new ArrayList<>();
+            List<InventoryRecord> changed = new ArrayList<>();
+            for (InventoryRecord inventoryRecord : records) {
+                Integer current = existing.get(inventoryRecord.skuCode());
+                if (current == null) {
+                    added.add(inventoryRecord);
+                } else if (!current.equals(inventoryRecord.quantity())) {
+                    changed.add(inventoryRecord);
+                }
+            }
+            inventoryBulkRepository.batchInsert(added);
+            inventoryBulkRepository.batchUpdateQuantities(changed);
+
+            int unchanged = records.size() - added.size() - changed.size();
+            tally.added.addAndGet(added.size());
+            tally.changed.addAndGet(changed.size());
+            tally.unchanged.addAndGet(unchanged);
+            addedCounter.increment(added.size());
+            changedCounter.increment(changed.size());
+            unchangedCounter.increment(unchanged);
+        });
+    }
+
+    private InventoryRecord parseCsv(String line) {
+        int comma = line.indexOf(',');
+        if (comma <= 0) {
+            return null;
+        }
+        String skuCode = line.substring(0, comma).trim();
+        try {
+            return valid(skuCode, Integer.valueOf(line.substring(comma + 1).trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private InventoryRecord parseNdjson(String line) {
+        try {
+            InventoryRecord inventoryRecord = ndjsonReader.readValue(line);
+            return valid(inventoryRecord.skuCode(), inventoryRecord.quantity());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static InventoryRecord valid(String skuCode, Integer quantity) {
+        if (skuCode == null || skuCode.isBlank() || quantity == null || quantity < 0) {
+            return null;
+        }
+        return new InventoryRecord(skuCode, quantity);
+    }
+
+    private static void await(Future<?> worker) {
+        try {
+            worker.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Inventory import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Inventory import partition failed", e.getCause());
+        }
+    }
+
+    static class ImportTally {
+        final AtomicLong added = new AtomicLong();
+        final AtomicLong changed = new AtomicLong();
+        final AtomicLong unchanged = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+    }
+}
@@ -1,10 +1,18 @@
 package com.techie.microservices.inventory.service;
 
+import com.techie.microservices.inventory.dto.InventoryRecord;
+import com.techie.microservices.inventory.dto.StockAvailability;
+import com.techie.microservices.inventory.model.Inventory;
 import com.techie.microservices.inventory.repository.InventoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -18,4 +26,26 @@ public class InventoryService {
         log.info(" End -- Product with skuCode {}, and quantity {}, is in stock - {}", skuCode, quantity, isInStock);
         return isInStock;
     }
+
+    /**
+     * Checks several SKUs with a single query. Quantities requested for the same SKU are summed.
+     */
+    public List<StockAvailability> checkStock(List<InventoryRecord> requests) {
+        log.info(" Start -- Received request to check stock for {} lines", requests.size());
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (InventoryRecord request : requests) {
+            requested.merge(request.skuCode(), request.quantity(), Integer::sum);
+        }
+        Map<String, Integer> available = inventoryRepository.findBySkuCodeIn(requested.keySet()).stream()
+                .collect(Collectors.toMap(Inventory::getSkuCode, Inventory::getQuantity));
+        List<StockAvailability> availability = requested.entrySet().stream()
+                .map(entry -> {
+                    Integer quantity = available.getOrDefault(entry.getKey(), 0);
+                    return new StockAvailability(entry.getKey(), entry.getValue(), quantity,
+                            quantity >= entry.getValue());
+                })
+                .toList();
+        log.info(" End -- Checked stock for {} skuCodes", availability.size());
+        return availability;
+    }
 }
@@ -0,0 +1,3 @@
+ALTER TABLE `t_inventory`
+    MODIFY `sku_code` varchar(255) NOT NULL,
+    ADD CONSTRAINT `uk_inventory_sku_code` UNIQUE (`sku_code`);
@@ -0,0 +1,169 @@
+package com.techie.microservices.inventory.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techie.microservices.inventory.dto.InventoryImportReport;
+import com.techie.microservices.inventory.dto.InventoryRecord;
+import com.techie.microservices.inventory.repository.InventoryBulkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryImportServiceTest {
+
+    @Mock
+    private InventoryBulkRepository inventoryBulkRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryImportService inventoryImportService;
+    private final Map<String, Integer> table = Collections.synchronizedMap(new HashMap<>());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inventoryImportService = new InventoryImportService(inventoryBulkRepository,
+                new TransactionTemplate(transactionManager), new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(inventoryImportService, "chunkSize", 2);
+        ReflectionTestUtils.setField(inventoryImportService, "partitions", 3);
+
+        table.put("iphone_15", 100);
+        table.put("pixel_8", 100);
+        lenient().when(inventoryBulkRepository.findQuantitiesBySkuCodes(anyList())).thenAnswer(invocation -> {
+            Map<String, Integer> found = new HashMap<>();
+            for (String skuCode : invocation.<List<String>>getArgument(0)) {
+                if (table.containsKey(skuCode)) {
+                    found.put(skuCode, table.get(skuCode));
+                }
+            }
+            return found;
+        });
+        lenient().doAnswer(invocation -> {
+            invocation.<List<InventoryRecord>>getArgument(0).forEach(r -> table.put(r.skuCode(), r.quantity()));
+            return null;
+        }).when(inventoryBulkRepository).batchInsert(anyList());
+        lenient().doAnswer(invocation -> {
+            invocation.<List<InventoryRecord>>getArgument(0).forEach(r -> table.put(r.skuCode(), r.quantity()));
+            return null;
+        }).when(inventoryBulkRepository).batchUpdateQuantities(anyList());
+    }
+
+    @Test
+    void importInventory_WithCsv_ShouldReportAddedChangedAndUnchanged() throws Exception {
+        // Arrange
+        String csv = """
+                skuCode,quantity
+                iphone_15,100
+                pixel_8,42
+                galaxy_24,7
+                oneplus_12,3
+                """;
+
+        // Act
+        InventoryImportReport report = inventoryImportService.importInventory(stream(csv), "csv");
+
+        // Assert
+        assertEquals(2, report.added());
+        assertEquals(1, report.changed());
+        assertEquals(1, report.unchanged());
+        assertEquals(0, report.rejected());
+        assertEquals(42, table.get("pixel_8"));
+        assertEquals(7, table.get("galaxy_24"));
+        assertEquals(2.0, meterRegistry.counter("inventory.import.rows", "result", "added").count());
+    }
+
+    @Test
+    void importInventory_WithNdjson_ShouldCountMalformedLinesAsRejected() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"skuCode":"galaxy_24","quantity":5}
+                {"skuCode":"broken"
+                {"skuCode":"pixel_8","quantity":-1}
+                {"skuCode":"pixel_8","quantity":100}
+                """;
+
+        // Act
+        InventoryImportReport report = inventoryImportService.importInventory(stream(ndjson), "ndjson");
+
+        // Assert
+        assertEquals(1, report.added());
+        assertEquals(0, report.changed());
+        assertEquals(1, report.unchanged());
+        assertEquals(2, report.rejected());
+    }
+
+    @Test
+    void importInventory_WithManyRows_ShouldApplyEverySkuExactlyOnce() throws Exception {
+        // Arrange
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append("SKU-").append(i).append(',').append(i).append('\n');
+        }
+
+        // Act
+        InventoryImportReport report = inventoryImportService.importInventory(stream(csv.toString()), "csv");
+
+        // Assert
+        assertEquals(1000, report.added());
+        assertEquals(1002, table.size());
+        assertEquals(999, table.get("SKU-999"));
+    }
+
+    @Test
+    void importInventory_WhenChunkContainsDuplicateSku_ShouldKeepLastValue() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(inventoryImportService, "partitions", 1);
+        List<InventoryRecord> written = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            written.addAll(invocation.getArgument(0));
+            return null;
+        }).when(inventoryBulkRepository).batchUpdateQuantities(anyList());
+
+        // Act
+        inventoryImportService.importInventory(stream("pixel_8,1\npixel_8,2\n"), "csv");
+
+        // Assert
+        assertEquals(List.of(new InventoryRecord("pixel_8", 2)), written);
+    }
+
+    @Test
+    void importInventory_WhenPartitionFails_ShouldPropagateFailure() {
+        // Arrange
+        when(inventoryBulkRepository.findQuantitiesBySkuCodes(anyList()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> inventoryImportService.importInventory(stream("iphone_15,1\n"), "csv"));
+    }
+
+    @Test
+    void importInventory_WithUnknownFormat_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> inventoryImportService.importInventory(stream("iphone_15,1\n"), "xml"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,8 @@
 package com.techie.microservices.inventory.service;
 
+import com.techie.microservices.inventory.dto.InventoryRecord;
+import com.techie.microservices.inventory.dto.StockAvailability;
+import com.techie.microservices.inventory.model.Inventory;
 import com.techie.microservices.inventory.repository.InventoryRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +11,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -131,4 +137,26 @@ class InventoryServiceTest {
         assertTrue(result);
         verify(inventoryRepository).existsBySkuCodeAndQuantityIsGreaterThanEqual(testSkuCode, negativeQuantity);
     }
+
+    @Test
+    void checkStock_WithSeveralLines_ShouldQueryOnceAndSumDuplicateSkus() {
+        // Arrange
+        when(inventoryRepository.findBySkuCodeIn(Set.of("iphone_15", "pixel_8", "galaxy_24")))
+                .thenReturn(List.of(new Inventory(1L, "iphone_15", 10), new Inventory(2L, "pixel_8", 3)));
+
+        // Act
+        List<StockAvailability> result = inventoryService.checkStock(List.of(
+                new InventoryRecord("iphone_15", 4),
+                new InventoryRecord("pixel_8", 2),
+                new InventoryRecord("iphone_15", 4),
+                new InventoryRecord("pixel_8", 2),
+                new InventoryRecord("galaxy_24", 1)));
+
+        // Assert
+        assertEquals(List.of(
+                new StockAvailability("iphone_15", 8, 10, true),
+                new StockAvailability("pixel_8", 4, 3, false),
+                new StockAvailability("galaxy_24", 1, 0, false)), result);
+        verify(inventoryRepository).findBySkuCodeIn(Set.of("iphone_15", "pixel_8", "galaxy_24"));
+    }
 }
@@ -0,0 +1,99 @@
+package com.techie.microservices.loadtest;
+
+import com.techie.microservices.loadtest.scenario.Scenarios;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line of load-tests.jar, {@code --name=value} pairs; see {@link #USAGE}.
+ */
+public record LoadTestOptions(Path backendDir, Path resultsDir, List<String> scenarios, Duration duration,
+                              Duration warmup, double rateScale, int products, int maxInFlight,
+                              Duration requestTimeout, Path baseline, String mysqlUrl, String mysqlUsername,
+                              String mysqlPassword, List<String> serviceJvmOptions, boolean help) {
+
+    static final String USAGE = """
+            Usage: java -jar load-tests/target/load-tests.jar [--name=value ...]
+              --scenario=browse,login,order,burst  scenarios to run, in this order (default: all)
+              --duration=60s                       measured time per scenario
+              --warmup=15s                         unmeasured time per scenario before the measured runs
+              --rate-scale=1                       multiplies every scenario's session rate
+              --products=50                        products seeded into the catalog
+              --max-in-flight=1000                 sessions in flight beyond which new ones are dropped
+              --request-timeout=10s                per request, counted as an error when exceeded
+              --baseline=<report.json>             earlier report to compare p99 and throughput with
+              --backend-dir=.                      directory holding the services' target/ jars
+              --results-dir=load-results           where reports, service logs and JFR dumps go
+              --mysql-url=jdbc:mysql://host:3306/  use this MySQL server instead of an embedded MariaDB
+              --mysql-username=root, --mysql-password=
+              --service-jvm-options="-Xmx512m"     JVM options of each service
+            """;
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = values(args);
+        List<String> scenarios = Arrays.stream(values.getOrDefault("scenario", String.join(",", Scenarios.NAMES))
+                .split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+        scenarios.stream().filter(name -> !Scenarios.NAMES.contains(name)).findFirst().ifPresent(name -> {
+            throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + Scenarios.NAMES);
+        });
+        LoadTestOptions options = new LoadTestOptions(
+                Path.of(values.getOrDefault("backend-dir", ".")),
+                Path.of(values.getOrDefault("results-dir", "load-results")),
+                scenarios,
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "15s")),
+                Double.parseDouble(values.getOrDefault("rate-scale", "1")),
+                Integer.parseInt(values.getOrDefault("products", "50")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1000")),
+                duration(values.getOrDefault("request-timeout", "10s")),
+                values.containsKey("baseline") ? Path.of(values.get("baseline")) : null,
+                values.get("mysql-url"),
+                values.getOrDefault("mysql-username", "root"),
+                values.getOrDefault("mysql-password", ""),
+                jvmOptions(values),
+                values.containsKey("help"));
+        if (options.rateScale() <= 0 || options.products() <= 0 || options.maxInFlight() <= 0
+                || options.duration().isZero() || options.duration().isNegative()) {
+            throw new IllegalArgumentException("rate-scale, products, max-in-flight and duration must be positive");
+        }
+        return options;
+    }
+
+    /**
+     * {@code --name=value} pairs by name, with "help" for -h or --help.
+     */
+    static Map<String, String> values(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.equals("-h") || arg.equals("--help")) {
+                values.put("help", "true");
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return values;
+    }
+
+    static List<String> jvmOptions(Map<String, String> values) {
+        return Arrays.stream(values.getOrDefault("service-jvm-options", "-Xmx512m").split("\\s+"))
+                .filter(option -> !option.isEmpty()).toList();
+    }
+
+    /**
+     * 90s, 2m, 1m30s or ISO-8601.
+     */
+    static Duration duration(String value) {
+        String upper = value.trim().toUpperCase(Locale.ROOT);
+        return Duration.parse(upper.startsWith("P") ? upper : "PT" + upper);
+    }
+}
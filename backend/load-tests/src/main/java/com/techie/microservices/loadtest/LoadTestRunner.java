@@ -0,0 +1,196 @@
+package com.techie.microservices.loadtest;
+
+import com.techie.microservices.loadtest.driver.OpenModelDriver;
+import com.techie.microservices.loadtest.driver.Scenario;
+import com.techie.microservices.loadtest.report.LoadReport;
+import com.techie.microservices.loadtest.report.ReportWriter;
+import com.techie.microservices.loadtest.scenario.DataSeeder;
+import com.techie.microservices.loadtest.scenario.Scenarios;
+import com.techie.microservices.loadtest.scenario.SeedData;
+import com.techie.microservices.loadtest.service.ServiceLauncher;
+import com.techie.microservices.loadtest.service.ServiceSpec;
+import com.techie.microservices.loadtest.standin.LocalDependencies;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of load-tests.jar. Starts the local stand-ins, launches the five services from their
+ * packaged jars against them, seeds the catalog and stock, then runs each scenario through the
+ * gateway, first unmeasured for {@code --warmup} and then measured for {@code --duration}. The
+ * report goes to {@code load-results/load-<version>-<timestamp>.json}, and the service logs and
+ * JFR dumps to {@code load-results/run-<timestamp>/}:
+ * <pre>
+ * mvn package -DskipTests &amp;&amp; mvn -Pload-tests package -pl load-tests
+ * java -jar load-tests/target/load-tests.jar --scenario=order,burst --duration=2m
+ * java -jar load-tests/target/load-tests.jar --baseline=load-results/load-1.0-SNAPSHOT-20240601-101500.json
+ * </pre>
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadTestOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        if (options.help()) {
+            System.out.print(LoadTestOptions.USAGE);
+            return;
+        }
+
+        ReportWriter reportWriter = new ReportWriter();
+        LoadReport baseline = options.baseline() == null ? null : reportWriter.read(options.baseline());
+        Instant startedAt = Instant.now();
+        String timestamp = FILE_TIME.format(LocalDateTime.now());
+        Path runDir = options.resultsDir().resolve("run-" + timestamp).toAbsolutePath();
+
+        LoadReport report;
+        try (LocalDependencies dependencies = LocalDependencies.start(runDir, options.mysqlUrl(),
+                options.mysqlUsername(), options.mysqlPassword());
+             ServiceLauncher launcher = new ServiceLauncher(options.backendDir(), runDir.resolve("logs"),
+                     options.serviceJvmOptions())) {
+            List<ServiceSpec> services = services(dependencies, runDir);
+            for (ServiceSpec service : services) {
+                launcher.launch(service);
+            }
+            launcher.awaitReady(STARTUP_TIMEOUT);
+            String gatewayUrl = url(services, "api-gateway");
+            String productUrl = url(services, "product-service");
+            String inventoryUrl = url(services, "inventory-service");
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            SeedData seedData = new DataSeeder(httpClient, productUrl, inventoryUrl).seed(options.products());
+            Scenarios scenarios = new Scenarios(gatewayUrl, seedData, options.rateScale());
+            OpenModelDriver driver = new OpenModelDriver(httpClient, options.maxInFlight(), options.requestTimeout());
+
+            if (!options.warmup().isZero()) {
+                for (String name : options.scenarios()) {
+                    log.info("Warming up {} for {}", name, options.warmup());
+                    driver.run(scenarios.byName(name), options.warmup());
+                }
+            }
+            List<LoadReport.ScenarioResult> results = new ArrayList<>();
+            for (String name : options.scenarios()) {
+                Scenario scenario = scenarios.byName(name);
+                log.info("Running {} for {}", name, options.duration());
+                results.add(driver.run(scenario, options.duration()));
+            }
+
+            report = new LoadReport(runInfo(options, startedAt), results, new LoadReport.Dependencies(
+                    dependencies.emailsReceived(), dependencies.spanSink().requests(), dependencies.spanSink().bytes(),
+                    dependencies.schemaRegistry().registeredSchemas()));
+        }
+
+        Path reportFile = options.resultsDir().resolve("load-" + version() + "-" + timestamp + ".json");
+        reportWriter.write(report, reportFile);
+        System.out.println();
+        System.out.print(reportWriter.summary(report, baseline));
+        System.out.println("Latencies in ms. Report: " + reportFile + ", service logs: " + runDir.resolve("logs"));
+    }
+
+    /**
+     * The five services, the gateway last. product-, order- and inventory-service get the /api
+     * context path they run with in production, which is what the gateway routes to.
+     */
+    static List<ServiceSpec> services(LocalDependencies dependencies, Path runDir) throws IOException {
+        String schemaRegistryUrl = dependencies.schemaRegistry().url();
+
+        ServiceSpec product = ServiceSpec.of("product-service", "/api")
+                .with("spring.data.mongodb.uri", dependencies.mongoUri("product-service"))
+                .with("azure.storage.account-url", dependencies.blobStore().accountUrl());
+        ServiceSpec inventory = ServiceSpec.of("inventory-service", "/api")
+                .with("spring.datasource.url", dependencies.jdbcUrl("inventory_service"))
+                .with("spring.datasource.username", dependencies.mysqlUsername())
+                .with("spring.datasource.password", dependencies.mysqlPassword());
+        ServiceSpec notification = ServiceSpec.of("notification-service", "")
+                .with("spring.kafka.bootstrap-servers", dependencies.kafkaBootstrapServers())
+                .with("spring.kafka.consumer.properties.schema.registry.url", schemaRegistryUrl)
+                .with("spring.kafka.producer.properties.schema.registry.url", schemaRegistryUrl)
+                .with("spring.mail.host", "127.0.0.1")
+                .with("spring.mail.port", Integer.toString(dependencies.smtpPort()))
+                .with("spring.mail.username", "")
+                .with("spring.mail.password", "")
+                .with("notification.digest.state-dir", runDir.resolve("notification-digest").toString());
+        ServiceSpec order = ServiceSpec.of("order-service", "/api")
+                .with("spring.datasource.url", dependencies.jdbcUrl("order_service"))
+                .with("spring.datasource.username", dependencies.mysqlUsername())
+                .with("spring.datasource.password", dependencies.mysqlPassword())
+                .with("inventory.service.url", inventory.url())
+                .with("spring.kafka.bootstrap-servers", dependencies.kafkaBootstrapServers())
+                .with("spring.kafka.producer.properties.schema.registry.url", schemaRegistryUrl);
+        ServiceSpec gateway = ServiceSpec.of("api-gateway", "")
+                .with("product.service.url", product.url())
+                .with("order.service.url", order.url())
+                .with("inventory.service.url", inventory.url());
+
+        List<ServiceSpec> services = List.of(product, inventory, notification, order, gateway);
+        for (ServiceSpec service : services) {
+            if (!service.contextPath().isEmpty()) {
+                service.with("server.servlet.context-path", service.contextPath());
+            }
+            service.with("management.endpoint.health.probes.enabled", "true")
+                    .with("management.zipkin.tracing.endpoint", dependencies.spanSink().spansEndpoint())
+                    .with("profiling.dump-directory", runDir.resolve("jfr").resolve(service.name()).toString());
+        }
+        return services;
+    }
+
+    private static String url(List<ServiceSpec> services, String name) {
+        return services.stream().filter(service -> service.name().equals(name)).findFirst().orElseThrow().url();
+    }
+
+    private static LoadReport.RunInfo runInfo(LoadTestOptions options, Instant startedAt) {
+        return new LoadReport.RunInfo(version(), commit(options.backendDir()), startedAt.toString(),
+                options.duration().toString(), options.warmup().toString(), options.rateScale(),
+                Runtime.getRuntime().availableProcessors(), System.getProperty("java.version"),
+                System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+    }
+
+    static String version() {
+        String version = LoadTestRunner.class.getPackage().getImplementationVersion();
+        return version == null ? "dev" : version;
+    }
+
+    /**
+     * Commit the services were built from, or null outside a git checkout.
+     */
+    static String commit(Path backendDir) {
+        try {
+            Process git = new ProcessBuilder("git", "-C", backendDir.toString(), "rev-parse", "--short", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor(10, TimeUnit.SECONDS) && git.exitValue() == 0 ? output : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
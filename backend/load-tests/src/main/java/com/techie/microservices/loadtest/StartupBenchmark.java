@@ -0,0 +1,119 @@
+package com.techie.microservices.loadtest;
+
+import com.techie.microservices.loadtest.report.ReportWriter;
+import com.techie.microservices.loadtest.report.StartupReport;
+import com.techie.microservices.loadtest.service.ServiceLauncher;
+import com.techie.microservices.loadtest.service.ServiceSpec;
+import com.techie.microservices.loadtest.standin.LocalDependencies;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how long each service takes from launch until it is ready, started from its Spring
+ * Boot jar and from the fast-start layout its container image runs, class data sharing archive
+ * included. The services start one at a time against the load tests' local stand-ins. A training
+ * run makes each archive first, which also applies the database migrations, so every measured run
+ * starts from the same state; jar and fast-start runs alternate. The report goes to
+ * {@code load-results/startup-<version>-<timestamp>.json}:
+ * <pre>
+ * mvn -Pfast-start package -DskipTests &amp;&amp; mvn -Pload-tests package -pl load-tests
+ * java -cp load-tests/target/load-tests.jar com.techie.microservices.loadtest.StartupBenchmark --runs=5
+ * </pre>
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StartupOptions options;
+        try {
+            options = StartupOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(StartupOptions.USAGE);
+            System.exit(1);
+            return;
+        }
+        if (options.help()) {
+            System.out.print(StartupOptions.USAGE);
+            return;
+        }
+
+        Instant startedAt = Instant.now();
+        String timestamp = FILE_TIME.format(LocalDateTime.now());
+        Path runDir = options.resultsDir().resolve("startup-run-" + timestamp).toAbsolutePath();
+
+        List<StartupReport.ServiceStartup> results = new ArrayList<>();
+        try (LocalDependencies dependencies = LocalDependencies.start(runDir, options.mysqlUrl(),
+                options.mysqlUsername(), options.mysqlPassword());
+             ServiceLauncher launcher = new ServiceLauncher(options.backendDir(), runDir.resolve("logs"),
+                     options.serviceJvmOptions())) {
+            Map<String, ServiceSpec> services = LoadTestRunner.services(dependencies, runDir).stream()
+                    .collect(Collectors.toMap(ServiceSpec::name, Function.identity()));
+            for (String name : options.services()) {
+                ServiceSpec service = services.get(name);
+                Path archive = runDir.resolve("cds").resolve(name + ".jsa");
+                launcher.trainFastStart(service, archive, options.timeout());
+
+                List<Double> jarSeconds = new ArrayList<>();
+                List<Double> fastStartSeconds = new ArrayList<>();
+                for (int run = 1; run <= options.runs(); run++) {
+                    jarSeconds.add(timeToReady(launcher, options.timeout(), () -> launcher.launch(service)));
+                    fastStartSeconds.add(timeToReady(launcher, options.timeout(),
+                            () -> launcher.launchFastStart(service, archive)));
+                    log.info("{} run {} of {}: jar {}s, fast-start {}s", name, run, options.runs(),
+                            jarSeconds.getLast(), fastStartSeconds.getLast());
+                }
+                results.add(StartupReport.ServiceStartup.of(name, jarSeconds, fastStartSeconds, Files.size(archive)));
+            }
+        }
+
+        StartupReport report = new StartupReport(new StartupReport.RunInfo(LoadTestRunner.version(),
+                LoadTestRunner.commit(options.backendDir()), startedAt.toString(), options.runs(),
+                options.serviceJvmOptions(), Runtime.getRuntime().availableProcessors(),
+                System.getProperty("java.version"), System.getProperty("os.name") + " " + System.getProperty("os.arch")),
+                results);
+        ReportWriter reportWriter = new ReportWriter();
+        Path reportFile = options.resultsDir().resolve("startup-" + LoadTestRunner.version() + "-" + timestamp + ".json");
+        reportWriter.write(report, reportFile);
+        System.out.println();
+        System.out.print(reportWriter.summary(report));
+        System.out.println("Median seconds to ready. Report: " + reportFile + ", service logs: " + runDir.resolve("logs"));
+    }
+
+    /**
+     * Seconds from launching the service until it is ready, rounded to milliseconds; stops it again.
+     */
+    private static double timeToReady(ServiceLauncher launcher, Duration timeout, Launch launch)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            launch.run();
+            launcher.awaitReady(timeout);
+            return Math.round((System.nanoTime() - start) / 1_000_000.0) / 1000.0;
+        } finally {
+            launcher.stopAll();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Launch {
+        void run() throws IOException;
+    }
+}
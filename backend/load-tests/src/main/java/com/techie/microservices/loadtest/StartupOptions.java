@@ -0,0 +1,54 @@
+package com.techie.microservices.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@link StartupBenchmark}, {@code --name=value} pairs; see {@link #USAGE}.
+ */
+public record StartupOptions(Path backendDir, Path resultsDir, List<String> services, int runs, Duration timeout,
+                             String mysqlUrl, String mysqlUsername, String mysqlPassword,
+                             List<String> serviceJvmOptions, boolean help) {
+
+    static final List<String> SERVICES = List.of("product-service", "inventory-service", "notification-service",
+            "order-service", "api-gateway");
+
+    static final String USAGE = """
+            Usage: java -cp load-tests/target/load-tests.jar com.techie.microservices.loadtest.StartupBenchmark [--name=value ...]
+              --service=product-service,...        services to start, one at a time (default: all five)
+              --runs=3                             starts per service from each of the jar and the fast-start layout
+              --timeout=5m                         per start, until the readiness probe answers UP
+              --backend-dir=.                      directory holding the services' target/ jars and target/fast-start/
+              --results-dir=load-results           where the report, archives and service logs go
+              --mysql-url=jdbc:mysql://host:3306/  use this MySQL server instead of an embedded MariaDB
+              --mysql-username=root, --mysql-password=
+              --service-jvm-options="-Xmx512m"     JVM options of each service
+            """;
+
+    public static StartupOptions parse(String... args) {
+        Map<String, String> values = LoadTestOptions.values(args);
+        List<String> services = Arrays.stream(values.getOrDefault("service", String.join(",", SERVICES)).split(","))
+                .map(String::trim).filter(name -> !name.isEmpty()).toList();
+        services.stream().filter(name -> !SERVICES.contains(name)).findFirst().ifPresent(name -> {
+            throw new IllegalArgumentException("Unknown service " + name + ", expected one of " + SERVICES);
+        });
+        StartupOptions options = new StartupOptions(
+                Path.of(values.getOrDefault("backend-dir", ".")),
+                Path.of(values.getOrDefault("results-dir", "load-results")),
+                services,
+                Integer.parseInt(values.getOrDefault("runs", "3")),
+                LoadTestOptions.duration(values.getOrDefault("timeout", "5m")),
+                values.get("mysql-url"),
+                values.getOrDefault("mysql-username", "root"),
+                values.getOrDefault("mysql-password", ""),
+                LoadTestOptions.jvmOptions(values),
+                values.containsKey("help"));
+        if (options.runs() <= 0 || options.timeout().isZero() || options.timeout().isNegative()) {
+            throw new IllegalArgumentException("runs and timeout must be positive");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,84 @@
+package com.techie.microservices.loadtest.driver;
+
+import com.techie.microservices.loadtest.report.LoadReport;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: sessions start on a fixed schedule derived from the scenario's
+ * {@link RateProfile}, whether or not earlier sessions have finished, the way independent users
+ * arrive. A closed loop of N virtual users waits for each response before sending the next request
+ * and so slows down with the system under test, hiding exactly the queueing a load test is meant
+ * to find. Sessions still running when {@code maxInFlight} is reached are not queued behind: the
+ * new session is counted as dropped.
+ */
+@Slf4j
+public class OpenModelDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+
+    public OpenModelDriver(HttpClient httpClient, int maxInFlight, Duration requestTimeout) {
+        this.httpClient = httpClient;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Starts sessions of {@code scenario} for {@code duration}, then waits for the ones in flight.
+     * Throughput is counted over the whole time, draining included.
+     */
+    public LoadReport.ScenarioResult run(Scenario scenario, Duration duration) {
+        ScenarioStats stats = new ScenarioStats();
+        AtomicInteger inFlight = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+
+        long scheduledNanos = startNanos;
+        while (scheduledNanos < endNanos) {
+            long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+                continue;
+            }
+            stats.offered.increment();
+            if (inFlight.get() >= maxInFlight) {
+                stats.dropped.increment();
+            } else {
+                inFlight.incrementAndGet();
+                start(scenario, stats, scheduledNanos).whenComplete((ignored, error) -> {
+                    (error == null ? stats.completed : stats.failed).increment();
+                    inFlight.decrementAndGet();
+                });
+            }
+            double progress = (double) (scheduledNanos - startNanos) / duration.toNanos();
+            scheduledNanos += (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate().sessionsPerSecond(progress));
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{}: {} sessions still running after {}", scenario.name(), inFlight.get(), DRAIN_TIMEOUT);
+        }
+        return stats.result(scenario.name(), (System.nanoTime() - startNanos) / 1e9);
+    }
+
+    private CompletableFuture<?> start(Scenario scenario, ScenarioStats stats, long scheduledNanos) {
+        try {
+            return scenario.session().apply(new Session(httpClient, requestTimeout, stats, scheduledNanos));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.techie.microservices.loadtest.driver;
+
+/**
+ * Session arrival rate over the course of a run.
+ */
+@FunctionalInterface
+public interface RateProfile {
+
+    /**
+     * @param progress elapsed fraction of the run, from 0 (start) to 1 (end)
+     * @return sessions started per second at that point
+     */
+    double sessionsPerSecond(double progress);
+
+    static RateProfile constant(double sessionsPerSecond) {
+        return progress -> sessionsPerSecond;
+    }
+
+    /**
+     * {@code base} sessions per second, except {@code peak} between {@code from} and {@code to}.
+     */
+    static RateProfile spike(double base, double peak, double from, double to) {
+        return progress -> progress >= from && progress < to ? peak : base;
+    }
+
+    default RateProfile scaled(double factor) {
+        return progress -> sessionsPerSecond(progress) * factor;
+    }
+}
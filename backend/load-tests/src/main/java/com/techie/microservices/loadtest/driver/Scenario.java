@@ -0,0 +1,12 @@
+package com.techie.microservices.loadtest.driver;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * A user journey started at {@code rate}, independently of how many earlier ones are still
+ * running. {@code session} issues the journey's requests through the {@link Session} it is given
+ * and completes when the last response is in.
+ */
+public record Scenario(String name, RateProfile rate, Function<Session, CompletableFuture<?>> session) {
+}
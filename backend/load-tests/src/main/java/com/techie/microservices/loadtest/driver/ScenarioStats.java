@@ -0,0 +1,36 @@
+package com.techie.microservices.loadtest.driver;
+
+import com.techie.microservices.loadtest.report.LoadReport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sessions and per-step latencies of one scenario run; steps are reported in the order they were
+ * first sent.
+ */
+final class ScenarioStats {
+
+    private final Map<String, StepStats> steps = Collections.synchronizedMap(new LinkedHashMap<>());
+    final LongAdder offered = new LongAdder();
+    final LongAdder completed = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+
+    StepStats step(String name) {
+        return steps.computeIfAbsent(name, StepStats::new);
+    }
+
+    LoadReport.ScenarioResult result(String scenario, double seconds) {
+        List<LoadReport.StepResult> stepResults = new ArrayList<>();
+        synchronized (steps) {
+            steps.values().forEach(step -> stepResults.add(step.result(seconds)));
+        }
+        return new LoadReport.ScenarioResult(scenario, Math.round(seconds * 100.0) / 100.0, offered.sum(),
+                completed.sum(), failed.sum(), dropped.sum(), stepResults);
+    }
+}
@@ -0,0 +1,62 @@
+package com.techie.microservices.loadtest.driver;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Sends one session's requests and records how long each step took. The first step is timed from
+ * when the session was scheduled to start, not from when the request actually went out, so a
+ * driver that falls behind shows up as latency instead of silently lowering the load; later steps
+ * are timed from the previous response. A step answered with 4xx/5xx, or not answered at all,
+ * counts as an error and completes the returned future exceptionally, which ends the session.
+ */
+public final class Session {
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final ScenarioStats stats;
+    private final long scheduledStartNanos;
+    private boolean started;
+
+    Session(HttpClient httpClient, Duration requestTimeout, ScenarioStats stats, long scheduledStartNanos) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.stats = stats;
+        this.scheduledStartNanos = scheduledStartNanos;
+    }
+
+    public CompletableFuture<HttpResponse<String>> send(String step, HttpRequest.Builder request) {
+        long startNanos = started ? System.nanoTime() : scheduledStartNanos;
+        started = true;
+        StepStats stepStats = stats.step(step);
+        return httpClient.sendAsync(request.timeout(requestTimeout).build(), HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    long latencyNanos = System.nanoTime() - startNanos;
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        stepStats.recordError(latencyNanos, cause instanceof HttpTimeoutException
+                                ? "timeout" : cause.getClass().getSimpleName());
+                        throw new CompletionException(cause);
+                    }
+                    if (response.statusCode() >= 400) {
+                        stepStats.recordError(latencyNanos, Integer.toString(response.statusCode()));
+                        throw new CompletionException(new StepFailedException(step, response.statusCode()));
+                    }
+                    stepStats.recordSuccess(latencyNanos);
+                    return response;
+                });
+    }
+
+    public static class StepFailedException extends RuntimeException {
+
+        public StepFailedException(String step, int status) {
+            super(step + " answered " + status);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.techie.microservices.loadtest.driver;
+
+import com.techie.microservices.loadtest.report.LoadReport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one step, errors included, in an HdrHistogram with microsecond resolution and three
+ * significant digits up to two minutes; slower responses are recorded as two minutes.
+ */
+final class StepStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+
+    StepStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long latencyNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+    }
+
+    void recordError(long latencyNanos, String cause) {
+        recordSuccess(latencyNanos);
+        errors.increment();
+        errorsByCause.computeIfAbsent(cause, ignored -> new LongAdder()).increment();
+    }
+
+    LoadReport.StepResult result(double seconds) {
+        Map<String, Long> causes = new TreeMap<>();
+        errorsByCause.forEach((cause, count) -> causes.put(cause, count.sum()));
+        long requests = latencies.getTotalCount();
+        return new LoadReport.StepResult(name, requests, errors.sum(), causes, round(requests / seconds),
+                new LoadReport.Latency(
+                        millis(latencies.getMean()),
+                        millis(latencies.getValueAtPercentile(50)),
+                        millis(latencies.getValueAtPercentile(90)),
+                        millis(latencies.getValueAtPercentile(99)),
+                        millis(latencies.getValueAtPercentile(99.9)),
+                        millis(latencies.getMaxValue())));
+    }
+
+    private static double millis(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
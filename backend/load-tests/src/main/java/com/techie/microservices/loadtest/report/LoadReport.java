@@ -0,0 +1,42 @@
+package com.techie.microservices.loadtest.report;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one load-test run, written as JSON so later runs can be compared with it. Latencies
+ * are in milliseconds, rates per second.
+ */
+public record LoadReport(RunInfo run, List<ScenarioResult> scenarios, Dependencies dependencies) {
+
+    /**
+     * What the run was made with: the load-tests version and backend commit, and the settings and
+     * machine that shape the numbers.
+     */
+    public record RunInfo(String version, String commit, String startedAt, String duration, String warmup,
+                          double rateScale, int processors, String javaVersion, String os) {
+    }
+
+    /**
+     * @param sessionsOffered sessions due by the rate profile, dropped ones included
+     */
+    public record ScenarioResult(String name, double seconds, long sessionsOffered, long sessionsCompleted,
+                                 long sessionsFailed, long sessionsDropped, List<StepResult> steps) {
+    }
+
+    /**
+     * @param errorsByCause error count per HTTP status, "timeout" or exception name
+     */
+    public record StepResult(String name, long requests, long errors, Map<String, Long> errorsByCause,
+                             double requestsPerSecond, Latency latencyMs) {
+    }
+
+    public record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    /**
+     * What reached the stand-ins behind the services over the whole run, warmup included.
+     */
+    public record Dependencies(long emailsDelivered, long spanExports, long spanBytes, int schemasRegistered) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.techie.microservices.loadtest.report;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a {@link LoadReport} as JSON and summarises it as a table, side by side with a baseline
+ * run when one is given: p99 latency and throughput then show their change in percent. Does the
+ * same for a {@link StartupReport}, whose table sets each service's fast-start time against its jar.
+ */
+public class ReportWriter {
+
+    private static final String HEADER = "%-8s %-14s %8s %7s %9s %9s %9s %9s %9s %9s";
+    private static final String ROW = "%-8s %-14s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f";
+    private static final String STARTUP_HEADER = "%-21s %5s %9s %15s %8s %11s%n";
+    private static final String STARTUP_ROW = "%-21s %5d %9.2f %15.2f %8s %11d%n";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public void write(LoadReport report, Path file) throws IOException {
+        writeJson(report, file);
+    }
+
+    public void write(StartupReport report, Path file) throws IOException {
+        writeJson(report, file);
+    }
+
+    private void writeJson(Object report, Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writeValue(file.toFile(), report);
+    }
+
+    public LoadReport read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), LoadReport.class);
+    }
+
+    /**
+     * @param baseline an earlier run to compare with, or null
+     */
+    public String summary(LoadReport report, LoadReport baseline) {
+        Map<String, LoadReport.StepResult> baselineSteps = new HashMap<>();
+        if (baseline != null) {
+            baseline.scenarios().forEach(scenario -> scenario.steps().forEach(
+                    step -> baselineSteps.put(scenario.name() + "/" + step.name(), step)));
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(HEADER.formatted("scenario", "step", "requests", "errors", "req/s", "mean", "p50", "p90",
+                "p99", "p99.9"));
+        if (baseline != null) {
+            summary.append("  %8s %8s".formatted("Δp99", "Δreq/s"));
+        }
+        summary.append('\n');
+        for (LoadReport.ScenarioResult scenario : report.scenarios()) {
+            for (LoadReport.StepResult step : scenario.steps()) {
+                LoadReport.Latency latency = step.latencyMs();
+                summary.append(ROW.formatted(scenario.name(), step.name(), step.requests(), step.errors(),
+                        step.requestsPerSecond(), latency.mean(), latency.p50(), latency.p90(), latency.p99(),
+                        latency.p999()));
+                if (baseline != null) {
+                    LoadReport.StepResult before = baselineSteps.get(scenario.name() + "/" + step.name());
+                    summary.append(before == null ? "  %8s %8s".formatted("-", "-") : "  %8s %8s".formatted(
+                            change(before.latencyMs().p99(), latency.p99()),
+                            change(before.requestsPerSecond(), step.requestsPerSecond())));
+                }
+                summary.append('\n');
+            }
+            if (scenario.sessionsDropped() > 0) {
+                summary.append("%-8s %d of %d sessions dropped at the in-flight limit%n".formatted(
+                        scenario.name(), scenario.sessionsDropped(), scenario.sessionsOffered()));
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Median startup-to-ready seconds of each service, from its jar and from its fast-start layout.
+     */
+    public String summary(StartupReport report) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(STARTUP_HEADER.formatted("service", "runs", "jar", "fast-start+CDS", "change", "archive MB"));
+        for (StartupReport.ServiceStartup service : report.services()) {
+            summary.append(STARTUP_ROW.formatted(service.name(), service.jarSeconds().size(), service.jarMedian(),
+                    service.fastStartMedian(), change(service.jarMedian(), service.fastStartMedian()),
+                    service.archiveBytes() >> 20));
+        }
+        return summary.toString();
+    }
+
+    static String change(double before, double after) {
+        if (before == 0) {
+            return "-";
+        }
+        return "%+.1f%%".formatted((after - before) * 100.0 / before);
+    }
+}
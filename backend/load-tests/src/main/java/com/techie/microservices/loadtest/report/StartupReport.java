@@ -0,0 +1,34 @@
+package com.techie.microservices.loadtest.report;
+
+import java.util.List;
+
+/**
+ * Startup-to-ready times of the services, each started from its Spring Boot jar and from its
+ * fast-start layout with a class data sharing archive, written as JSON. Times are in seconds, from
+ * launching the JVM until its readiness probe answers UP.
+ */
+public record StartupReport(RunInfo run, List<ServiceStartup> services) {
+
+    public record RunInfo(String version, String commit, String startedAt, int runs, List<String> jvmOptions,
+                          int processors, String javaVersion, String os) {
+    }
+
+    /**
+     * @param archiveBytes size of the class data sharing archive the fast-start runs mapped
+     */
+    public record ServiceStartup(String name, List<Double> jarSeconds, double jarMedian,
+                                 List<Double> fastStartSeconds, double fastStartMedian, long archiveBytes) {
+
+        public static ServiceStartup of(String name, List<Double> jarSeconds, List<Double> fastStartSeconds,
+                                        long archiveBytes) {
+            return new ServiceStartup(name, List.copyOf(jarSeconds), median(jarSeconds),
+                    List.copyOf(fastStartSeconds), median(fastStartSeconds), archiveBytes);
+        }
+
+        private static double median(List<Double> seconds) {
+            List<Double> sorted = seconds.stream().sorted().toList();
+            int middle = sorted.size() / 2;
+            return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.techie.microservices.loadtest.scenario;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills the freshly started services through their own APIs: stock for every SKU with one CSV
+ * import into inventory-service, then the catalog, each product with a small PNG cover image that
+ * product-service stores in the blob store. The users admin/admin and user/user are created by
+ * product-service itself. Seeding bypasses the gateway: the first calls into a cold service can
+ * outlast its 3s time limit, and it does not route /api/inventory/import.
+ */
+@Slf4j
+public class DataSeeder {
+
+    public static final String HOT_SKU_CODE = "flash_sale_console";
+    // Below inventory.stock-cache.safety-margin (50), so the stock cache never answers for it
+    private static final int HOT_SKU_STOCK = 40;
+    private static final int STOCK = 1_000_000;
+    private static final BigDecimal HOT_SKU_PRICE = new BigDecimal("499.00");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    // 1x1 transparent PNG
+    private static final String COVER_IMAGE = "data:image/png;base64,"
+            + "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String productUrl;
+    private final String inventoryUrl;
+
+    public DataSeeder(HttpClient httpClient, String productUrl, String inventoryUrl) {
+        this.httpClient = httpClient;
+        this.productUrl = productUrl;
+        this.inventoryUrl = inventoryUrl;
+    }
+
+    public SeedData seed(int productCount) throws IOException, InterruptedException {
+        List<String> skuCodes = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            skuCodes.add("load_test_sku_%04d".formatted(i));
+        }
+        importStock(skuCodes);
+
+        List<SeedData.Product> products = new ArrayList<>();
+        for (int i = 0; i < productCount; i++) {
+            products.add(createProduct(i, skuCodes.get(i)));
+        }
+        log.info("Seeded {} products and {} stock levels", products.size(), skuCodes.size() + 1);
+        return new SeedData(List.copyOf(products), HOT_SKU_CODE, HOT_SKU_PRICE);
+    }
+
+    private void importStock(List<String> skuCodes) throws IOException, InterruptedException {
+        StringBuilder csv = new StringBuilder("skuCode,quantity\n");
+        skuCodes.forEach(skuCode -> csv.append(skuCode).append(',').append(STOCK).append('\n'));
+        csv.append(HOT_SKU_CODE).append(',').append(HOT_SKU_STOCK).append('\n');
+
+        String boundary = "load-test-" + UUID.randomUUID();
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"stock.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n"
+                + csv
+                + "\r\n--" + boundary + "--\r\n";
+        send(HttpRequest.newBuilder(URI.create(inventoryUrl + "/api/inventory/import?format=csv"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private SeedData.Product createProduct(int index, String skuCode) throws IOException, InterruptedException {
+        BigDecimal price = new BigDecimal(19 + index % 80 * 10 + ".99");
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("name", "Load test product " + index)
+                .put("description", "Seeded by the load tests")
+                .put("skuCode", skuCode)
+                .put("price", price)
+                .put("category", index % 2 == 0 ? "Smartphones" : "Laptops")
+                .put("coverImage", COVER_IMAGE)
+                .put("rating", 4.5)
+                .put("reviews", index)
+                .put("inStock", STOCK);
+        request.putArray("images").add(COVER_IMAGE);
+        request.putArray("colors").add("Black");
+        request.putArray("sizes").add("128GB");
+
+        JsonNode product = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(productUrl + "/api/product"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(request.toString()))));
+        String coverImage = product.path("coverImage").asText(null);
+        if (coverImage == null) {
+            throw new IllegalStateException("Product " + skuCode + " was created without its cover image, "
+                    + "see product-service.log");
+        }
+        return new SeedData.Product(product.path("id").asText(), skuCode, price,
+                coverImage.substring(coverImage.lastIndexOf('/') + 1));
+    }
+
+    private String send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpRequest built = request.timeout(TIMEOUT).build();
+        HttpResponse<String> response = httpClient.send(built, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(built.method() + " " + built.uri() + " answered "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
@@ -0,0 +1,120 @@
+package com.techie.microservices.loadtest.scenario;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.techie.microservices.loadtest.driver.RateProfile;
+import com.techie.microservices.loadtest.driver.Scenario;
+import com.techie.microservices.loadtest.driver.Session;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The journeys the load tests replay through the gateway. Rates are sessions per second at
+ * {@code --rate-scale=1}:
+ * <ul>
+ *     <li>browse (20/s): list the catalog, open a product, load its cover image</li>
+ *     <li>login (10/s): log in, then validate the token as the frontend does on every page</li>
+ *     <li>order (20/s): place an order for a random SKU, with an Idempotency-Key</li>
+ *     <li>burst (5/s, 50/s from 40% to 60% of the run): a flash sale, every order for the same SKU,
+ *     which order-service has to check with inventory-service each time</li>
+ * </ul>
+ */
+public final class Scenarios {
+
+    public static final List<String> NAMES = List.of("browse", "login", "order", "burst");
+
+    private static final int CUSTOMERS = 1000;
+    private static final List<String[]> USERS = List.of(new String[]{"user", "user"}, new String[]{"admin", "admin"});
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String gatewayUrl;
+    private final SeedData seedData;
+    private final double rateScale;
+
+    public Scenarios(String gatewayUrl, SeedData seedData, double rateScale) {
+        this.gatewayUrl = gatewayUrl;
+        this.seedData = seedData;
+        this.rateScale = rateScale;
+    }
+
+    public Scenario byName(String name) {
+        return switch (name) {
+            case "browse" -> new Scenario(name, RateProfile.constant(20).scaled(rateScale), this::browse);
+            case "login" -> new Scenario(name, RateProfile.constant(10).scaled(rateScale), this::login);
+            case "order" -> new Scenario(name, RateProfile.constant(20).scaled(rateScale), this::order);
+            case "burst" -> new Scenario(name, RateProfile.spike(5, 50, 0.4, 0.6).scaled(rateScale), this::burst);
+            default -> throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of " + NAMES);
+        };
+    }
+
+    private CompletableFuture<?> browse(Session session) {
+        SeedData.Product product = seedData.products().get(ThreadLocalRandom.current().nextInt(seedData.products().size()));
+        return session.send("list-products", get("/api/product"))
+                .thenCompose(ignored -> session.send("get-product", get("/api/product/" + product.id())))
+                .thenCompose(ignored -> session.send("get-image", get("/api/images/" + product.imageFile())));
+    }
+
+    private CompletableFuture<?> login(Session session) {
+        String[] user = USERS.get(ThreadLocalRandom.current().nextInt(USERS.size()));
+        ObjectNode credentials = objectMapper.createObjectNode().put("username", user[0]).put("password", user[1]);
+        return session.send("login", post("/api/auth/login", credentials))
+                .thenCompose(response -> {
+                    String token = readTree(response.body()).path("token").asText();
+                    return session.send("validate", request("/api/auth/validate")
+                            .header("Authorization", "Bearer " + token)
+                            .POST(HttpRequest.BodyPublishers.noBody()));
+                });
+    }
+
+    private CompletableFuture<?> order(Session session) {
+        SeedData.Product product = seedData.products().get(ThreadLocalRandom.current().nextInt(seedData.products().size()));
+        return session.send("place-order", placeOrder(product.skuCode(), product.price()));
+    }
+
+    private CompletableFuture<?> burst(Session session) {
+        return session.send("place-order", placeOrder(seedData.hotSkuCode(), seedData.hotSkuPrice()));
+    }
+
+    private HttpRequest.Builder placeOrder(String skuCode, BigDecimal price) {
+        int customer = ThreadLocalRandom.current().nextInt(CUSTOMERS);
+        ObjectNode order = objectMapper.createObjectNode()
+                .put("skuCode", skuCode)
+                .put("price", price)
+                .put("quantity", 1);
+        order.putObject("userDetails")
+                .put("email", "customer-" + customer + "@load.test")
+                .put("firstName", "Customer")
+                .put("lastName", Integer.toString(customer));
+        return post("/api/order", order).header("Idempotency-Key", UUID.randomUUID().toString());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder post(String path, ObjectNode body) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path));
+    }
+
+    private ObjectNode readTree(String json) {
+        try {
+            return (ObjectNode) objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
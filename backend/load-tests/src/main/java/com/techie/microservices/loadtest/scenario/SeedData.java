@@ -0,0 +1,19 @@
+package com.techie.microservices.loadtest.scenario;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * What {@link DataSeeder} created for the scenarios to pick from.
+ *
+ * @param hotSkuCode the flash-sale SKU, stocked below order-service's stock-cache safety margin so
+ *                   every order for it is checked with inventory-service
+ */
+public record SeedData(List<Product> products, String hotSkuCode, BigDecimal hotSkuPrice) {
+
+    /**
+     * @param imageFile name of the cover image, as served by GET /api/images/{filename}
+     */
+    public record Product(String id, String skuCode, BigDecimal price, String imageFile) {
+    }
+}
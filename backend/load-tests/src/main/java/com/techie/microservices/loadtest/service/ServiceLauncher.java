@@ -0,0 +1,192 @@
+package com.techie.microservices.loadtest.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Starts each service from its packaged jar as a separate JVM, the way it runs in a container,
+ * and waits until its readiness probe answers UP. Services run in their own processes because
+ * order-service and notification-service each have a class named
+ * {@code com.techie.microservices.order.event.OrderPlacedEvent}. Each service's console output
+ * goes to {@code <logDir>/<name>.log}.
+ * <p>
+ * Besides the Spring Boot jar, a service can be started the way its container image starts it:
+ * from the fast-start layout ({@code mvn -Pfast-start package}) with a class data sharing archive
+ * made by {@link #trainFastStart}.
+ */
+@Slf4j
+public class ServiceLauncher implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(20);
+
+    private final Path backendDir;
+    private final Path logDir;
+    private final List<String> jvmOptions;
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final List<Launched> launched = new ArrayList<>();
+
+    public ServiceLauncher(Path backendDir, Path logDir, List<String> jvmOptions) throws IOException {
+        this.backendDir = backendDir;
+        this.logDir = Files.createDirectories(logDir);
+        this.jvmOptions = jvmOptions;
+    }
+
+    public void launch(ServiceSpec spec) throws IOException {
+        start(spec, List.of("-jar", findJar(spec.name()).toString()), spec.name() + ".log");
+    }
+
+    /**
+     * Starts the service from its fast-start jar, mapping the classes in {@code archive}.
+     */
+    public void launchFastStart(ServiceSpec spec, Path archive) throws IOException {
+        start(spec, List.of("-XX:SharedArchiveFile=" + archive, "-jar", findFastStartJar(spec.name()).toString()),
+                spec.name() + ".log");
+    }
+
+    /**
+     * Creates the class data sharing archive of the service's fast-start jar, as its Dockerfile
+     * does: a training run creates the application context, exits and dumps the classes it loaded.
+     *
+     * @throws IllegalStateException if the training run fails or does not end within {@code timeout}
+     */
+    public void trainFastStart(ServiceSpec spec, Path archive, Duration timeout) throws IOException,
+            InterruptedException {
+        Files.createDirectories(archive.toAbsolutePath().getParent());
+        Files.deleteIfExists(archive);
+        String logName = spec.name() + "-cds-training.log";
+        Process process = start(spec, List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh",
+                "-jar", findFastStartJar(spec.name()).toString()), logName).process();
+        if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            stopAll();
+            throw new IllegalStateException("Training run of " + spec.name() + " did not end within " + timeout
+                    + ", see " + logDir.resolve(logName));
+        }
+        launched.removeIf(service -> service.process() == process);
+        if (process.exitValue() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("Training run of " + spec.name() + " exited with code "
+                    + process.exitValue() + ", see " + logDir.resolve(logName));
+        }
+        log.info("Archived the classes of {} in {} ({} MB)", spec.name(), archive, Files.size(archive) >> 20);
+    }
+
+    private Launched start(ServiceSpec spec, List<String> launchArguments, String logName) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(launchArguments);
+        command.add("--server.port=" + spec.port());
+        spec.properties().forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Path logFile = logDir.resolve(logName);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        Launched service = new Launched(spec, process, logFile);
+        launched.add(service);
+        log.info("Started {} on port {} (pid {})", spec.name(), spec.port(), process.pid());
+        return service;
+    }
+
+    /**
+     * Waits until every launched service is ready.
+     *
+     * @throws IllegalStateException if a service exits or is not ready within {@code timeout}
+     */
+    public void awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Launched service : launched) {
+            while (!isReady(service.spec())) {
+                if (!service.process().isAlive()) {
+                    throw new IllegalStateException(service.spec().name() + " exited with code "
+                            + service.process().exitValue() + ", see " + service.logFile());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(service.spec().name() + " is not ready after " + timeout
+                            + ", see " + service.logFile());
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            log.info("{} is ready", service.spec().name());
+        }
+    }
+
+    private boolean isReady(ServiceSpec spec) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(spec.readinessUrl()))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 && response.body().contains("\"UP\"");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private Path findJar(String service) throws IOException {
+        return find(backendDir.resolve(service).resolve("target"), name -> name.startsWith(service + "-")
+                        && name.endsWith(".jar") && !name.endsWith("-classes.jar") && !name.endsWith("-sources.jar"),
+                "No executable jar of " + service, "mvn package -DskipTests");
+    }
+
+    private Path findFastStartJar(String service) throws IOException {
+        return find(backendDir.resolve(service).resolve("target").resolve("fast-start"),
+                name -> name.startsWith(service + "-") && name.endsWith("-fast-start.jar"),
+                "No fast-start jar of " + service, "mvn -Pfast-start package -DskipTests");
+    }
+
+    private static Path find(Path directory, Predicate<String> fileName, String missing, String build)
+            throws IOException {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException("No " + directory + ", run " + build + " first");
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> fileName.test(file.getFileName().toString()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(missing + " in " + directory + ", run " + build
+                            + " first"));
+        }
+    }
+
+    /**
+     * Stops the services in reverse launch order, so the gateway goes before what it routes to.
+     */
+    public void stopAll() {
+        for (int i = launched.size() - 1; i >= 0; i--) {
+            Process process = launched.get(i).process();
+            process.destroy();
+            try {
+                if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        launched.clear();
+    }
+
+    @Override
+    public void close() {
+        stopAll();
+    }
+
+    private record Launched(ServiceSpec spec, Process process, Path logFile) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.techie.microservices.loadtest.service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One service to launch from {@code <backend>/<name>/target/<name>-<version>.jar}, on {@code port},
+ * with {@code properties} passed as {@code --key=value} arguments so they override the service's
+ * own application.properties.
+ *
+ * @param contextPath "" or the servlet context path the service is given, e.g. "/api"
+ */
+public record ServiceSpec(String name, int port, String contextPath, Map<String, String> properties) {
+
+    public static ServiceSpec of(String name, String contextPath) throws IOException {
+        return new ServiceSpec(name, freePort(), contextPath, new LinkedHashMap<>());
+    }
+
+    public ServiceSpec with(String key, String value) {
+        properties.put(key, value);
+        return this;
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + port;
+    }
+
+    /**
+     * The readiness probe Kubernetes polls; needs {@code management.endpoint.health.probes.enabled}
+     * outside Kubernetes.
+     */
+    public String readinessUrl() {
+        return url() + contextPath + "/actuator/health/readiness";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
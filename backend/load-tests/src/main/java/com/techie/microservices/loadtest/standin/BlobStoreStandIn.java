@@ -0,0 +1,141 @@
+package com.techie.microservices.loadtest.standin;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * File-backed stand-in for the Azure Blob Storage calls product-service makes: put a blob, check
+ * it exists, download it (whole or by range) and delete it. Serves path-style URLs,
+ * {@code /<account>/<container>/<blob>}, so {@link #accountUrl()} is what
+ * {@code azure.storage.account-url} points at; blobs land in {@code <root>/<container>/<blob>}.
+ * Containers need not be created first.
+ */
+public class BlobStoreStandIn extends HttpStandIn {
+
+    private static final String ACCOUNT = "devstoreaccount1";
+    private static final String API_VERSION = "2021-12-02";
+    private static final Pattern BLOB = Pattern.compile("/" + ACCOUNT + "/([^/]+)/([^/]+)");
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    private final Path root;
+
+    public BlobStoreStandIn(Path root) throws IOException {
+        super("blob store");
+        this.root = Files.createDirectories(root);
+    }
+
+    public String accountUrl() {
+        return url() + "/" + ACCOUNT;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("x-ms-request-id", UUID.randomUUID().toString());
+        headers.set("x-ms-version", API_VERSION);
+        headers.set("Date", httpDate(Instant.now()));
+
+        Matcher blob = BLOB.matcher(exchange.getRequestURI().getPath());
+        if (!blob.matches() || blob.group(2).contains("..")) {
+            // Container operations (?restype=container) are accepted without keeping any state
+            readBody(exchange);
+            exchange.sendResponseHeaders("PUT".equals(exchange.getRequestMethod()) ? 201 : 200, -1);
+            return;
+        }
+        Path file = root.resolve(blob.group(1)).resolve(blob.group(2));
+        switch (exchange.getRequestMethod()) {
+            case "PUT" -> put(exchange, file);
+            case "HEAD" -> head(exchange, file);
+            case "GET" -> get(exchange, file);
+            case "DELETE" -> delete(exchange, file);
+            default -> exchange.sendResponseHeaders(405, -1);
+        }
+    }
+
+    private void put(HttpExchange exchange, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, readBody(exchange));
+        setBlobHeaders(exchange, file);
+        exchange.getResponseHeaders().set("x-ms-request-server-encrypted", "false");
+        exchange.sendResponseHeaders(201, -1);
+    }
+
+    private void head(HttpExchange exchange, Path file) throws IOException {
+        if (notFound(exchange, file)) {
+            return;
+        }
+        setBlobHeaders(exchange, file);
+        exchange.getResponseHeaders().set("Content-Length", Long.toString(Files.size(file)));
+        exchange.sendResponseHeaders(200, -1);
+    }
+
+    private void get(HttpExchange exchange, Path file) throws IOException {
+        if (notFound(exchange, file)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(file);
+        setBlobHeaders(exchange, file);
+        String range = exchange.getRequestHeaders().getFirst("x-ms-range");
+        if (range == null) {
+            range = exchange.getRequestHeaders().getFirst("Range");
+        }
+        Matcher bytes = range == null ? null : RANGE.matcher(range);
+        if (bytes != null && bytes.matches() && content.length > 0) {
+            int from = (int) Math.min(Long.parseLong(bytes.group(1)), content.length - 1);
+            int to = bytes.group(2).isEmpty() ? content.length - 1
+                    : (int) Math.min(Long.parseLong(bytes.group(2)), content.length - 1);
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + to + "/" + content.length);
+            exchange.sendResponseHeaders(206, to - from + 1);
+            exchange.getResponseBody().write(content, from, to - from + 1);
+        } else {
+            exchange.sendResponseHeaders(200, content.length == 0 ? -1 : content.length);
+            exchange.getResponseBody().write(content);
+        }
+    }
+
+    private void delete(HttpExchange exchange, Path file) throws IOException {
+        if (notFound(exchange, file)) {
+            return;
+        }
+        Files.delete(file);
+        exchange.sendResponseHeaders(202, -1);
+    }
+
+    private static boolean notFound(HttpExchange exchange, Path file) throws IOException {
+        if (Files.isRegularFile(file)) {
+            return false;
+        }
+        exchange.getResponseHeaders().set("x-ms-error-code", "BlobNotFound");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(404, -1);
+        } else {
+            send(exchange, 404, "application/xml", "<?xml version=\"1.0\" encoding=\"utf-8\"?><Error>"
+                    + "<Code>BlobNotFound</Code><Message>The specified blob does not exist.</Message></Error>");
+        }
+        return true;
+    }
+
+    private static void setBlobHeaders(HttpExchange exchange, Path file) throws IOException {
+        Instant modified = Files.getLastModifiedTime(file).toInstant();
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", "\"0x" + Long.toHexString(modified.toEpochMilli()) + Long.toHexString(Files.size(file)) + "\"");
+        headers.set("Last-Modified", httpDate(modified));
+        headers.set("Content-Type", "application/octet-stream");
+        headers.set("x-ms-blob-type", "BlockBlob");
+        headers.set("x-ms-creation-time", httpDate(modified));
+    }
+
+    private static String httpDate(Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atZone(ZoneOffset.UTC));
+    }
+}
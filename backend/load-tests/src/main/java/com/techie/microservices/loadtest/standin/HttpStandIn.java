@@ -0,0 +1,74 @@
+package com.techie.microservices.loadtest.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A stand-in for an HTTP dependency, served by the JDK's HttpServer on a free loopback port. Each
+ * exchange is handled on a virtual thread; a handler that throws answers 500 so the service under
+ * test sees a server error rather than a hung connection.
+ */
+@Slf4j
+public abstract class HttpStandIn implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    protected HttpStandIn(String name) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            try (exchange) {
+                handle(exchange);
+            } catch (Exception e) {
+                log.warn("{} stand-in failed on {} {}", name, exchange.getRequestMethod(), exchange.getRequestURI(), e);
+                exchange.sendResponseHeaders(500, -1);
+            }
+        });
+        server.start();
+    }
+
+    protected abstract void handle(HttpExchange exchange) throws IOException;
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Base URL without a trailing slash, e.g. {@code http://127.0.0.1:41234}.
+     */
+    public String url() {
+        return "http://127.0.0.1:" + port();
+    }
+
+    protected static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return body.readAllBytes();
+        }
+    }
+
+    protected static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
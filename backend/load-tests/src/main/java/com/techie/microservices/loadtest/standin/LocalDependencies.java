@@ -0,0 +1,170 @@
+package com.techie.microservices.loadtest.standin;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Everything the five services need besides each other, started in-process on free ports: a KRaft
+ * Kafka broker, MariaDB (or an existing MySQL server), an in-memory MongoDB, an SMTP server that
+ * keeps what it receives, a schema registry, a file-backed blob store and a span sink. Closing
+ * stops them in reverse order.
+ */
+@Slf4j
+public class LocalDependencies implements AutoCloseable {
+
+    private final Deque<AutoCloseable> started = new ArrayDeque<>();
+
+    private String kafkaBootstrapServers;
+    private String mysqlUrl;
+    private String mysqlUsername;
+    private String mysqlPassword;
+    private String mongoUri;
+    private GreenMail smtp;
+    private SchemaRegistryStandIn schemaRegistry;
+    private BlobStoreStandIn blobStore;
+    private SpanSinkStandIn spanSink;
+
+    /**
+     * @param workDir  where MariaDB keeps its data and the blob store its files
+     * @param mysqlUrl {@code jdbc:mysql://host:port/} of a MySQL server to use instead of MariaDB, or null
+     */
+    public static LocalDependencies start(Path workDir, String mysqlUrl, String mysqlUsername, String mysqlPassword)
+            throws Exception {
+        LocalDependencies dependencies = new LocalDependencies();
+        try {
+            dependencies.startKafka();
+            if (mysqlUrl == null) {
+                dependencies.startMariaDb(workDir.resolve("mariadb"));
+            } else {
+                dependencies.mysqlUrl = mysqlUrl.endsWith("/") ? mysqlUrl : mysqlUrl + "/";
+                dependencies.mysqlUsername = mysqlUsername;
+                dependencies.mysqlPassword = mysqlPassword;
+            }
+            dependencies.startMongo();
+            dependencies.startSmtp();
+            dependencies.schemaRegistry = dependencies.register(new SchemaRegistryStandIn());
+            dependencies.blobStore = dependencies.register(new BlobStoreStandIn(workDir.resolve("blobs")));
+            dependencies.spanSink = dependencies.register(new SpanSinkStandIn());
+            return dependencies;
+        } catch (Exception e) {
+            dependencies.close();
+            throw e;
+        }
+    }
+
+    private void startKafka() {
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1);
+        kafka.brokerProperty("auto.create.topics.enable", "true");
+        kafka.afterPropertiesSet();
+        register(kafka::destroy);
+        kafkaBootstrapServers = kafka.getBrokersAsString();
+        log.info("Kafka listening on {}", kafkaBootstrapServers);
+    }
+
+    private void startMariaDb(Path dataDir) throws Exception {
+        DBConfigurationBuilder configuration = DBConfigurationBuilder.newBuilder()
+                .setPort(0)
+                .setDataDir(dataDir.toString())
+                .setDeletingTemporaryBaseAndDataDirsOnShutdown(true);
+        if ("root".equals(System.getProperty("user.name"))) {
+            // mariadbd refuses to start as root unless told to, as in CI containers
+            configuration.addArg("--user=root");
+        }
+        DB db = DB.newEmbeddedDB(configuration.build());
+        db.start();
+        register(db::stop);
+        mysqlUrl = "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/";
+        mysqlUsername = "root";
+        mysqlPassword = "";
+        log.info("MariaDB listening on {}", mysqlUrl);
+    }
+
+    private void startMongo() {
+        MongoServer mongo = new MongoServer(new MemoryBackend());
+        mongo.bind("127.0.0.1", 0);
+        InetSocketAddress address = mongo.getLocalAddress();
+        register(mongo::shutdownNow);
+        mongoUri = "mongodb://127.0.0.1:" + address.getPort();
+        log.info("MongoDB listening on {}", mongoUri);
+    }
+
+    private void startSmtp() {
+        // Without authentication the server does not offer AUTH, so the services send without credentials
+        smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort())
+                .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+        smtp.start();
+        register(smtp::stop);
+        log.info("SMTP listening on port {}", smtpPort());
+    }
+
+    private <T extends AutoCloseable> T register(T dependency) {
+        started.push(dependency);
+        return dependency;
+    }
+
+    public String kafkaBootstrapServers() {
+        return kafkaBootstrapServers;
+    }
+
+    /**
+     * JDBC URL of {@code database}, created on first connection.
+     */
+    public String jdbcUrl(String database) {
+        return mysqlUrl + database + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true";
+    }
+
+    public String mysqlUsername() {
+        return mysqlUsername;
+    }
+
+    public String mysqlPassword() {
+        return mysqlPassword;
+    }
+
+    public String mongoUri(String database) {
+        return mongoUri + "/" + database;
+    }
+
+    public int smtpPort() {
+        return smtp.getSmtp().getPort();
+    }
+
+    public int emailsReceived() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    public SchemaRegistryStandIn schemaRegistry() {
+        return schemaRegistry;
+    }
+
+    public BlobStoreStandIn blobStore() {
+        return blobStore;
+    }
+
+    public SpanSinkStandIn spanSink() {
+        return spanSink;
+    }
+
+    @Override
+    public void close() {
+        while (!started.isEmpty()) {
+            try {
+                started.pop().close();
+            } catch (Exception e) {
+                log.warn("Failed to stop a local dependency", e);
+            }
+        }
+    }
+}
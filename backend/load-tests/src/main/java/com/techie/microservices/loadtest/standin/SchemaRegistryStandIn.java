@@ -0,0 +1,73 @@
+package com.techie.microservices.loadtest.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The part of the Confluent schema registry REST API the services use: order-service registers
+ * the order-placed schema, notification-service's Avro serde registers its own and reads schemas
+ * back by id. Identical schemas get the same id whatever the subject, as in the real registry.
+ */
+public class SchemaRegistryStandIn extends HttpStandIn {
+
+    private static final String CONTENT_TYPE = "application/vnd.schemaregistry.v1+json";
+    private static final Pattern REGISTER = Pattern.compile("/subjects/([^/]+)(/versions)?/?");
+    private static final Pattern BY_ID = Pattern.compile("/schemas/ids/(\\d+)(/schema)?/?");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Integer> idsBySchema = new ConcurrentHashMap<>();
+    private final Map<Integer, String> schemasById = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    public SchemaRegistryStandIn() throws IOException {
+        super("schema registry");
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Matcher register = REGISTER.matcher(path);
+        Matcher byId = BY_ID.matcher(path);
+        if ("POST".equals(exchange.getRequestMethod()) && register.matches()) {
+            JsonNode request = objectMapper.readTree(readBody(exchange));
+            String schema = request.path("schema").asText();
+            int id = idsBySchema.computeIfAbsent(schema, ignored -> {
+                int assigned = nextId.getAndIncrement();
+                schemasById.put(assigned, schema);
+                return assigned;
+            });
+            // POST /subjects/{subject}/versions registers, POST /subjects/{subject} looks up; both answer with the id
+            send(exchange, 200, CONTENT_TYPE, objectMapper.createObjectNode()
+                    .put("subject", register.group(1))
+                    .put("version", 1)
+                    .put("id", id)
+                    .put("schema", schema)
+                    .toString());
+        } else if ("GET".equals(exchange.getRequestMethod()) && byId.matches()) {
+            String schema = schemasById.get(Integer.parseInt(byId.group(1)));
+            if (schema == null) {
+                send(exchange, 404, CONTENT_TYPE, "{\"error_code\":40403,\"message\":\"Schema not found\"}");
+            } else if (byId.group(2) != null) {
+                send(exchange, 200, CONTENT_TYPE, schema);
+            } else {
+                send(exchange, 200, CONTENT_TYPE, objectMapper.createObjectNode().put("schema", schema).toString());
+            }
+        } else if ("GET".equals(exchange.getRequestMethod()) && path.startsWith("/config")) {
+            send(exchange, 200, CONTENT_TYPE, "{\"compatibilityLevel\":\"BACKWARD\"}");
+        } else {
+            send(exchange, 404, CONTENT_TYPE, "{\"error_code\":404,\"message\":\"Not supported by the stand-in\"}");
+        }
+    }
+
+    public int registeredSchemas() {
+        return schemasById.size();
+    }
+}
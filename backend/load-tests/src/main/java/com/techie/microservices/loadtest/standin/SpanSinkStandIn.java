@@ -0,0 +1,40 @@
+package com.techie.microservices.loadtest.standin;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accepts the spans every service posts to {@code management.zipkin.tracing.endpoint} and drops
+ * them, so exporting costs the services what it costs against Tempo without one running. Only the
+ * exported volume is kept.
+ */
+public class SpanSinkStandIn extends HttpStandIn {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    public SpanSinkStandIn() throws IOException {
+        super("span sink");
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws IOException {
+        bytes.add(readBody(exchange).length);
+        requests.increment();
+        exchange.sendResponseHeaders(202, -1);
+    }
+
+    public String spansEndpoint() {
+        return url() + "/api/v2/spans";
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long bytes() {
+        return bytes.sum();
+    }
+}
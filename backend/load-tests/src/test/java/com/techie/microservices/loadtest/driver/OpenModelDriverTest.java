@@ -0,0 +1,138 @@
+package com.techie.microservices.loadtest.driver;
+
+import com.sun.net.httpserver.HttpServer;
+import com.techie.microservices.loadtest.report.LoadReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenModelDriverTest {
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Semaphore slowPermits = new Semaphore(1);
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/ok", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        // One request at a time, 100 ms each: arrivals faster than that queue up
+        server.createContext("/slow", exchange -> {
+            slowPermits.acquireUninterruptibly();
+            try {
+                Thread.sleep(100);
+                exchange.sendResponseHeaders(200, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                slowPermits.release();
+                exchange.close();
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void run_ShouldStartSessionsAtTheProfileRateAndRecordEveryStep() {
+        // Arrange
+        OpenModelDriver driver = new OpenModelDriver(httpClient, 100, Duration.ofSeconds(5));
+        Scenario scenario = new Scenario("two-steps", RateProfile.constant(50), session ->
+                session.send("first", get("/ok")).thenCompose(ignored -> session.send("second", get("/ok"))));
+
+        // Act
+        LoadReport.ScenarioResult result = driver.run(scenario, Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(50, result.sessionsOffered());
+        assertEquals(50, result.sessionsCompleted());
+        assertEquals(0, result.sessionsDropped());
+        assertEquals(2, result.steps().size());
+        assertEquals("first", result.steps().get(0).name());
+        assertEquals(50, result.steps().get(0).requests());
+        assertEquals(50, result.steps().get(1).requests());
+        assertEquals(0, result.steps().get(1).errors());
+    }
+
+    @Test
+    void run_WhenServerFallsBehind_ShouldKeepTheArrivalRateAndCountTheQueueingAsLatency() {
+        // Arrange
+        OpenModelDriver driver = new OpenModelDriver(httpClient, 100, Duration.ofSeconds(30));
+        Scenario scenario = new Scenario("slow", RateProfile.constant(20), session -> session.send("slow", get("/slow")));
+
+        // Act
+        LoadReport.ScenarioResult result = driver.run(scenario, Duration.ofSeconds(1));
+
+        // Assert
+        // 20 arrivals in one second against 10 requests per second of capacity: a closed loop would
+        // have sent about 10, the last of the 20 waits about a second for the ones ahead of it
+        assertEquals(20, result.sessionsOffered());
+        assertEquals(20, result.sessionsCompleted());
+        LoadReport.Latency latency = result.steps().get(0).latencyMs();
+        assertTrue(latency.max() >= 900, "max latency " + latency.max());
+        assertTrue(latency.p50() >= 300, "median latency " + latency.p50());
+    }
+
+    @Test
+    void run_WhenAStepFails_ShouldEndTheSessionAndCountTheErrorByStatus() {
+        // Arrange
+        OpenModelDriver driver = new OpenModelDriver(httpClient, 100, Duration.ofSeconds(5));
+        Scenario scenario = new Scenario("failing", RateProfile.constant(10), session ->
+                session.send("lookup", get("/missing")).thenCompose(ignored -> session.send("never", get("/ok"))));
+
+        // Act
+        LoadReport.ScenarioResult result = driver.run(scenario, Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(10, result.sessionsFailed());
+        assertEquals(1, result.steps().size());
+        assertEquals(10, result.steps().get(0).errors());
+        assertEquals(Map.of("404", 10L), result.steps().get(0).errorsByCause());
+    }
+
+    @Test
+    void run_WhenMaxInFlightIsReached_ShouldDropNewSessions() {
+        // Arrange
+        OpenModelDriver driver = new OpenModelDriver(httpClient, 2, Duration.ofSeconds(30));
+        Scenario scenario = new Scenario("capped", RateProfile.constant(20), session -> session.send("slow", get("/slow")));
+
+        // Act
+        LoadReport.ScenarioResult result = driver.run(scenario, Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(20, result.sessionsOffered());
+        assertTrue(result.sessionsDropped() >= 10, "dropped " + result.sessionsDropped());
+        assertEquals(result.sessionsOffered() - result.sessionsDropped(), result.sessionsCompleted());
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(url + path)).GET();
+    }
+}
@@ -0,0 +1,87 @@
+package com.techie.microservices.loadtest.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportWriterTest {
+
+    @TempDir
+    Path resultsDir;
+
+    private final ReportWriter reportWriter = new ReportWriter();
+
+    @Test
+    void write_ThenRead_ShouldReturnTheSameReport() throws Exception {
+        // Arrange
+        LoadReport report = report(45.5, 20.0);
+        Path file = resultsDir.resolve("load-dev-20240601-101500.json");
+
+        // Act
+        reportWriter.write(report, file);
+        LoadReport read = reportWriter.read(file);
+
+        // Assert
+        assertEquals(report, read);
+    }
+
+    @Test
+    void summary_WithBaseline_ShouldShowP99AndThroughputChange() {
+        // Arrange
+        LoadReport baseline = report(50.0, 20.0);
+        LoadReport current = report(40.0, 25.0);
+
+        // Act
+        String summary = reportWriter.summary(current, baseline);
+
+        // Assert
+        String row = summary.lines().filter(line -> line.startsWith("order")).findFirst().orElseThrow();
+        assertTrue(row.contains("place-order"), row);
+        assertTrue(row.endsWith("-20.0%   +25.0%"), row);
+    }
+
+    @Test
+    void summary_WithoutBaseline_ShouldOmitTheChangeColumns() {
+        // Act
+        String summary = reportWriter.summary(report(50.0, 20.0), null);
+
+        // Assert
+        assertFalse(summary.contains("Δp99"));
+        assertTrue(summary.lines().anyMatch(line -> line.startsWith("order") && line.contains("place-order")));
+    }
+
+    @Test
+    void summary_OfStartupReport_ShouldCompareMedianTimesToReady() {
+        // Arrange
+        StartupReport report = new StartupReport(
+                new StartupReport.RunInfo("dev", "cab5c22", "2024-06-01T10:15:00Z", 3, List.of("-Xmx512m"), 4, "21.0.1",
+                        "Linux amd64"),
+                List.of(StartupReport.ServiceStartup.of("product-service", List.of(12.0, 10.0, 11.0),
+                        List.of(7.5, 8.0, 9.0), 64L << 20)));
+
+        // Act
+        String summary = reportWriter.summary(report);
+
+        // Assert
+        StartupReport.ServiceStartup service = report.services().get(0);
+        assertEquals(11.0, service.jarMedian());
+        assertEquals(8.0, service.fastStartMedian());
+        String row = summary.lines().filter(line -> line.startsWith("product-service")).findFirst().orElseThrow();
+        assertTrue(row.matches("product-service\\s+3\\s+11\\.00\\s+8\\.00\\s+-27\\.3%\\s+64"), row);
+    }
+
+    private static LoadReport report(double p99, double requestsPerSecond) {
+        LoadReport.StepResult step = new LoadReport.StepResult("place-order", 1200, 3, Map.of("503", 3L),
+                requestsPerSecond, new LoadReport.Latency(12.5, 10.0, 20.0, p99, 80.0, 120.0));
+        return new LoadReport(
+                new LoadReport.RunInfo("dev", "cab5c22", "2024-06-01T10:15:00Z", "PT1M", "PT15S", 1.0, 4, "21.0.1",
+                        "Linux amd64"),
+                List.of(new LoadReport.ScenarioResult("order", 60.0, 1200, 1197, 3, 0, List.of(step))),
+                new LoadReport.Dependencies(40, 120, 65536, 2));
+    }
+}
@@ -0,0 +1,80 @@
+package com.techie.microservices.loadtest.standin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlobStoreStandInTest {
+
+    @TempDir
+    Path root;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private BlobStoreStandIn blobStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobStore = new BlobStoreStandIn(root);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blobStore.close();
+    }
+
+    @Test
+    void put_ShouldStoreTheBlobUnderItsContainer() throws Exception {
+        // Act
+        HttpResponse<String> response = send(blob("a.png").PUT(HttpRequest.BodyPublishers.ofString("image")));
+
+        // Assert
+        assertEquals(201, response.statusCode());
+        assertTrue(response.headers().firstValue("ETag").isPresent());
+        assertEquals("image", Files.readString(root.resolve("product-images").resolve("a.png")));
+    }
+
+    @Test
+    void get_WithRange_ShouldReturnPartialContent() throws Exception {
+        // Arrange
+        send(blob("a.png").PUT(HttpRequest.BodyPublishers.ofString("0123456789")));
+
+        // Act
+        HttpResponse<String> whole = send(blob("a.png").GET());
+        HttpResponse<String> range = send(blob("a.png").header("x-ms-range", "bytes=2-5").GET());
+
+        // Assert
+        assertEquals(200, whole.statusCode());
+        assertEquals("0123456789", whole.body());
+        assertEquals(206, range.statusCode());
+        assertEquals("2345", range.body());
+        assertEquals("bytes 2-5/10", range.headers().firstValue("Content-Range").orElseThrow());
+    }
+
+    @Test
+    void head_WhenBlobIsMissing_ShouldAnswerBlobNotFound() throws Exception {
+        // Act
+        HttpResponse<String> response = send(blob("missing.png").method("HEAD", HttpRequest.BodyPublishers.noBody()));
+
+        // Assert
+        assertEquals(404, response.statusCode());
+        assertEquals("BlobNotFound", response.headers().firstValue("x-ms-error-code").orElseThrow());
+    }
+
+    private HttpRequest.Builder blob(String name) {
+        return HttpRequest.newBuilder(URI.create(blobStore.accountUrl() + "/product-images/" + name));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,117 @@
+package com.techie.microservices.notification.actuator;
+
+import com.techie.microservices.notification.service.NotificationRetryPublisher;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Replay tool for {@code order-placed-dlt}, exposed as {@code /actuator/deadletters}. GET reports
+ * how many dead-lettered notifications have not been replayed yet; POST with an optional
+ * {@code maxRecords} moves up to that many back to the first retry tier. Progress is tracked by
+ * the {@code notification.retry.replay-group-id} consumer group, so each dead letter is replayed
+ * once.
+ */
+@Component
+@Endpoint(id = "deadletters")
+@Slf4j
+public class DeadLetterEndpoint {
+
+    private static final int EMPTY_POLLS_BEFORE_DONE = 3;
+
+    private final ConsumerFactory<Object, Object> consumerFactory;
+    private final NotificationRetryPublisher notificationRetryPublisher;
+    private final String replayGroupId;
+
+    public DeadLetterEndpoint(ConsumerFactory<Object, Object> consumerFactory,
+                              NotificationRetryPublisher notificationRetryPublisher,
+                              @Value("${notification.retry.replay-group-id:notification-service-dlt-replay}") String replayGroupId) {
+        this.consumerFactory = consumerFactory;
+        this.notificationRetryPublisher = notificationRetryPublisher;
+        this.replayGroupId = replayGroupId;
+    }
+
+    @ReadOperation
+    public DeadLetters pending() {
+        try (Consumer<Object, Object> consumer = createConsumer()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(notificationRetryPublisher.deadLetterTopic()).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(Set.copyOf(partitions));
+            long pending = 0;
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata replayedUpTo = committed.get(partition);
+                long from = Math.max(beginning.get(partition), replayedUpTo == null ? 0 : replayedUpTo.offset());
+                pending += end.get(partition) - from;
+            }
+            return new DeadLetters(notificationRetryPublisher.deadLetterTopic(), pending);
+        }
+    }
+
+    @WriteOperation
+    public ReplayResult replay(@Nullable Integer maxRecords) {
+        int limit = maxRecords == null ? Integer.MAX_VALUE : maxRecords;
+        int replayed = 0;
+        try (Consumer<Object, Object> consumer = createConsumer()) {
+            consumer.subscribe(List.of(notificationRetryPublisher.deadLetterTopic()));
+            int emptyPolls = 0;
+            while (replayed < limit && emptyPolls < EMPTY_POLLS_BEFORE_DONE) {
+                ConsumerRecords<Object, Object> records = consumer.poll(Duration.ofSeconds(1));
+                if (records.isEmpty()) {
+                    emptyPolls++;
+                    continue;
+                }
+                List<OrderPlacedEvent> events = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<Object, Object> record : records) {
+                    if (replayed + events.size() >= limit) {
+                        break;
+                    }
+                    events.add((OrderPlacedEvent) record.value());
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+                notificationRetryPublisher.replay(events);
+                consumer.commitSync(offsets);
+                replayed += events.size();
+            }
+        }
+        log.info("Replayed {} dead-lettered order notifications", replayed);
+        return new ReplayResult(replayed);
+    }
+
+    private Consumer<Object, Object> createConsumer() {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return consumerFactory.createConsumer(replayGroupId, null, null, overrides);
+    }
+
+    public record DeadLetters(String topic, long pending) {
+    }
+
+    public record ReplayResult(int replayed) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.techie.microservices.notification.config;
+
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.mail.SmtpProvider;
+import com.techie.microservices.notification.mail.SmtpTransportPool;
+import com.techie.microservices.notification.mail.TokenBucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+@Configuration
+@EnableConfigurationProperties(MailRoutingProperties.class)
+@Slf4j
+public class MailRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    public MailSendScheduler mailSendScheduler(MailRoutingProperties properties,
+                                               JavaMailSenderImpl springMailSender,
+                                               MeterRegistry meterRegistry) {
+        if (properties.providers().isEmpty()) {
+            throw new IllegalStateException("Configure at least one SMTP provider under notification.mail.providers");
+        }
+        MailRoutingProperties.Failover failover = properties.failover();
+        SmtpProvider.FailoverPolicy failoverPolicy = new SmtpProvider.FailoverPolicy(failover.maxErrorRate(),
+                failover.minSamples(), failover.window(), failover.cooldown());
+        List<SmtpProvider> providers = new ArrayList<>();
+        for (MailRoutingProperties.Provider provider : properties.providers()) {
+            JavaMailSenderImpl mailSender = provider.host() == null ? springMailSender : mailSender(provider);
+            providers.add(new SmtpProvider(provider.name(), provider.weight(),
+                    new SmtpTransportPool(provider.name(), mailSender, meterRegistry, provider.poolSize(),
+                            provider.maxMessagesPerConnection()),
+                    new TokenBucket(provider.ratePerSecond(), provider.burst()),
+                    failoverPolicy));
+            log.info("SMTP provider {} at {}:{}, weight {}, {} emails/s", provider.name(), mailSender.getHost(),
+                    mailSender.getPort(), provider.weight(), provider.ratePerSecond());
+        }
+        return new MailSendScheduler(providers, meterRegistry, properties.acquireTimeout());
+    }
+
+    private static JavaMailSenderImpl mailSender(MailRoutingProperties.Provider provider) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(provider.host());
+        if (provider.port() != null) {
+            mailSender.setPort(provider.port());
+        }
+        mailSender.setUsername(provider.username());
+        mailSender.setPassword(provider.password());
+        if (provider.protocol() != null) {
+            mailSender.setProtocol(provider.protocol());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(provider.properties());
+        mailSender.setJavaMailProperties(javaMailProperties);
+        return mailSender;
+    }
+}
@@ -0,0 +1,39 @@
+package com.techie.microservices.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SMTP providers under {@code notification.mail.*}. A provider without a host sends through the
+ * {@code spring.mail.*} server; the others are configured like it, with {@code properties} passed
+ * on as JavaMail session properties.
+ */
+@ConfigurationProperties("notification.mail")
+public record MailRoutingProperties(@DefaultValue List<Provider> providers,
+                                    @DefaultValue("30s") Duration acquireTimeout,
+                                    @DefaultValue Failover failover) {
+
+    public record Provider(String name,
+                           String host,
+                           Integer port,
+                           String username,
+                           String password,
+                           String protocol,
+                           @DefaultValue Map<String, String> properties,
+                           @DefaultValue("1") int weight,
+                           @DefaultValue("10") double ratePerSecond,
+                           @DefaultValue("20") int burst,
+                           @DefaultValue("4") int poolSize,
+                           @DefaultValue("100") int maxMessagesPerConnection) {
+    }
+
+    public record Failover(@DefaultValue("0.5") double maxErrorRate,
+                           @DefaultValue("20") int minSamples,
+                           @DefaultValue("50") int window,
+                           @DefaultValue("30s") Duration cooldown) {
+    }
+}
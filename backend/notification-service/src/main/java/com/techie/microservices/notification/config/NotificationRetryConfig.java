@@ -0,0 +1,84 @@
+package com.techie.microservices.notification.config;
+
+import com.techie.microservices.notification.service.NotificationRetryListener;
+import com.techie.microservices.notification.service.NotificationRetryPublisher;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.KafkaListenerConfigurer;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.MethodKafkaListenerEndpoint;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class NotificationRetryConfig {
+
+    /**
+     * Record listener container with manual acknowledgement, needed for the delayed nack in
+     * {@link NotificationRetryListener}. Runs one consumer per retry partition rather than
+     * {@code spring.kafka.listener.concurrency}, which is sized for {@code order-placed}.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> notificationRetryContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${notification.retry.partitions:1}") int partitions) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setConcurrency(partitions);
+        factory.setBatchListener(false);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        return factory;
+    }
+
+    /**
+     * One listener container per retry tier, {@code notification-retry-<tier>}, all in the
+     * {@code notification-retry} consumer group. A nack pauses the whole consumer, so with the tiers
+     * sharing one, a record waiting out its 6m delay would also hold up the 10s tier behind it.
+     */
+    @Bean
+    public KafkaListenerConfigurer notificationRetryListenerConfigurer(
+            NotificationRetryPublisher notificationRetryPublisher,
+            NotificationRetryListener notificationRetryListener,
+            ConcurrentKafkaListenerContainerFactory<Object, Object> notificationRetryContainerFactory) throws NoSuchMethodException {
+        Method listen = NotificationRetryListener.class.getMethod("listen", ConsumerRecord.class, Acknowledgment.class);
+        DefaultMessageHandlerMethodFactory messageHandlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        messageHandlerMethodFactory.afterPropertiesSet();
+        return registrar -> {
+            String[] retryTopics = notificationRetryPublisher.retryTopics();
+            for (int tier = 0; tier < retryTopics.length; tier++) {
+                MethodKafkaListenerEndpoint<String, OrderPlacedEvent> endpoint = new MethodKafkaListenerEndpoint<>();
+                endpoint.setId("notification-retry-" + tier);
+                endpoint.setGroupId("notification-retry");
+                endpoint.setTopics(retryTopics[tier]);
+                endpoint.setBean(notificationRetryListener);
+                endpoint.setMethod(listen);
+                endpoint.setMessageHandlerMethodFactory(messageHandlerMethodFactory);
+                registrar.registerEndpoint(endpoint, notificationRetryContainerFactory);
+            }
+        };
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics notificationRetryTopics(NotificationRetryPublisher notificationRetryPublisher,
+                                                        @Value("${notification.retry.partitions:1}") int partitions) {
+        List<String> topics = new ArrayList<>(List.of(notificationRetryPublisher.retryTopics()));
+        topics.add(notificationRetryPublisher.deadLetterTopic());
+        return new KafkaAdmin.NewTopics(topics.stream()
+                .map(topic -> TopicBuilder.name(topic).partitions(partitions).build())
+                .toArray(NewTopic[]::new));
+    }
+}
@@ -9,15 +9,18 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.util.List;
+
 @Configuration
 @RequiredArgsConstructor
 public class ObservabilityConfig {
 
-    private final ConcurrentKafkaListenerContainerFactory concurrentKafkaListenerContainerFactory;
+    private final List<ConcurrentKafkaListenerContainerFactory<?, ?>> concurrentKafkaListenerContainerFactories;
 
     @PostConstruct
     public void setObservationForKafkaTemplate() {
-        concurrentKafkaListenerContainerFactory.getContainerProperties().setObservationEnabled(true);
+        concurrentKafkaListenerContainerFactories.forEach(factory ->
+                factory.getContainerProperties().setObservationEnabled(true));
     }
 
     @Bean
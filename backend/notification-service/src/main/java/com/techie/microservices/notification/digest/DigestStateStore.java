@@ -0,0 +1,240 @@
+package com.techie.microservices.notification.digest;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Local, append-only journal of the notifications {@link NotificationDigester} is holding back.
+ * Every {@link #append} and {@link #markSent} is flushed and synced to disk before it returns, so
+ * the consumer may commit the offsets of buffered events: after a restart {@link #load()} returns
+ * exactly the events that were buffered but not yet sent.
+ * <p>
+ * The journal is rewritten with only the pending entries on load and whenever it grows past
+ * {@code notification.digest.compact-after}. A torn write at the end of the file, left by a crash
+ * mid-append, is ignored; the events in it were never acknowledged to Kafka and are redelivered.
+ */
+@Component
+@Slf4j
+public class DigestStateStore {
+
+    private static final String JOURNAL = "digest.journal";
+    private static final byte ADDED = 1;
+    private static final byte SENT = 2;
+
+    private final Path directory;
+    private final Path journal;
+    private final long compactAfterBytes;
+    private final Map<Long, PendingNotification> pending = new TreeMap<>();
+    private FileOutputStream file;
+    private DataOutputStream out;
+    private long nextSequence;
+
+    public DigestStateStore(@Value("${notification.digest.state-dir:${java.io.tmpdir}/notification-digest}") Path directory,
+                            @Value("${notification.digest.compact-after:4194304}") long compactAfterBytes) {
+        this.directory = directory;
+        this.journal = directory.resolve(JOURNAL);
+        this.compactAfterBytes = compactAfterBytes;
+    }
+
+    /**
+     * Replays the journal, compacts it and opens it for appending.
+     *
+     * @return notifications that were buffered but not sent, in the order they were appended
+     */
+    public synchronized List<PendingNotification> load() {
+        try {
+            Files.createDirectories(directory);
+            pending.clear();
+            if (Files.exists(journal)) {
+                replay();
+            }
+            compact();
+            log.info("Loaded {} pending notifications from {}", pending.size(), journal);
+            return List.copyOf(pending.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load notification digest state from " + journal, e);
+        }
+    }
+
+    public synchronized List<PendingNotification> append(List<OrderPlacedEvent> events, List<Instant> producedAt) {
+        requireOpen();
+        Instant receivedAt = Instant.now();
+        List<PendingNotification> appended = new ArrayList<>(events.size());
+        try {
+            for (int i = 0; i < events.size(); i++) {
+                PendingNotification notification = new PendingNotification(nextSequence++, events.get(i),
+                        producedAt.get(i), receivedAt);
+                writeAdded(out, notification);
+                appended.add(notification);
+            }
+            sync();
+        } catch (IOException e) {
+            rewrite();
+            throw new UncheckedIOException("Failed to persist buffered notifications to " + journal, e);
+        }
+        appended.forEach(notification -> pending.put(notification.sequence(), notification));
+        return appended;
+    }
+
+    public synchronized void markSent(List<PendingNotification> sent) {
+        requireOpen();
+        try {
+            out.writeByte(SENT);
+            out.writeInt(sent.size());
+            for (PendingNotification notification : sent) {
+                out.writeLong(notification.sequence());
+            }
+            sync();
+            sent.forEach(notification -> pending.remove(notification.sequence()));
+            if (file.getChannel().size() > compactAfterBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record sent notifications in " + journal, e);
+        }
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Failed to close {}", journal, e);
+        }
+        out = null;
+    }
+
+    private void replay() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    return;
+                }
+                try {
+                    if (type == ADDED) {
+                        long sequence = in.readLong();
+                        Instant producedAt = Instant.ofEpochMilli(in.readLong());
+                        Instant receivedAt = Instant.ofEpochMilli(in.readLong());
+                        byte[] payload = new byte[in.readInt()];
+                        in.readFully(payload);
+                        pending.put(sequence, new PendingNotification(sequence,
+                                OrderPlacedEvent.fromByteBuffer(ByteBuffer.wrap(payload)), producedAt, receivedAt));
+                        nextSequence = Math.max(nextSequence, sequence + 1);
+                    } else if (type == SENT) {
+                        int count = in.readInt();
+                        for (int i = 0; i < count; i++) {
+                            pending.remove(in.readLong());
+                        }
+                    } else {
+                        log.warn("Unknown entry type {} in {}, ignoring the rest of the journal", type, journal);
+                        return;
+                    }
+                } catch (EOFException e) {
+                    log.warn("Ignoring incomplete last entry in {}", journal);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the pending entries to a new journal and swaps it in atomically.
+     */
+    private void compact() throws IOException {
+        close();
+        Path compacted = directory.resolve(JOURNAL + ".tmp");
+        try (FileOutputStream compactedFile = new FileOutputStream(compacted.toFile());
+             DataOutputStream compactedOut = new DataOutputStream(new BufferedOutputStream(compactedFile))) {
+            for (PendingNotification notification : pending.values()) {
+                writeAdded(compactedOut, notification);
+            }
+            compactedOut.flush();
+            compactedFile.getFD().sync();
+        }
+        Files.move(compacted, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        file = new FileOutputStream(journal.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(file));
+    }
+
+    /**
+     * Drops a partly written entry so that later appends stay readable.
+     */
+    private void rewrite() {
+        try {
+            compact();
+        } catch (IOException e) {
+            log.error("Failed to rewrite {}, closing it until the next load", journal, e);
+            close();
+        }
+    }
+
+    private void sync() throws IOException {
+        out.flush();
+        file.getFD().sync();
+    }
+
+    private void requireOpen() {
+        if (out == null) {
+            throw new IllegalStateException("Notification digest state is not loaded");
+        }
+    }
+
+    private static void writeAdded(DataOutputStream out, PendingNotification notification) throws IOException {
+        byte[] payload = toBytes(notification.event());
+        out.writeByte(ADDED);
+        out.writeLong(notification.sequence());
+        out.writeLong(notification.producedAt().toEpochMilli());
+        out.writeLong(notification.receivedAt().toEpochMilli());
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    private static byte[] toBytes(OrderPlacedEvent event) throws IOException {
+        ByteBuffer buffer = event.toByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * @param producedAt when order-service produced the event, the Kafka record timestamp
+     * @param receivedAt when this service buffered it
+     */
+    public record PendingNotification(long sequence, OrderPlacedEvent event, Instant producedAt, Instant receivedAt) {
+
+        public String recipient() {
+            return event.getEmail().toString();
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.techie.microservices.notification.digest;
+
+import com.techie.microservices.notification.mail.MailPriority;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.service.NotificationRetryPublisher;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces order notifications per recipient. Buffered events are persisted in
+ * {@link DigestStateStore} before {@link #offer} returns, then held until the recipient has been
+ * quiet for {@code notification.digest.window}, the oldest has waited
+ * {@code notification.digest.max-delay}, or {@code notification.digest.max-size} orders are
+ * waiting. A recipient with a single order gets the usual order confirmation, otherwise one digest
+ * lists all of them.
+ * <p>
+ * Digests are sent from a single scheduler thread in the bulk lane of {@link MailSendScheduler},
+ * behind order confirmations sent as they come in. A digest that cannot be sent is handed to
+ * {@link NotificationRetryPublisher} order by order; if that fails too it stays buffered and is
+ * tried again on the next check. A crash between sending a digest and recording it as sent
+ * resends that digest after restart. On shutdown everything still buffered is sent early rather
+ * than left on disk, since a pod that is scaled in may not come back to its state directory.
+ */
+@Component
+@Slf4j
+public class NotificationDigester {
+
+    private final DigestStateStore stateStore;
+    private final NotificationRenderer notificationRenderer;
+    private final MailSendScheduler mailSendScheduler;
+    private final NotificationRetryPublisher notificationRetryPublisher;
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration maxDelay;
+    private final int maxSize;
+    private final Duration checkInterval;
+    private final Map<String, Digest> digests = new LinkedHashMap<>();
+    private final AtomicLong eventsSent = new AtomicLong();
+    private final AtomicLong emailsSent = new AtomicLong();
+    private final Counter eventsBuffered;
+    private final Counter emails;
+    private final DistributionSummary digestSize;
+    private final Timer deliveryLatency;
+    private ScheduledExecutorService scheduler;
+
+    public NotificationDigester(DigestStateStore stateStore,
+                                NotificationRenderer notificationRenderer,
+                                MailSendScheduler mailSendScheduler,
+                                NotificationRetryPublisher notificationRetryPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${notification.digest.enabled:false}") boolean enabled,
+                                @Value("${notification.digest.window:30s}") Duration window,
+                                @Value("${notification.digest.max-delay:2m}") Duration maxDelay,
+                                @Value("${notification.digest.max-size:50}") int maxSize,
+                                @Value("${notification.digest.check-interval:1s}") Duration checkInterval) {
+        this.stateStore = stateStore;
+        this.notificationRenderer = notificationRenderer;
+        this.mailSendScheduler = mailSendScheduler;
+        this.notificationRetryPublisher = notificationRetryPublisher;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxDelay = maxDelay;
+        this.maxSize = maxSize;
+        this.checkInterval = checkInterval;
+        this.eventsBuffered = Counter.builder("notification.digest.events")
+                .description("Order notifications buffered for digesting")
+                .register(meterRegistry);
+        this.emails = Counter.builder("notification.digest.emails")
+                .description("Emails sent for buffered order notifications, digests and single confirmations")
+                .register(meterRegistry);
+        this.digestSize = DistributionSummary.builder("notification.digest.size")
+                .description("Order notifications per sent email")
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("notification.delivery.latency")
+                .description("Time from order-service producing an event to its notification being sent")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("notification.digest.reduction.ratio", this, NotificationDigester::reductionRatio)
+                .description("Order notifications sent per email")
+                .register(meterRegistry);
+        Gauge.builder("notification.digest.pending", stateStore, DigestStateStore::size)
+                .description("Order notifications waiting in the digest buffer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        List<DigestStateStore.PendingNotification> recovered = stateStore.load();
+        synchronized (this) {
+            recovered.forEach(this::add);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("notification-digest").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::flushDueSafely, checkInterval.toMillis(), checkInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        log.info("Digesting order notifications over {} (max delay {}), {} recovered from disk", window, maxDelay,
+                recovered.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers the events durably; once this returns their offsets may be committed.
+     *
+     * @param timestamps Kafka record timestamps, one per event, or null to use the current time
+     */
+    public void offer(List<OrderPlacedEvent> orderPlacedEvents, List<Long> timestamps) {
+        if (orderPlacedEvents.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<Instant> producedAt = new ArrayList<>(orderPlacedEvents.size());
+        for (int i = 0; i < orderPlacedEvents.size(); i++) {
+            producedAt.add(timestamps == null ? now : Instant.ofEpochMilli(timestamps.get(i)));
+        }
+        List<DigestStateStore.PendingNotification> appended = stateStore.append(orderPlacedEvents, producedAt);
+        synchronized (this) {
+            appended.forEach(this::add);
+        }
+        eventsBuffered.increment(appended.size());
+    }
+
+    /**
+     * Sends every digest that is due at {@code now}.
+     *
+     * @return number of emails sent
+     */
+    int flushDue(Instant now) {
+        List<Digest> due = new ArrayList<>();
+        synchronized (this) {
+            Iterator<Digest> iterator = digests.values().iterator();
+            while (iterator.hasNext()) {
+                Digest digest = iterator.next();
+                if (digest.isDue(now)) {
+                    due.add(digest);
+                    iterator.remove();
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int sent = 0;
+        for (Digest digest : due) {
+            sent += send(digest) ? 1 : 0;
+        }
+        return sent;
+    }
+
+    private void flushDueSafely() {
+        try {
+            flushDue(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to flush order notification digests", e);
+        }
+    }
+
+    private boolean send(Digest digest) {
+        List<OrderPlacedEvent> orderPlacedEvents = digest.notifications.stream()
+                .map(DigestStateStore.PendingNotification::event)
+                .toList();
+        try {
+            MimeMessagePreparator preparator = orderPlacedEvents.size() == 1
+                    ? notificationRenderer.orderPlacedMessage(orderPlacedEvents.get(0))
+                    : notificationRenderer.orderDigestMessage(orderPlacedEvents);
+            mailSendScheduler.send(preparator, MailPriority.BULK);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send digest of {} order notifications to {}", orderPlacedEvents.size(),
+                    digest.recipient, e);
+            try {
+                notificationRetryPublisher.publish(orderPlacedEvents.stream()
+                        .map(event -> new NotificationRetryPublisher.Failure(event, 1, null, e))
+                        .toList());
+            } catch (RuntimeException retryFailure) {
+                log.error("Failed to schedule retries for {}, keeping the digest buffered", digest.recipient,
+                        retryFailure);
+                requeue(digest);
+                return false;
+            }
+            stateStore.markSent(digest.notifications);
+            return false;
+        }
+        stateStore.markSent(digest.notifications);
+        Instant sentAt = Instant.now();
+        for (DigestStateStore.PendingNotification notification : digest.notifications) {
+            deliveryLatency.record(Duration.between(notification.producedAt(), sentAt));
+        }
+        emails.increment();
+        digestSize.record(orderPlacedEvents.size());
+        eventsSent.addAndGet(orderPlacedEvents.size());
+        emailsSent.incrementAndGet();
+        return true;
+    }
+
+    private void add(DigestStateStore.PendingNotification notification) {
+        digests.computeIfAbsent(notification.recipient(), Digest::new).add(notification);
+    }
+
+    /**
+     * Puts an unsent digest back in front of anything buffered for the recipient since.
+     */
+    private synchronized void requeue(Digest digest) {
+        Digest newer = digests.put(digest.recipient, digest);
+        if (newer != null) {
+            newer.notifications.forEach(digest::add);
+        }
+    }
+
+    private double reductionRatio() {
+        long sentEmails = emailsSent.get();
+        return sentEmails == 0 ? 1.0 : (double) eventsSent.get() / sentEmails;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+            // Anything still buffered is on disk and sent after restart
+            scheduler.shutdownNow();
+            return;
+        }
+        int sent = flushDue(Instant.MAX);
+        log.info("Sent {} buffered order notification emails on shutdown, {} orders left on disk", sent,
+                stateStore.size());
+    }
+
+    private final class Digest {
+
+        private final String recipient;
+        private final List<DigestStateStore.PendingNotification> notifications = new ArrayList<>();
+        private Instant first;
+        private Instant last;
+
+        private Digest(String recipient) {
+            this.recipient = recipient;
+        }
+
+        private void add(DigestStateStore.PendingNotification notification) {
+            notifications.add(notification);
+            first = first == null || notification.receivedAt().isBefore(first) ? notification.receivedAt() : first;
+            last = last == null || notification.receivedAt().isAfter(last) ? notification.receivedAt() : last;
+        }
+
+        private boolean isDue(Instant now) {
+            return notifications.size() >= maxSize
+                    || !now.isBefore(last.plus(window))
+                    || !now.isBefore(first.plus(maxDelay));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.techie.microservices.notification.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-partition consumer metrics for the batch listener, picked up by the auto-configured
+ * listener container factory:
+ * <ul>
+ *     <li>{@code notification.partition.records} counts records processed per partition; its rate
+ *     is the partition's throughput.</li>
+ *     <li>{@code notification.partition.lag} is the number of records behind the latest fetched
+ *     high watermark, sampled on every poll that returned records from that partition.</li>
+ * </ul>
+ * Both are tagged with {@code topic} and {@code partition}. The lag gauge is removed when the
+ * partition is revoked so that a partition moving to another instance is not reported twice.
+ * <p>
+ * {@code notification.event.lag}, tagged with {@code topic}, is the time from an order being
+ * placed, taken from the {@value #EVENT_TIME_HEADER} header order-service stamps on its events, to
+ * the record reaching a listener. It is recorded for batch and single-record listeners alike.
+ */
+@Component
+public class PartitionMetrics implements BatchInterceptor<Object, Object>, RecordInterceptor<Object, Object>,
+        ConsumerAwareRebalanceListener {
+
+    public static final String EVENT_TIME_HEADER = "event-time";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TopicPartition, Counter> processed = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, PartitionLag> lags = new ConcurrentHashMap<>();
+    private final Map<String, Timer> eventLags = new ConcurrentHashMap<>();
+
+    public PartitionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        for (TopicPartition partition : records.partitions()) {
+            OptionalLong lag = consumer.currentLag(partition);
+            if (lag.isPresent()) {
+                lags.computeIfAbsent(partition, this::registerLag).value().set(lag.getAsLong());
+            }
+        }
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<Object, Object> record : records) {
+            recordEventLag(record, now);
+        }
+        return records;
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        recordEventLag(record, System.currentTimeMillis());
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        for (TopicPartition partition : records.partitions()) {
+            processed.computeIfAbsent(partition, tp -> Counter.builder("notification.partition.records")
+                            .description("Records processed per partition")
+                            .tags("topic", tp.topic(), "partition", String.valueOf(tp.partition()))
+                            .register(meterRegistry))
+                    .increment(records.records(partition).size());
+        }
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            PartitionLag lag = lags.remove(partition);
+            if (lag != null) {
+                meterRegistry.remove(lag.gauge());
+            }
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        onPartitionsRevokedAfterCommit(consumer, partitions);
+    }
+
+    private void recordEventLag(ConsumerRecord<Object, Object> record, long now) {
+        Header eventTime = record.headers().lastHeader(EVENT_TIME_HEADER);
+        if (eventTime == null) {
+            return;
+        }
+        long placedAt;
+        try {
+            placedAt = Long.parseLong(new String(eventTime.value(), StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        eventLags.computeIfAbsent(record.topic(), topic -> Timer.builder("notification.event.lag")
+                        .description("Time from the order being placed to its event reaching a listener")
+                        .tag("topic", topic)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(Math.max(0, now - placedAt), TimeUnit.MILLISECONDS);
+    }
+
+    private PartitionLag registerLag(TopicPartition partition) {
+        AtomicLong value = new AtomicLong();
+        Gauge gauge = Gauge.builder("notification.partition.lag", value, AtomicLong::get)
+                .description("Records behind the partition's high watermark at the last poll")
+                .tags("topic", partition.topic(), "partition", String.valueOf(partition.partition()))
+                .register(meterRegistry);
+        return new PartitionLag(value, gauge);
+    }
+
+    private record PartitionLag(AtomicLong value, Gauge gauge) {
+    }
+}
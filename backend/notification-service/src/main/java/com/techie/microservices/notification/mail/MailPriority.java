@@ -0,0 +1,18 @@
+package com.techie.microservices.notification.mail;
+
+/**
+ * Sending lane of an email. Transactional mail takes a provider's rate-limit tokens ahead of bulk
+ * mail, which only gets them while no transactional send is waiting.
+ */
+public enum MailPriority {
+
+    /**
+     * Order confirmations sent as orders come in.
+     */
+    TRANSACTIONAL,
+
+    /**
+     * Mail that is already late or batched by design: digests and retries.
+     */
+    BULK
+}
@@ -0,0 +1,16 @@
+package com.techie.microservices.notification.mail;
+
+import org.springframework.mail.MailSendException;
+
+/**
+ * The relay answered, but refused this email itself: a recipient or the message rejected with a
+ * permanent 5xx reply, or addresses found invalid before anything was sent. Another provider or an
+ * immediate retry would get the same answer, so the failure says nothing about the provider's
+ * health and is not failed over.
+ */
+public class MailRejectedException extends MailSendException {
+
+    public MailRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
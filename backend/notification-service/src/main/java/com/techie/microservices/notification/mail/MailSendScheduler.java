@@ -0,0 +1,230 @@
+package com.techie.microservices.notification.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Single way out for notification emails. Each send is routed to an available
+ * {@link SmtpProvider} picked at random in proportion to the providers' weights, waits for that
+ * provider's {@link TokenBucket} and goes out over one of its pooled connections. If a provider
+ * has no token free right now, another available provider that does takes the send instead; if
+ * the send fails, the next provider is tried, until every provider has had one attempt. A send the
+ * relay refuses for the message's own sake ({@link #isRejected}) is neither failed over nor held
+ * against the provider; it is thrown straight back as a {@link MailRejectedException}.
+ * <p>
+ * Sends block the calling thread, so callers keep their ordering and error handling. When every
+ * provider is out of rotation, all of them are tried anyway rather than failing outright.
+ */
+@Slf4j
+public class MailSendScheduler {
+
+    private final List<SmtpProvider> providers;
+    private final Duration acquireTimeout;
+    private final Map<SmtpProvider, Counter> sent = new IdentityHashMap<>();
+    private final Map<SmtpProvider, Counter> failed = new IdentityHashMap<>();
+    private final Map<SmtpProvider, Counter> rejected = new IdentityHashMap<>();
+    private final Counter failovers;
+    private final Map<MailPriority, Timer> throttled = new EnumMap<>(MailPriority.class);
+
+    public MailSendScheduler(List<SmtpProvider> providers, MeterRegistry meterRegistry, Duration acquireTimeout) {
+        if (providers.isEmpty()) {
+            throw new IllegalArgumentException("At least one SMTP provider is required");
+        }
+        this.providers = List.copyOf(providers);
+        this.acquireTimeout = acquireTimeout;
+        for (SmtpProvider provider : this.providers) {
+            sent.put(provider, meterRegistry.counter("notification.mail.sends", "provider", provider.getName(),
+                    "result", "sent"));
+            failed.put(provider, meterRegistry.counter("notification.mail.sends", "provider", provider.getName(),
+                    "result", "failed"));
+            rejected.put(provider, meterRegistry.counter("notification.mail.sends", "provider", provider.getName(),
+                    "result", "rejected"));
+            Gauge.builder("notification.mail.provider.available", provider, p -> p.isAvailable() ? 1 : 0)
+                    .description("1 while the SMTP provider is in rotation")
+                    .tag("provider", provider.getName())
+                    .register(meterRegistry);
+        }
+        this.failovers = Counter.builder("notification.mail.failovers")
+                .description("Sends retried on another SMTP provider after a failure")
+                .register(meterRegistry);
+        for (MailPriority priority : MailPriority.values()) {
+            throttled.put(priority, Timer.builder("notification.mail.throttled")
+                    .description("Time sends waited for an SMTP provider's rate limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void send(MimeMessagePreparator preparator, MailPriority priority) {
+        List<SmtpProvider> route = route();
+        Exception lastFailure = null;
+        for (int i = 0; i < route.size(); i++) {
+            SmtpProvider provider;
+            try {
+                provider = acquire(route, i, priority);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MailSendException("Interrupted while waiting to send email", e);
+            }
+            if (provider == null) {
+                lastFailure = new MailSendException("SMTP provider " + route.get(i).getName()
+                        + " had no send capacity within " + acquireTimeout);
+                continue;
+            }
+            try {
+                send(provider, preparator);
+                sent.get(provider).increment();
+                return;
+            } catch (MailPreparationException e) {
+                throw e;
+            } catch (Exception e) {
+                if (isRejected(e)) {
+                    rejected.get(provider).increment();
+                    throw new MailRejectedException("SMTP provider " + provider.getName() + " rejected the email", e);
+                }
+                provider.recordFailure();
+                failed.get(provider).increment();
+                lastFailure = e;
+                if (i + 1 < route.size()) {
+                    failovers.increment();
+                    log.warn("Send through SMTP provider {} failed, failing over to {}", provider.getName(),
+                            route.get(i + 1).getName(), e);
+                }
+            }
+        }
+        throw new MailSendException("Failed to send email through any of " + route.size() + " SMTP providers",
+                lastFailure);
+    }
+
+    public List<SmtpProvider> getProviders() {
+        return providers;
+    }
+
+    public void close() {
+        providers.forEach(SmtpProvider::close);
+    }
+
+    /**
+     * Whether {@code failure} is the relay refusing this email rather than failing to handle it: a
+     * recipient or the message itself rejected with a 5xx reply, or a {@link SendFailedException}
+     * raised before anything reached the relay, such as a message without valid recipients. 4xx
+     * replies are transient and a refused sender address is the provider's configuration, so
+     * both still count against the provider.
+     */
+    static boolean isRejected(Throwable failure) {
+        boolean rejected = false;
+        // MessagingException chains the per-recipient failures as its cause
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            switch (cause) {
+                case SMTPSenderFailedException senderFailed -> {
+                    return false;
+                }
+                case SMTPAddressFailedException addressFailed -> {
+                    if (addressFailed.getReturnCode() < 500) {
+                        return false;
+                    }
+                    rejected = true;
+                }
+                case SMTPSendFailedException sendFailed -> {
+                    if (sendFailed.getReturnCode() < 500) {
+                        return false;
+                    }
+                    rejected = true;
+                }
+                case SendFailedException sendFailed -> rejected = true;
+                default -> {
+                }
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * Available providers in weighted random order; all providers in that order when none is available.
+     */
+    List<SmtpProvider> route() {
+        List<SmtpProvider> candidates = new ArrayList<>(providers.size());
+        for (SmtpProvider provider : providers) {
+            if (provider.isAvailable()) {
+                candidates.add(provider);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates.addAll(providers);
+        }
+        List<SmtpProvider> route = new ArrayList<>(candidates.size());
+        int totalWeight = candidates.stream().mapToInt(SmtpProvider::getWeight).sum();
+        while (!candidates.isEmpty()) {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (int i = 0; i < candidates.size(); i++) {
+                pick -= candidates.get(i).getWeight();
+                if (pick < 0) {
+                    SmtpProvider provider = candidates.remove(i);
+                    totalWeight -= provider.getWeight();
+                    route.add(provider);
+                    break;
+                }
+            }
+        }
+        return route;
+    }
+
+    /**
+     * Takes a token from the provider at {@code position}, or from a later one with a token free
+     * right now, which is then moved to {@code position}.
+     *
+     * @return the provider holding the token, or null if none became free within the acquire timeout
+     */
+    private SmtpProvider acquire(List<SmtpProvider> route, int position, MailPriority priority)
+            throws InterruptedException {
+        for (int i = position; i < route.size(); i++) {
+            if (route.get(i).getTokenBucket().tryAcquire(priority)) {
+                if (i != position) {
+                    route.add(position, route.remove(i));
+                }
+                return route.get(position);
+            }
+        }
+        SmtpProvider provider = route.get(position);
+        long start = System.nanoTime();
+        boolean acquired = provider.getTokenBucket().acquire(priority, acquireTimeout);
+        throttled.get(priority).record(Duration.ofNanos(System.nanoTime() - start));
+        return acquired ? provider : null;
+    }
+
+    private void send(SmtpProvider provider, MimeMessagePreparator preparator) throws Exception {
+        SmtpTransportPool transportPool = provider.getTransportPool();
+        MimeMessage message = new MimeMessage(transportPool.getSession());
+        try {
+            preparator.prepare(message);
+        } catch (Exception e) {
+            throw new MailPreparationException("Failed to prepare email", e);
+        }
+        SmtpTransportPool.PooledTransport transport = transportPool.borrow();
+        try {
+            transport.send(message);
+            provider.recordSuccess();
+        } finally {
+            transportPool.release(transport);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.techie.microservices.notification.mail;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * One SMTP relay {@link MailSendScheduler} can route to: its connection pool, its send rate limit,
+ * its routing weight and its recent error rate. Once at least {@code minSamples} of the last
+ * {@code window} sends have been recorded and the share of failures reaches
+ * {@code maxErrorRate}, the provider is taken out of rotation for {@code cooldown}. After the
+ * cooldown it takes traffic again; the first failure sends it straight back, the first success
+ * clears its history.
+ */
+@Slf4j
+public class SmtpProvider {
+
+    private final String name;
+    private final int weight;
+    private final SmtpTransportPool transportPool;
+    private final TokenBucket tokenBucket;
+    private final FailoverPolicy failoverPolicy;
+    private final boolean[] outcomes;
+    private int next;
+    private int samples;
+    private int failures;
+    private long unavailableUntil;
+    private boolean coolingDown;
+
+    public SmtpProvider(String name, int weight, SmtpTransportPool transportPool, TokenBucket tokenBucket,
+                        FailoverPolicy failoverPolicy) {
+        if (weight < 1) {
+            throw new IllegalArgumentException("Weight of SMTP provider " + name + " must be at least 1");
+        }
+        this.name = name;
+        this.weight = weight;
+        this.transportPool = transportPool;
+        this.tokenBucket = tokenBucket;
+        this.failoverPolicy = failoverPolicy;
+        this.outcomes = new boolean[failoverPolicy.window()];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public SmtpTransportPool getTransportPool() {
+        return transportPool;
+    }
+
+    public TokenBucket getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public synchronized boolean isAvailable() {
+        return !coolingDown || System.nanoTime() - unavailableUntil >= 0;
+    }
+
+    public synchronized void recordSuccess() {
+        if (coolingDown) {
+            log.info("SMTP provider {} recovered, back in rotation", name);
+            coolingDown = false;
+            next = 0;
+            samples = 0;
+            failures = 0;
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void recordFailure() {
+        if (coolingDown) {
+            unavailableUntil = System.nanoTime() + failoverPolicy.cooldown().toNanos();
+            return;
+        }
+        record(true);
+        if (samples >= failoverPolicy.minSamples() && (double) failures / samples >= failoverPolicy.maxErrorRate()) {
+            coolingDown = true;
+            unavailableUntil = System.nanoTime() + failoverPolicy.cooldown().toNanos();
+            log.warn("SMTP provider {} failed {} of its last {} sends, out of rotation for {}", name, failures, samples,
+                    failoverPolicy.cooldown());
+        }
+    }
+
+    public void close() {
+        transportPool.close();
+    }
+
+    private void record(boolean failed) {
+        if (samples == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            samples++;
+        }
+        outcomes[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+    }
+
+    public record FailoverPolicy(double maxErrorRate, int minSamples, int window, Duration cooldown) {
+
+        public FailoverPolicy {
+            if (window < 1 || minSamples > window) {
+                throw new IllegalArgumentException("Failover window must be at least 1 and hold min-samples sends");
+            }
+        }
+    }
+}
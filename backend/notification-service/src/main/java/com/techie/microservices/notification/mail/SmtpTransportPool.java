@@ -0,0 +1,131 @@
+package com.techie.microservices.notification.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps up to {@code pool-size} SMTP connections to one provider open between sends, so a batch
+ * of notifications goes out over a few long-lived sessions instead of one connect, EHLO and AUTH
+ * per email as {@link JavaMailSenderImpl#send} does. A connection is recycled after
+ * {@code max-messages-per-connection} messages, since many relays cap messages per session, and
+ * dropped after any send failure so the next send reconnects.
+ * <p>
+ * A {@link PooledTransport} is not thread-safe; borrow one per worker and give it back with
+ * {@link #release(PooledTransport)}.
+ */
+@Slf4j
+public class SmtpTransportPool {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<PooledTransport> idle;
+    private final Semaphore permits;
+    private final int maxMessagesPerConnection;
+    private final Counter connectionsOpened;
+    private volatile boolean closed;
+
+    public SmtpTransportPool(String provider,
+                             JavaMailSenderImpl mailSender,
+                             MeterRegistry meterRegistry,
+                             int poolSize,
+                             int maxMessagesPerConnection) {
+        this.mailSender = mailSender;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.permits = new Semaphore(poolSize, true);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.connectionsOpened = Counter.builder("notification.smtp.connections")
+                .description("SMTP connections opened")
+                .tag("provider", provider)
+                .register(meterRegistry);
+    }
+
+    public Session getSession() {
+        return mailSender.getSession();
+    }
+
+    /**
+     * Blocks until a transport is free; it may not be connected yet, that happens on first send.
+     */
+    public PooledTransport borrow() throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("SMTP transport pool is closed");
+        }
+        permits.acquire();
+        PooledTransport transport = idle.poll();
+        return transport != null ? transport : new PooledTransport();
+    }
+
+    public void release(PooledTransport transport) {
+        if (closed || !idle.offer(transport)) {
+            transport.close();
+        }
+        permits.release();
+    }
+
+    public void close() {
+        closed = true;
+        PooledTransport transport;
+        while ((transport = idle.poll()) != null) {
+            transport.close();
+        }
+    }
+
+    public final class PooledTransport {
+
+        private Transport transport;
+        private int messagesSent;
+
+        private PooledTransport() {
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            if (transport == null || !transport.isConnected() || messagesSent >= maxMessagesPerConnection) {
+                close();
+                connect();
+            }
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            try {
+                transport.sendMessage(message, message.getAllRecipients());
+                messagesSent++;
+            } catch (MessagingException e) {
+                // The session state is unknown after a failed transaction, start over on the next send
+                close();
+                throw e;
+            }
+        }
+
+        private void connect() throws MessagingException {
+            Transport fresh = mailSender.getSession().getTransport(
+                    mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+            fresh.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            transport = fresh;
+            messagesSent = 0;
+            connectionsOpened.increment();
+        }
+
+        void close() {
+            if (transport == null) {
+                return;
+            }
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection cleanly", e);
+            }
+            transport = null;
+        }
+    }
+}
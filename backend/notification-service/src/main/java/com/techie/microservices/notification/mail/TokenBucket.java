@@ -0,0 +1,87 @@
+package com.techie.microservices.notification.mail;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Send rate limit for one SMTP provider: refills at {@code ratePerSecond} up to {@code burst}
+ * tokens, one token per email. While a {@link MailPriority#TRANSACTIONAL} sender is waiting for a
+ * token, {@link MailPriority#BULK} senders wait too, so the next free token goes to the
+ * transactional one.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+    private int transactionalWaiting;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Takes a token if one is free right now.
+     */
+    public synchronized boolean tryAcquire(MailPriority priority) {
+        refill(System.nanoTime());
+        if (tokens >= 1 && (priority == MailPriority.TRANSACTIONAL || transactionalWaiting == 0)) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Waits up to {@code timeout} for a token.
+     *
+     * @return false if none became free in time
+     */
+    public synchronized boolean acquire(MailPriority priority, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean transactional = priority == MailPriority.TRANSACTIONAL;
+        if (transactional) {
+            transactionalWaiting++;
+        }
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                refill(now);
+                // A waiting transactional sender counts itself, only bulk senders yield
+                boolean yielding = !transactional && transactionalWaiting > 0;
+                if (!yielding && tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    return false;
+                }
+                long untilToken = tokens >= 1 ? remaining : (long) Math.ceil((1 - tokens) / tokensPerNano);
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, Math.min(remaining, untilToken)));
+            }
+        } finally {
+            if (transactional) {
+                transactionalWaiting--;
+                notifyAll();
+            }
+        }
+    }
+
+    public synchronized double availableTokens() {
+        refill(System.nanoTime());
+        return tokens;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
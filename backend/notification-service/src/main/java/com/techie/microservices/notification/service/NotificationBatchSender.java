@@ -0,0 +1,182 @@
+package com.techie.microservices.notification.service;
+
+import com.techie.microservices.notification.mail.MailPriority;
+import com.techie.microservices.notification.mail.MailRejectedException;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sends a batch of order notifications through {@link MailSendScheduler}. The batch is split into
+ * at most {@code notification.batch.parallelism} lanes by customer email, the key order-service
+ * partitions on, so a customer's notifications keep their partition order while different
+ * customers on the same partition are sent in parallel, one worker per lane. A message that fails
+ * is retried once, which reconnects or fails over to another provider, unless the relay rejected
+ * it outright; if it still fails it is handed to {@link NotificationRetryPublisher} so the batch
+ * can commit without it. Only if that hand-off fails is the batch reported as failed from the
+ * first unsent message, so the listener container commits the offsets before it and redelivers
+ * the rest.
+ */
+@Service
+@Slf4j
+public class NotificationBatchSender {
+
+    private final MailSendScheduler mailSendScheduler;
+    private final NotificationRenderer notificationRenderer;
+    private final NotificationRetryPublisher notificationRetryPublisher;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final Counter sent;
+    private final Counter failed;
+    private final DistributionSummary batchSize;
+    private final Timer batchDuration;
+
+    public NotificationBatchSender(MailSendScheduler mailSendScheduler,
+                                   NotificationRenderer notificationRenderer,
+                                   NotificationRetryPublisher notificationRetryPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notification.batch.parallelism:4}") int parallelism) {
+        this.mailSendScheduler = mailSendScheduler;
+        this.notificationRenderer = notificationRenderer;
+        this.notificationRetryPublisher = notificationRetryPublisher;
+        this.parallelism = parallelism;
+        this.workers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("notification-sender-", 0).daemon().factory());
+        this.sent = meterRegistry.counter("notification.emails", "result", "sent");
+        this.failed = meterRegistry.counter("notification.emails", "result", "failed");
+        this.batchSize = DistributionSummary.builder("notification.batch.size")
+                .description("Order notifications per consumed batch")
+                .register(meterRegistry);
+        this.batchDuration = Timer.builder("notification.batch.duration")
+                .description("Time to send one consumed batch")
+                .register(meterRegistry);
+    }
+
+    public void send(List<OrderPlacedEvent> orderPlacedEvents) {
+        if (orderPlacedEvents.isEmpty()) {
+            return;
+        }
+        batchSize.record(orderPlacedEvents.size());
+        AtomicReferenceArray<Exception> failures = new AtomicReferenceArray<>(orderPlacedEvents.size());
+        batchDuration.record(() -> {
+            List<Future<?>> lanes = new ArrayList<>(parallelism);
+            for (int[] lane : lanes(orderPlacedEvents)) {
+                lanes.add(workers.submit(() -> sendLane(orderPlacedEvents, lane, failures)));
+            }
+            for (Future<?> lane : lanes) {
+                await(lane);
+            }
+        });
+
+        List<NotificationRetryPublisher.Failure> failed = new ArrayList<>();
+        int firstFailed = -1;
+        for (int i = 0; i < failures.length(); i++) {
+            if (failures.get(i) != null) {
+                failed.add(new NotificationRetryPublisher.Failure(orderPlacedEvents.get(i), 1, null, failures.get(i)));
+                firstFailed = firstFailed < 0 ? i : firstFailed;
+            }
+        }
+        if (!failed.isEmpty()) {
+            try {
+                notificationRetryPublisher.publish(failed);
+            } catch (RuntimeException e) {
+                throw new BatchListenerFailedException("Failed to send order notification for order "
+                        + orderPlacedEvents.get(firstFailed).getOrderNumber(), e, firstFailed);
+            }
+        }
+        log.info("Sent {} order notification emails, {} scheduled for retry", orderPlacedEvents.size() - failed.size(),
+                failed.size());
+    }
+
+    /**
+     * @return batch indices per non-empty lane, each in batch order
+     */
+    int[][] lanes(List<OrderPlacedEvent> orderPlacedEvents) {
+        int laneCount = Math.min(parallelism, orderPlacedEvents.size());
+        int[] sizes = new int[laneCount];
+        int[] laneOf = new int[orderPlacedEvents.size()];
+        for (int i = 0; i < laneOf.length; i++) {
+            CharSequence email = orderPlacedEvents.get(i).getEmail();
+            laneOf[i] = email == null ? i % laneCount : Math.floorMod(email.toString().hashCode(), laneCount);
+            sizes[laneOf[i]]++;
+        }
+        int[][] lanes = new int[laneCount][];
+        for (int lane = 0; lane < laneCount; lane++) {
+            lanes[lane] = new int[sizes[lane]];
+            sizes[lane] = 0;
+        }
+        for (int i = 0; i < laneOf.length; i++) {
+            lanes[laneOf[i]][sizes[laneOf[i]]++] = i;
+        }
+        return Arrays.stream(lanes).filter(lane -> lane.length > 0).toArray(int[][]::new);
+    }
+
+    private Void sendLane(List<OrderPlacedEvent> orderPlacedEvents, int[] lane,
+                          AtomicReferenceArray<Exception> failures) {
+        for (int i : lane) {
+            Exception failure = sendWithRetry(orderPlacedEvents.get(i));
+            if (failure == null) {
+                sent.increment();
+            } else {
+                failures.set(i, failure);
+                failed.increment();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return null when sent, otherwise the last failure
+     */
+    private Exception sendWithRetry(OrderPlacedEvent orderPlacedEvent) {
+        Exception failure = null;
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                mailSendScheduler.send(notificationRenderer.orderPlacedMessage(orderPlacedEvent), MailPriority.TRANSACTIONAL);
+                return null;
+            } catch (MailRejectedException e) {
+                log.warn("Order notification for order {} was rejected", orderPlacedEvent.getOrderNumber(), e);
+                return e;
+            } catch (Exception e) {
+                failure = e;
+                log.warn("Attempt {} to send order notification for order {} failed", attempt,
+                        orderPlacedEvent.getOrderNumber(), e);
+            }
+        }
+        return failure;
+    }
+
+    private static void await(Future<?> lane) {
+        try {
+            lane.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending order notifications", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Order notification worker failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        workers.shutdownNow();
+    }
+}
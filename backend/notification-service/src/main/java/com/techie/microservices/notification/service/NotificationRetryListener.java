@@ -0,0 +1,66 @@
+package com.techie.microservices.notification.service;
+
+import com.techie.microservices.notification.mail.MailPriority;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Consumes the retry tiers written by {@link NotificationRetryPublisher}, each tier in its own
+ * listener container (see {@code NotificationRetryConfig}). A record that is not due yet is
+ * negatively acknowledged, which seeks back to it and pauses that tier's consumer until it is due
+ * without blocking the poll loop. Each tier is FIFO with a fixed delay, so the head record is
+ * always the next one due on its partition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetryListener {
+
+    private final MailSendScheduler mailSendScheduler;
+    private final NotificationRenderer notificationRenderer;
+    private final NotificationRetryPublisher notificationRetryPublisher;
+
+    public void listen(ConsumerRecord<String, OrderPlacedEvent> record, Acknowledgment acknowledgment) {
+        long dueAt = parseLong(NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.DUE_AT_HEADER), 0);
+        long waitMillis = dueAt - System.currentTimeMillis();
+        if (waitMillis > 0) {
+            acknowledgment.nack(Duration.ofMillis(waitMillis));
+            return;
+        }
+
+        OrderPlacedEvent orderPlacedEvent = record.value();
+        int attempts = (int) parseLong(NotificationRetryPublisher.header(record.headers(),
+                NotificationRetryPublisher.ATTEMPT_HEADER), 1);
+        try {
+            mailSendScheduler.send(notificationRenderer.orderPlacedMessage(orderPlacedEvent), MailPriority.BULK);
+            log.info("Order notification for order {} sent on attempt {}", orderPlacedEvent.getOrderNumber(), attempts + 1);
+        } catch (MailException e) {
+            long firstFailedAt = parseLong(NotificationRetryPublisher.header(record.headers(),
+                    NotificationRetryPublisher.FIRST_FAILED_AT_HEADER), System.currentTimeMillis());
+            notificationRetryPublisher.publish(new NotificationRetryPublisher.Failure(orderPlacedEvent, attempts + 1,
+                    Instant.ofEpochMilli(firstFailedAt), e));
+        }
+        acknowledgment.acknowledge();
+    }
+
+    private static long parseLong(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
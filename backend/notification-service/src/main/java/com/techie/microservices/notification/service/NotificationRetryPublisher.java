@@ -0,0 +1,182 @@
+package com.techie.microservices.notification.service;
+
+import com.techie.microservices.notification.mail.MailRejectedException;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+/**
+ * Moves order notifications that could not be sent off the main topic. Failure {@code n} goes to
+ * {@code order-placed-retry-(n-1)}, whose records become due {@code initial-delay * multiplier^(n-1)}
+ * after the failure; once every tier is used up the event lands on {@code order-placed-dlt}. An
+ * email the relay rejected ({@link MailRejectedException}) goes to {@code order-placed-dlt} at
+ * once, since retrying it later would be rejected again. The failure metadata travels in
+ * {@code notification-*} headers.
+ * <p>
+ * Sends wait for the broker acknowledgement, so the caller may commit the failed record's offset
+ * as soon as this returns.
+ */
+@Component
+@Slf4j
+public class NotificationRetryPublisher {
+
+    public static final String ATTEMPT_HEADER = "notification-attempt";
+    public static final String DUE_AT_HEADER = "notification-due-at";
+    public static final String FIRST_FAILED_AT_HEADER = "notification-first-failed-at";
+    public static final String EXCEPTION_HEADER = "notification-exception";
+    public static final String EXCEPTION_MESSAGE_HEADER = "notification-exception-message";
+    public static final String ORIGINAL_TOPIC_HEADER = "notification-original-topic";
+
+    private final KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String topic;
+    private final List<Duration> delays;
+    private final Duration sendTimeout;
+
+    public NotificationRetryPublisher(KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notification.retry.topic:order-placed}") String topic,
+                                      @Value("${notification.retry.tiers:3}") int tiers,
+                                      @Value("${notification.retry.initial-delay:10s}") Duration initialDelay,
+                                      @Value("${notification.retry.multiplier:6}") double multiplier,
+                                      @Value("${notification.retry.send-timeout:10s}") Duration sendTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.topic = topic;
+        this.delays = IntStream.range(0, tiers)
+                .mapToObj(tier -> Duration.ofMillis((long) (initialDelay.toMillis() * Math.pow(multiplier, tier))))
+                .toList();
+        this.sendTimeout = sendTimeout;
+    }
+
+    public String[] retryTopics() {
+        return IntStream.range(0, delays.size()).mapToObj(this::retryTopic).toArray(String[]::new);
+    }
+
+    public String retryTopic(int tier) {
+        return topic + "-retry-" + tier;
+    }
+
+    public String deadLetterTopic() {
+        return topic + "-dlt";
+    }
+
+    public Duration delay(int tier) {
+        return delays.get(tier);
+    }
+
+    /**
+     * Routes every failure to its next tier or the dead-letter topic and waits for all acknowledgements.
+     */
+    public void publish(List<Failure> failures) {
+        List<CompletableFuture<SendResult<String, OrderPlacedEvent>>> sends = new ArrayList<>(failures.size());
+        for (Failure failure : failures) {
+            sends.add(kafkaTemplate.send(toRecord(failure)));
+        }
+        await(sends, "schedule notification retries");
+    }
+
+    public void publish(Failure failure) {
+        publish(List.of(failure));
+    }
+
+    /**
+     * Puts dead-lettered events back at the start of the retry tiers, due immediately and with the
+     * full set of retries ahead of them.
+     */
+    public void replay(List<OrderPlacedEvent> events) {
+        List<CompletableFuture<SendResult<String, OrderPlacedEvent>>> sends = new ArrayList<>(events.size());
+        String now = String.valueOf(System.currentTimeMillis());
+        for (OrderPlacedEvent event : events) {
+            String key = event.getEmail() == null ? null : event.getEmail().toString();
+            ProducerRecord<String, OrderPlacedEvent> record = new ProducerRecord<>(retryTopic(0), key, event);
+            header(record.headers(), ATTEMPT_HEADER, "0");
+            header(record.headers(), DUE_AT_HEADER, now);
+            header(record.headers(), ORIGINAL_TOPIC_HEADER, deadLetterTopic());
+            sends.add(kafkaTemplate.send(record));
+        }
+        await(sends, "replay dead-lettered notifications");
+    }
+
+    private ProducerRecord<String, OrderPlacedEvent> toRecord(Failure failure) {
+        Instant now = Instant.now();
+        int tier = failure.attempts() - 1;
+        boolean rejected = failure.cause() instanceof MailRejectedException;
+        boolean deadLetter = rejected || tier >= delays.size();
+        String target = deadLetter ? deadLetterTopic() : retryTopic(tier);
+        String key = failure.event().getEmail() == null ? null : failure.event().getEmail().toString();
+        ProducerRecord<String, OrderPlacedEvent> record = new ProducerRecord<>(target, key, failure.event());
+        Headers headers = record.headers();
+        header(headers, ATTEMPT_HEADER, String.valueOf(failure.attempts()));
+        header(headers, FIRST_FAILED_AT_HEADER,
+                String.valueOf((failure.firstFailedAt() != null ? failure.firstFailedAt() : now).toEpochMilli()));
+        header(headers, ORIGINAL_TOPIC_HEADER, topic);
+        header(headers, EXCEPTION_HEADER, failure.cause().getClass().getName());
+        header(headers, EXCEPTION_MESSAGE_HEADER, String.valueOf(failure.cause().getMessage()));
+        if (deadLetter) {
+            meterRegistry.counter("notification.dead-letters").increment();
+            if (rejected) {
+                log.warn("Order notification for order {} was rejected, moved to {}", failure.event().getOrderNumber(),
+                        target);
+            } else {
+                log.warn("Order notification for order {} failed {} times, moved to {}",
+                        failure.event().getOrderNumber(), failure.attempts(), target);
+            }
+        } else {
+            header(headers, DUE_AT_HEADER, String.valueOf(now.plus(delays.get(tier)).toEpochMilli()));
+            meterRegistry.counter("notification.retries", "tier", String.valueOf(tier)).increment();
+            log.info("Order notification for order {} failed, retrying via {} in {}", failure.event().getOrderNumber(),
+                    target, delays.get(tier));
+        }
+        return record;
+    }
+
+    private void await(List<CompletableFuture<SendResult<String, OrderPlacedEvent>>> sends, String action) {
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        try {
+            for (CompletableFuture<SendResult<String, OrderPlacedEvent>> send : sends) {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while trying to " + action, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to " + action, e);
+        }
+    }
+
+    private static void header(Headers headers, String name, String value) {
+        headers.remove(name);
+        headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String header(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param attempts      attempts made so far, including the one that just failed
+     * @param firstFailedAt when the first attempt failed; null means now
+     */
+    public record Failure(OrderPlacedEvent event, int attempts, Instant firstFailedAt, Exception cause) {
+    }
+}
@@ -1,47 +1,65 @@
 package com.techie.microservices.notification.service;
 
+import com.techie.microservices.notification.digest.NotificationDigester;
+import com.techie.microservices.notification.mail.MailPriority;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationService {
 
-    private final JavaMailSender javaMailSender;
+    private final MailSendScheduler mailSendScheduler;
+    private final NotificationBatchSender notificationBatchSender;
+    private final NotificationRenderer notificationRenderer;
+    private final NotificationRetryPublisher notificationRetryPublisher;
+    private final NotificationDigester notificationDigester;
 
-    @KafkaListener(topics = "order-placed")
-    public void listen(com.techie.microservices.order.event.OrderPlacedEvent orderPlacedEvent){
+    /**
+     * One email per record; only runs when
+     * {@code notification.batch.enabled=false}. A failed email goes to the retry tiers instead of
+     * being redelivered in place, so it does not hold up the partition.
+     */
+    @KafkaListener(topics = "order-placed", autoStartup = "#{!${notification.batch.enabled:true}}")
+    public void listen(OrderPlacedEvent orderPlacedEvent){
         log.info("Got Message from order-placed topic {}", orderPlacedEvent);
-        MimeMessagePreparator messagePreparator = mimeMessage -> {
-            MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage);
-            messageHelper.setFrom("springshop@email.com");
-            messageHelper.setTo(orderPlacedEvent.getEmail().toString());
-            messageHelper.setSubject(String.format("Your Order with OrderNumber %s is placed successfully", orderPlacedEvent.getOrderNumber()));
-            messageHelper.setText(String.format("""
-                            Hi %s,%s
-
-                            Your order with order number %s is now placed successfully.
-                            
-                            Best Regards
-                            Spring Shop
-                            """,
-                    orderPlacedEvent.getFirstName().toString(),
-                    orderPlacedEvent.getLastName().toString(),
-                    orderPlacedEvent.getOrderNumber()));
-        };
         try {
-            javaMailSender.send(messagePreparator);
+            mailSendScheduler.send(notificationRenderer.orderPlacedMessage(orderPlacedEvent), MailPriority.TRANSACTIONAL);
             log.info("Order Notifcation email sent!!");
         } catch (MailException e) {
             log.error("Exception occurred when sending mail", e);
-            throw new RuntimeException("Exception occurred when sending mail to springshop@email.com", e);
+            try {
+                notificationRetryPublisher.publish(new NotificationRetryPublisher.Failure(orderPlacedEvent, 1, null, e));
+            } catch (RuntimeException retryFailure) {
+                e.addSuppressed(retryFailure);
+                throw new RuntimeException("Exception occurred when sending mail to springshop@email.com", e);
+            }
+        }
+    }
+
+    /**
+     * Receives everything one poll returned; offsets are committed once the whole batch is sent,
+     * or, with {@code notification.digest.enabled}, once it is safely buffered for digesting.
+     */
+    @KafkaListener(topics = "order-placed", batch = "true", autoStartup = "${notification.batch.enabled:true}")
+    public void listenBatch(List<OrderPlacedEvent> orderPlacedEvents,
+                            @Header(KafkaHeaders.RECEIVED_TIMESTAMP) List<Long> timestamps) {
+        log.info("Got {} messages from order-placed topic", orderPlacedEvents.size());
+        if (notificationDigester.isEnabled()) {
+            notificationDigester.offer(orderPlacedEvents, timestamps);
+        } else {
+            notificationBatchSender.send(orderPlacedEvents);
         }
     }
 }
@@ -0,0 +1,250 @@
+package com.techie.microservices.notification.template;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles the order-placed templates under {@code classpath:templates/notification/} at startup
+ * and renders subject, plain text and HTML bodies from them. Each locale listed in
+ * {@code notification.templates.locales} may override any of the three parts with a file suffixed
+ * like a resource bundle ({@code order-placed_fr.html}); missing parts fall back to the next less
+ * specific locale and finally to the unsuffixed default.
+ * <p>
+ * The order digest ({@code order-digest.*}) lists several orders for one recipient in a single
+ * email. Its templates mark where the orders go with {@code {{orders}}}, filled with
+ * {@code order-digest.item.*} once per order, and its subject may contain {@code {{count}}}; the
+ * other placeholders take the first order's fields. Digests use the default templates only.
+ * <p>
+ * Rendering reuses one buffer per thread, so a message costs one String per part.
+ */
+@Component
+@Slf4j
+public class NotificationRenderer {
+
+    static final String TEMPLATE_LOCATION = "templates/notification/";
+    static final String ORDER_PLACED = "order-placed";
+    static final String ORDER_DIGEST = "order-digest";
+    private static final String ITEM = ".item";
+    private static final String COUNT_SLOT = "{{count}}";
+    private static final String ORDERS_SLOT = "{{orders}}";
+    private static final String SUBJECT = ".subject.txt";
+    private static final String TEXT = ".txt";
+    private static final String HTML = ".html";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<Locale, TemplateSet> templates = new HashMap<>();
+    private final TemplateSet defaultTemplates;
+    private final DigestTemplates digestTemplates;
+    private final Locale defaultLocale;
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    public NotificationRenderer(@Value("${notification.templates.locales:}") List<String> locales,
+                                @Value("${notification.templates.default-locale:en}") String defaultLocale) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        this.defaultTemplates = new TemplateSet(
+                compile(ORDER_PLACED, SUBJECT, false, null),
+                compile(ORDER_PLACED, TEXT, false, null),
+                compile(ORDER_PLACED, HTML, true, null));
+        this.digestTemplates = new DigestTemplates(
+                compileEnclosing(ORDER_DIGEST, SUBJECT, false, COUNT_SLOT),
+                compileEnclosing(ORDER_DIGEST, TEXT, false, ORDERS_SLOT),
+                compile(ORDER_DIGEST + ITEM, TEXT, false, null),
+                compileEnclosing(ORDER_DIGEST, HTML, true, ORDERS_SLOT),
+                compile(ORDER_DIGEST + ITEM, HTML, true, null));
+        // Language-only locales first, so fr_CA can fall back to fr
+        List<Locale> variants = locales.stream()
+                .filter(tag -> !tag.isBlank())
+                .map(tag -> Locale.forLanguageTag(tag.trim().replace('_', '-')))
+                .sorted(Comparator.comparing(locale -> !locale.getCountry().isEmpty()))
+                .toList();
+        for (Locale locale : variants) {
+            TemplateSet fallback = resolve(Locale.of(locale.getLanguage()));
+            templates.put(locale, new TemplateSet(
+                    compile(ORDER_PLACED + suffix(locale), SUBJECT, false, fallback.subject()),
+                    compile(ORDER_PLACED + suffix(locale), TEXT, false, fallback.text()),
+                    compile(ORDER_PLACED + suffix(locale), HTML, true, fallback.html())));
+        }
+        log.info("Compiled notification templates for locales {} (default {})", templates.keySet(), defaultLocale);
+    }
+
+    /**
+     * Multipart text and HTML order confirmation in the default locale.
+     */
+    public MimeMessagePreparator orderPlacedMessage(OrderPlacedEvent orderPlacedEvent) {
+        return orderPlacedMessage(orderPlacedEvent, defaultLocale);
+    }
+
+    public MimeMessagePreparator orderPlacedMessage(OrderPlacedEvent orderPlacedEvent, Locale locale) {
+        return mimeMessage -> {
+            RenderedNotification notification = render(orderPlacedEvent, locale);
+            MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+            messageHelper.setFrom("springshop@email.com");
+            messageHelper.setTo(orderPlacedEvent.getEmail().toString());
+            messageHelper.setSubject(notification.subject());
+            messageHelper.setText(notification.text(), notification.html());
+        };
+    }
+
+    public RenderedNotification render(OrderPlacedEvent orderPlacedEvent, Locale locale) {
+        TemplateSet templateSet = resolve(locale);
+        return new RenderedNotification(
+                render(templateSet.subject(), orderPlacedEvent),
+                render(templateSet.text(), orderPlacedEvent),
+                render(templateSet.html(), orderPlacedEvent));
+    }
+
+    /**
+     * One multipart email listing every order in {@code orderPlacedEvents}, sent to the first
+     * order's recipient.
+     */
+    public MimeMessagePreparator orderDigestMessage(List<OrderPlacedEvent> orderPlacedEvents) {
+        return mimeMessage -> {
+            RenderedNotification notification = renderDigest(orderPlacedEvents);
+            MimeMessageHelper messageHelper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+            messageHelper.setFrom("springshop@email.com");
+            messageHelper.setTo(orderPlacedEvents.get(0).getEmail().toString());
+            messageHelper.setSubject(notification.subject());
+            messageHelper.setText(notification.text(), notification.html());
+        };
+    }
+
+    public RenderedNotification renderDigest(List<OrderPlacedEvent> orderPlacedEvents) {
+        if (orderPlacedEvents.isEmpty()) {
+            throw new IllegalArgumentException("An order digest needs at least one order");
+        }
+        return new RenderedNotification(
+                render(digestTemplates.subject(), null, orderPlacedEvents),
+                render(digestTemplates.text(), digestTemplates.textItem(), orderPlacedEvents),
+                render(digestTemplates.html(), digestTemplates.htmlItem(), orderPlacedEvents));
+    }
+
+    private String render(NotificationTemplate template, OrderPlacedEvent orderPlacedEvent) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.renderTo(orderPlacedEvent, buffer);
+        return release(buffer);
+    }
+
+    /**
+     * Fills the enclosing template's slot with one rendered item per order, or with the order
+     * count when there is no item template.
+     */
+    private String render(Enclosing enclosing, NotificationTemplate item, List<OrderPlacedEvent> orderPlacedEvents) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        OrderPlacedEvent first = orderPlacedEvents.get(0);
+        enclosing.head().renderTo(first, buffer);
+        if (item == null) {
+            buffer.append(orderPlacedEvents.size());
+        } else {
+            for (OrderPlacedEvent orderPlacedEvent : orderPlacedEvents) {
+                item.renderTo(orderPlacedEvent, buffer);
+            }
+        }
+        enclosing.tail().renderTo(first, buffer);
+        return release(buffer);
+    }
+
+    private String release(StringBuilder buffer) {
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            // Don't pin an outsized buffer to a long-lived worker thread
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    private TemplateSet resolve(Locale locale) {
+        if (locale == null) {
+            return defaultTemplates;
+        }
+        TemplateSet exact = templates.get(locale);
+        if (exact != null) {
+            return exact;
+        }
+        return templates.getOrDefault(Locale.of(locale.getLanguage()), defaultTemplates);
+    }
+
+    private static NotificationTemplate compile(String baseName, String extension, boolean html,
+                                                NotificationTemplate fallback) {
+        String path = TEMPLATE_LOCATION + baseName + extension;
+        String source = read(path, extension);
+        if (source == null) {
+            if (fallback == null) {
+                throw new IllegalStateException("Missing notification template " + path);
+            }
+            return fallback;
+        }
+        return NotificationTemplate.compile(path, source, html);
+    }
+
+    private static Enclosing compileEnclosing(String baseName, String extension, boolean html, String slot) {
+        String path = TEMPLATE_LOCATION + baseName + extension;
+        String source = read(path, extension);
+        if (source == null) {
+            throw new IllegalStateException("Missing notification template " + path);
+        }
+        int at = source.indexOf(slot);
+        if (at < 0) {
+            throw new IllegalStateException("Notification template " + path + " must contain " + slot);
+        }
+        return new Enclosing(
+                NotificationTemplate.compile(path, source.substring(0, at), html),
+                NotificationTemplate.compile(path, source.substring(at + slot.length()), html));
+    }
+
+    /**
+     * @return the template source, or null if there is no such template
+     */
+    private static String read(String path, String extension) {
+        ClassPathResource resource = new ClassPathResource(path);
+        if (!resource.exists()) {
+            return null;
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            String source = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            if (extension.equals(SUBJECT)) {
+                // Editors add a trailing newline, which must not end up in the subject header
+                source = source.strip();
+            }
+            return source;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read notification template " + path, e);
+        }
+    }
+
+    private static String suffix(Locale locale) {
+        return locale.getCountry().isEmpty() ? "_" + locale.getLanguage()
+                : "_" + locale.getLanguage() + "_" + locale.getCountry();
+    }
+
+    private record TemplateSet(NotificationTemplate subject, NotificationTemplate text, NotificationTemplate html) {
+    }
+
+    /**
+     * Template split around its slot.
+     */
+    private record Enclosing(NotificationTemplate head, NotificationTemplate tail) {
+    }
+
+    private record DigestTemplates(Enclosing subject, Enclosing text, NotificationTemplate textItem,
+                                   Enclosing html, NotificationTemplate htmlItem) {
+    }
+
+    public record RenderedNotification(String subject, String text, String html) {
+    }
+}
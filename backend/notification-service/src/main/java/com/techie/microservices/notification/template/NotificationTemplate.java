@@ -0,0 +1,147 @@
+package com.techie.microservices.notification.template;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.avro.util.Utf8;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A notification template compiled once into literal and field segments. Placeholders are written
+ * as {@code {{fieldName}}} and must name an {@link OrderPlacedEvent} field; an unknown name fails
+ * compilation, so a broken template stops the service at startup rather than at send time.
+ * <p>
+ * Rendering appends straight into the caller's buffer. Field values are copied from the event's
+ * {@link CharSequence}s without {@code toString()}; an ASCII Avro {@link Utf8} is copied byte by
+ * byte from its backing array. HTML templates escape field values, literals are written as is.
+ */
+public final class NotificationTemplate {
+
+    private static final Map<String, Function<OrderPlacedEvent, CharSequence>> FIELDS = Map.of(
+            "orderNumber", OrderPlacedEvent::getOrderNumber,
+            "email", OrderPlacedEvent::getEmail,
+            "firstName", OrderPlacedEvent::getFirstName,
+            "lastName", OrderPlacedEvent::getLastName);
+
+    private final String name;
+    private final Segment[] segments;
+    private final int literalLength;
+
+    private NotificationTemplate(String name, Segment[] segments, int literalLength) {
+        this.name = name;
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    public static NotificationTemplate compile(String name, String source, boolean html) {
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open + " in template " + name);
+            }
+            String fieldName = source.substring(open + 2, close).trim();
+            Function<OrderPlacedEvent, CharSequence> field = FIELDS.get(fieldName);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown placeholder {{" + fieldName + "}} in template " + name
+                        + ", expected one of " + FIELDS.keySet());
+            }
+            if (open > position) {
+                segments.add(new Literal(source.substring(position, open)));
+                literalLength += open - position;
+            }
+            segments.add(new Field(field, html));
+            position = close + 2;
+        }
+        if (position < source.length()) {
+            segments.add(new Literal(source.substring(position)));
+            literalLength += source.length() - position;
+        }
+        return new NotificationTemplate(name, segments.toArray(Segment[]::new), literalLength);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Length of the template without its placeholders, a lower bound for buffer sizing.
+     */
+    public int getLiteralLength() {
+        return literalLength;
+    }
+
+    public void renderTo(OrderPlacedEvent event, StringBuilder out) {
+        for (Segment segment : segments) {
+            segment.appendTo(event, out);
+        }
+    }
+
+    private sealed interface Segment permits Literal, Field {
+        void appendTo(OrderPlacedEvent event, StringBuilder out);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public void appendTo(OrderPlacedEvent event, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private record Field(Function<OrderPlacedEvent, CharSequence> accessor, boolean html) implements Segment {
+        @Override
+        public void appendTo(OrderPlacedEvent event, StringBuilder out) {
+            CharSequence value = accessor.apply(event);
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Utf8 utf8 && isAscii(utf8)) {
+                byte[] bytes = utf8.getBytes();
+                for (int i = 0; i < utf8.getByteLength(); i++) {
+                    append((char) bytes[i], out);
+                }
+                return;
+            }
+            if (!html) {
+                out.append(value);
+                return;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                append(value.charAt(i), out);
+            }
+        }
+
+        private void append(char c, StringBuilder out) {
+            if (!html) {
+                out.append(c);
+                return;
+            }
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+
+        private static boolean isAscii(Utf8 utf8) {
+            byte[] bytes = utf8.getBytes();
+            for (int i = 0; i < utf8.getByteLength(); i++) {
+                if (bytes[i] < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
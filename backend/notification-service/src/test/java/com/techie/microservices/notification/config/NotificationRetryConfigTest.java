@@ -0,0 +1,56 @@
+package com.techie.microservices.notification.config;
+
+import com.techie.microservices.notification.service.NotificationRetryListener;
+import com.techie.microservices.notification.service.NotificationRetryPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpoint;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistrar;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetryConfigTest {
+
+    @Mock
+    private NotificationRetryPublisher notificationRetryPublisher;
+
+    @Mock
+    private NotificationRetryListener notificationRetryListener;
+
+    @Mock
+    private ConcurrentKafkaListenerContainerFactory<Object, Object> containerFactory;
+
+    @Mock
+    private KafkaListenerEndpointRegistrar registrar;
+
+    @Test
+    void notificationRetryListenerConfigurer_ShouldRegisterOneContainerPerTier() throws Exception {
+        // Arrange
+        when(notificationRetryPublisher.retryTopics())
+                .thenReturn(new String[]{"order-placed-retry-0", "order-placed-retry-1", "order-placed-retry-2"});
+
+        // Act
+        new NotificationRetryConfig()
+                .notificationRetryListenerConfigurer(notificationRetryPublisher, notificationRetryListener, containerFactory)
+                .configureKafkaListeners(registrar);
+
+        // Assert - a nack on one tier must not pause the others
+        ArgumentCaptor<KafkaListenerEndpoint> captor = ArgumentCaptor.forClass(KafkaListenerEndpoint.class);
+        verify(registrar, times(3)).registerEndpoint(captor.capture(), eq(containerFactory));
+        List<KafkaListenerEndpoint> endpoints = captor.getAllValues();
+        assertEquals(List.of("notification-retry-0", "notification-retry-1", "notification-retry-2"),
+                endpoints.stream().map(KafkaListenerEndpoint::getId).toList());
+        assertEquals(List.of(List.of("order-placed-retry-0"), List.of("order-placed-retry-1"), List.of("order-placed-retry-2")),
+                endpoints.stream().map(endpoint -> List.copyOf(endpoint.getTopics())).toList());
+        assertTrue(endpoints.stream().allMatch(endpoint -> "notification-retry".equals(endpoint.getGroupId())));
+    }
+}
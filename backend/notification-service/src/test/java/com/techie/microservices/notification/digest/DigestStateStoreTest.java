@@ -0,0 +1,102 @@
+package com.techie.microservices.notification.digest;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DigestStateStoreTest {
+
+    @TempDir
+    Path stateDir;
+
+    private DigestStateStore stateStore;
+
+    @AfterEach
+    void tearDown() {
+        stateStore.close();
+    }
+
+    @Test
+    void load_AfterRestart_ShouldReturnOnlyUnsentNotifications() {
+        // Arrange
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+        stateStore.load();
+        List<DigestStateStore.PendingNotification> appended = stateStore.append(
+                List.of(event("ORDER-1"), event("ORDER-2"), event("ORDER-3")),
+                List.of(Instant.ofEpochMilli(1_000), Instant.ofEpochMilli(2_000), Instant.ofEpochMilli(3_000)));
+        stateStore.markSent(appended.subList(0, 1));
+        stateStore.close();
+
+        // Act
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+        List<DigestStateStore.PendingNotification> recovered = stateStore.load();
+
+        // Assert
+        assertEquals(List.of("ORDER-2", "ORDER-3"),
+                recovered.stream().map(notification -> notification.event().getOrderNumber().toString()).toList());
+        assertEquals(Instant.ofEpochMilli(2_000), recovered.get(0).producedAt());
+        assertEquals(2, stateStore.size());
+    }
+
+    @Test
+    void load_ShouldIgnoreTornLastEntryAndKeepAppending() throws Exception {
+        // Arrange
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+        stateStore.load();
+        stateStore.append(List.of(event("ORDER-1")), List.of(Instant.now()));
+        stateStore.close();
+        Files.write(stateDir.resolve("digest.journal"), new byte[]{1, 0, 0, 0}, StandardOpenOption.APPEND);
+
+        // Act
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+        assertEquals(1, stateStore.load().size());
+        stateStore.append(List.of(event("ORDER-2")), List.of(Instant.now()));
+        stateStore.close();
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+
+        // Assert
+        assertEquals(2, stateStore.load().size());
+    }
+
+    @Test
+    void markSent_WhenJournalOutgrowsLimit_ShouldCompactIt() throws Exception {
+        // Arrange
+        stateStore = new DigestStateStore(stateDir, 2_000);
+        stateStore.load();
+        for (int i = 0; i < 50; i++) {
+            stateStore.markSent(stateStore.append(List.of(event("ORDER-" + i)), List.of(Instant.now())));
+        }
+
+        // Act
+        List<DigestStateStore.PendingNotification> pending =
+                stateStore.append(List.of(event("ORDER-LAST")), List.of(Instant.now()));
+
+        // Assert
+        assertTrue(Files.size(stateDir.resolve("digest.journal")) < 2_000);
+        stateStore.close();
+        stateStore = new DigestStateStore(stateDir, 2_000);
+        assertEquals(pending.get(0).sequence(), stateStore.load().get(0).sequence());
+    }
+
+    @Test
+    void append_BeforeLoad_ShouldFail() {
+        // Arrange
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> stateStore.append(List.of(event("ORDER-1")), List.of(Instant.now())));
+    }
+
+    private static OrderPlacedEvent event(String orderNumber) {
+        return new OrderPlacedEvent(orderNumber, "buyer@example.com", "John", "Doe");
+    }
+}
@@ -0,0 +1,188 @@
+package com.techie.microservices.notification.digest;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.mail.SmtpProvider;
+import com.techie.microservices.notification.mail.SmtpTransportPool;
+import com.techie.microservices.notification.mail.TokenBucket;
+import com.techie.microservices.notification.service.NotificationRetryPublisher;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDigesterTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @TempDir
+    Path stateDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private MailSendScheduler mailSendScheduler;
+    private DigestStateStore stateStore;
+    private final NotificationRetryPublisher notificationRetryPublisher = mock(NotificationRetryPublisher.class);
+    private NotificationDigester notificationDigester;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSendScheduler = new MailSendScheduler(List.of(new SmtpProvider("greenmail", 1,
+                new SmtpTransportPool("greenmail", mailSender, meterRegistry, 1, 100), new TokenBucket(1_000, 1_000),
+                new SmtpProvider.FailoverPolicy(0.5, 20, 50, Duration.ofSeconds(30)))), meterRegistry, Duration.ofSeconds(5));
+        startDigester();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        notificationDigester.close();
+        stateStore.close();
+        mailSendScheduler.close();
+    }
+
+    @Test
+    void flushDue_ShouldHoldEventsUntilRecipientIsQuietForWindow() throws Exception {
+        // Arrange
+        notificationDigester.offer(List.of(event("ORDER-1", "buyer@example.com"), event("ORDER-2", "buyer@example.com")),
+                List.of(1_000L, 2_000L));
+
+        // Act
+        int sentEarly = notificationDigester.flushDue(Instant.now());
+        int sentAfterWindow = notificationDigester.flushDue(Instant.now().plusSeconds(31));
+
+        // Assert
+        assertEquals(0, sentEarly);
+        assertEquals(1, sentAfterWindow);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("Your 2 Orders are placed successfully", received[0].getSubject());
+        assertEquals(0, stateStore.size());
+        assertEquals(2.0, meterRegistry.get("notification.digest.reduction.ratio").gauge().value());
+        assertEquals(2, meterRegistry.get("notification.delivery.latency").timer().count());
+    }
+
+    @Test
+    void flushDue_ShouldSendSingleOrderAsUsualConfirmationPerRecipient() throws Exception {
+        // Arrange
+        notificationDigester.offer(List.of(event("ORDER-1", "first@example.com"), event("ORDER-2", "second@example.com")),
+                null);
+
+        // Act
+        notificationDigester.flushDue(Instant.now().plusSeconds(31));
+
+        // Assert
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Your Order with OrderNumber ORDER-1 is placed successfully", received[0].getSubject());
+        assertEquals(1.0, meterRegistry.get("notification.digest.reduction.ratio").gauge().value());
+    }
+
+    @Test
+    void flushDue_ShouldSendBusyRecipientOnceMaxDelayPasses() throws Exception {
+        // Arrange - the recipient keeps ordering, so the window never closes
+        notificationDigester.offer(List.of(event("ORDER-1", "buyer@example.com")), null);
+
+        // Act & Assert
+        assertEquals(0, notificationDigester.flushDue(Instant.now().plusSeconds(29)));
+        assertEquals(1, notificationDigester.flushDue(Instant.now().plus(Duration.ofMinutes(2))));
+    }
+
+    @Test
+    void start_AfterCrash_ShouldSendEventsBufferedBeforeIt() throws Exception {
+        // Arrange - the process dies without closing the digester
+        notificationDigester.offer(List.of(event("ORDER-1", "buyer@example.com"), event("ORDER-2", "buyer@example.com")),
+                null);
+        stateStore.close();
+
+        // Act
+        startDigester();
+        notificationDigester.flushDue(Instant.now().plusSeconds(31));
+
+        // Assert
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals("Your 2 Orders are placed successfully", greenMail.getReceivedMessages()[0].getSubject());
+    }
+
+    @Test
+    void close_ShouldSendEverythingStillBuffered() throws Exception {
+        // Arrange
+        notificationDigester.offer(List.of(event("ORDER-1", "buyer@example.com"), event("ORDER-2", "buyer@example.com"),
+                event("ORDER-3", "other@example.com")), null);
+
+        // Act
+        notificationDigester.close();
+
+        // Assert
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        assertEquals(0, stateStore.size());
+    }
+
+    @Test
+    void flushDue_WhenSmtpServerIsDown_ShouldHandOrdersToRetryTiers() throws Exception {
+        // Arrange
+        greenMail.stop();
+        notificationDigester.offer(List.of(event("ORDER-1", "buyer@example.com"), event("ORDER-2", "buyer@example.com")),
+                null);
+
+        // Act
+        int sent = notificationDigester.flushDue(Instant.now().plusSeconds(31));
+
+        // Assert
+        assertEquals(0, sent);
+        ArgumentCaptor<List<NotificationRetryPublisher.Failure>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRetryPublisher).publish(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(0, stateStore.size());
+    }
+
+    @Test
+    void flushDue_WhenRetrySchedulingAlsoFails_ShouldKeepDigestBuffered() throws Exception {
+        // Arrange
+        greenMail.stop();
+        doThrow(new IllegalStateException("Kafka unavailable")).when(notificationRetryPublisher).publish(anyList());
+        notificationDigester.offer(List.of(event("ORDER-1", "buyer@example.com")), null);
+
+        // Act
+        notificationDigester.flushDue(Instant.now().plusSeconds(31));
+        notificationDigester.offer(List.of(event("ORDER-2", "buyer@example.com")), null);
+
+        // Assert
+        assertEquals(2, stateStore.size());
+        greenMail.start();
+        reset(notificationRetryPublisher);
+        assertEquals(1, notificationDigester.flushDue(Instant.now().plusSeconds(31)));
+        assertEquals("Your 2 Orders are placed successfully", greenMail.getReceivedMessages()[0].getSubject());
+    }
+
+    private void startDigester() {
+        stateStore = new DigestStateStore(stateDir, 4 * 1024 * 1024);
+        notificationDigester = new NotificationDigester(stateStore, new NotificationRenderer(List.of(), "en"),
+                mailSendScheduler, notificationRetryPublisher, meterRegistry, true, Duration.ofSeconds(30),
+                Duration.ofMinutes(2), 50, Duration.ofHours(1));
+        notificationDigester.start();
+    }
+
+    private static OrderPlacedEvent event(String orderNumber, String email) {
+        return new OrderPlacedEvent(orderNumber, email, "John", "Doe");
+    }
+}
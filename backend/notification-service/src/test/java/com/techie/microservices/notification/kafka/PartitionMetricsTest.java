@@ -0,0 +1,118 @@
+package com.techie.microservices.notification.kafka;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionMetricsTest {
+
+    private static final TopicPartition PARTITION_0 = new TopicPartition("order-placed", 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition("order-placed", 1);
+
+    @Mock
+    private Consumer<Object, Object> consumer;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PartitionMetrics partitionMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        partitionMetrics = new PartitionMetrics(meterRegistry);
+    }
+
+    @Test
+    void intercept_ShouldRecordLagPerPartition() {
+        // Arrange
+        when(consumer.currentLag(PARTITION_0)).thenReturn(OptionalLong.of(42));
+        when(consumer.currentLag(PARTITION_1)).thenReturn(OptionalLong.empty());
+
+        // Act
+        ConsumerRecords<Object, Object> intercepted = partitionMetrics.intercept(records(2, 1), consumer);
+
+        // Assert
+        assertEquals(3, intercepted.count());
+        assertEquals(42, meterRegistry.get("notification.partition.lag").tag("partition", "0").gauge().value());
+        assertNull(meterRegistry.find("notification.partition.lag").tag("partition", "1").gauge());
+    }
+
+    @Test
+    void success_ShouldCountProcessedRecordsPerPartition() {
+        // Act
+        partitionMetrics.success(records(2, 1), consumer);
+        partitionMetrics.success(records(3, 0), consumer);
+
+        // Assert
+        assertEquals(5, meterRegistry.get("notification.partition.records").tag("partition", "0").counter().count());
+        assertEquals(1, meterRegistry.get("notification.partition.records").tag("partition", "1").counter().count());
+    }
+
+    @Test
+    void onPartitionsRevoked_ShouldDropLagGauge() {
+        // Arrange
+        when(consumer.currentLag(PARTITION_0)).thenReturn(OptionalLong.of(7));
+        partitionMetrics.intercept(records(1, 0), consumer);
+
+        // Act
+        partitionMetrics.onPartitionsRevokedAfterCommit(consumer, List.of(PARTITION_0));
+
+        // Assert
+        assertNull(meterRegistry.find("notification.partition.lag").gauge());
+    }
+
+    @Test
+    void intercept_ShouldRecordEventLagFromOrderPlacementTimeHeader() {
+        // Arrange
+        ConsumerRecord<Object, Object> stamped = new ConsumerRecord<>("order-placed", 0, 0, "key", "value");
+        stamped.headers().add(PartitionMetrics.EVENT_TIME_HEADER,
+                Long.toString(System.currentTimeMillis() - 1500).getBytes(StandardCharsets.US_ASCII));
+        ConsumerRecord<Object, Object> unstamped = new ConsumerRecord<>("order-placed", 0, 1, "key", "value");
+
+        // Act
+        partitionMetrics.intercept(stamped, consumer);
+        partitionMetrics.intercept(unstamped, consumer);
+
+        // Assert
+        Timer eventLag = meterRegistry.get("notification.event.lag").tag("topic", "order-placed").timer();
+        assertEquals(1, eventLag.count());
+        assertTrue(eventLag.totalTime(TimeUnit.MILLISECONDS) >= 1500);
+    }
+
+    private static ConsumerRecords<Object, Object> records(int onPartition0, int onPartition1) {
+        Map<TopicPartition, List<ConsumerRecord<Object, Object>>> records = new HashMap<>();
+        if (onPartition0 > 0) {
+            records.put(PARTITION_0, records(PARTITION_0, onPartition0));
+        }
+        if (onPartition1 > 0) {
+            records.put(PARTITION_1, records(PARTITION_1, onPartition1));
+        }
+        return new ConsumerRecords<>(records);
+    }
+
+    private static List<ConsumerRecord<Object, Object>> records(TopicPartition partition, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(offset -> new ConsumerRecord<Object, Object>(partition.topic(), partition.partition(), offset,
+                        "customer@example.com", "event"))
+                .toList();
+    }
+}
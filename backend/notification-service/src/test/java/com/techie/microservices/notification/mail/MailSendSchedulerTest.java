@@ -0,0 +1,212 @@
+package com.techie.microservices.notification.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes between two local SMTP stand-ins.
+ */
+class MailSendSchedulerTest {
+
+    private static final ServerSetup PRIMARY_SMTP = new ServerSetup(3325, null, ServerSetup.PROTOCOL_SMTP);
+    private static final ServerSetup BACKUP_SMTP = new ServerSetup(3326, null, ServerSetup.PROTOCOL_SMTP);
+    private static final SmtpProvider.FailoverPolicy FAILOVER = new SmtpProvider.FailoverPolicy(0.5, 5, 10,
+            Duration.ofMinutes(1));
+
+    @RegisterExtension
+    static final GreenMailExtension primarySmtp = new GreenMailExtension(PRIMARY_SMTP);
+
+    @RegisterExtension
+    static final GreenMailExtension backupSmtp = new GreenMailExtension(BACKUP_SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationRenderer notificationRenderer = new NotificationRenderer(List.of(), "en");
+    private MailSendScheduler mailSendScheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (mailSendScheduler != null) {
+            mailSendScheduler.close();
+        }
+    }
+
+    @Test
+    void send_ShouldSplitTrafficByWeight() {
+        // Arrange
+        mailSendScheduler = new MailSendScheduler(List.of(
+                provider("primary", PRIMARY_SMTP, 3, new TokenBucket(10_000, 10_000)),
+                provider("backup", BACKUP_SMTP, 1, new TokenBucket(10_000, 10_000))), meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        for (int i = 0; i < 400; i++) {
+            mailSendScheduler.send(message(i), MailPriority.TRANSACTIONAL);
+        }
+
+        // Assert - 3:1 split, with room for randomness
+        int primary = primarySmtp.getReceivedMessages().length;
+        int backup = backupSmtp.getReceivedMessages().length;
+        assertEquals(400, primary + backup);
+        assertTrue(primary > 250 && primary < 350, "primary got " + primary);
+    }
+
+    @Test
+    void send_WhenPrimaryIsDown_ShouldFailOverAndTakePrimaryOutOfRotation() {
+        // Arrange
+        primarySmtp.stop();
+        mailSendScheduler = new MailSendScheduler(List.of(
+                provider("primary", PRIMARY_SMTP, 100, new TokenBucket(10_000, 10_000)),
+                provider("backup", BACKUP_SMTP, 1, new TokenBucket(10_000, 10_000))), meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            mailSendScheduler.send(message(i), MailPriority.TRANSACTIONAL);
+        }
+
+        // Assert - every email arrives, and the primary stops getting attempts once its error rate trips
+        assertEquals(50, backupSmtp.getReceivedMessages().length);
+        assertFalse(mailSendScheduler.getProviders().get(0).isAvailable());
+        assertEquals(0.0, meterRegistry.get("notification.mail.provider.available").tag("provider", "primary").gauge().value());
+        double primaryFailures = meterRegistry.get("notification.mail.sends").tag("provider", "primary")
+                .tag("result", "failed").counter().count();
+        assertTrue(primaryFailures >= 5 && primaryFailures < 10, "primary failed " + primaryFailures + " times");
+    }
+
+    @Test
+    void send_WhenEveryProviderFails_ShouldThrow() {
+        // Arrange
+        primarySmtp.stop();
+        backupSmtp.stop();
+        mailSendScheduler = new MailSendScheduler(List.of(
+                provider("primary", PRIMARY_SMTP, 1, new TokenBucket(10_000, 10_000)),
+                provider("backup", BACKUP_SMTP, 1, new TokenBucket(10_000, 10_000))), meterRegistry, Duration.ofSeconds(5));
+
+        // Act & Assert
+        assertThrows(MailSendException.class, () -> mailSendScheduler.send(message(0), MailPriority.TRANSACTIONAL));
+        assertEquals(1, meterRegistry.get("notification.mail.failovers").counter().count());
+    }
+
+    @Test
+    void send_WhenRelayRejectsEmail_ShouldNeitherFailOverNorCountItAgainstProvider() {
+        // Arrange
+        mailSendScheduler = new MailSendScheduler(List.of(
+                provider("primary", PRIMARY_SMTP, 1, new TokenBucket(10_000, 10_000)),
+                provider("backup", BACKUP_SMTP, 1, new TokenBucket(10_000, 10_000))), meterRegistry, Duration.ofSeconds(5));
+        MimeMessagePreparator withoutRecipients = message -> {
+            message.setFrom("springshop@email.com");
+            message.setSubject("Your Order has been placed successfully");
+            message.setText("Order ORDER-0");
+        };
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertThrows(MailRejectedException.class, () -> mailSendScheduler.send(withoutRecipients,
+                    MailPriority.TRANSACTIONAL));
+        }
+        assertEquals(0, meterRegistry.get("notification.mail.failovers").counter().count());
+        assertEquals(0, meterRegistry.get("notification.mail.sends").tag("result", "failed").counters().stream()
+                .mapToDouble(Counter::count).sum());
+        assertEquals(10, meterRegistry.get("notification.mail.sends").tag("result", "rejected").counters().stream()
+                .mapToDouble(Counter::count).sum());
+        assertTrue(mailSendScheduler.getProviders().stream().allMatch(SmtpProvider::isAvailable));
+    }
+
+    @Test
+    void isRejected_ShouldOnlyMatchPermanentRecipientAndMessageErrors() throws Exception {
+        // Arrange
+        InternetAddress customer = new InternetAddress("customer@example.com");
+        SendFailedException unknownMailbox = new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(customer, "RCPT TO:<customer@example.com>", 550, "550 5.1.1 No such user"));
+        SendFailedException mailboxFull = new SendFailedException("Invalid Addresses",
+                new SMTPAddressFailedException(customer, "RCPT TO:<customer@example.com>", 452, "452 4.2.2 Mailbox full"));
+        SMTPSendFailedException contentRefused = new SMTPSendFailedException("DATA", 554, "554 5.7.1 Message refused",
+                null, null, null, null);
+        SMTPSenderFailedException senderRefused = new SMTPSenderFailedException(
+                new InternetAddress("springshop@email.com"), "MAIL FROM:<springshop@email.com>", 550,
+                "550 5.7.1 Sender not allowed");
+
+        // Act & Assert
+        assertTrue(MailSendScheduler.isRejected(unknownMailbox));
+        assertTrue(MailSendScheduler.isRejected(contentRefused));
+        assertFalse(MailSendScheduler.isRejected(mailboxFull));
+        assertFalse(MailSendScheduler.isRejected(senderRefused));
+        assertFalse(MailSendScheduler.isRejected(new MessagingException("Could not connect to SMTP host")));
+    }
+
+    @Test
+    void send_ShouldHoldEachProviderToItsRate() {
+        // Arrange - 20/s with a burst of 5 on each provider
+        mailSendScheduler = new MailSendScheduler(List.of(
+                provider("primary", PRIMARY_SMTP, 1, new TokenBucket(20, 5)),
+                provider("backup", BACKUP_SMTP, 1, new TokenBucket(20, 5))), meterRegistry, Duration.ofSeconds(5));
+
+        // Act
+        long start = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            mailSendScheduler.send(message(i), MailPriority.BULK);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Assert - 10 burst tokens, the other 20 at 40/s combined
+        assertEquals(30, primarySmtp.getReceivedMessages().length + backupSmtp.getReceivedMessages().length);
+        assertTrue(seconds >= 0.4, "30 emails took " + seconds + " s");
+    }
+
+    @Test
+    void send_ShouldLetOrderConfirmationsOvertakeQueuedBulkMail() throws Exception {
+        // Arrange - one slow provider, a backlog of bulk mail already queued on it
+        mailSendScheduler = new MailSendScheduler(List.of(
+                provider("primary", PRIMARY_SMTP, 1, new TokenBucket(20, 1))), meterRegistry, Duration.ofSeconds(10));
+        List<Thread> bulkSenders = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            int order = i;
+            bulkSenders.add(Thread.ofPlatform().start(() -> mailSendScheduler.send(message(order), MailPriority.BULK)));
+        }
+        Thread.sleep(50);
+
+        // Act
+        mailSendScheduler.send(message(99), MailPriority.TRANSACTIONAL);
+        int bulkSentBefore = primarySmtp.getReceivedMessages().length - 1;
+        for (Thread bulkSender : bulkSenders) {
+            bulkSender.join();
+        }
+
+        // Assert - only the bulk mail holding tokens before the confirmation queued went out first
+        assertTrue(bulkSentBefore <= 3, bulkSentBefore + " bulk emails went out first");
+        assertEquals(11, primarySmtp.getReceivedMessages().length);
+    }
+
+    private SmtpProvider provider(String name, ServerSetup smtp, int weight, TokenBucket tokenBucket) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+        return new SmtpProvider(name, weight, new SmtpTransportPool(name, mailSender, meterRegistry, 4, 1000),
+                tokenBucket, FAILOVER);
+    }
+
+    private MimeMessagePreparator message(int order) {
+        return notificationRenderer.orderPlacedMessage(
+                new OrderPlacedEvent("ORDER-" + order, "customer" + order + "@example.com", "John", "Doe"));
+    }
+}
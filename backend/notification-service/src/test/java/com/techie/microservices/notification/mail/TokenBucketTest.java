@@ -0,0 +1,70 @@
+package com.techie.microservices.notification.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenRefillAtRate() throws Exception {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(20, 5);
+
+        // Act
+        int burst = 0;
+        while (tokenBucket.tryAcquire(MailPriority.TRANSACTIONAL)) {
+            burst++;
+        }
+        Thread.sleep(120);
+
+        // Assert - 20 tokens/s refill at least two tokens in 120 ms
+        assertEquals(5, burst);
+        assertTrue(tokenBucket.tryAcquire(MailPriority.TRANSACTIONAL));
+        assertTrue(tokenBucket.tryAcquire(MailPriority.TRANSACTIONAL));
+    }
+
+    @Test
+    void acquire_ShouldWaitForRefillAndGiveUpAfterTimeout() throws Exception {
+        // Arrange
+        TokenBucket tokenBucket = new TokenBucket(10, 1);
+        assertTrue(tokenBucket.tryAcquire(MailPriority.BULK));
+
+        // Act & Assert
+        assertFalse(tokenBucket.acquire(MailPriority.BULK, Duration.ofMillis(20)));
+        long start = System.nanoTime();
+        assertTrue(tokenBucket.acquire(MailPriority.BULK, Duration.ofSeconds(1)));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void acquire_ShouldServeWaitingTransactionalSendBeforeBulk() throws Exception {
+        // Arrange - the bucket is empty and both lanes queue for the next token
+        TokenBucket tokenBucket = new TokenBucket(5, 1);
+        assertTrue(tokenBucket.tryAcquire(MailPriority.TRANSACTIONAL));
+        CountDownLatch bulkWaiting = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<Long> bulk = executor.submit(() -> {
+                bulkWaiting.countDown();
+                tokenBucket.acquire(MailPriority.BULK, Duration.ofSeconds(5));
+                return System.nanoTime();
+            });
+            bulkWaiting.await();
+            Thread.sleep(20);
+            Future<Long> transactional = executor.submit(() -> {
+                tokenBucket.acquire(MailPriority.TRANSACTIONAL, Duration.ofSeconds(5));
+                return System.nanoTime();
+            });
+
+            // Assert
+            assertTrue(transactional.get() < bulk.get(), "Transactional send must get the first free token");
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.techie.microservices.notification.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.mail.SmtpProvider;
+import com.techie.microservices.notification.mail.SmtpTransportPool;
+import com.techie.microservices.notification.mail.TokenBucket;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+class NotificationBatchSenderTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SimpleMeterRegistry meterRegistry;
+    private JavaMailSenderImpl mailSender;
+    private MailSendScheduler mailSendScheduler;
+    private final NotificationRenderer notificationRenderer = new NotificationRenderer(List.of(), "en");
+    private final NotificationRetryPublisher notificationRetryPublisher = mock(NotificationRetryPublisher.class);
+    private NotificationBatchSender notificationBatchSender;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSendScheduler = scheduler(4, 1000);
+        notificationBatchSender = new NotificationBatchSender(mailSendScheduler, notificationRenderer, notificationRetryPublisher, meterRegistry, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationBatchSender.close();
+        mailSendScheduler.close();
+    }
+
+    @Test
+    void send_ShouldDeliverEveryEmailOverPooledConnections() {
+        // Arrange
+        List<OrderPlacedEvent> events = events(400);
+
+        // Act
+        long start = System.nanoTime();
+        notificationBatchSender.send(events);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // Assert
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(400, received.length);
+        assertEquals(4, meterRegistry.get("notification.smtp.connections").counter().count());
+        assertEquals(400, meterRegistry.get("notification.emails").tag("result", "sent").counter().count());
+        log.info("Batch sender: {} emails in {} s, {} emails/sec", events.size(), String.format("%.3f", seconds),
+                String.format("%.0f", events.size() / seconds));
+    }
+
+    @Test
+    void send_ShouldOutpaceOneSessionPerEmail() {
+        // Arrange
+        List<OrderPlacedEvent> events = events(100);
+
+        // Act
+        long start = System.nanoTime();
+        for (OrderPlacedEvent event : events) {
+            mailSender.send(notificationRenderer.orderPlacedMessage(event));
+        }
+        double perEmailSeconds = (System.nanoTime() - start) / 1e9;
+        start = System.nanoTime();
+        notificationBatchSender.send(events);
+        double batchSeconds = (System.nanoTime() - start) / 1e9;
+
+        // Assert
+        assertEquals(200, greenMail.getReceivedMessages().length);
+        log.info("One session per email: {} emails/sec, batch sender: {} emails/sec",
+                String.format("%.0f", events.size() / perEmailSeconds), String.format("%.0f", events.size() / batchSeconds));
+    }
+
+    @Test
+    void send_ShouldReconnectAfterMaxMessagesPerConnection() {
+        // Arrange
+        tearDown();
+        mailSendScheduler = scheduler(1, 10);
+        notificationBatchSender = new NotificationBatchSender(mailSendScheduler, notificationRenderer, notificationRetryPublisher, meterRegistry, 1);
+
+        // Act
+        notificationBatchSender.send(events(40));
+
+        // Assert
+        assertEquals(40, greenMail.getReceivedMessages().length);
+        assertEquals(4, meterRegistry.get("notification.smtp.connections").counter().count());
+    }
+
+    @Test
+    void send_ShouldKeepEachCustomersEmailsInBatchOrder() throws Exception {
+        // Arrange - three customers interleaved, as they arrive on one partition
+        List<OrderPlacedEvent> events = IntStream.range(0, 60)
+                .mapToObj(i -> event("ORDER-" + i, "customer" + (i % 3) + "@example.com"))
+                .toList();
+
+        // Act
+        notificationBatchSender.send(events);
+
+        // Assert
+        for (int customer = 0; customer < 3; customer++) {
+            List<String> expected = new ArrayList<>();
+            for (int i = customer; i < 60; i += 3) {
+                expected.add("ORDER-" + i);
+            }
+            List<String> received = new ArrayList<>();
+            for (MimeMessage message : greenMail.getReceivedMessages()) {
+                if (message.getAllRecipients()[0].toString().equals("customer" + customer + "@example.com")) {
+                    received.add(message.getSubject().split(" ")[4]);
+                }
+            }
+            assertEquals(expected, received);
+        }
+    }
+
+    @Test
+    void lanes_ShouldPutEachCustomerInOneLaneInBatchOrder() {
+        // Arrange
+        List<OrderPlacedEvent> events = events(100);
+
+        // Act
+        int[][] lanes = notificationBatchSender.lanes(events);
+
+        // Assert
+        assertTrue(lanes.length <= 4);
+        assertEquals(100, Arrays.stream(lanes).mapToInt(lane -> lane.length).sum());
+        for (int[] lane : lanes) {
+            for (int i = 1; i < lane.length; i++) {
+                assertTrue(lane[i - 1] < lane[i], "Lane must keep batch order");
+            }
+        }
+    }
+
+    @Test
+    void send_WhenSmtpServerIsDown_ShouldHandEveryEmailToRetryTiers() {
+        // Arrange
+        greenMail.stop();
+
+        // Act
+        notificationBatchSender.send(events(8));
+
+        // Assert
+        ArgumentCaptor<List<NotificationRetryPublisher.Failure>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationRetryPublisher).publish(captor.capture());
+        assertEquals(8, captor.getValue().size());
+        assertEquals("ORDER-0", captor.getValue().get(0).event().getOrderNumber().toString());
+        assertEquals(8, meterRegistry.get("notification.emails").tag("result", "failed").counter().count());
+    }
+
+    @Test
+    void send_WhenRetrySchedulingAlsoFails_ShouldFailBatchFromFirstUnsentEmail() {
+        // Arrange
+        greenMail.stop();
+        doThrow(new IllegalStateException("Kafka unavailable")).when(notificationRetryPublisher).publish(anyList());
+
+        // Act & Assert
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> notificationBatchSender.send(events(8)));
+        assertEquals(0, exception.getIndex());
+    }
+
+    private MailSendScheduler scheduler(int poolSize, int maxMessagesPerConnection) {
+        SmtpTransportPool transportPool = new SmtpTransportPool("greenmail", mailSender, meterRegistry, poolSize,
+                maxMessagesPerConnection);
+        return new MailSendScheduler(List.of(new SmtpProvider("greenmail", 1, transportPool,
+                new TokenBucket(1_000_000, 1_000_000), new SmtpProvider.FailoverPolicy(0.5, 20, 50, Duration.ofSeconds(30)))),
+                meterRegistry, Duration.ofSeconds(5));
+    }
+
+    private static List<OrderPlacedEvent> events(int count) {
+        return IntStream.range(0, count).mapToObj(i -> event("ORDER-" + i, "customer" + i + "@example.com")).toList();
+    }
+
+    private static OrderPlacedEvent event(String orderNumber, String email) {
+        OrderPlacedEvent event = new OrderPlacedEvent();
+        event.setOrderNumber(orderNumber);
+        event.setEmail(email);
+        event.setFirstName("John");
+        event.setLastName("Doe");
+        return event;
+    }
+}
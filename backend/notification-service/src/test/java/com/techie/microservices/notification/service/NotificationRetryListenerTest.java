@@ -0,0 +1,107 @@
+package com.techie.microservices.notification.service;
+
+import com.techie.microservices.notification.mail.MailPriority;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.template.NotificationRenderer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetryListenerTest {
+
+    @Mock
+    private MailSendScheduler mailSendScheduler;
+
+    @Mock
+    private NotificationRetryPublisher notificationRetryPublisher;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @Spy
+    private NotificationRenderer notificationRenderer = new NotificationRenderer(List.of(), "en");
+
+    @InjectMocks
+    private NotificationRetryListener notificationRetryListener;
+
+    private OrderPlacedEvent orderPlacedEvent;
+
+    @BeforeEach
+    void setUp() {
+        orderPlacedEvent = new OrderPlacedEvent("ORDER-1", "customer@example.com", "John", "Doe");
+    }
+
+    @Test
+    void listen_WhenRecordIsNotDueYet_ShouldPauseUntilDueWithoutSending() {
+        // Act
+        notificationRetryListener.listen(record(1, System.currentTimeMillis() + 60_000), acknowledgment);
+
+        // Assert - the tier has its own consumer, so it pauses until the record is due
+        ArgumentCaptor<Duration> pause = ArgumentCaptor.forClass(Duration.class);
+        verify(acknowledgment).nack(pause.capture());
+        assertTrue(pause.getValue().compareTo(Duration.ofSeconds(59)) > 0);
+        assertTrue(pause.getValue().compareTo(Duration.ofSeconds(60)) <= 0);
+        verify(acknowledgment, never()).acknowledge();
+        verifyNoInteractions(mailSendScheduler);
+    }
+
+    @Test
+    void listen_WhenDueAndSendSucceeds_ShouldAcknowledge() {
+        // Act
+        notificationRetryListener.listen(record(1, System.currentTimeMillis() - 1), acknowledgment);
+
+        // Assert
+        verify(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.BULK));
+        verify(acknowledgment).acknowledge();
+        verifyNoInteractions(notificationRetryPublisher);
+    }
+
+    @Test
+    void listen_WhenDueAndSendFails_ShouldMoveToNextTierAndAcknowledge() {
+        // Arrange
+        doThrow(new MailSendException("451 Try again later")).when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.BULK));
+
+        // Act
+        notificationRetryListener.listen(record(2, System.currentTimeMillis() - 1), acknowledgment);
+
+        // Assert
+        ArgumentCaptor<NotificationRetryPublisher.Failure> captor = ArgumentCaptor.forClass(NotificationRetryPublisher.Failure.class);
+        verify(notificationRetryPublisher).publish(captor.capture());
+        assertEquals(3, captor.getValue().attempts());
+        assertEquals(1_000L, captor.getValue().firstFailedAt().toEpochMilli());
+        verify(acknowledgment).acknowledge();
+    }
+
+    private ConsumerRecord<String, OrderPlacedEvent> record(int attempts, long dueAt) {
+        ConsumerRecord<String, OrderPlacedEvent> record = new ConsumerRecord<>("order-placed-retry-0", 0, 0,
+                "customer@example.com", orderPlacedEvent);
+        record.headers().add(NotificationRetryPublisher.ATTEMPT_HEADER, bytes(String.valueOf(attempts)));
+        record.headers().add(NotificationRetryPublisher.DUE_AT_HEADER, bytes(String.valueOf(dueAt)));
+        record.headers().add(NotificationRetryPublisher.FIRST_FAILED_AT_HEADER, bytes("1000"));
+        return record;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
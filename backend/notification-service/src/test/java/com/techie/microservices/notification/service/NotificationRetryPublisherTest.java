@@ -0,0 +1,135 @@
+package com.techie.microservices.notification.service;
+
+import com.techie.microservices.notification.mail.MailRejectedException;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetryPublisherTest {
+
+    @Mock
+    private KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationRetryPublisher notificationRetryPublisher;
+    private OrderPlacedEvent orderPlacedEvent;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationRetryPublisher = new NotificationRetryPublisher(kafkaTemplate, meterRegistry, "order-placed", 3,
+                Duration.ofSeconds(10), 6, Duration.ofSeconds(1));
+        orderPlacedEvent = new OrderPlacedEvent("ORDER-1", "customer@example.com", "John", "Doe");
+        lenient().when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @Test
+    void delays_ShouldGrowExponentiallyPerTier() {
+        assertArrayEquals(new String[]{"order-placed-retry-0", "order-placed-retry-1", "order-placed-retry-2"},
+                notificationRetryPublisher.retryTopics());
+        assertEquals(Duration.ofSeconds(10), notificationRetryPublisher.delay(0));
+        assertEquals(Duration.ofSeconds(60), notificationRetryPublisher.delay(1));
+        assertEquals(Duration.ofSeconds(360), notificationRetryPublisher.delay(2));
+    }
+
+    @Test
+    void publish_AfterSecondFailure_ShouldUseSecondTierWithDueTimeAndMetadata() {
+        // Arrange
+        Instant firstFailedAt = Instant.now().minusSeconds(15);
+
+        // Act
+        long before = System.currentTimeMillis();
+        notificationRetryPublisher.publish(new NotificationRetryPublisher.Failure(orderPlacedEvent, 2, firstFailedAt,
+                new IllegalStateException("451 Try again later")));
+
+        // Assert
+        ProducerRecord<String, OrderPlacedEvent> record = sentRecord();
+        assertEquals("order-placed-retry-1", record.topic());
+        assertEquals("customer@example.com", record.key());
+        assertEquals("2", NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.ATTEMPT_HEADER));
+        assertEquals(String.valueOf(firstFailedAt.toEpochMilli()),
+                NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.FIRST_FAILED_AT_HEADER));
+        assertEquals("451 Try again later",
+                NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.EXCEPTION_MESSAGE_HEADER));
+        long dueAt = Long.parseLong(NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.DUE_AT_HEADER));
+        assertTrue(dueAt >= before + 60_000, "Second tier should be due a minute later");
+        assertEquals(1, meterRegistry.get("notification.retries").tag("tier", "1").counter().count());
+    }
+
+    @Test
+    void publish_WhenEveryTierIsUsedUp_ShouldDeadLetter() {
+        // Act
+        notificationRetryPublisher.publish(new NotificationRetryPublisher.Failure(orderPlacedEvent, 4, null,
+                new IllegalStateException("550 Mailbox unavailable")));
+
+        // Assert
+        ProducerRecord<String, OrderPlacedEvent> record = sentRecord();
+        assertEquals("order-placed-dlt", record.topic());
+        assertNull(NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.DUE_AT_HEADER));
+        assertEquals(IllegalStateException.class.getName(),
+                NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.EXCEPTION_HEADER));
+        assertEquals(1, meterRegistry.get("notification.dead-letters").counter().count());
+    }
+
+    @Test
+    void publish_WhenRelayRejectedEmail_ShouldDeadLetterOnFirstFailure() {
+        // Act
+        notificationRetryPublisher.publish(new NotificationRetryPublisher.Failure(orderPlacedEvent, 1, null,
+                new MailRejectedException("SMTP provider primary rejected the email", null)));
+
+        // Assert
+        ProducerRecord<String, OrderPlacedEvent> record = sentRecord();
+        assertEquals("order-placed-dlt", record.topic());
+        assertEquals(MailRejectedException.class.getName(),
+                NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.EXCEPTION_HEADER));
+        assertEquals(1, meterRegistry.get("notification.dead-letters").counter().count());
+    }
+
+    @Test
+    void publish_WhenBrokerRejectsSend_ShouldThrow() {
+        // Arrange
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> notificationRetryPublisher.publish(
+                new NotificationRetryPublisher.Failure(orderPlacedEvent, 1, null, new IllegalStateException("boom"))));
+    }
+
+    @Test
+    void replay_ShouldRestartAtFirstTierDueImmediately() {
+        // Act
+        notificationRetryPublisher.replay(List.of(orderPlacedEvent));
+
+        // Assert
+        ProducerRecord<String, OrderPlacedEvent> record = sentRecord();
+        assertEquals("order-placed-retry-0", record.topic());
+        assertEquals("0", NotificationRetryPublisher.header(record.headers(), NotificationRetryPublisher.ATTEMPT_HEADER));
+        assertTrue(Long.parseLong(NotificationRetryPublisher.header(record.headers(),
+                NotificationRetryPublisher.DUE_AT_HEADER)) <= System.currentTimeMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, OrderPlacedEvent> sentRecord() {
+        ArgumentCaptor<ProducerRecord<String, OrderPlacedEvent>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        return captor.getValue();
+    }
+}
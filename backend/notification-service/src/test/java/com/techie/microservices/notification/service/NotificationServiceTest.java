@@ -1,5 +1,9 @@
 package com.techie.microservices.notification.service;
 
+import com.techie.microservices.notification.digest.NotificationDigester;
+import com.techie.microservices.notification.mail.MailPriority;
+import com.techie.microservices.notification.mail.MailSendScheduler;
+import com.techie.microservices.notification.template.NotificationRenderer;
 import com.techie.microservices.order.event.OrderPlacedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,20 +11,35 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessagePreparator;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceTest {
 
     @Mock
-    private JavaMailSender javaMailSender;
+    private MailSendScheduler mailSendScheduler;
+
+    @Mock
+    private NotificationBatchSender notificationBatchSender;
+
+    @Mock
+    private NotificationRetryPublisher notificationRetryPublisher;
+
+    @Mock
+    private NotificationDigester notificationDigester;
+
+    @Spy
+    private NotificationRenderer notificationRenderer = new NotificationRenderer(List.of(), "en");
 
     @InjectMocks
     private NotificationService notificationService;
@@ -39,22 +58,40 @@ class NotificationServiceTest {
     @Test
     void listen_WhenOrderPlacedEventReceived_ShouldSendEmailSuccessfully() {
         // Arrange - Mock will not throw exception
-        doNothing().when(javaMailSender).send(any(MimeMessagePreparator.class));
+        doNothing().when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
 
         // Act
         notificationService.listen(orderPlacedEvent);
 
         // Assert
         ArgumentCaptor<MimeMessagePreparator> captor = ArgumentCaptor.forClass(MimeMessagePreparator.class);
-        verify(javaMailSender, times(1)).send(captor.capture());
+        verify(mailSendScheduler, times(1)).send(captor.capture(), eq(MailPriority.TRANSACTIONAL));
         assertNotNull(captor.getValue());
     }
 
     @Test
-    void listen_WhenEmailSendingFails_ShouldThrowRuntimeException() {
+    void listen_WhenEmailSendingFails_ShouldScheduleRetryInsteadOfThrowing() {
+        // Arrange
+        doThrow(new MailException("SMTP connection failed") {})
+                .when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
+
+        // Act
+        notificationService.listen(orderPlacedEvent);
+
+        // Assert
+        ArgumentCaptor<NotificationRetryPublisher.Failure> captor = ArgumentCaptor.forClass(NotificationRetryPublisher.Failure.class);
+        verify(notificationRetryPublisher).publish(captor.capture());
+        assertEquals(1, captor.getValue().attempts());
+        assertSame(orderPlacedEvent, captor.getValue().event());
+    }
+
+    @Test
+    void listen_WhenEmailSendingAndRetrySchedulingFail_ShouldThrowRuntimeException() {
         // Arrange
         doThrow(new MailException("SMTP connection failed") {})
-                .when(javaMailSender).send(any(MimeMessagePreparator.class));
+                .when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
+        doThrow(new IllegalStateException("Kafka unavailable"))
+                .when(notificationRetryPublisher).publish(any(NotificationRetryPublisher.Failure.class));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -62,7 +99,7 @@ class NotificationServiceTest {
         });
 
         assertTrue(exception.getMessage().contains("Exception occurred when sending mail"));
-        verify(javaMailSender, times(1)).send(any(MimeMessagePreparator.class));
+        verify(mailSendScheduler, times(1)).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
     }
 
     @Test
@@ -74,19 +111,19 @@ class NotificationServiceTest {
         event.setFirstName("John");
         event.setLastName("Smith");
         
-        doNothing().when(javaMailSender).send(any(MimeMessagePreparator.class));
+        doNothing().when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
 
         // Act
         notificationService.listen(event);
 
         // Assert
-        verify(javaMailSender, times(1)).send(any(MimeMessagePreparator.class));
+        verify(mailSendScheduler, times(1)).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
     }
 
     @Test
     void listen_WhenMultipleEventsReceived_ShouldSendEmailForEach() {
         // Arrange
-        doNothing().when(javaMailSender).send(any(MimeMessagePreparator.class));
+        doNothing().when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
 
         OrderPlacedEvent event1 = new OrderPlacedEvent();
         event1.setOrderNumber("ORDER-001");
@@ -105,7 +142,7 @@ class NotificationServiceTest {
         notificationService.listen(event2);
 
         // Assert
-        verify(javaMailSender, times(2)).send(any(MimeMessagePreparator.class));
+        verify(mailSendScheduler, times(2)).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
     }
 
     @Test
@@ -129,12 +166,35 @@ class NotificationServiceTest {
         eventWithEmptyEmail.setFirstName("Test");
         eventWithEmptyEmail.setLastName("User");
         
-        doNothing().when(javaMailSender).send(any(MimeMessagePreparator.class));
+        doNothing().when(mailSendScheduler).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
 
         // Act
         notificationService.listen(eventWithEmptyEmail);
 
         // Assert
-        verify(javaMailSender, times(1)).send(any(MimeMessagePreparator.class));
+        verify(mailSendScheduler, times(1)).send(any(MimeMessagePreparator.class), eq(MailPriority.TRANSACTIONAL));
+    }
+
+    @Test
+    void listenBatch_ShouldHandWholeBatchToBatchSender() {
+        // Act
+        notificationService.listenBatch(List.of(orderPlacedEvent), List.of(1_000L));
+
+        // Assert
+        verify(notificationBatchSender).send(List.of(orderPlacedEvent));
+        verifyNoInteractions(mailSendScheduler);
+    }
+
+    @Test
+    void listenBatch_WhenDigestingEnabled_ShouldBufferInsteadOfSending() {
+        // Arrange
+        when(notificationDigester.isEnabled()).thenReturn(true);
+
+        // Act
+        notificationService.listenBatch(List.of(orderPlacedEvent), List.of(1_000L));
+
+        // Assert
+        verify(notificationDigester).offer(List.of(orderPlacedEvent), List.of(1_000L));
+        verifyNoInteractions(notificationBatchSender, mailSendScheduler);
     }
 }
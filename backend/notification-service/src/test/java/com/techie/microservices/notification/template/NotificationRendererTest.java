@@ -0,0 +1,133 @@
+package com.techie.microservices.notification.template;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.avro.util.Utf8;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationRendererTest {
+
+    private NotificationRenderer notificationRenderer;
+    private OrderPlacedEvent orderPlacedEvent;
+
+    @BeforeEach
+    void setUp() {
+        notificationRenderer = new NotificationRenderer(List.of("fr", "fr_CA"), "en");
+        orderPlacedEvent = new OrderPlacedEvent();
+        orderPlacedEvent.setOrderNumber(new Utf8("0ABCDEF123456"));
+        orderPlacedEvent.setEmail(new Utf8("customer@example.com"));
+        orderPlacedEvent.setFirstName(new Utf8("John"));
+        orderPlacedEvent.setLastName(new Utf8("Doe"));
+    }
+
+    @Test
+    void render_WithDefaultLocale_ShouldMatchPreviousPlainTextEmail() {
+        // Act
+        NotificationRenderer.RenderedNotification notification = notificationRenderer.render(orderPlacedEvent, Locale.ENGLISH);
+
+        // Assert
+        assertEquals("Your Order with OrderNumber 0ABCDEF123456 is placed successfully", notification.subject());
+        assertEquals(String.format("""
+                        Hi %s,%s
+
+                        Your order with order number %s is now placed successfully.
+
+                        Best Regards
+                        Spring Shop
+                        """, "John", "Doe", "0ABCDEF123456"), notification.text());
+        assertTrue(notification.html().contains("<strong>0ABCDEF123456</strong>"));
+    }
+
+    @Test
+    void render_ShouldEscapeFieldsInHtmlOnly() {
+        // Arrange
+        orderPlacedEvent.setFirstName("<b>Jo & \"Jo\"</b>");
+
+        // Act
+        NotificationRenderer.RenderedNotification notification = notificationRenderer.render(orderPlacedEvent, null);
+
+        // Assert
+        assertTrue(notification.html().contains("Hi &lt;b&gt;Jo &amp; &quot;Jo&quot;&lt;/b&gt; Doe,"));
+        assertTrue(notification.text().startsWith("Hi <b>Jo & \"Jo\"</b>,Doe"));
+    }
+
+    @Test
+    void render_WithNonAsciiUtf8Field_ShouldDecodeIt() {
+        // Arrange
+        orderPlacedEvent.setFirstName(new Utf8("Zoë"));
+
+        // Act
+        NotificationRenderer.RenderedNotification notification = notificationRenderer.render(orderPlacedEvent, null);
+
+        // Assert
+        assertTrue(notification.text().startsWith("Hi Zoë,Doe"));
+    }
+
+    @Test
+    void render_WithRegionalLocale_ShouldFallBackToLanguageVariant() {
+        // Act
+        NotificationRenderer.RenderedNotification french = notificationRenderer.render(orderPlacedEvent, Locale.CANADA_FRENCH);
+        NotificationRenderer.RenderedNotification german = notificationRenderer.render(orderPlacedEvent, Locale.GERMAN);
+
+        // Assert
+        assertEquals("Votre commande 0ABCDEF123456 a bien été enregistrée", french.subject());
+        assertTrue(french.html().contains("<html lang=\"fr\">"));
+        assertEquals("Your Order with OrderNumber 0ABCDEF123456 is placed successfully", german.subject());
+    }
+
+    @Test
+    void orderPlacedMessage_ShouldBuildTextAndHtmlAlternatives() throws Exception {
+        // Arrange
+        MimeMessage mimeMessage = new MimeMessage(Session.getInstance(new Properties()));
+
+        // Act
+        notificationRenderer.orderPlacedMessage(orderPlacedEvent).prepare(mimeMessage);
+        mimeMessage.saveChanges();
+
+        // Assert
+        assertEquals("customer@example.com", mimeMessage.getAllRecipients()[0].toString());
+        assertTrue(mimeMessage.getContentType().startsWith("multipart/mixed"));
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        mimeMessage.writeTo(raw);
+        assertTrue(raw.toString().contains("text/plain"));
+        assertTrue(raw.toString().contains("text/html"));
+    }
+
+    @Test
+    void compile_WithUnknownPlaceholder_ShouldFail() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> NotificationTemplate.compile("broken", "Hi {{nickname}}", false));
+        assertTrue(exception.getMessage().contains("nickname"));
+    }
+
+    @Test
+    void compile_WithUnclosedPlaceholder_ShouldFail() {
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationTemplate.compile("broken", "Hi {{firstName", false));
+    }
+
+    @Test
+    void renderDigest_ShouldListEveryOrderAndGreetFirstOrdersCustomer() {
+        // Arrange
+        OrderPlacedEvent second = new OrderPlacedEvent("0ABCDEF999999", "customer@example.com", "John", "Doe");
+
+        // Act
+        NotificationRenderer.RenderedNotification notification =
+                notificationRenderer.renderDigest(List.of(orderPlacedEvent, second));
+
+        // Assert
+        assertEquals("Your 2 Orders are placed successfully", notification.subject());
+        assertTrue(notification.text().startsWith("Hi John,Doe"));
+        assertTrue(notification.text().contains("- 0ABCDEF123456\n- 0ABCDEF999999\n"));
+        assertTrue(notification.html().contains("<li><strong>0ABCDEF123456</strong></li>\n<li><strong>0ABCDEF999999</strong></li>"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.techie.microservices.order.event.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.avro.Schema;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal client for the two schema registry REST calls the Avro serde needs: registering the
+ * compiled-in schema under a subject and fetching a writer schema by id. The registry returns the
+ * existing id when a schema is registered again, so registering doubles as the lookup. Several
+ * comma-separated registry urls are tried in order.
+ * <p>
+ * Callers cache the results; the registry is only called for a schema id not seen before.
+ */
+public class AvroSchemaRegistry {
+
+    private static final String CONTENT_TYPE = "application/vnd.schemaregistry.v1+json";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<String> urls;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public AvroSchemaRegistry(String urls) {
+        this.urls = Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> url.endsWith("/") ? url.substring(0, url.length() - 1) : url)
+                .toList();
+        if (this.urls.isEmpty()) {
+            throw new IllegalArgumentException("schema.registry.url must name at least one schema registry");
+        }
+        this.httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+    }
+
+    /**
+     * Registers {@code schema} under {@code subject}, or looks up its id if it already is.
+     */
+    public int register(String subject, Schema schema) {
+        String body = objectMapper.createObjectNode().put("schema", schema.toString()).toString();
+        JsonNode response = call("/subjects/" + URLEncoder.encode(subject, StandardCharsets.UTF_8) + "/versions",
+                HttpRequest.BodyPublishers.ofString(body));
+        return response.path("id").asInt();
+    }
+
+    public Schema getById(int id) {
+        JsonNode response = call("/schemas/ids/" + id, null);
+        return new Schema.Parser().parse(response.path("schema").asText());
+    }
+
+    private JsonNode call(String path, HttpRequest.BodyPublisher body) {
+        SerializationException failure = null;
+        for (String url : urls) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + path))
+                    .timeout(TIMEOUT)
+                    .header("Accept", CONTENT_TYPE);
+            if (body != null) {
+                request.header("Content-Type", CONTENT_TYPE).POST(body);
+            }
+            try {
+                HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() / 100 == 2) {
+                    return objectMapper.readTree(response.body());
+                }
+                failure = new SerializationException("Schema registry " + url + path + " returned "
+                        + response.statusCode() + ": " + response.body());
+                if (response.statusCode() / 100 == 4) {
+                    // The request itself is wrong, another registry instance gives the same answer
+                    throw failure;
+                }
+            } catch (IOException e) {
+                failure = new SerializationException("Schema registry " + url + " is unreachable", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SerializationException("Interrupted calling schema registry " + url, e);
+            }
+        }
+        throw failure;
+    }
+}
@@ -0,0 +1,23 @@
+package com.techie.microservices.order.event.kafka;
+
+/**
+ * Layout of an Avro record value on the wire, shared with Confluent's serde: a zero magic byte,
+ * the writer schema's registry id as a big-endian int, then the Avro binary encoding.
+ */
+final class AvroWireFormat {
+
+    static final byte MAGIC_BYTE = 0;
+    static final int HEADER_SIZE = 5;
+    static final String SCHEMA_REGISTRY_URL = "schema.registry.url";
+
+    private AvroWireFormat() {
+    }
+
+    static String subject(String topic, boolean isKey) {
+        return topic + (isKey ? "-key" : "-value");
+    }
+
+    static int schemaId(byte[] data) {
+        return ((data[1] & 0xff) << 24) | ((data[2] & 0xff) << 16) | ((data[3] & 0xff) << 8) | (data[4] & 0xff);
+    }
+}
@@ -0,0 +1,140 @@
+package com.techie.microservices.order.event.kafka;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.apache.avro.util.Utf8;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro deserializer for {@link OrderPlacedEvent} records written by Confluent's
+ * {@code KafkaAvroSerializer} or {@link OrderPlacedEventSerializer}. A reader is built once per
+ * writer schema id: the registry is only asked for a schema id not seen before, that is after the
+ * producer's schema changed. Records written with the compiled-in schema are read field by field,
+ * others are resolved against it.
+ * <p>
+ * Decoding reads straight from the record's byte array through a per-thread decoder.
+ * {@link #deserialize(String, byte[], OrderPlacedEvent)} also decodes into an existing event,
+ * reusing its string buffers, for callers that are done with the previous event before decoding
+ * the next; the Kafka listener path gets a new event per record since batch listeners keep them.
+ */
+@Slf4j
+public class OrderPlacedEventDeserializer implements Deserializer<OrderPlacedEvent> {
+
+    private final Map<Integer, DatumReader<OrderPlacedEvent>> readers = new ConcurrentHashMap<>();
+    private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+    private volatile CachedReader lastReader;
+    private AvroSchemaRegistry schemaRegistry;
+
+    public OrderPlacedEventDeserializer() {
+    }
+
+    public OrderPlacedEventDeserializer(AvroSchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (schemaRegistry == null) {
+            Object urls = configs.get(AvroWireFormat.SCHEMA_REGISTRY_URL);
+            if (urls == null) {
+                throw new ConfigException("Missing " + AvroWireFormat.SCHEMA_REGISTRY_URL);
+            }
+            schemaRegistry = new AvroSchemaRegistry(urls.toString());
+        }
+    }
+
+    @Override
+    public OrderPlacedEvent deserialize(String topic, byte[] data) {
+        return deserialize(topic, data, null);
+    }
+
+    /**
+     * Decodes {@code data} into {@code reuse}, or into a new event if it is null.
+     */
+    public OrderPlacedEvent deserialize(String topic, byte[] data, OrderPlacedEvent reuse) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length < AvroWireFormat.HEADER_SIZE || data[0] != AvroWireFormat.MAGIC_BYTE) {
+            throw new SerializationException("Record on " + topic + " is not in the Avro wire format");
+        }
+        DatumReader<OrderPlacedEvent> reader = reader(AvroWireFormat.schemaId(data));
+        BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, AvroWireFormat.HEADER_SIZE,
+                data.length - AvroWireFormat.HEADER_SIZE, decoders.get());
+        decoders.set(decoder);
+        try {
+            return reader.read(reuse, decoder);
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to deserialize OrderPlacedEvent from " + topic, e);
+        }
+    }
+
+    private DatumReader<OrderPlacedEvent> reader(int schemaId) {
+        CachedReader last = lastReader;
+        if (last != null && last.schemaId == schemaId) {
+            return last.reader;
+        }
+        DatumReader<OrderPlacedEvent> reader = readers.computeIfAbsent(schemaId, this::createReader);
+        lastReader = new CachedReader(schemaId, reader);
+        return reader;
+    }
+
+    private DatumReader<OrderPlacedEvent> createReader(int schemaId) {
+        Schema writerSchema = schemaRegistry.getById(schemaId);
+        if (writerSchema.equals(OrderPlacedEvent.getClassSchema())) {
+            return StringFieldsReader.supports(writerSchema)
+                    ? new StringFieldsReader()
+                    : new SpecificDatumReader<>(OrderPlacedEvent.class);
+        }
+        log.info("Resolving OrderPlacedEvent records written with schema {} against the compiled-in schema", schemaId);
+        return new SpecificDatumReader<>(writerSchema, OrderPlacedEvent.getClassSchema());
+    }
+
+    /**
+     * Reads records written with the compiled-in schema when all of its fields are strings, field
+     * by field without a resolving decoder.
+     */
+    static final class StringFieldsReader implements DatumReader<OrderPlacedEvent> {
+
+        private static final int FIELDS = OrderPlacedEvent.getClassSchema().getFields().size();
+
+        static boolean supports(Schema schema) {
+            return schema.getFields().stream().allMatch(field -> field.schema().getType() == Schema.Type.STRING);
+        }
+
+        @Override
+        public OrderPlacedEvent read(OrderPlacedEvent reuse, Decoder in) throws IOException {
+            OrderPlacedEvent event = reuse != null ? reuse : new OrderPlacedEvent();
+            for (int i = 0; i < FIELDS; i++) {
+                event.put(i, in.readString(event.get(i) instanceof Utf8 utf8 ? utf8 : null));
+            }
+            return event;
+        }
+
+        /**
+         * Only the compiled-in schema is read field by field; other writer schemas need resolving.
+         */
+        @Override
+        public void setSchema(Schema schema) {
+            if (!schema.equals(OrderPlacedEvent.getClassSchema())) {
+                throw new IllegalArgumentException("Reads records written with the compiled-in schema only, not "
+                        + schema);
+            }
+        }
+    }
+
+    private record CachedReader(int schemaId, DatumReader<OrderPlacedEvent> reader) {
+    }
+}
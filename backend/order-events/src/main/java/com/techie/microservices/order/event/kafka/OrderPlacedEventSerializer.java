@@ -0,0 +1,129 @@
+package com.techie.microservices.order.event.kafka;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.specific.SpecificDatumWriter;
+import org.apache.kafka.common.config.ConfigException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro serializer for {@link OrderPlacedEvent}, wire compatible with Confluent's
+ * {@code KafkaAvroSerializer} using the default topic name subject strategy. The schema is
+ * registered once per topic and its id cached, so the registry is only called again after a
+ * restart, which is also the only way the compiled-in schema can change. Each producing thread
+ * keeps its own output buffer and encoder; the returned array is the only allocation per record
+ * besides the ones Avro makes for string fields.
+ * <p>
+ * Configured with the same {@code schema.registry.url} property as the Confluent serializer.
+ * order-service publishes order events with it and notification-service its retry topics;
+ * {@link OrderPlacedEventDeserializer} reads both into reusable instances.
+ */
+public class OrderPlacedEventSerializer implements Serializer<OrderPlacedEvent> {
+
+    private static final DatumWriter<OrderPlacedEvent> WRITER = new SpecificDatumWriter<>(OrderPlacedEvent.class);
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<String, Integer> schemaIds = new ConcurrentHashMap<>();
+    private final ThreadLocal<EncoderState> encoders = ThreadLocal.withInitial(EncoderState::new);
+    private AvroSchemaRegistry schemaRegistry;
+    private boolean isKey;
+
+    public OrderPlacedEventSerializer() {
+    }
+
+    public OrderPlacedEventSerializer(AvroSchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        this.isKey = isKey;
+        if (schemaRegistry == null) {
+            Object urls = configs.get(AvroWireFormat.SCHEMA_REGISTRY_URL);
+            if (urls == null) {
+                throw new ConfigException("Missing " + AvroWireFormat.SCHEMA_REGISTRY_URL);
+            }
+            schemaRegistry = new AvroSchemaRegistry(urls.toString());
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, OrderPlacedEvent data) {
+        if (data == null) {
+            return null;
+        }
+        int schemaId = schemaIds.computeIfAbsent(topic,
+                t -> schemaRegistry.register(AvroWireFormat.subject(t, isKey), OrderPlacedEvent.getClassSchema()));
+        EncoderState state = encoders.get();
+        try {
+            state.out.reset(schemaId);
+            state.encoder = EncoderFactory.get().binaryEncoder(state.out, state.encoder);
+            WRITER.write(data, state.encoder);
+            state.encoder.flush();
+            return state.out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to serialize OrderPlacedEvent for topic " + topic, e);
+        }
+    }
+
+    private static final class EncoderState {
+
+        private final RecordBuffer out = new RecordBuffer();
+        private BinaryEncoder encoder;
+    }
+
+    /**
+     * Unsynchronized, reusable stand-in for {@link java.io.ByteArrayOutputStream} that starts every
+     * record with the wire format header.
+     */
+    private static final class RecordBuffer extends OutputStream {
+
+        private byte[] buffer = new byte[256];
+        private int count;
+
+        void reset(int schemaId) {
+            if (buffer.length > MAX_RETAINED_BUFFER) {
+                // Do not hold on to the buffer of one unusually large record per thread
+                buffer = new byte[256];
+            }
+            buffer[0] = AvroWireFormat.MAGIC_BYTE;
+            buffer[1] = (byte) (schemaId >>> 24);
+            buffer[2] = (byte) (schemaId >>> 16);
+            buffer[3] = (byte) (schemaId >>> 8);
+            buffer[4] = (byte) schemaId;
+            count = AvroWireFormat.HEADER_SIZE;
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, count, length);
+            count += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, count);
+        }
+
+        private void ensureCapacity(int length) {
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+            }
+        }
+    }
+}
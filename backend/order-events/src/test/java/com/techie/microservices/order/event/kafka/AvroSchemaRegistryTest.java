@@ -0,0 +1,108 @@
+package com.techie.microservices.order.event.kafka;
+
+import com.sun.net.httpserver.HttpServer;
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a stub of the schema registry REST API.
+ */
+class AvroSchemaRegistryTest {
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private HttpServer registry;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        registry.createContext("/", exchange -> {
+            String request = exchange.getRequestMethod() + " " + exchange.getRequestURI().getRawPath();
+            requests.add(request + " " + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String response;
+            int status = 200;
+            if (request.equals("POST /subjects/order-placed-value/versions")) {
+                response = "{\"id\":42}";
+            } else if (request.equals("GET /schemas/ids/42")) {
+                response = "{\"schema\":" + quote(OrderPlacedEvent.getClassSchema().toString()) + "}";
+            } else {
+                status = 404;
+                response = "{\"error_code\":40403,\"message\":\"Schema not found\"}";
+            }
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        registry.start();
+        url = "http://localhost:" + registry.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.stop(0);
+    }
+
+    @Test
+    void register_ShouldPostSchemaUnderSubjectAndReturnItsId() {
+        // Arrange
+        AvroSchemaRegistry schemaRegistry = new AvroSchemaRegistry(url);
+
+        // Act
+        int id = schemaRegistry.register("order-placed-value", OrderPlacedEvent.getClassSchema());
+
+        // Assert
+        assertEquals(42, id);
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).startsWith("POST /subjects/order-placed-value/versions {\"schema\":"));
+    }
+
+    @Test
+    void getById_ShouldParseWriterSchema() {
+        // Arrange
+        AvroSchemaRegistry schemaRegistry = new AvroSchemaRegistry(url + "/");
+
+        // Act & Assert
+        assertEquals(OrderPlacedEvent.getClassSchema(), schemaRegistry.getById(42));
+    }
+
+    @Test
+    void getById_WhenFirstRegistryIsUnreachable_ShouldTryNext() throws IOException {
+        // Arrange - a port nothing listens on
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        AvroSchemaRegistry schemaRegistry = new AvroSchemaRegistry("http://localhost:" + closedPort + ", " + url);
+
+        // Act & Assert
+        assertEquals(OrderPlacedEvent.getClassSchema(), schemaRegistry.getById(42));
+    }
+
+    @Test
+    void getById_WhenSchemaIsUnknown_ShouldThrowWithoutTryingOtherRegistries() {
+        // Arrange
+        AvroSchemaRegistry schemaRegistry = new AvroSchemaRegistry(url + "," + url);
+
+        // Act & Assert
+        SerializationException exception = assertThrows(SerializationException.class, () -> schemaRegistry.getById(7));
+        assertTrue(exception.getMessage().contains("404"));
+        assertEquals(1, requests.size());
+    }
+
+    private static String quote(String json) {
+        return "\"" + json.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,133 @@
+package com.techie.microservices.order.event.kafka;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPlacedEventDeserializerTest {
+
+    @Mock
+    private AvroSchemaRegistry schemaRegistry;
+
+    private OrderPlacedEventSerializer serializer;
+    private OrderPlacedEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new OrderPlacedEventSerializer(schemaRegistry);
+        serializer.configure(Map.of(), false);
+        deserializer = new OrderPlacedEventDeserializer(schemaRegistry);
+        deserializer.configure(Map.of(), false);
+    }
+
+    @Test
+    void deserialize_ShouldFetchWriterSchemaOnlyForUnseenSchemaId() {
+        // Arrange
+        when(schemaRegistry.register("order-placed-value", OrderPlacedEvent.getClassSchema())).thenReturn(300);
+        when(schemaRegistry.getById(300)).thenReturn(OrderPlacedEvent.getClassSchema());
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            OrderPlacedEvent orderPlacedEvent = new OrderPlacedEvent("ORDER-" + i, "john@example.com", "John", "Doe");
+            OrderPlacedEvent decoded = deserializer.deserialize("order-placed",
+                    serializer.serialize("order-placed", orderPlacedEvent));
+
+            // Assert
+            assertEquals(orderPlacedEvent, decoded);
+        }
+        verify(schemaRegistry, times(1)).getById(300);
+    }
+
+    @Test
+    void deserialize_WithReusableEvent_ShouldDecodeIntoItAndReuseStringBuffers() {
+        // Arrange
+        when(schemaRegistry.register("order-placed-value", OrderPlacedEvent.getClassSchema())).thenReturn(1);
+        when(schemaRegistry.getById(1)).thenReturn(OrderPlacedEvent.getClassSchema());
+        OrderPlacedEvent reusable = deserializer.deserialize("order-placed", serializer.serialize("order-placed",
+                new OrderPlacedEvent("ORDER-1", "john.doe@example.com", "John", "Doe")));
+        CharSequence email = reusable.getEmail();
+
+        // Act
+        OrderPlacedEvent decoded = deserializer.deserialize("order-placed", serializer.serialize("order-placed",
+                new OrderPlacedEvent("ORDER-2", "jane@example.com", "Jane", "Roe")), reusable);
+
+        // Assert
+        assertSame(reusable, decoded);
+        assertSame(email, decoded.getEmail());
+        assertEquals("ORDER-2", decoded.getOrderNumber().toString());
+        assertEquals("jane@example.com", decoded.getEmail().toString());
+        assertEquals("Roe", decoded.getLastName().toString());
+    }
+
+    @Test
+    void deserialize_WhenProducerSchemaChanged_ShouldResolveAgainstCompiledSchema() throws Exception {
+        // Arrange - a newer producer added a field the consumer does not know yet
+        Schema newerSchema = SchemaBuilder.record("OrderPlacedEvent").namespace("com.techie.microservices.order.event")
+                .fields()
+                .requiredString("orderNumber")
+                .requiredString("email")
+                .requiredString("firstName")
+                .requiredString("lastName")
+                .name("phone").type().stringType().stringDefault("")
+                .endRecord();
+        when(schemaRegistry.getById(2)).thenReturn(newerSchema);
+        GenericRecord record = new GenericData.Record(newerSchema);
+        record.put("orderNumber", "ORDER-1");
+        record.put("email", "john@example.com");
+        record.put("firstName", "John");
+        record.put("lastName", "Doe");
+        record.put("phone", "+33 1 23 45 67 89");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[]{0, 0, 0, 0, 2});
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(newerSchema).write(record, encoder);
+        encoder.flush();
+
+        // Act
+        OrderPlacedEvent decoded = deserializer.deserialize("order-placed", out.toByteArray());
+
+        // Assert
+        assertEquals(new OrderPlacedEvent("ORDER-1", "john@example.com", "John", "Doe"), decoded);
+    }
+
+    @Test
+    void stringFieldsReader_SetSchema_ShouldAcceptOnlyTheCompiledSchema() {
+        // Arrange
+        OrderPlacedEventDeserializer.StringFieldsReader reader = new OrderPlacedEventDeserializer.StringFieldsReader();
+        Schema otherSchema = SchemaBuilder.record("OrderPlacedEvent").namespace("com.techie.microservices.order.event")
+                .fields()
+                .requiredString("orderNumber")
+                .endRecord();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> reader.setSchema(OrderPlacedEvent.getClassSchema()));
+        assertThrows(IllegalArgumentException.class, () -> reader.setSchema(otherSchema));
+    }
+
+    @Test
+    void deserialize_WhenNotInWireFormat_ShouldThrow() {
+        // Act & Assert
+        assertThrows(SerializationException.class,
+                () -> deserializer.deserialize("order-placed", "ORDER-1".getBytes()));
+        assertNull(deserializer.deserialize("order-placed", null));
+        verifyNoInteractions(schemaRegistry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.techie.microservices.order.event.kafka;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.specific.SpecificDatumReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPlacedEventSerializerTest {
+
+    @Mock
+    private AvroSchemaRegistry schemaRegistry;
+
+    private OrderPlacedEventSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new OrderPlacedEventSerializer(schemaRegistry);
+        serializer.configure(Map.of(), false);
+    }
+
+    @Test
+    void serialize_ShouldWriteSchemaIdHeaderFollowedByAvroBinary() throws Exception {
+        // Arrange
+        when(schemaRegistry.register("order-placed-value", OrderPlacedEvent.getClassSchema())).thenReturn(0x01020304);
+        OrderPlacedEvent orderPlacedEvent = new OrderPlacedEvent("ORDER-1", "john@example.com", "John", "Doe");
+
+        // Act
+        byte[] bytes = serializer.serialize("order-placed", orderPlacedEvent);
+
+        // Assert
+        assertArrayEquals(new byte[]{0, 1, 2, 3, 4}, Arrays.copyOf(bytes, 5));
+        OrderPlacedEvent decoded = new SpecificDatumReader<>(OrderPlacedEvent.class)
+                .read(null, DecoderFactory.get().binaryDecoder(bytes, 5, bytes.length - 5, null));
+        assertEquals(orderPlacedEvent, decoded);
+    }
+
+    @Test
+    void serialize_ShouldRegisterSchemaOncePerTopic() {
+        // Arrange
+        when(schemaRegistry.register("order-placed-value", OrderPlacedEvent.getClassSchema())).thenReturn(1);
+        when(schemaRegistry.register("order-placed-retry-0-value", OrderPlacedEvent.getClassSchema())).thenReturn(1);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            serializer.serialize("order-placed", new OrderPlacedEvent("ORDER-" + i, "john@example.com", "John", "Doe"));
+        }
+        serializer.serialize("order-placed-retry-0", new OrderPlacedEvent("ORDER-1", "john@example.com", "John", "Doe"));
+
+        // Assert
+        verify(schemaRegistry).register("order-placed-value", OrderPlacedEvent.getClassSchema());
+        verify(schemaRegistry).register("order-placed-retry-0-value", OrderPlacedEvent.getClassSchema());
+    }
+
+    @Test
+    void serialize_ShouldNotLeakPreviousRecordIntoShorterOne() {
+        // Arrange
+        when(schemaRegistry.register("order-placed-value", OrderPlacedEvent.getClassSchema())).thenReturn(1);
+        String longName = "J".repeat(10_000);
+
+        // Act
+        byte[] large = serializer.serialize("order-placed", new OrderPlacedEvent("ORDER-1", "john@example.com", longName, "Doe"));
+        byte[] small = serializer.serialize("order-placed", new OrderPlacedEvent("ORDER-2", "jane@example.com", "Jane", "Doe"));
+
+        // Assert
+        assertTrue(large.length > 10_000);
+        assertEquals(5 + 1 + 7 + 1 + 16 + 1 + 4 + 1 + 3, small.length);
+        assertNull(serializer.serialize("order-placed", null));
+    }
+}
@@ -0,0 +1,146 @@
+package com.techie.microservices.order.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Vegas-style adaptive concurrency limit for calls to a downstream service. The lowest RTT seen
+ * stands for the downstream's unloaded latency; each new sample estimates how many of the calls in
+ * flight are queueing there as {@code limit * (1 - minRtt / rtt)}. A short queue grows the limit,
+ * a long one shrinks it, both by roughly {@code log10(limit)}; timeouts and errors cut it
+ * multiplicatively. Calls beyond the current limit are rejected immediately instead of queueing
+ * behind slow ones. The minimum RTT is re-probed periodically so a permanent latency shift (a
+ * slower deployment, a farther replica) is not mistaken for queueing forever.
+ * <p>
+ * Publishes {@code <name>.concurrency.limit}, {@code <name>.concurrency.inflight} and
+ * {@code <name>.concurrency.rejected}.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int PROBE_INTERVAL = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongSupplier nanoClock;
+    private final Counter rejected;
+    private volatile double limit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private int samplesSinceProbe;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      MeterRegistry meterRegistry) {
+        this(name, initialLimit, minLimit, maxLimit, meterRegistry, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock source of the timestamps RTTs are measured with, {@link System#nanoTime} outside tests
+     */
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        Gauge.builder(name + ".concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(name + ".concurrency.inflight", inflight, AtomicInteger::get)
+                .description("Calls currently in flight")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(name + ".concurrency.rejected")
+                .description("Calls rejected because the concurrency limit was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a permit that must be completed exactly once, or empty when the call should be shed
+     */
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(nanoClock.getAsLong(), current + 1));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized void onSample(long rttNanos, int inflightAtStart) {
+        if (++samplesSinceProbe >= PROBE_INTERVAL) {
+            samplesSinceProbe = 0;
+            minRttNanos = rttNanos;
+        }
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+
+        double step = Math.max(1.0, Math.log10(limit));
+        double queued = Math.ceil(limit * (1 - (double) minRttNanos / rttNanos));
+        double newLimit;
+        if (queued <= step) {
+            newLimit = limit + 6 * step;
+        } else if (queued < 3 * step) {
+            newLimit = limit + step;
+        } else if (queued > 6 * step) {
+            newLimit = limit - step;
+        } else {
+            return;
+        }
+        // Don't grow a limit the caller isn't using
+        if (newLimit > limit && inflightAtStart < limit / 2) {
+            return;
+        }
+        limit = clamp(newLimit);
+    }
+
+    synchronized void onDropped() {
+        limit = clamp(limit * BACKOFF_RATIO);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inflightAtStart;
+
+        private Permit(long startNanos, int inflightAtStart) {
+            this.startNanos = startNanos;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        public void onSuccess() {
+            inflight.decrementAndGet();
+            onSample(nanoClock.getAsLong() - startNanos, inflightAtStart);
+        }
+
+        /**
+         * Timeouts and downstream errors, which signal overload.
+         */
+        public void onDropped() {
+            inflight.decrementAndGet();
+            AdaptiveConcurrencyLimiter.this.onDropped();
+        }
+
+        /**
+         * Calls cancelled for reasons unrelated to the downstream's health.
+         */
+        public void onIgnore() {
+            inflight.decrementAndGet();
+        }
+    }
+}
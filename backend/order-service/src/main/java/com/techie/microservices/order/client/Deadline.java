@@ -0,0 +1,22 @@
+package com.techie.microservices.order.client;
+
+import java.time.Duration;
+
+/**
+ * Absolute point in time by which a caller needs an answer. Passed down so that each retry only
+ * gets the time the caller has left, instead of a fresh fixed timeout.
+ */
+public record Deadline(long deadlineNanos) {
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
@@ -0,0 +1,184 @@
+package com.techie.microservices.order.client;
+
+import com.techie.microservices.order.dto.StockAvailability;
+import com.techie.microservices.order.dto.StockRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking front for {@link InventoryClient}. Every call runs on a virtual thread, is retried
+ * with backoff while the caller's {@link Deadline} allows, and is cancelled (interrupting the
+ * underlying HTTP exchange) once the deadline passes. Large stock checks are split into chunks
+ * that are sent in parallel, so a request costs the slowest chunk rather than the sum of them.
+ * When a chunk gets no answer the returned future fails with {@link InventoryUnavailableException};
+ * only inventory-service itself reports "not in stock".
+ * <p>
+ * Checks for SKUs that {@link StockLevelCache} can vouch for are answered without a remote call;
+ * every remote answer refreshes the cache with the reported level.
+ * <p>
+ * Each attempt needs a permit from the {@link AdaptiveConcurrencyLimiter}; when inventory-service
+ * slows down and the limit is reached, calls fail fast instead of queueing.
+ * <p>
+ * {@code order.inventory.attempt} times every remote attempt by outcome and
+ * {@code order.inventory.backoff} the sleeps between them, which splits a slow stock check into
+ * slow responses, failed attempts and retry waits.
+ */
+@Component
+@Slf4j
+public class InventoryAsyncClient {
+
+    private final InventoryClient inventoryClient;
+    private final StockLevelCache stockLevelCache;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Timer attemptSucceeded;
+    private final Timer attemptFailed;
+    private final Timer attemptTimedOut;
+    private final Timer backoff;
+
+    @Value("${inventory.client.max-attempts:3}")
+    private int maxAttempts = 3;
+
+    @Value("${inventory.client.retry-backoff:100ms}")
+    private Duration retryBackoff = Duration.ofMillis(100);
+
+    @Value("${inventory.client.fan-out-chunk-size:50}")
+    private int fanOutChunkSize = 50;
+
+    public InventoryAsyncClient(InventoryClient inventoryClient, StockLevelCache stockLevelCache,
+                                AdaptiveConcurrencyLimiter inventoryConcurrencyLimiter, MeterRegistry meterRegistry) {
+        this.inventoryClient = inventoryClient;
+        this.stockLevelCache = stockLevelCache;
+        this.concurrencyLimiter = inventoryConcurrencyLimiter;
+        this.attemptSucceeded = attemptTimer(meterRegistry, "success");
+        this.attemptFailed = attemptTimer(meterRegistry, "failure");
+        this.attemptTimedOut = attemptTimer(meterRegistry, "timeout");
+        this.backoff = Timer.builder("order.inventory.backoff")
+                .description("Time spent waiting between inventory-service attempts")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Boolean> isInStock(String skuCode, Integer quantity, Deadline deadline) {
+        // The batch endpoint is used even for one SKU because it reports the level the cache needs
+        return checkStock(List.of(new StockRequest(skuCode, quantity)), deadline)
+                .thenApply(availability -> availability.get(0).inStock());
+    }
+
+    public CompletableFuture<List<StockAvailability>> checkStock(List<StockRequest> stockRequests, Deadline deadline) {
+        List<StockAvailability> covered = new ArrayList<>();
+        List<StockRequest> uncovered = new ArrayList<>();
+        for (StockRequest request : stockRequests) {
+            if (stockLevelCache.tryCover(request.skuCode(), request.quantity())) {
+                covered.add(new StockAvailability(request.skuCode(), request.quantity(), request.quantity(), true));
+            } else {
+                uncovered.add(request);
+            }
+        }
+        if (uncovered.isEmpty()) {
+            return CompletableFuture.completedFuture(covered);
+        }
+
+        List<CompletableFuture<List<StockAvailability>>> chunks = new ArrayList<>();
+        for (int from = 0; from < uncovered.size(); from += fanOutChunkSize) {
+            List<StockRequest> chunk = uncovered.subList(from, Math.min(from + fanOutChunkSize, uncovered.size()));
+            chunks.add(CompletableFuture.supplyAsync(
+                            () -> callWithRetries(() -> inventoryClient.checkStock(chunk), deadline), executor)
+                    .thenApply(availability -> {
+                        availability.forEach(stockLevelCache::update);
+                        return availability;
+                    })
+                    .exceptionally(throwable -> {
+                        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                        log.info("Cannot get inventory for {} skucodes, failure reason: {}", chunk.size(),
+                                cause.getMessage());
+                        throw new InventoryUnavailableException("Inventory unavailable for " + chunk.size()
+                                + " skucodes", cause);
+                    }));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    List<StockAvailability> availability = new ArrayList<>(covered);
+                    chunks.forEach(chunk -> availability.addAll(chunk.join()));
+                    return availability;
+                });
+    }
+
+    <T> T callWithRetries(Supplier<T> call, Deadline deadline) {
+        RuntimeException lastFailure = null;
+        for (int attempt = 1; attempt <= maxAttempts && !deadline.isExpired(); attempt++) {
+            // Shed load without retrying: another attempt would only add to the overload
+            AdaptiveConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire()
+                    .orElseThrow(() -> new RejectedExecutionException("Inventory concurrency limit reached"));
+            Future<T> response = executor.submit(call::get);
+            long start = System.nanoTime();
+            try {
+                T result = response.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+                permit.onSuccess();
+                attemptSucceeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (TimeoutException e) {
+                response.cancel(true);
+                permit.onDropped();
+                attemptTimedOut.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                break;
+            } catch (InterruptedException e) {
+                response.cancel(true);
+                permit.onIgnore();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while calling inventory-service", e);
+            } catch (ExecutionException e) {
+                permit.onDropped();
+                attemptFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                lastFailure = e.getCause() instanceof RuntimeException runtimeException
+                        ? runtimeException : new IllegalStateException(e.getCause());
+            }
+            // Only back off if another attempt still fits in the caller's budget
+            long backoffNanos = retryBackoff.toNanos() * attempt;
+            if (attempt == maxAttempts || backoffNanos >= deadline.remainingNanos()) {
+                break;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(backoffNanos);
+                backoff.record(backoffNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while calling inventory-service", e);
+            }
+        }
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        throw new IllegalStateException("Inventory call deadline exceeded");
+    }
+
+    private static Timer attemptTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("order.inventory.attempt")
+                .description("Latency of single inventory-service attempts by outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,16 @@
 package com.techie.microservices.order.client;
 
+import com.techie.microservices.order.dto.StockAvailability;
+import com.techie.microservices.order.dto.StockRequest;
 import groovy.util.logging.Slf4j;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.PostExchange;
+
+import java.util.List;
 
 @Slf4j
 public interface InventoryClient {
@@ -14,12 +18,8 @@ public interface InventoryClient {
     Logger log = LoggerFactory.getLogger(InventoryClient.class);
 
     @GetExchange("/api/inventory")
-    @CircuitBreaker(name = "inventory", fallbackMethod = "fallbackMethod")
-    @Retry(name = "inventory")
     boolean isInStock(@RequestParam String skuCode, @RequestParam Integer quantity);
 
-    default boolean fallbackMethod(String code, Integer quantity, Throwable throwable) {
-        log.info("Cannot get inventory for skucode {}, failure reason: {}", code, throwable.getMessage());
-        return false;
-    }
+    @PostExchange("/api/inventory/check")
+    List<StockAvailability> checkStock(@RequestBody List<StockRequest> stockRequests);
 }
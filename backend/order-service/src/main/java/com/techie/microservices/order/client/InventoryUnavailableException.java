@@ -0,0 +1,17 @@
+package com.techie.microservices.order.client;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Inventory-service gave no answer in time: every attempt failed, timed out or was shed by the
+ * {@link AdaptiveConcurrencyLimiter}. Unlike an out-of-stock answer this says nothing about the
+ * stock, so requests fail with 503 and can be retried.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class InventoryUnavailableException extends RuntimeException {
+
+    public InventoryUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,82 @@
+package com.techie.microservices.order.client;
+
+import com.techie.microservices.order.dto.StockAvailability;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last stock level inventory-service reported per SKU. A check is answered locally only while the
+ * cached level, minus what this instance has already let through since, stays at least
+ * {@code inventory.stock-cache.safety-margin} units above the requested quantity; anything closer
+ * to the threshold, unknown, or older than the TTL goes to inventory-service. Orders placed from
+ * the cache draw the cached level down, so a hot SKU falls back to authoritative checks well
+ * before it could sell out.
+ * <p>
+ * {@code inventory.stock-cache.checks} counts checks by result (skipped or remote); the ratio of
+ * the two is the share of inventory traffic avoided.
+ */
+@Component
+public class StockLevelCache {
+
+    private final Map<String, StockLevel> levels = new ConcurrentHashMap<>();
+    private final Counter skipped;
+    private final Counter remote;
+
+    @Value("${inventory.stock-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${inventory.stock-cache.safety-margin:50}")
+    private int safetyMargin = 50;
+
+    @Value("${inventory.stock-cache.ttl:30s}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    @Value("${inventory.stock-cache.max-entries:10000}")
+    private int maxEntries = 10_000;
+
+    public StockLevelCache(MeterRegistry meterRegistry) {
+        this.skipped = meterRegistry.counter("inventory.stock-cache.checks", "result", "skipped");
+        this.remote = meterRegistry.counter("inventory.stock-cache.checks", "result", "remote");
+    }
+
+    /**
+     * @return true, drawing the cached level down by {@code quantity}, when the SKU is comfortably
+     * in stock; false when inventory-service has to be asked
+     */
+    public boolean tryCover(String skuCode, int quantity) {
+        if (!enabled) {
+            remote.increment();
+            return false;
+        }
+        Instant now = Instant.now();
+        boolean[] covered = {false};
+        levels.computeIfPresent(skuCode, (sku, level) -> {
+            if (level.observedAt().plus(ttl).isBefore(now)) {
+                return null;
+            }
+            if (level.available() - quantity >= safetyMargin) {
+                covered[0] = true;
+                return new StockLevel(level.available() - quantity, level.observedAt());
+            }
+            return level;
+        });
+        (covered[0] ? skipped : remote).increment();
+        return covered[0];
+    }
+
+    public void update(StockAvailability stockAvailability) {
+        if (enabled && (levels.size() < maxEntries || levels.containsKey(stockAvailability.skuCode()))) {
+            levels.put(stockAvailability.skuCode(), new StockLevel(stockAvailability.available(), Instant.now()));
+        }
+    }
+
+    private record StockLevel(int available, Instant observedAt) {
+    }
+}
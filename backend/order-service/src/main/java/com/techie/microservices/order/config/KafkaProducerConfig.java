@@ -0,0 +1,34 @@
+package com.techie.microservices.order.config;
+
+import com.techie.microservices.order.kafka.ProducerProfile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+@Slf4j
+public class KafkaProducerConfig {
+
+    /**
+     * Applies {@code order.kafka.producer-profile} to the auto-configured producer factory. Settings
+     * given explicitly under {@code spring.kafka.producer} take precedence over the profile, e.g.
+     * {@code spring.kafka.producer.compression-type=gzip} on a broker that does not take lz4.
+     */
+    @Bean
+    public DefaultKafkaProducerFactoryCustomizer producerProfileCustomizer(
+            @Value("${order.kafka.producer-profile:throughput}") String profileName) {
+        ProducerProfile profile = ProducerProfile.valueOf(profileName.toUpperCase(Locale.ROOT));
+        return producerFactory -> {
+            Map<String, Object> configs = new HashMap<>(producerFactory.getConfigurationProperties());
+            profile.applyTo(configs);
+            producerFactory.updateConfigs(configs);
+            log.info("Kafka producer profile {}: {}", profile, profile.getConfigs());
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.techie.microservices.order.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    /**
+     * Creates {@code order-placed} if it does not exist yet. The partition count bounds how many
+     * consumers in one group can share the topic; an existing topic is left as it is.
+     */
+    @Bean
+    public NewTopic orderPlacedTopic(@Value("${order.events.partitions:6}") int partitions) {
+        return TopicBuilder.name("order-placed").partitions(partitions).build();
+    }
+}
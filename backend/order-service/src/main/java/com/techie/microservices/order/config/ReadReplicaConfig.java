@@ -0,0 +1,52 @@
+package com.techie.microservices.order.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes read-only transactions (order history) to a MySQL replica so they stay off the primary
+ * that takes order writes. Only active when {@code order.datasource.replica.url} is set; the
+ * replica pool is configured under {@code order.datasource.replica.*} with the same keys as
+ * {@code spring.datasource.hikari.*} plus url, username and password.
+ */
+@Configuration
+@ConditionalOnProperty("order.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("order.datasource.replica")
+    public HikariDataSource replicaDataSource(@Value("${order.datasource.replica.url}") String url) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(url);
+        replica.setPoolName("order-replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    /**
+     * Connections are fetched lazily, once the transaction has been marked read-only, so the proxy
+     * can pick the replica for {@code @Transactional(readOnly = true)} work and the primary otherwise.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
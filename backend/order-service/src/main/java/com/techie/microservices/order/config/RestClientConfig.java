@@ -1,19 +1,22 @@
 package com.techie.microservices.order.config;
 
+import com.techie.microservices.order.client.AdaptiveConcurrencyLimiter;
 import com.techie.microservices.order.client.InventoryClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.ClientHttpRequestFactories;
-import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.Executors;
 
 @Configuration
 @RequiredArgsConstructor
@@ -35,10 +38,29 @@ public class RestClientConfig {
         return httpServiceProxyFactory.createClient(InventoryClient.class);
     }
 
+    @Bean
+    public AdaptiveConcurrencyLimiter inventoryConcurrencyLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.client.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${inventory.client.concurrency.min-limit:4}") int minLimit,
+            @Value("${inventory.client.concurrency.max-limit:200}") int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("inventory.client", initialLimit, minLimit, maxLimit, meterRegistry);
+    }
+
+    /**
+     * JDK HttpClient keeps a pool of keep-alive connections per host, so calls from many virtual
+     * threads in {@link com.techie.microservices.order.client.InventoryAsyncClient} reuse them
+     * instead of opening a connection per request. The read timeout is only an upper bound; callers
+     * cancel earlier when their deadline runs out.
+     */
     private ClientHttpRequestFactory getClientRequestFactory() {
-        ClientHttpRequestFactorySettings clientHttpRequestFactorySettings = ClientHttpRequestFactorySettings.DEFAULTS
-                .withConnectTimeout(Duration.ofSeconds(3))
-                .withReadTimeout(Duration.ofSeconds(3));
-        return ClientHttpRequestFactories.get(clientHttpRequestFactorySettings);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(3))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(3));
+        return requestFactory;
     }
 }
@@ -1,6 +1,13 @@
 package com.techie.microservices.order.controller;
 
+import com.techie.microservices.order.dto.CartRequest;
+import com.techie.microservices.order.dto.OrderHistoryPage;
 import com.techie.microservices.order.dto.OrderRequest;
+import com.techie.microservices.order.dto.OrderResponse;
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.service.OrderHistoryService;
+import com.techie.microservices.order.service.OrderIdempotencyService;
+import com.techie.microservices.order.service.OrderPlacementPipeline;
 import com.techie.microservices.order.service.OrderService;
 import groovy.util.logging.Slf4j;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
@@ -8,8 +15,11 @@ import io.github.resilience4j.retry.annotation.Retry;
 import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.Instant;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -18,13 +28,95 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderPlacementPipeline orderPlacementPipeline;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderHistoryService orderHistoryService;
 
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public String placeOrder(@RequestBody OrderRequest orderRequest) {
-        orderService.placeOrder(orderRequest);
-        return "Order Placed Successfully";
+    public ResponseEntity<?> placeOrder(@RequestBody OrderRequest orderRequest,
+                                        @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && !OrderIdempotencyService.isValidKey(idempotencyKey)) {
+            return invalidIdempotencyKey();
+        }
+        if (orderPlacementPipeline.isAsync()) {
+            var placement = orderIdempotencyService.execute(idempotencyKey,
+                    () -> orderPlacementPipeline.accept(orderRequest, idempotencyKey));
+            Order order = placement.order();
+            return withReplayHeader(ResponseEntity.accepted(), placement)
+                    .location(URI.create("/api/order/" + order.getOrderNumber()))
+                    .body(new OrderResponse(order.getOrderNumber(), order.getStatus(), order.getSkuCode(),
+                            order.getPrice(), order.getQuantity()));
+        }
+        var placement = orderIdempotencyService.execute(idempotencyKey,
+                () -> orderService.placeOrder(orderRequest, idempotencyKey));
+        return withReplayHeader(ResponseEntity.status(HttpStatus.CREATED), placement)
+                .body("Order Placed Successfully");
+    }
+
+    /**
+     * Places all lines as one order and answers with a {@link CartResponse} listing them.
+     */
+    @PostMapping("/cart")
+    public ResponseEntity<?> placeCart(@RequestBody CartRequest cartRequest,
+                                       @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey != null && !OrderIdempotencyService.isValidKey(idempotencyKey)) {
+            return invalidIdempotencyKey();
+        }
+        try {
+            var placement = orderIdempotencyService.execute(idempotencyKey,
+                    () -> orderService.placeCart(cartRequest, idempotencyKey));
+            return withReplayHeader(ResponseEntity.status(HttpStatus.CREATED), placement)
+                    .body(orderService.getCart(placement.order()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Newest orders first, filtered by exactly one of email, skuCode or a from/to time range.
+     * Pass the returned nextCursor as {@code before} to fetch the next page.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<?> getOrderHistory(@RequestParam(required = false) String email,
+                                             @RequestParam(required = false) String skuCode,
+                                             @RequestParam(required = false) Instant from,
+                                             @RequestParam(required = false) Instant to,
+                                             @RequestParam(required = false) String before,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        try {
+            OrderHistoryPage page;
+            if (email != null && skuCode == null && from == null && to == null) {
+                page = orderHistoryService.findByEmail(email, before, limit);
+            } else if (skuCode != null && email == null && from == null && to == null) {
+                page = orderHistoryService.findBySkuCode(skuCode, before, limit);
+            } else if (from != null && to != null && email == null && skuCode == null) {
+                page = orderHistoryService.findByCreatedAtBetween(from, to, before, limit);
+            } else {
+                return ResponseEntity.badRequest().body("Filter by exactly one of email, skuCode or from and to");
+            }
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{orderNumber}")
+    public ResponseEntity<OrderResponse> getOrder(@PathVariable String orderNumber) {
+        return ResponseEntity.of(orderService.getOrder(orderNumber));
+    }
+
+    private static ResponseEntity.BodyBuilder withReplayHeader(ResponseEntity.BodyBuilder response,
+                                                               OrderIdempotencyService.Placement placement) {
+        return placement.replayed() ? response.header(IDEMPOTENT_REPLAYED, "true") : response;
+    }
+
+    private static ResponseEntity<String> invalidIdempotencyKey() {
+        return ResponseEntity.badRequest().body(IDEMPOTENCY_KEY + " must be at most "
+                + OrderIdempotencyService.MAX_KEY_LENGTH + " printable ASCII characters");
     }
 
     public CompletableFuture<String> fallbackMethod(OrderRequest orderRequest, RuntimeException runtimeException) {
@@ -0,0 +1,9 @@
+package com.techie.microservices.order.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CartRequest(List<Line> lines, OrderRequest.UserDetails userDetails) {
+
+    public record Line(String skuCode, BigDecimal price, Integer quantity) {}
+}
@@ -0,0 +1,17 @@
+package com.techie.microservices.order.dto;
+
+import com.techie.microservices.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A placed cart: {@code total} is the sum of the line prices and {@code units} the sum of their
+ * quantities. As in the order history, a line's {@code price} is what the line costs, unit price
+ * times quantity.
+ */
+public record CartResponse(String orderNumber, OrderStatus status, BigDecimal total, Integer units,
+                           List<Line> lines) {
+
+    public record Line(String skuCode, BigDecimal price, Integer quantity) {}
+}
@@ -0,0 +1,9 @@
+package com.techie.microservices.order.dto;
+
+import java.util.List;
+
+/**
+ * @param nextCursor order number to pass as {@code before} for the next page, null on the last page
+ */
+public record OrderHistoryPage(List<OrderSummary> orders, String nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.techie.microservices.order.dto;
+
+import com.techie.microservices.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+
+public record OrderResponse(String orderNumber, OrderStatus status, String skuCode,
+                            BigDecimal price, Integer quantity) {
+}
@@ -0,0 +1,10 @@
+package com.techie.microservices.order.dto;
+
+import com.techie.microservices.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderSummary(String orderNumber, OrderStatus status, String skuCode,
+                           BigDecimal price, Integer quantity, Instant createdAt) {
+}
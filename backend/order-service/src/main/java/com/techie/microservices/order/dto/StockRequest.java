@@ -0,0 +1,4 @@
+package com.techie.microservices.order.dto;
+
+public record StockRequest(String skuCode, Integer quantity) {
+}
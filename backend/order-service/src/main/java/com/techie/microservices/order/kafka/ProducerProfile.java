@@ -0,0 +1,56 @@
+package com.techie.microservices.order.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * Producer settings selected with {@code order.kafka.producer-profile}. Every profile keeps
+ * {@code acks=all} with idempotence, so retries neither lose nor duplicate events; they differ in
+ * how long records wait to be batched and whether batches are compressed.
+ */
+public enum ProducerProfile {
+
+    /**
+     * Kafka client defaults.
+     */
+    DEFAULTS(Map.of()),
+
+    /**
+     * Sends as soon as possible: no linger, no compression.
+     */
+    LATENCY(Map.of(
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.LINGER_MS_CONFIG, 0,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "none")),
+
+    /**
+     * Fewer, larger requests: records linger up to 20 ms to fill 128 KiB batches, which are
+     * lz4-compressed. Avro order events are small and repetitive and compress well.
+     */
+    THROUGHPUT(Map.of(
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+            ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5,
+            ProducerConfig.LINGER_MS_CONFIG, 20,
+            ProducerConfig.BATCH_SIZE_CONFIG, 131072,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4"));
+
+    private final Map<String, Object> configs;
+
+    ProducerProfile(Map<String, Object> configs) {
+        this.configs = configs;
+    }
+
+    public Map<String, Object> getConfigs() {
+        return configs;
+    }
+
+    /**
+     * Adds this profile's settings to {@code configs}, keeping any setting already there.
+     */
+    public void applyTo(Map<String, Object> configs) {
+        this.configs.forEach(configs::putIfAbsent);
+    }
+}
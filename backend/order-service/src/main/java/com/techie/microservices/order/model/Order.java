@@ -2,8 +2,10 @@ package com.techie.microservices.order.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Entity
 @Table(name = "t_orders")
@@ -11,13 +13,38 @@ import java.math.BigDecimal;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-public class Order {
+public class Order implements Persistable<Long> {
 
+    // Assigned by OrderIdGenerator rather than IDENTITY so that Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Column(columnDefinition = "char(13)")
     private String orderNumber;
+    private String legacyOrderNumber;
     private String skuCode;
     private BigDecimal price;
     private Integer quantity;
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private Instant createdAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        // With an assigned id Spring Data would otherwise merge (SELECT first) instead of persist
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        persisted = true;
+    }
 }
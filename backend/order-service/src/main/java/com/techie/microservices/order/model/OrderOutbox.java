@@ -0,0 +1,28 @@
+package com.techie.microservices.order.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Event waiting to be relayed to Kafka. Written in the same transaction as the {@link Order}
+ * it announces and deleted once the broker has acknowledged it.
+ */
+@Entity
+@Table(name = "t_order_outbox")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String orderNumber;
+    private String topic;
+    @Lob
+    private byte[] payload;
+    private Instant createdAt;
+}
@@ -0,0 +1,44 @@
+package com.techie.microservices.order.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key to order number mapping. The key is the primary key, so a second instance
+ * placing the same key concurrently fails on insert and rolls its order back.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<String> findOrderNumber(String idempotencyKey, Instant createdAfter) {
+        return jdbcTemplate.queryForList(
+                        "SELECT order_number FROM t_order_idempotency_keys WHERE idempotency_key = ? AND created_at > ?",
+                        String.class, idempotencyKey, Timestamp.from(createdAfter))
+                .stream()
+                .findFirst();
+    }
+
+    public void insert(String idempotencyKey, String orderNumber, Instant createdAt) {
+        jdbcTemplate.update(
+                "INSERT INTO t_order_idempotency_keys (idempotency_key, order_number, created_at) VALUES (?, ?, ?)",
+                idempotencyKey, orderNumber, Timestamp.from(createdAt));
+    }
+
+    public int deleteExpired(String idempotencyKey, Instant createdUntil) {
+        return jdbcTemplate.update("DELETE FROM t_order_idempotency_keys WHERE idempotency_key = ? AND created_at <= ?",
+                idempotencyKey, Timestamp.from(createdUntil));
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore, int limit) {
+        return jdbcTemplate.update("DELETE FROM t_order_idempotency_keys WHERE created_at < ? LIMIT ?",
+                Timestamp.from(createdBefore), limit);
+    }
+}
@@ -0,0 +1,71 @@
+package com.techie.microservices.order.repository;
+
+import com.techie.microservices.order.dto.OrderSummary;
+import com.techie.microservices.order.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Read-only order history queries, newest first. Pages are keyset-paginated on the time-ordered
+ * order id ({@code id < :beforeId}) so every page costs the same index range scan no matter how
+ * deep the client pages, and rows are mapped straight to {@link OrderSummary} without loading
+ * entities into the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderHistoryRepository {
+
+    private static final String COLUMNS = "o.id, o.order_number, o.status, o.sku_code, o.price, o.quantity, o.created_at";
+
+    private static final RowMapper<OrderSummary> ORDER_SUMMARY = (rs, rowNum) -> new OrderSummary(
+            rs.getString("order_number"),
+            OrderStatus.valueOf(rs.getString("status")),
+            rs.getString("sku_code"),
+            rs.getBigDecimal("price"),
+            rs.getInt("quantity"),
+            rs.getTimestamp("created_at").toInstant());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<OrderSummary> findByEmail(String email, long beforeId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM t_orders o " +
+                        "WHERE o.email = :email AND o.id < :beforeId ORDER BY o.id DESC LIMIT :limit",
+                page(beforeId, limit).addValue("email", email), ORDER_SUMMARY);
+    }
+
+    /**
+     * Matches single-line orders on t_orders.sku_code and cart orders on their lines; each branch
+     * reads its own (sku_code, id) index and is limited before the two are merged.
+     */
+    public List<OrderSummary> findBySkuCode(String skuCode, long beforeId, int limit) {
+        return jdbcTemplate.query(
+                "(SELECT " + COLUMNS + " FROM t_orders o " +
+                        "WHERE o.sku_code = :skuCode AND o.id < :beforeId ORDER BY o.id DESC LIMIT :limit) " +
+                        "UNION " +
+                        "(SELECT " + COLUMNS + " FROM t_order_lines l JOIN t_orders o ON o.id = l.order_id " +
+                        "WHERE l.sku_code = :skuCode AND l.order_id < :beforeId ORDER BY l.order_id DESC LIMIT :limit) " +
+                        "ORDER BY id DESC LIMIT :limit",
+                page(beforeId, limit).addValue("skuCode", skuCode), ORDER_SUMMARY);
+    }
+
+    public List<OrderSummary> findByCreatedAtBetween(Instant from, Instant to, long beforeId, int limit) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM t_orders o " +
+                        "WHERE o.created_at >= :from AND o.created_at < :to AND o.id < :beforeId " +
+                        "ORDER BY o.id DESC LIMIT :limit",
+                page(beforeId, limit)
+                        .addValue("from", Timestamp.from(from))
+                        .addValue("to", Timestamp.from(to)),
+                ORDER_SUMMARY);
+    }
+
+    private static MapSqlParameterSource page(long beforeId, int limit) {
+        return new MapSqlParameterSource("beforeId", beforeId).addValue("limit", limit);
+    }
+}
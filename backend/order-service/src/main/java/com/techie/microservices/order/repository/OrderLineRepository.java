@@ -0,0 +1,54 @@
+package com.techie.microservices.order.repository;
+
+import com.techie.microservices.order.dto.CartRequest;
+import com.techie.microservices.order.dto.CartResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Writes order lines as a single JDBC batch (one multi-row INSERT with rewriteBatchedStatements=true)
+ * under the header's application-assigned id. Lines are not entities, so a large cart adds nothing
+ * to the persistence context.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderLineRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(Long orderId, List<CartRequest.Line> lines) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO t_order_lines (order_id, line_number, sku_code, price, quantity) VALUES (?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        CartRequest.Line line = lines.get(i);
+                        ps.setLong(1, orderId);
+                        ps.setInt(2, i + 1);
+                        ps.setString(3, line.skuCode());
+                        ps.setBigDecimal(4, line.price().multiply(BigDecimal.valueOf(line.quantity())));
+                        ps.setInt(5, line.quantity());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return lines.size();
+                    }
+                });
+    }
+
+    public List<CartResponse.Line> findByOrderId(Long orderId) {
+        return jdbcTemplate.query(
+                "SELECT sku_code, price, quantity FROM t_order_lines WHERE order_id = ? ORDER BY line_number",
+                (rs, rowNum) -> new CartResponse.Line(rs.getString("sku_code"), rs.getBigDecimal("price"),
+                        rs.getInt("quantity")),
+                orderId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.techie.microservices.order.repository;
+
+import com.techie.microservices.order.model.OrderOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    /**
+     * Oldest outbox rows, locked for the surrounding transaction. SKIP LOCKED lets several
+     * order-service replicas relay disjoint batches concurrently.
+     */
+    @Query(value = "SELECT * FROM t_order_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OrderOutbox> lockNextBatch(@Param("limit") int limit);
+}
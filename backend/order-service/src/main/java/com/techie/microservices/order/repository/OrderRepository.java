@@ -1,7 +1,29 @@
 package com.techie.microservices.order.repository;
 
 import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.model.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    Optional<Order> findByOrderNumber(String orderNumber);
+
+    Optional<Order> findByLegacyOrderNumber(String legacyOrderNumber);
+
+    List<Order> findTop100ByStatusAndCreatedAtBeforeOrderByCreatedAt(OrderStatus status, Instant createdBefore);
+
+    @Transactional
+    @Modifying
+    @Query("update Order o set o.status = :to where o.orderNumber = :orderNumber and o.status = :from")
+    int transitionStatus(@Param("orderNumber") String orderNumber,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to);
 }
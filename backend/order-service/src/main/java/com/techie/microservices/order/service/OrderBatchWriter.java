@@ -0,0 +1,193 @@
+package com.techie.microservices.order.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional group commit for order writes. With {@code order.write-batching.enabled=true}, callers
+ * hand their write to a bounded queue and a single writer thread runs up to
+ * {@code max-batch-size} writes, or whatever arrived within {@code max-delay} of the first one, in
+ * one transaction, so many orders share one commit (and one fsync) and Hibernate can send their
+ * inserts as JDBC batches. Each caller blocks until the transaction holding its write commits.
+ * If a batch fails, its writes are retried one transaction each so a single bad order only fails
+ * its own caller.
+ * <p>
+ * When disabled, every write simply runs in its own transaction on the calling thread.
+ */
+@Component
+@Slf4j
+public class OrderBatchWriter {
+
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final DistributionSummary batchSize;
+    private final Timer writeLatency;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public OrderBatchWriter(TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${order.write-batching.enabled:false}") boolean enabled,
+                            @Value("${order.write-batching.max-batch-size:16}") int maxBatchSize,
+                            @Value("${order.write-batching.max-delay:2ms}") Duration maxDelay,
+                            @Value("${order.write-batching.queue-capacity:1024}") int queueCapacity) {
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = DistributionSummary.builder("order.write.batch.size")
+                .description("Order writes committed per transaction")
+                .register(meterRegistry);
+        this.writeLatency = Timer.builder("order.write.latency")
+                .description("Time from handing an order write to the writer until its transaction commits")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled && !running) {
+            running = true;
+            writerThread = Thread.ofPlatform().name("order-batch-writer").daemon().start(this::run);
+            log.info("Order write batching enabled, up to {} orders or {} µs per transaction",
+                    maxBatchSize, TimeUnit.NANOSECONDS.toMicros(maxDelayNanos));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        stop(Duration.ofSeconds(10));
+    }
+
+    void stop(Duration timeout) throws InterruptedException {
+        if (running) {
+            running = false;
+            writerThread.join(timeout);
+            // Fail writes the writer thread did not reach before the timeout rather than leave their callers waiting
+            List<PendingWrite> abandoned = new ArrayList<>();
+            queue.drainTo(abandoned);
+            abandoned.forEach(pending -> pending.committed()
+                    .completeExceptionally(new IllegalStateException("Order writer stopped")));
+        }
+    }
+
+    /**
+     * Runs {@code write} inside a transaction and returns once that transaction has committed.
+     * Exceptions thrown by {@code write}, or by the commit, are rethrown to the caller. A write
+     * queued just as the writer stops, which the writer thread may no longer pick up, is taken back
+     * and committed on the calling thread.
+     */
+    public void write(Runnable write) {
+        if (!running) {
+            transactionTemplate.executeWithoutResult(status -> write.run());
+            return;
+        }
+        PendingWrite pending = new PendingWrite(write, new CompletableFuture<>(), System.nanoTime());
+        try {
+            if (!queue.offer(pending, 1, TimeUnit.SECONDS)) {
+                throw new RejectedExecutionException("Order write queue is full");
+            }
+            if (!running && queue.remove(pending)) {
+                transactionTemplate.executeWithoutResult(status -> write.run());
+                return;
+            }
+            pending.committed().join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for order write", e);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    // Take what is already queued without waiting, then wait out the rest of the delay
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) == 0) {
+                        PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                queue.drainTo(batch);
+            } finally {
+                // No-op for writes flush() already completed; fails any left behind or still queued after an interrupt
+                batch.forEach(pending -> pending.committed()
+                        .completeExceptionally(new IllegalStateException("Order writer stopped")));
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PendingWrite> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(pending -> pending.write().run()));
+            complete(batch, null);
+        } catch (RuntimeException batchFailure) {
+            log.warn("Order write batch of {} failed, retrying writes one by one", batch.size(), batchFailure);
+            for (PendingWrite pending : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> pending.write().run());
+                    complete(List.of(pending), null);
+                } catch (RuntimeException e) {
+                    complete(List.of(pending), e);
+                }
+            }
+        }
+    }
+
+    private void complete(List<PendingWrite> committed, RuntimeException failure) {
+        batchSize.record(committed.size());
+        long now = System.nanoTime();
+        for (PendingWrite pending : committed) {
+            writeLatency.record(now - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+            if (failure == null) {
+                pending.committed().complete(null);
+            } else {
+                pending.committed().completeExceptionally(failure);
+            }
+        }
+    }
+
+    record PendingWrite(Runnable write, CompletableFuture<Void> committed, long enqueuedAt) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.dto.OrderHistoryPage;
+import com.techie.microservices.order.dto.OrderSummary;
+import com.techie.microservices.order.repository.OrderHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Order history for support tooling. Read-only transactions are routed to the MySQL replica when
+ * {@code order.datasource.replica.url} is set, see {@link com.techie.microservices.order.config.ReadReplicaConfig}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderHistoryService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderHistoryRepository orderHistoryRepository;
+
+    public OrderHistoryPage findByEmail(String email, String before, int limit) {
+        int pageSize = pageSize(limit);
+        return page(orderHistoryRepository.findByEmail(email, beforeId(before), pageSize), pageSize);
+    }
+
+    public OrderHistoryPage findBySkuCode(String skuCode, String before, int limit) {
+        int pageSize = pageSize(limit);
+        return page(orderHistoryRepository.findBySkuCode(skuCode, beforeId(before), pageSize), pageSize);
+    }
+
+    public OrderHistoryPage findByCreatedAtBetween(Instant from, Instant to, String before, int limit) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        int pageSize = pageSize(limit);
+        return page(orderHistoryRepository.findByCreatedAtBetween(from, to, beforeId(before), pageSize), pageSize);
+    }
+
+    private static int pageSize(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private static long beforeId(String before) {
+        // The cursor is the last order number of the previous page, which encodes its id
+        return before == null ? Long.MAX_VALUE : OrderIdGenerator.fromOrderNumber(before);
+    }
+
+    private static OrderHistoryPage page(List<OrderSummary> orders, int pageSize) {
+        String nextCursor = orders.size() < pageSize ? null : orders.get(orders.size() - 1).orderNumber();
+        return new OrderHistoryPage(orders, nextCursor);
+    }
+}
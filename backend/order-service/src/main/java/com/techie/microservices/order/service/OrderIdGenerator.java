@@ -0,0 +1,94 @@
+package com.techie.microservices.order.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style 64-bit order ids: 41 bits of milliseconds since 2024-01-01, a 10-bit node id and
+ * a 12-bit per-millisecond sequence. Ids from nodes with distinct {@code order.id.node-id} values
+ * never collide and grow with time, so inserts append to the right edge of the primary key index.
+ * The node id has to be given explicitly, in production the StatefulSet ordinal of the pod: there
+ * is no safe way to derive one, so a missing or out-of-range value fails startup.
+ * <p>
+ * The order number is the same id written as 13 base32hex characters; fixed width and an
+ * alphabet in ASCII order make order numbers sort exactly like the ids they encode.
+ */
+@Component
+public class OrderIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    static final int ORDER_NUMBER_LENGTH = 13;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUV".toCharArray();
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    @Autowired
+    public OrderIdGenerator(@Value("${order.id.node-id}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    OrderIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.id.node-id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public synchronized long nextId() {
+        // Never move backwards: if the wall clock steps back, or a millisecond's sequence is used up,
+        // keep issuing from the last timestamp and borrow the next millisecond instead of waiting
+        long timestamp = Math.max(clock.getAsLong(), lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                timestamp++;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH_MILLIS) << (NODE_ID_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Same encoding as MySQL's {@code LPAD(CONV(id, 10, 32), 13, '0')}, which V5 uses to renumber
+     * orders created before ids were generated here.
+     */
+    public static String toOrderNumber(long id) {
+        char[] chars = new char[ORDER_NUMBER_LENGTH];
+        for (int i = ORDER_NUMBER_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    public static long fromOrderNumber(String orderNumber) {
+        if (orderNumber.length() != ORDER_NUMBER_LENGTH) {
+            throw new IllegalArgumentException("Invalid order number " + orderNumber);
+        }
+        long id = 0;
+        for (int i = 0; i < ORDER_NUMBER_LENGTH; i++) {
+            int digit = Character.digit(orderNumber.charAt(i), 32);
+            // The leading character only carries the top 3 bits of a positive long
+            if (digit < 0 || (i == 0 && digit > 7)) {
+                throw new IllegalArgumentException("Invalid order number " + orderNumber);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,155 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.repository.IdempotencyKeyRepository;
+import com.techie.microservices.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates order submissions carrying an {@code Idempotency-Key} header. Keys are looked up
+ * in a short-lived in-memory cache, then in t_order_idempotency_keys, before any inventory call is
+ * made. Concurrent duplicates on this instance are serialized on one of a fixed set of lock
+ * stripes chosen by key hash; unrelated keys that hash to the same stripe wait on each other too,
+ * which {@code order.idempotency.lock-stripes} keeps rare. Duplicates racing on different
+ * instances are caught by the table's primary key.
+ */
+@Service
+@Slf4j
+public class OrderIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderRepository orderRepository;
+    private final ReentrantLock[] stripes;
+    private final Map<String, CachedKey> recentKeys = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    @Value("${order.idempotency.ttl:24h}")
+    private Duration ttl = Duration.ofHours(24);
+
+    @Value("${order.idempotency.cache-size:10000}")
+    private int cacheSize = 10_000;
+
+    public OrderIdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                                   OrderRepository orderRepository,
+                                   @Value("${order.idempotency.lock-stripes:64}") int lockStripes,
+                                   MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.orderRepository = orderRepository;
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.replays = meterRegistry.counter("order.idempotency.replays");
+    }
+
+    public static boolean isValidKey(String idempotencyKey) {
+        return idempotencyKey.length() <= MAX_KEY_LENGTH
+                && idempotencyKey.chars().allMatch(c -> c > 0x20 && c < 0x7F);
+    }
+
+    /**
+     * Runs {@code placement} unless the key has already produced an order, in which case that
+     * order is returned instead. {@code placement} must call {@link #record(String, Order)}
+     * inside the transaction that persists the order.
+     */
+    public Placement execute(String idempotencyKey, Supplier<Order> placement) {
+        if (idempotencyKey == null) {
+            return new Placement(placement.get(), false);
+        }
+        Optional<Placement> replay = findReplay(idempotencyKey);
+        if (replay.isPresent()) {
+            return replay.get();
+        }
+
+        ReentrantLock lock = stripes[Math.floorMod(idempotencyKey.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            // A duplicate may have completed while this request waited for the stripe
+            replay = findReplay(idempotencyKey);
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+            Order order;
+            try {
+                order = placement.get();
+            } catch (DataIntegrityViolationException e) {
+                // Another instance committed the same key first and this order was rolled back
+                return findReplay(idempotencyKey).orElseThrow(() -> e);
+            }
+            remember(idempotencyKey, order.getOrderNumber());
+            return new Placement(order, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must run inside the transaction that persists the order, so the key and the order commit
+     * or roll back together. A row the key left past its TTL, which lookups already ignore but the
+     * purge has not deleted yet, is replaced rather than failing the insert.
+     */
+    public void record(String idempotencyKey, Order order) {
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.deleteExpired(idempotencyKey, Instant.now().minus(ttl));
+            idempotencyKeyRepository.insert(idempotencyKey, order.getOrderNumber(), order.getCreatedAt());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${order.idempotency.purge-interval:1m}').toMillis()}")
+    public void purgeExpiredKeys() {
+        Instant now = Instant.now();
+        recentKeys.values().removeIf(cached -> cached.expiresAt().isBefore(now));
+        int purged;
+        do {
+            purged = idempotencyKeyRepository.deleteCreatedBefore(now.minus(ttl), 1000);
+        } while (purged == 1000);
+    }
+
+    private Optional<Placement> findReplay(String idempotencyKey) {
+        Instant now = Instant.now();
+        CachedKey cached = recentKeys.get(idempotencyKey);
+        Optional<String> orderNumber;
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            orderNumber = Optional.of(cached.orderNumber());
+        } else {
+            orderNumber = idempotencyKeyRepository.findOrderNumber(idempotencyKey, now.minus(ttl));
+            orderNumber.ifPresent(number -> remember(idempotencyKey, number));
+        }
+        return orderNumber.map(number -> {
+            replays.increment();
+            log.info("Idempotency-Key {} replayed, returning order {}", idempotencyKey, number);
+            return new Placement(orderRepository.findByOrderNumber(number)
+                    .orElseThrow(() -> new RuntimeException("Order not found with orderNumber: " + number)), true);
+        });
+    }
+
+    private void remember(String idempotencyKey, String orderNumber) {
+        // Past the bound the table alone answers; the purge drops expired entries every interval
+        if (recentKeys.size() < cacheSize || recentKeys.containsKey(idempotencyKey)) {
+            recentKeys.put(idempotencyKey, new CachedKey(orderNumber, Instant.now().plus(ttl)));
+        }
+    }
+
+    public record Placement(Order order, boolean replayed) {
+    }
+
+    private record CachedKey(String orderNumber, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,210 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import com.techie.microservices.order.model.OrderOutbox;
+import com.techie.microservices.order.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows written by {@link OrderService} to Kafka. Each poll locks the next batch,
+ * sends every row without waiting in between so the producer can batch them, then waits for the
+ * acknowledgements and deletes the rows that were acknowledged. Unacknowledged rows stay in the
+ * outbox and are retried on the next poll, so delivery is at-least-once.
+ * <p>
+ * Every send completes through a callback on the producer thread that records its latency and
+ * result and frees its in-flight slot. At most {@code order.outbox.max-in-flight} records are
+ * buffered in the producer at once, counting records from earlier polls that timed out but are
+ * still being retried: when the broker is slow the relay sends what fits, leaves the rest of the
+ * batch in the outbox and picks it up on a later poll, instead of piling resends on top.
+ * <p>
+ * Every record carries the time its order was placed in the {@value #EVENT_TIME_HEADER} header.
+ * <p>
+ * Records are keyed by {@code order.outbox.message-key}: {@code customer} (the default) keys by
+ * email so that every event for one customer lands on one partition in order, {@code order} keys
+ * by order number and spreads a busy customer's orders across partitions.
+ */
+@Component
+@Slf4j
+public class OrderOutboxRelay {
+
+    /**
+     * Epoch millis, in ASCII, of the outbox row being written, i.e. of the order being placed;
+     * consumers measure end-to-end event lag from it.
+     */
+    public static final String EVENT_TIME_HEADER = "event-time";
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DistributionSummary batchSize;
+    private final Timer relayLag;
+    private final Counter publishFailures;
+    private final Counter backpressure;
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
+    private int maxInFlight;
+    private Semaphore inFlight;
+
+    @Value("${order.outbox.batch-size:500}")
+    private int maxBatchSize = 500;
+
+    @Value("${order.outbox.send-timeout:10s}")
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    @Value("${order.outbox.message-key:customer}")
+    private String messageKey = "customer";
+
+    public OrderOutboxRelay(OrderOutboxRepository orderOutboxRepository,
+                            KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate,
+                            TransactionTemplate transactionTemplate,
+                            MeterRegistry meterRegistry) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = DistributionSummary.builder("order.outbox.relay.batch.size")
+                .description("Outbox rows relayed per poll")
+                .register(meterRegistry);
+        this.relayLag = Timer.builder("order.outbox.relay.lag")
+                .description("Time between an outbox row being written and the broker acknowledging it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publishFailures = meterRegistry.counter("order.outbox.relay.failures");
+        this.backpressure = Counter.builder("order.outbox.relay.backpressure")
+                .description("Polls cut short because order.outbox.max-in-flight records were unacknowledged")
+                .register(meterRegistry);
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+        Gauge.builder("order.outbox.relay.in-flight", this, relay -> relay.maxInFlight - relay.inFlight.availablePermits())
+                .description("Records handed to the producer and not acknowledged yet")
+                .register(meterRegistry);
+        setMaxInFlight(1000);
+    }
+
+    @Value("${order.outbox.max-in-flight:1000}")
+    void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${order.outbox.poll-interval:200ms}').toMillis()}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed != null && relayed == maxBatchSize);
+    }
+
+    /**
+     * @return number of rows acknowledged and deleted; the relay keeps draining while full batches succeed
+     */
+    int relayBatch() {
+        List<OrderOutbox> batch = orderOutboxRepository.lockNextBatch(maxBatchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<CompletableFuture<SendResult<String, OrderPlacedEvent>>> sends = new ArrayList<>(batch.size());
+        for (OrderOutbox outbox : batch) {
+            if (!acquireInFlight(deadline)) {
+                backpressure.increment();
+                log.info("{} records awaiting acknowledgement, leaving {} outbox rows for a later poll", maxInFlight,
+                        batch.size() - sends.size());
+                break;
+            }
+            sends.add(send(outbox));
+        }
+
+        List<Long> published = new ArrayList<>(sends.size());
+        for (int i = 0; i < sends.size(); i++) {
+            OrderOutbox outbox = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(outbox.getId());
+                relayLag.record(Duration.between(outbox.getCreatedAt(), Instant.now()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                publishFailures.increment();
+                log.warn("Failed to publish outbox row {} for order {}, will retry", outbox.getId(),
+                        outbox.getOrderNumber(), e);
+            }
+        }
+        orderOutboxRepository.deleteAllByIdInBatch(published);
+        batchSize.record(published.size());
+        log.debug("Relayed {} of {} outbox rows", published.size(), batch.size());
+        return published.size();
+    }
+
+    private boolean acquireInFlight(long deadline) {
+        try {
+            return inFlight.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private CompletableFuture<SendResult<String, OrderPlacedEvent>> send(OrderOutbox outbox) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, OrderPlacedEvent>> send;
+        try {
+            OrderPlacedEvent orderPlacedEvent = OrderPlacedEvent.fromByteBuffer(ByteBuffer.wrap(outbox.getPayload()));
+            ProducerRecord<String, OrderPlacedEvent> record = new ProducerRecord<>(outbox.getTopic(),
+                    messageKey(orderPlacedEvent), orderPlacedEvent);
+            record.headers().add(EVENT_TIME_HEADER,
+                    Long.toString(outbox.getCreatedAt().toEpochMilli()).getBytes(StandardCharsets.US_ASCII));
+            send = kafkaTemplate.send(record);
+        } catch (IOException | RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, failure) -> {
+            inFlight.release();
+            (failure == null ? sendSucceeded : sendFailed).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private String messageKey(OrderPlacedEvent orderPlacedEvent) {
+        CharSequence key = switch (messageKey) {
+            case "customer" -> orderPlacedEvent.getEmail();
+            case "order" -> orderPlacedEvent.getOrderNumber();
+            default -> throw new IllegalStateException("Unknown order.outbox.message-key " + messageKey
+                    + ", expected customer or order");
+        };
+        return key == null ? null : key.toString();
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("order.kafka.send")
+                .description("Time from handing a record to the producer to the broker acknowledging or rejecting it")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.dto.OrderRequest;
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.model.OrderStatus;
+import com.techie.microservices.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded worker pipeline behind the asynchronous placement mode. Requests only pay for the
+ * PENDING insert; inventory checks and event publishing run on the placement executor. When the
+ * executor queue is full, inventory-service cannot answer, or the service restarts, orders simply
+ * stay PENDING and are picked up again by {@link #resubmitPendingOrders()}.
+ */
+@Component
+@Slf4j
+public class OrderPlacementPipeline {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final ThreadPoolTaskExecutor orderPlacementExecutor;
+
+    @Value("${order.placement.async:false}")
+    private boolean async;
+
+    @Value("${order.placement.resubmit-after:30s}")
+    private Duration resubmitAfter = Duration.ofSeconds(30);
+
+    public OrderPlacementPipeline(OrderService orderService,
+                                  OrderRepository orderRepository,
+                                  @Qualifier("orderPlacementExecutor") ThreadPoolTaskExecutor orderPlacementExecutor) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderPlacementExecutor = orderPlacementExecutor;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    public Order accept(OrderRequest orderRequest, String idempotencyKey) {
+        Order order = orderService.acceptOrder(orderRequest, idempotencyKey);
+        submit(order.getOrderNumber());
+        return order;
+    }
+
+    @Scheduled(fixedDelayString = "#{T(org.springframework.boot.convert.DurationStyle)"
+            + ".detectAndParse('${order.placement.resubmit-interval:10s}').toMillis()}")
+    public void resubmitPendingOrders() {
+        if (!async) {
+            return;
+        }
+        var stalled = orderRepository.findTop100ByStatusAndCreatedAtBeforeOrderByCreatedAt(
+                OrderStatus.PENDING, Instant.now().minus(resubmitAfter));
+        if (!stalled.isEmpty()) {
+            log.info("Resubmitting {} pending orders", stalled.size());
+            stalled.forEach(order -> submit(order.getOrderNumber()));
+        }
+    }
+
+    private void submit(String orderNumber) {
+        try {
+            orderPlacementExecutor.execute(() -> complete(orderNumber));
+        } catch (TaskRejectedException e) {
+            log.warn("Order placement queue is full, order {} stays PENDING until resubmitted", orderNumber);
+        }
+    }
+
+    private void complete(String orderNumber) {
+        try {
+            OrderStatus status = orderService.completeOrder(orderNumber);
+            if (status != OrderStatus.PENDING) {
+                log.info("Order {} completed with status {}", orderNumber, status);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to complete order {}, it stays PENDING until resubmitted", orderNumber, e);
+        }
+    }
+}
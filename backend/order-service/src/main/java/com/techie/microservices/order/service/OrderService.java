@@ -1,48 +1,328 @@
 package com.techie.microservices.order.service;
 
-import com.techie.microservices.order.client.InventoryClient;
+import com.techie.microservices.order.client.Deadline;
+import com.techie.microservices.order.client.InventoryAsyncClient;
+import com.techie.microservices.order.client.InventoryUnavailableException;
+import com.techie.microservices.order.dto.CartRequest;
+import com.techie.microservices.order.dto.CartResponse;
 import com.techie.microservices.order.dto.OrderRequest;
+import com.techie.microservices.order.dto.OrderResponse;
+import com.techie.microservices.order.dto.StockAvailability;
+import com.techie.microservices.order.dto.StockRequest;
 import com.techie.microservices.order.event.OrderPlacedEvent;
 import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.model.OrderOutbox;
+import com.techie.microservices.order.model.OrderStatus;
+import com.techie.microservices.order.repository.OrderLineRepository;
+import com.techie.microservices.order.repository.OrderOutboxRepository;
 import com.techie.microservices.order.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
     private final OrderRepository orderRepository;
-    private final InventoryClient inventoryClient;
-    private final KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
-
-    public void placeOrder(OrderRequest orderRequest) {
-
-        var isProductInStock = inventoryClient.isInStock(orderRequest.skuCode(), orderRequest.quantity());
-        if (isProductInStock) {
-            Order order = new Order();
-            order.setOrderNumber(UUID.randomUUID().toString());
-            order.setPrice(orderRequest.price().multiply(BigDecimal.valueOf(orderRequest.quantity())));
-            order.setSkuCode(orderRequest.skuCode());
-            order.setQuantity(orderRequest.quantity());
+    private final InventoryAsyncClient inventoryClient;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderLineRepository orderLineRepository;
+    private final OrderIdGenerator orderIdGenerator;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderBatchWriter orderBatchWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.placement.inventory-budget:2s}")
+    private Duration inventoryBudget = Duration.ofSeconds(2);
+
+    /**
+     * @param idempotencyKey recorded with the order when not null, see {@link OrderIdempotencyService}
+     */
+    public Order placeOrder(OrderRequest orderRequest, String idempotencyKey) {
+        Timer.Sample placement = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Timer.Sample inventory = Timer.start(meterRegistry);
+            boolean isProductInStock;
+            try {
+                isProductInStock = await(inventoryClient.isInStock(orderRequest.skuCode(), orderRequest.quantity(),
+                        Deadline.after(inventoryBudget)));
+            } catch (InventoryUnavailableException e) {
+                outcome = "inventory_unavailable";
+                throw e;
+            } finally {
+                inventory.stop(stageTimer("inventory"));
+            }
+            if (isProductInStock) {
+                Order order = newOrder(orderRequest, OrderStatus.PLACED);
+                Timer.Sample persist = Timer.start(meterRegistry);
+                orderBatchWriter.write(() -> {
+                    orderRepository.save(order);
+                    orderIdempotencyService.record(idempotencyKey, order);
+                    enqueueOrderPlacedEvent(order);
+                });
+                persist.stop(stageTimer("persist"));
+                outcome = "placed";
+                return order;
+            } else {
+                outcome = "out_of_stock";
+                throw new RuntimeException("Product with SkuCode " + orderRequest.skuCode() + " is not in stock");
+            }
+        } finally {
+            placement.stop(Timer.builder("order.placement")
+                    .description("Synchronous order placement latency by outcome")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Places a multi-line cart as one order header plus lines: a single batched inventory call
+     * validates every line, the lines are written as one JDBC batch and one OrderPlacedEvent is
+     * enqueued for the whole cart.
+     *
+     * @throws IllegalArgumentException if the cart is empty, a line lacks a SKU code, price or
+     *                                  positive quantity, or the user details are missing
+     */
+    public Order placeCart(CartRequest cartRequest, String idempotencyKey) {
+        List<CartRequest.Line> lines = cartRequest.lines();
+        validateCart(lines, cartRequest.userDetails());
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        List<String> outOfStock = await(inventoryClient.checkStock(lines.stream()
+                        .map(line -> new StockRequest(line.skuCode(), line.quantity()))
+                        .toList(), Deadline.after(inventoryBudget)))
+                .stream()
+                .filter(availability -> !availability.inStock())
+                .map(StockAvailability::skuCode)
+                .toList();
+        if (!outOfStock.isEmpty()) {
+            throw new RuntimeException("Products with SkuCodes " + outOfStock + " are not in stock");
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        int units = 0;
+        for (CartRequest.Line line : lines) {
+            total = total.add(line.price().multiply(BigDecimal.valueOf(line.quantity())));
+            units += line.quantity();
+        }
+        Order order = newOrder(null, total, units, cartRequest.userDetails(), OrderStatus.PLACED);
+        transactionTemplate.executeWithoutResult(status -> {
+            // Flush the header now: with an assigned id the insert is otherwise deferred to commit,
+            // after the JDBC line inserts that reference it
+            orderRepository.saveAndFlush(order);
+            orderIdempotencyService.record(idempotencyKey, order);
+            orderLineRepository.batchInsert(order.getId(), lines);
+            enqueueOrderPlacedEvent(order);
+        });
+
+        sample.stop(Timer.builder("order.cart.placement")
+                .description("Cart placement latency by number of lines")
+                .tag("lines", linesBucket(lines.size()))
+                .register(meterRegistry));
+        return order;
+    }
+
+    private static void validateCart(List<CartRequest.Line> lines, OrderRequest.UserDetails userDetails) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Cart must contain at least one line");
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            CartRequest.Line line = lines.get(i);
+            if (line == null || line.skuCode() == null || line.skuCode().isBlank()) {
+                throw new IllegalArgumentException("Cart line " + (i + 1) + " must have a skuCode");
+            }
+            if (line.price() == null || line.price().signum() < 0) {
+                throw new IllegalArgumentException("Cart line " + (i + 1) + " must have a price of at least 0");
+            }
+            if (line.quantity() == null || line.quantity() <= 0) {
+                throw new IllegalArgumentException("Cart line " + (i + 1) + " must have a positive quantity");
+            }
+        }
+        if (userDetails == null) {
+            throw new IllegalArgumentException("Cart must have userDetails");
+        }
+    }
+
+    /**
+     * Durably records the order as PENDING without touching inventory-service;
+     * {@link #completeOrder(String)} finishes it later on a pipeline worker.
+     */
+    public Order acceptOrder(OrderRequest orderRequest, String idempotencyKey) {
+        Order order = newOrder(orderRequest, OrderStatus.PENDING);
+        transactionTemplate.executeWithoutResult(status -> {
             orderRepository.save(order);
+            orderIdempotencyService.record(idempotencyKey, order);
+        });
+        log.info("Order {} accepted for asynchronous placement", order.getOrderNumber());
+        return order;
+    }
+
+    /**
+     * Places or rejects a PENDING order on inventory-service's answer. Without an answer the order
+     * stays PENDING and is returned as such, so the resubmit sweep tries it again; only an
+     * out-of-stock answer rejects it.
+     */
+    public OrderStatus completeOrder(String orderNumber) {
+        Order order = orderRepository.findByOrderNumber(orderNumber)
+                .orElseThrow(() -> new RuntimeException("Order not found with orderNumber: " + orderNumber));
+        if (order.getStatus() != OrderStatus.PENDING) {
+            return order.getStatus();
+        }
+
+        boolean isProductInStock;
+        try {
+            isProductInStock = await(inventoryClient.isInStock(order.getSkuCode(), order.getQuantity(),
+                    Deadline.after(inventoryBudget)));
+        } catch (InventoryUnavailableException e) {
+            log.warn("Order {} stays PENDING, inventory unavailable: {}", orderNumber, e.getCause().getMessage());
+            return OrderStatus.PENDING;
+        }
+        OrderStatus outcome = isProductInStock ? OrderStatus.PLACED : OrderStatus.REJECTED;
+        // Conditional transition so that a resubmitted order is only completed (and announced) once
+        boolean transitioned = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (orderRepository.transitionStatus(orderNumber, OrderStatus.PENDING, outcome) == 0) {
+                return false;
+            }
+            if (isProductInStock) {
+                enqueueOrderPlacedEvent(order);
+            }
+            return true;
+        }));
+        if (!transitioned) {
+            log.info("Order {} was already completed by another worker", orderNumber);
+            return orderRepository.findByOrderNumber(orderNumber).map(Order::getStatus).orElse(outcome);
+        }
+        if (!isProductInStock) {
+            log.info("Order {} rejected, product with SkuCode {} is not in stock", orderNumber, order.getSkuCode());
+        }
+        return outcome;
+    }
+
+    public Optional<OrderResponse> getOrder(String orderNumber) {
+        return orderRepository.findByOrderNumber(orderNumber)
+                .or(() -> orderRepository.findByLegacyOrderNumber(orderNumber))
+                .map(order -> new OrderResponse(order.getOrderNumber(), order.getStatus(), order.getSkuCode(),
+                        order.getPrice(), order.getQuantity()));
+    }
+
+    /**
+     * Reads the lines back rather than taking them from the request, so that a replayed placement
+     * answers with the cart that was actually placed.
+     */
+    public CartResponse getCart(Order order) {
+        return new CartResponse(order.getOrderNumber(), order.getStatus(), order.getPrice(), order.getQuantity(),
+                orderLineRepository.findByOrderId(order.getId()));
+    }
+
+    private Order newOrder(OrderRequest orderRequest, OrderStatus status) {
+        return newOrder(orderRequest.skuCode(),
+                orderRequest.price().multiply(BigDecimal.valueOf(orderRequest.quantity())),
+                orderRequest.quantity(), orderRequest.userDetails(), status);
+    }
+
+    private Order newOrder(String skuCode, BigDecimal price, Integer quantity,
+                           OrderRequest.UserDetails userDetails, OrderStatus status) {
+        Order order = new Order();
+        order.setId(orderIdGenerator.nextId());
+        order.setOrderNumber(OrderIdGenerator.toOrderNumber(order.getId()));
+        order.setPrice(price);
+        order.setSkuCode(skuCode);
+        order.setQuantity(quantity);
+        order.setStatus(status);
+        order.setEmail(userDetails.email());
+        order.setFirstName(userDetails.firstName());
+        order.setLastName(userDetails.lastName());
+        order.setCreatedAt(Instant.now());
+        return order;
+    }
+
+    /**
+     * Stages of an order placement: {@code inventory} is the stock check including retries and
+     * backoff, {@code persist} the group-committed order write including its wait for a batch, and
+     * {@code outbox} the event enqueue inside that write. Publishing to Kafka is timed by
+     * {@link OrderOutboxRelay}.
+     */
+    private Timer stageTimer(String stage) {
+        return Timer.builder("order.placement.stage")
+                .description("Time spent in each stage of placing an order")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String linesBucket(int lines) {
+        if (lines == 1) {
+            return "1";
+        }
+        if (lines <= 10) {
+            return "2-10";
+        }
+        return lines <= 50 ? "11-50" : "51+";
+    }
+
+    /**
+     * Must run inside the transaction that persists the order; {@link OrderOutboxRelay} publishes
+     * the row to Kafka after commit.
+     */
+    private void enqueueOrderPlacedEvent(Order order) {
+        Timer.Sample enqueue = Timer.start(meterRegistry);
+        OrderPlacedEvent orderPlacedEvent = new OrderPlacedEvent();
+        orderPlacedEvent.setOrderNumber(order.getOrderNumber());
+        orderPlacedEvent.setEmail(order.getEmail());
+        orderPlacedEvent.setFirstName(order.getFirstName());
+        orderPlacedEvent.setLastName(order.getLastName());
+
+        OrderOutbox outbox = new OrderOutbox();
+        outbox.setOrderNumber(order.getOrderNumber());
+        outbox.setTopic("order-placed");
+        outbox.setPayload(serialize(orderPlacedEvent));
+        outbox.setCreatedAt(Instant.now());
+        orderOutboxRepository.save(outbox);
+        enqueue.stop(stageTimer("outbox"));
+        log.info("OrderPlacedEvent {} stored in outbox for Kafka topic order-placed", orderPlacedEvent);
+    }
+
+    /**
+     * Joins an inventory check, rethrowing its failure (an {@link InventoryUnavailableException})
+     * as is rather than wrapped in a {@link CompletionException}.
+     */
+    private static <T> T await(CompletableFuture<T> inventoryCheck) {
+        try {
+            return inventoryCheck.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-            // Send the message to Kafka Topic
-            OrderPlacedEvent orderPlacedEvent = new OrderPlacedEvent();
-            orderPlacedEvent.setOrderNumber(order.getOrderNumber());
-            orderPlacedEvent.setEmail(orderRequest.userDetails().email());
-            orderPlacedEvent.setFirstName(orderRequest.userDetails().firstName());
-            orderPlacedEvent.setLastName(orderRequest.userDetails().lastName());
-            log.info("Start - Sending OrderPlacedEvent {} to Kafka topic order-placed", orderPlacedEvent);
-            kafkaTemplate.send("order-placed", orderPlacedEvent);
-            log.info("End - Sending OrderPlacedEvent {} to Kafka topic order-placed", orderPlacedEvent);
-        } else {
-            throw new RuntimeException("Product with SkuCode " + orderRequest.skuCode() + " is not in stock");
+    private static byte[] serialize(OrderPlacedEvent orderPlacedEvent) {
+        try {
+            ByteBuffer buffer = orderPlacedEvent.toByteBuffer();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize OrderPlacedEvent " + orderPlacedEvent.getOrderNumber(), e);
         }
     }
 }
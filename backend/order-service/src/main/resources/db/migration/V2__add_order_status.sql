@@ -0,0 +1,8 @@
+ALTER TABLE `t_orders`
+    ADD COLUMN `status`     varchar(20) NOT NULL DEFAULT 'PLACED',
+    ADD COLUMN `email`      varchar(255) DEFAULT NULL,
+    ADD COLUMN `first_name` varchar(255) DEFAULT NULL,
+    ADD COLUMN `last_name`  varchar(255) DEFAULT NULL,
+    ADD COLUMN `created_at` datetime(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    ADD INDEX `idx_orders_order_number` (`order_number`),
+    ADD INDEX `idx_orders_status_created_at` (`status`, `created_at`);
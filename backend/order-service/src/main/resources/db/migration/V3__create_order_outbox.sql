@@ -0,0 +1,9 @@
+CREATE TABLE `t_order_outbox`
+(
+    `id`           bigint(20)   NOT NULL AUTO_INCREMENT,
+    `order_number` varchar(255) NOT NULL,
+    `topic`        varchar(255) NOT NULL,
+    `payload`      blob         NOT NULL,
+    `created_at`   datetime(6)  NOT NULL,
+    PRIMARY KEY (`id`)
+);
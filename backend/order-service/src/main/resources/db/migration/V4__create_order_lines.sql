@@ -0,0 +1,13 @@
+ALTER TABLE `t_orders`
+    MODIFY `sku_code` varchar(255) DEFAULT NULL;
+
+CREATE TABLE `t_order_lines`
+(
+    `order_id`    bigint(20)     NOT NULL,
+    `line_number` int(11)        NOT NULL,
+    `sku_code`    varchar(255)   NOT NULL,
+    `price`       decimal(19, 2) NOT NULL,
+    `quantity`    int(11)        NOT NULL,
+    PRIMARY KEY (`order_id`, `line_number`),
+    CONSTRAINT `fk_order_lines_order` FOREIGN KEY (`order_id`) REFERENCES `t_orders` (`id`)
+);
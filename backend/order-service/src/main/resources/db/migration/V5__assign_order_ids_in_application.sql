@@ -0,0 +1,16 @@
+-- Order ids are now generated by the application (OrderIdGenerator) so that Hibernate can batch
+-- inserts, and order numbers are the 13-character base32hex form of the id instead of a UUID.
+-- Existing UUIDs are kept in legacy_order_number so old links still resolve.
+ALTER TABLE `t_orders`
+    ADD COLUMN `legacy_order_number` varchar(36) DEFAULT NULL;
+
+UPDATE `t_orders`
+SET `legacy_order_number` = `order_number`,
+    `order_number`        = LPAD(CONV(`id`, 10, 32), 13, '0');
+
+ALTER TABLE `t_orders`
+    MODIFY `id` bigint(20) NOT NULL,
+    DROP INDEX `idx_orders_order_number`,
+    MODIFY `order_number` char(13) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    ADD UNIQUE INDEX `uk_orders_order_number` (`order_number`),
+    ADD INDEX `idx_orders_legacy_order_number` (`legacy_order_number`);
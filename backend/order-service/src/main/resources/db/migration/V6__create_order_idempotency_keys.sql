@@ -0,0 +1,8 @@
+CREATE TABLE `t_order_idempotency_keys`
+(
+    `idempotency_key` varchar(64) CHARACTER SET ascii COLLATE ascii_bin NOT NULL,
+    `order_number`    char(13) CHARACTER SET ascii COLLATE ascii_bin    NOT NULL,
+    `created_at`      datetime(6)                                       NOT NULL,
+    PRIMARY KEY (`idempotency_key`),
+    INDEX `idx_order_idempotency_keys_created_at` (`created_at`)
+);
@@ -0,0 +1,9 @@
+-- Order history is read newest first by keyset on the time-ordered id, so each filter column is
+-- paired with id to serve the range scan and the ordering from one index.
+ALTER TABLE `t_orders`
+    ADD INDEX `idx_orders_email_id` (`email`, `id`),
+    ADD INDEX `idx_orders_sku_code_id` (`sku_code`, `id`),
+    ADD INDEX `idx_orders_created_at` (`created_at`);
+
+ALTER TABLE `t_order_lines`
+    ADD INDEX `idx_order_lines_sku_code_order_id` (`sku_code`, `order_id`);
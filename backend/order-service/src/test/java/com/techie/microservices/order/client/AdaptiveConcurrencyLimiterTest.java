@@ -0,0 +1,85 @@
+package com.techie.microservices.order.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter("test", 10, 2, 100, meterRegistry);
+    }
+
+    @Test
+    void tryAcquire_BeyondLimit_ShouldRejectAndCount() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire().isPresent());
+        }
+
+        // Assert
+        assertTrue(limiter.tryAcquire().isEmpty());
+        assertEquals(1, meterRegistry.get("test.concurrency.rejected").counter().count());
+        assertEquals(10, meterRegistry.get("test.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    void onSample_WhenRttStaysFlatAndLimitIsUsed_ShouldGrowLimit() {
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(20), limiter.getLimit());
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() > 10, "Limit should grow but is " + limiter.getLimit());
+        assertEquals(limiter.getLimit(), meterRegistry.get("test.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void onSample_WhenLimitIsMostlyIdle_ShouldNotGrowLimit() {
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(20), 1);
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void onSample_WhenRttRisesWellAboveBaseline_ShouldShrinkLimitToMinimum() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(20), 1);
+        }
+
+        // Act - downstream starts queueing
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(200), limiter.getLimit());
+        }
+
+        // Assert
+        assertTrue(limiter.getLimit() < 10, "Limit should shrink but is " + limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_ShouldCutLimitButNotBelowMinimum() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire().orElseThrow().onDropped();
+        }
+
+        // Assert
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, meterRegistry.get("test.concurrency.inflight").gauge().value());
+    }
+}
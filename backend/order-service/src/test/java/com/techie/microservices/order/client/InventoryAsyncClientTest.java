@@ -0,0 +1,138 @@
+package com.techie.microservices.order.client;
+
+import com.techie.microservices.order.dto.StockAvailability;
+import com.techie.microservices.order.dto.StockRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryAsyncClientTest {
+
+    @Mock
+    private InventoryClient inventoryClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InventoryAsyncClient inventoryAsyncClient;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        inventoryAsyncClient = new InventoryAsyncClient(inventoryClient, new StockLevelCache(meterRegistry),
+                new AdaptiveConcurrencyLimiter("inventory.client", 20, 4, 200, meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(inventoryAsyncClient, "retryBackoff", Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventoryAsyncClient.close();
+    }
+
+    @Test
+    void checkStock_WithManyChunks_ShouldTakeSlowestChunkNotSumOfChunks() {
+        // Arrange
+        ReflectionTestUtils.setField(inventoryAsyncClient, "fanOutChunkSize", 1);
+        when(inventoryClient.checkStock(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            StockRequest request = invocation.<List<StockRequest>>getArgument(0).get(0);
+            return List.of(new StockAvailability(request.skuCode(), request.quantity(), 10, true));
+        });
+        List<StockRequest> requests = IntStream.range(0, 8).mapToObj(i -> new StockRequest("SKU-" + i, 1)).toList();
+
+        // Act
+        long start = System.nanoTime();
+        List<StockAvailability> availability = inventoryAsyncClient
+                .checkStock(requests, Deadline.after(Duration.ofSeconds(5))).join();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertEquals(8, availability.size());
+        assertEquals("SKU-7", availability.get(7).skuCode());
+        assertTrue(elapsedMillis < 1500, "Chunks should run in parallel but took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void isInStock_WhenCallsKeepFailing_ShouldRetryWithinBudgetThenReportUnavailable() {
+        // Arrange
+        when(inventoryClient.checkStock(anyList())).thenThrow(new IllegalStateException("503 Service Unavailable"));
+
+        // Act
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> inventoryAsyncClient.isInStock("SKU-001", 1, Deadline.after(Duration.ofSeconds(5))).join());
+
+        // Assert
+        assertInstanceOf(InventoryUnavailableException.class, failure.getCause());
+        verify(inventoryClient, times(3)).checkStock(anyList());
+    }
+
+    @Test
+    void isInStock_WhenCallHangs_ShouldGiveUpAtDeadline() {
+        // Arrange
+        when(inventoryClient.checkStock(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of(new StockAvailability("SKU-001", 1, 10, true));
+        });
+
+        // Act
+        long start = System.nanoTime();
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> inventoryAsyncClient.isInStock("SKU-001", 1, Deadline.after(Duration.ofMillis(200))).join());
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert - no retry is started once the budget is spent
+        assertInstanceOf(InventoryUnavailableException.class, failure.getCause());
+        assertTrue(elapsedMillis < 2000, "Expected to stop at the deadline but took " + elapsedMillis + " ms");
+        verify(inventoryClient, times(1)).checkStock(anyList());
+    }
+
+    @Test
+    void isInStock_WhenCachedLevelIsWellAboveRequest_ShouldSkipRemoteCall() {
+        // Arrange
+        when(inventoryClient.checkStock(anyList())).thenReturn(List.of(new StockAvailability("SKU-001", 1, 1000, true)));
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+        inventoryAsyncClient.isInStock("SKU-001", 1, deadline).join();
+
+        // Act
+        boolean inStock = inventoryAsyncClient.isInStock("SKU-001", 5, deadline).join();
+
+        // Assert
+        assertTrue(inStock);
+        verify(inventoryClient, times(1)).checkStock(anyList());
+        assertEquals(1, meterRegistry.get("inventory.stock-cache.checks").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void isInStock_WhenConcurrencyLimitReached_ShouldFailFastWithoutCallingInventory() {
+        // Arrange - the only permit is held by another caller
+        inventoryAsyncClient.close();
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter("inventory.single", 1, 1, 1,
+                meterRegistry);
+        inventoryAsyncClient = new InventoryAsyncClient(inventoryClient, new StockLevelCache(meterRegistry),
+                concurrencyLimiter, meterRegistry);
+        AdaptiveConcurrencyLimiter.Permit held = concurrencyLimiter.tryAcquire().orElseThrow();
+
+        // Act
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> inventoryAsyncClient.isInStock("SKU-001", 1, Deadline.after(Duration.ofSeconds(5))).join());
+
+        // Assert
+        held.onIgnore();
+        assertInstanceOf(InventoryUnavailableException.class, failure.getCause());
+        verifyNoInteractions(inventoryClient);
+        assertEquals(1, meterRegistry.get("inventory.single.concurrency.rejected").counter().count());
+    }
+}
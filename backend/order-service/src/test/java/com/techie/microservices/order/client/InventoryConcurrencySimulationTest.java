@@ -0,0 +1,101 @@
+package com.techie.microservices.order.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the limiter against a simulated inventory-service that serves {@value #STUB_CAPACITY}
+ * requests at a time, first come first served, so latency grows with the number of calls queued
+ * behind them. Time is simulated: the limiter reads a fake clock that jumps from one call
+ * completion to the next, so RTT samples are exact and the run takes milliseconds. A quiet
+ * warm-up sets the baseline RTT, then a burst of callers far above the stub's capacity should make
+ * the limiter shrink and shed calls.
+ */
+class InventoryConcurrencySimulationTest {
+
+    private static final int STUB_CAPACITY = 8;
+    private static final long SERVICE_TIME_NANOS = Duration.ofMillis(20).toNanos();
+    private static final long SHED_BACKOFF_NANOS = Duration.ofMillis(5).toNanos();
+    private static final int INITIAL_LIMIT = 40;
+
+    private long now;
+    private long served;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+    // When each of the stub's slots next becomes free
+    private PriorityQueue<Long> stubSlots;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter("inventory.client", INITIAL_LIMIT, 4, 200, meterRegistry,
+                () -> now);
+        stubSlots = new PriorityQueue<>();
+        LongStream.range(0, STUB_CAPACITY).forEach(slot -> stubSlots.add(0L));
+    }
+
+    @Test
+    void burstAboveDownstreamCapacity_ShouldShrinkLimitAndShedCalls() {
+        // Warm-up within the stub's capacity establishes the baseline RTT
+        runCallers(STUB_CAPACITY / 2, Duration.ofSeconds(1));
+        assertEquals(0, meterRegistry.get("inventory.client.concurrency.rejected").counter().count());
+
+        // Burst: 64 closed-loop callers against 8 slots
+        long servedBefore = served;
+        runCallers(64, Duration.ofSeconds(3));
+
+        double rejected = meterRegistry.get("inventory.client.concurrency.rejected").counter().count();
+        assertTrue(limiter.getLimit() < INITIAL_LIMIT,
+                "Limit should shrink under queueing but is " + limiter.getLimit());
+        assertTrue(rejected > 0, "Calls above the limit should be shed");
+        assertTrue(served > servedBefore, "The stub should keep serving admitted calls");
+    }
+
+    /**
+     * Closed-loop callers, each calling again as soon as its previous call completes, or after a
+     * short back-off when it was shed, until {@code duration} of simulated time has passed. Calls
+     * still in flight at the end are allowed to complete.
+     */
+    private void runCallers(int callers, Duration duration) {
+        long end = now + duration.toNanos();
+        PriorityQueue<Call> calls = new PriorityQueue<>(Comparator.comparingLong(Call::at));
+        for (int i = 0; i < callers; i++) {
+            calls.add(new Call(now, null));
+        }
+        while (!calls.isEmpty()) {
+            Call call = calls.poll();
+            now = call.at();
+            if (call.permit() != null) {
+                call.permit().onSuccess();
+                served++;
+            }
+            if (now >= end) {
+                continue;
+            }
+            Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire();
+            if (permit.isPresent()) {
+                long completesAt = Math.max(now, stubSlots.poll()) + SERVICE_TIME_NANOS;
+                stubSlots.add(completesAt);
+                calls.add(new Call(completesAt, permit.get()));
+            } else {
+                calls.add(new Call(now + SHED_BACKOFF_NANOS, null));
+            }
+        }
+    }
+
+    /**
+     * A caller's next step at simulated time {@code at}: completing the call holding {@code permit},
+     * or, without one, starting a new call.
+     */
+    private record Call(long at, AdaptiveConcurrencyLimiter.Permit permit) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.techie.microservices.order.client;
+
+import com.techie.microservices.order.dto.StockAvailability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockLevelCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockLevelCache stockLevelCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        stockLevelCache = new StockLevelCache(meterRegistry);
+        ReflectionTestUtils.setField(stockLevelCache, "safetyMargin", 10);
+    }
+
+    @Test
+    void tryCover_WithUnknownSku_ShouldRequireRemoteCheck() {
+        assertFalse(stockLevelCache.tryCover("SKU-001", 1));
+        assertEquals(1, meterRegistry.get("inventory.stock-cache.checks").tag("result", "remote").counter().count());
+    }
+
+    @Test
+    void tryCover_ShouldDrawLevelDownUntilSafetyMarginIsReached() {
+        // Arrange
+        stockLevelCache.update(new StockAvailability("SKU-001", 1, 30, true));
+
+        // Act & Assert - 30 on hand, margin 10: two orders of 10 fit, the third must go remote
+        assertTrue(stockLevelCache.tryCover("SKU-001", 10));
+        assertTrue(stockLevelCache.tryCover("SKU-001", 10));
+        assertFalse(stockLevelCache.tryCover("SKU-001", 10));
+        assertEquals(2, meterRegistry.get("inventory.stock-cache.checks").tag("result", "skipped").counter().count());
+    }
+
+    @Test
+    void tryCover_WhenLevelIsOlderThanTtl_ShouldRequireRemoteCheck() {
+        // Arrange
+        ReflectionTestUtils.setField(stockLevelCache, "ttl", Duration.ZERO);
+        stockLevelCache.update(new StockAvailability("SKU-001", 1, 1000, true));
+
+        // Act & Assert
+        assertFalse(stockLevelCache.tryCover("SKU-001", 1));
+    }
+
+    @Test
+    void tryCover_WhenDisabled_ShouldNeverSkip() {
+        // Arrange
+        ReflectionTestUtils.setField(stockLevelCache, "enabled", false);
+        stockLevelCache.update(new StockAvailability("SKU-001", 1, 1000, true));
+
+        // Act & Assert
+        assertFalse(stockLevelCache.tryCover("SKU-001", 1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.techie.microservices.order.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaProducerConfigTest {
+
+    private final KafkaProducerConfig kafkaProducerConfig = new KafkaProducerConfig();
+
+    @Test
+    void producerProfileCustomizer_ShouldApplyThroughputProfile() {
+        // Arrange
+        DefaultKafkaProducerFactory<String, String> producerFactory = producerFactory(Map.of());
+
+        // Act
+        kafkaProducerConfig.producerProfileCustomizer("throughput").customize(producerFactory);
+
+        // Assert
+        Map<String, Object> configs = producerFactory.getConfigurationProperties();
+        assertEquals("lz4", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(20, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals(131072, configs.get(ProducerConfig.BATCH_SIZE_CONFIG));
+        assertEquals(true, configs.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+        assertEquals("all", configs.get(ProducerConfig.ACKS_CONFIG));
+    }
+
+    @Test
+    void producerProfileCustomizer_ShouldKeepExplicitProducerSettings() {
+        // Arrange
+        DefaultKafkaProducerFactory<String, String> producerFactory = producerFactory(
+                Map.of(ProducerConfig.COMPRESSION_TYPE_CONFIG, "gzip"));
+
+        // Act
+        kafkaProducerConfig.producerProfileCustomizer("THROUGHPUT").customize(producerFactory);
+
+        // Assert
+        Map<String, Object> configs = producerFactory.getConfigurationProperties();
+        assertEquals("gzip", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+        assertEquals(20, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+        assertEquals("localhost:9092", configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+    }
+
+    @Test
+    void producerProfileCustomizer_WhenProfileIsUnknown_ShouldFail() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> kafkaProducerConfig.producerProfileCustomizer("fastest"));
+    }
+
+    private static DefaultKafkaProducerFactory<String, String> producerFactory(Map<String, Object> explicit) {
+        Map<String, Object> configs = new HashMap<>(explicit);
+        configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092");
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configs);
+    }
+}
@@ -0,0 +1,170 @@
+package com.techie.microservices.order.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderBatchWriterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderBatchWriter orderBatchWriter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderBatchWriter.stop();
+    }
+
+    @Test
+    void write_WhenDisabled_ShouldCommitEachWriteOnCallingThread() {
+        // Arrange
+        orderBatchWriter = writer(false, 16, Duration.ofMillis(2));
+        List<String> threads = new ArrayList<>();
+
+        // Act
+        orderBatchWriter.write(() -> threads.add(Thread.currentThread().getName()));
+        orderBatchWriter.write(() -> threads.add(Thread.currentThread().getName()));
+
+        // Assert
+        assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()), threads);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void write_WithConcurrentCallers_ShouldGroupWritesIntoFewerTransactions() throws Exception {
+        // Arrange
+        orderBatchWriter = writer(true, 16, Duration.ofMillis(50));
+        ConcurrentLinkedQueue<Integer> written = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> callers = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < 32; i++) {
+                int order = i;
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    orderBatchWriter.write(() -> written.add(order));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        // Assert - every caller returned after its write committed, in at most a few transactions
+        assertEquals(32, written.size());
+        assertEquals(32, meterRegistry.get("order.write.batch.size").summary().totalAmount());
+        long transactions = meterRegistry.get("order.write.batch.size").summary().count();
+        assertTrue(transactions < 32, "Expected grouped commits but got " + transactions);
+        verify(transactionManager, times((int) transactions)).commit(any());
+    }
+
+    @Test
+    void write_WhenOneWriteInBatchFails_ShouldOnlyFailThatCaller() throws Exception {
+        // Arrange
+        orderBatchWriter = writer(true, 2, Duration.ofSeconds(1));
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        Future<?> failing;
+        Future<?> succeeding;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            failing = executor.submit(() -> {
+                start.await();
+                orderBatchWriter.write(() -> {
+                    throw new IllegalStateException("Duplicate entry");
+                });
+                return null;
+            });
+            succeeding = executor.submit(() -> {
+                start.await();
+                orderBatchWriter.write(() -> {
+                });
+                return null;
+            });
+            start.countDown();
+        }
+
+        // Assert
+        Exception exception = assertThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertNull(succeeding.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void stop_WhenWriterOutlivesTimeout_ShouldFailQueuedWritesInsteadOfLeavingCallersWaiting() throws Exception {
+        // Arrange - the writer thread is stuck committing a first write while a second one waits in the queue
+        orderBatchWriter = writer(true, 1, Duration.ofMillis(1));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Thread> queuedCaller = new AtomicReference<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<?> stuck = executor.submit(() -> {
+                orderBatchWriter.write(() -> {
+                    writing.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                return null;
+            });
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            Future<?> queued = executor.submit(() -> {
+                queuedCaller.set(Thread.currentThread());
+                orderBatchWriter.write(() -> {
+                });
+                return null;
+            });
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (queuedCaller.get() == null || queuedCaller.get().getState() != Thread.State.WAITING) {
+                assertTrue(System.nanoTime() < deadline, "Second write was never queued");
+                Thread.onSpinWait();
+            }
+
+            // Act
+            orderBatchWriter.stop(Duration.ofMillis(50));
+
+            // Assert
+            Exception exception = assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS));
+            assertEquals("Order writer stopped", exception.getCause().getMessage());
+            release.countDown();
+            assertNull(stuck.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private OrderBatchWriter writer(boolean enabled, int maxBatchSize, Duration maxDelay) {
+        OrderBatchWriter writer = new OrderBatchWriter(new TransactionTemplate(transactionManager), meterRegistry,
+                enabled, maxBatchSize, maxDelay, 64);
+        writer.start();
+        return writer;
+    }
+}
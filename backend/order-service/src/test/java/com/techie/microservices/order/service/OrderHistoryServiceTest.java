@@ -0,0 +1,85 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.dto.OrderHistoryPage;
+import com.techie.microservices.order.dto.OrderSummary;
+import com.techie.microservices.order.model.OrderStatus;
+import com.techie.microservices.order.repository.OrderHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderHistoryServiceTest {
+
+    @Mock
+    private OrderHistoryRepository orderHistoryRepository;
+
+    @InjectMocks
+    private OrderHistoryService orderHistoryService;
+
+    @Test
+    void findByEmail_WhenPageIsFull_ShouldReturnLastOrderNumberAsCursor() {
+        // Arrange
+        when(orderHistoryRepository.findByEmail("john@example.com", Long.MAX_VALUE, 2))
+                .thenReturn(List.of(summary(20), summary(10)));
+
+        // Act
+        OrderHistoryPage page = orderHistoryService.findByEmail("john@example.com", null, 2);
+
+        // Assert
+        assertEquals(2, page.orders().size());
+        assertEquals(OrderIdGenerator.toOrderNumber(10), page.nextCursor());
+    }
+
+    @Test
+    void findBySkuCode_WithCursor_ShouldContinueBeforeThatOrderId() {
+        // Arrange
+        when(orderHistoryRepository.findBySkuCode("iphone_15", 10, 20)).thenReturn(List.of(summary(5)));
+
+        // Act
+        OrderHistoryPage page = orderHistoryService.findBySkuCode("iphone_15", OrderIdGenerator.toOrderNumber(10), 20);
+
+        // Assert
+        assertEquals(1, page.orders().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void findByCreatedAtBetween_ShouldCapPageSize() {
+        // Arrange
+        Instant from = Instant.parse("2024-06-01T00:00:00Z");
+        Instant to = Instant.parse("2024-07-01T00:00:00Z");
+        when(orderHistoryRepository.findByCreatedAtBetween(from, to, Long.MAX_VALUE, OrderHistoryService.MAX_PAGE_SIZE))
+                .thenReturn(List.of());
+
+        // Act
+        OrderHistoryPage page = orderHistoryService.findByCreatedAtBetween(from, to, null, 10_000);
+
+        // Assert
+        assertTrue(page.orders().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void findByCreatedAtBetween_WithInvertedRange_ShouldThrowException() {
+        Instant now = Instant.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderHistoryService.findByCreatedAtBetween(now, now.minusSeconds(60), null, 20));
+        verifyNoInteractions(orderHistoryRepository);
+    }
+
+    private static OrderSummary summary(long id) {
+        return new OrderSummary(OrderIdGenerator.toOrderNumber(id), OrderStatus.PLACED, "iphone_15",
+                new BigDecimal("999.99"), 1, Instant.now());
+    }
+}
@@ -0,0 +1,92 @@
+package com.techie.microservices.order.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdGeneratorTest {
+
+    private static final long NOW = OrderIdGenerator.EPOCH_MILLIS + 86_400_000L;
+
+    @Test
+    void nextId_ShouldEmbedTimestampNodeIdAndSequence() {
+        // Arrange
+        OrderIdGenerator generator = new OrderIdGenerator(7, () -> NOW);
+
+        // Act
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Assert
+        assertEquals(86_400_000L, first >>> 22);
+        assertEquals(7, (first >>> 12) & OrderIdGenerator.MAX_NODE_ID);
+        assertEquals(0, first & 0xFFF);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void nextId_WhenSequenceExhausted_ShouldBorrowNextMillisecond() {
+        // Arrange
+        OrderIdGenerator generator = new OrderIdGenerator(0, () -> NOW);
+        Set<Long> ids = new HashSet<>();
+
+        // Act
+        long last = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > last);
+            ids.add(id);
+            last = id;
+        }
+
+        // Assert
+        assertEquals(10_000, ids.size());
+        assertEquals(86_400_002L, last >>> 22);
+    }
+
+    @Test
+    void nextId_WhenClockMovesBackwards_ShouldStayMonotonic() {
+        // Arrange
+        AtomicLong clock = new AtomicLong(NOW);
+        OrderIdGenerator generator = new OrderIdGenerator(3, clock::get);
+        long before = generator.nextId();
+
+        // Act
+        clock.set(NOW - 5_000);
+        long after = generator.nextId();
+
+        // Assert
+        assertTrue(after > before);
+    }
+
+    @Test
+    void toOrderNumber_ShouldBeFixedWidthAndSortLikeTheId() {
+        OrderIdGenerator generator = new OrderIdGenerator(1);
+        long smaller = generator.nextId();
+        long larger = generator.nextId();
+
+        assertEquals(13, OrderIdGenerator.toOrderNumber(smaller).length());
+        assertTrue(OrderIdGenerator.toOrderNumber(smaller).compareTo(OrderIdGenerator.toOrderNumber(larger)) < 0);
+        // Matches MySQL LPAD(CONV(1023, 10, 32), 13, '0') used for legacy rows
+        assertEquals("00000000000VV", OrderIdGenerator.toOrderNumber(1023));
+    }
+
+    @Test
+    void fromOrderNumber_ShouldDecodeWhatToOrderNumberEncodes() {
+        long id = new OrderIdGenerator(5).nextId();
+
+        assertEquals(id, OrderIdGenerator.fromOrderNumber(OrderIdGenerator.toOrderNumber(id)));
+        assertThrows(IllegalArgumentException.class, () -> OrderIdGenerator.fromOrderNumber("not-an-order"));
+        assertThrows(IllegalArgumentException.class, () -> OrderIdGenerator.fromOrderNumber("V000000000000"));
+    }
+
+    @Test
+    void constructor_WithNodeIdOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(1024, () -> NOW));
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(-1, () -> NOW));
+    }
+}
@@ -0,0 +1,174 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.repository.IdempotencyKeyRepository;
+import com.techie.microservices.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        orderIdempotencyService = new OrderIdempotencyService(idempotencyKeyRepository, orderRepository, 4,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void execute_WithoutKey_ShouldAlwaysPlaceOrder() {
+        AtomicInteger placements = new AtomicInteger();
+
+        orderIdempotencyService.execute(null, () -> order("A" + placements.incrementAndGet()));
+        orderIdempotencyService.execute(null, () -> order("A" + placements.incrementAndGet()));
+
+        assertEquals(2, placements.get());
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void execute_WhenKeyReplayed_ShouldReturnOriginalOrderFromCacheWithoutPlacingAgain() {
+        // Arrange
+        Order original = order("0000000000001");
+        when(orderRepository.findByOrderNumber("0000000000001")).thenReturn(Optional.of(original));
+        orderIdempotencyService.execute("key-1", () -> original);
+
+        // Act
+        OrderIdempotencyService.Placement replay = orderIdempotencyService.execute("key-1",
+                () -> fail("Replayed key must not place a second order"));
+
+        // Assert
+        assertTrue(replay.replayed());
+        assertSame(original, replay.order());
+        // Only the first submission's two lookups (before and after taking the stripe) hit the table
+        verify(idempotencyKeyRepository, times(2)).findOrderNumber(eq("key-1"), any());
+    }
+
+    @Test
+    void execute_WhenKeyStoredByEarlierInstance_ShouldReplayFromTable() {
+        // Arrange
+        Order original = order("0000000000002");
+        when(idempotencyKeyRepository.findOrderNumber(eq("key-2"), any())).thenReturn(Optional.of("0000000000002"));
+        when(orderRepository.findByOrderNumber("0000000000002")).thenReturn(Optional.of(original));
+
+        // Act
+        OrderIdempotencyService.Placement replay = orderIdempotencyService.execute("key-2",
+                () -> fail("Replayed key must not place a second order"));
+
+        // Assert
+        assertTrue(replay.replayed());
+        assertEquals("0000000000002", replay.order().getOrderNumber());
+    }
+
+    @Test
+    void execute_WhenAnotherInstanceCommittedKeyFirst_ShouldReplayItsOrder() {
+        // Arrange
+        Order winner = order("0000000000003");
+        when(idempotencyKeyRepository.findOrderNumber(eq("key-3"), any()))
+                .thenReturn(Optional.empty(), Optional.empty(), Optional.of("0000000000003"));
+        when(orderRepository.findByOrderNumber("0000000000003")).thenReturn(Optional.of(winner));
+
+        // Act
+        OrderIdempotencyService.Placement placement = orderIdempotencyService.execute("key-3", () -> {
+            throw new DataIntegrityViolationException("Duplicate entry 'key-3' for key 'PRIMARY'");
+        });
+
+        // Assert
+        assertTrue(placement.replayed());
+        assertSame(winner, placement.order());
+    }
+
+    @Test
+    void execute_WithConcurrentDuplicates_ShouldPlaceOrderOnce() throws Exception {
+        // Arrange
+        Order original = order("0000000000004");
+        lenient().when(orderRepository.findByOrderNumber("0000000000004")).thenReturn(Optional.of(original));
+        AtomicInteger placements = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderIdempotencyService.Placement>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return orderIdempotencyService.execute("key-4", () -> {
+                        placements.incrementAndGet();
+                        return original;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<OrderIdempotencyService.Placement> result : results) {
+                assertSame(original, result.get(5, TimeUnit.SECONDS).order());
+            }
+        }
+
+        // Assert
+        assertEquals(1, placements.get());
+        assertEquals(7, results.stream().filter(result -> result.resultNow().replayed()).count());
+    }
+
+    @Test
+    void record_ShouldReplaceAnExpiredRowForTheKeyBeforeInserting() {
+        // Arrange
+        Order order = order("0000000000003");
+        order.setCreatedAt(Instant.now());
+
+        // Act
+        orderIdempotencyService.record("key-3", order);
+
+        // Assert
+        ArgumentCaptor<Instant> expiredUntil = ArgumentCaptor.forClass(Instant.class);
+        InOrder inOrder = inOrder(idempotencyKeyRepository);
+        inOrder.verify(idempotencyKeyRepository).deleteExpired(eq("key-3"), expiredUntil.capture());
+        inOrder.verify(idempotencyKeyRepository).insert("key-3", "0000000000003", order.getCreatedAt());
+        // Only rows lookups no longer replay (older than the 24h TTL) may be replaced
+        assertTrue(expiredUntil.getValue().isBefore(Instant.now().minus(Duration.ofHours(24)).plusSeconds(1)));
+    }
+
+    @Test
+    void isValidKey_ShouldRejectLongOrNonPrintableKeys() {
+        assertTrue(OrderIdempotencyService.isValidKey("7f9c2ba4-e88f-4b1a-9a57-1d4b0c2f5e11"));
+        assertFalse(OrderIdempotencyService.isValidKey("a".repeat(65)));
+        assertFalse(OrderIdempotencyService.isValidKey("key with spaces"));
+    }
+
+    private static Order order(String orderNumber) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        return order;
+    }
+}
@@ -0,0 +1,198 @@
+package com.techie.microservices.order.service;
+
+import com.techie.microservices.order.event.OrderPlacedEvent;
+import com.techie.microservices.order.model.OrderOutbox;
+import com.techie.microservices.order.repository.OrderOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderOutboxRelayTest {
+
+    @Mock
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Mock
+    private KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderOutboxRelay orderOutboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderOutboxRelay = new OrderOutboxRelay(orderOutboxRepository, kafkaTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+    }
+
+    @Test
+    void relayBatch_WhenBrokerAcknowledgesAll_ShouldDeleteEveryRow() throws Exception {
+        // Arrange
+        when(orderOutboxRepository.lockNextBatch(anyInt()))
+                .thenReturn(List.of(outbox(1L, "ORDER-1"), outbox(2L, "ORDER-2")));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        int relayed = orderOutboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(2, relayed);
+        verify(orderOutboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.summary("order.outbox.relay.batch.size").totalAmount());
+        assertEquals(2, meterRegistry.timer("order.outbox.relay.lag").count());
+    }
+
+    @Test
+    void relayBatch_WhenSendFails_ShouldKeepFailedRowForRetry() throws Exception {
+        // Arrange
+        when(orderOutboxRepository.lockNextBatch(anyInt()))
+                .thenReturn(List.of(outbox(1L, "ORDER-1"), outbox(2L, "ORDER-2")));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        int relayed = orderOutboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(1, relayed);
+        verify(orderOutboxRepository).deleteAllByIdInBatch(List.of(2L));
+        assertEquals(1.0, meterRegistry.counter("order.outbox.relay.failures").count());
+    }
+
+    @Test
+    void relayBatch_ShouldKeyRecordsByCustomerByDefaultOrByOrderWhenConfigured() throws Exception {
+        // Arrange
+        when(orderOutboxRepository.lockNextBatch(anyInt())).thenReturn(List.of(outbox(1L, "ORDER-1")));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        orderOutboxRelay.relayBatch();
+        ReflectionTestUtils.setField(orderOutboxRelay, "messageKey", "order");
+        orderOutboxRelay.relayBatch();
+
+        // Assert
+        verify(kafkaTemplate).send(argThat((ProducerRecord<String, OrderPlacedEvent> record) ->
+                record.topic().equals("order-placed") && record.key().equals("john@example.com")));
+        verify(kafkaTemplate).send(argThat((ProducerRecord<String, OrderPlacedEvent> record) ->
+                record.topic().equals("order-placed") && record.key().equals("ORDER-1")));
+    }
+
+    @Test
+    void relayBatch_ShouldRecordSendLatencyPerResultFromCompletionCallbacks() throws Exception {
+        // Arrange
+        when(orderOutboxRepository.lockNextBatch(anyInt()))
+                .thenReturn(List.of(outbox(1L, "ORDER-1"), outbox(2L, "ORDER-2"), outbox(3L, "ORDER-3")));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        orderOutboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(2, meterRegistry.get("order.kafka.send").tag("result", "success").timer().count());
+        assertEquals(1, meterRegistry.get("order.kafka.send").tag("result", "failure").timer().count());
+        assertEquals(0.0, meterRegistry.get("order.outbox.relay.in-flight").gauge().value());
+    }
+
+    @Test
+    void relayBatch_WhenMaxInFlightIsUnacknowledged_ShouldLeaveRestOfBatchInOutbox() throws Exception {
+        // Arrange - the broker does not acknowledge anything within the send timeout
+        orderOutboxRelay.setMaxInFlight(2);
+        ReflectionTestUtils.setField(orderOutboxRelay, "sendTimeout", Duration.ofMillis(50));
+        List<CompletableFuture<SendResult<String, OrderPlacedEvent>>> pending = List.of(
+                new CompletableFuture<>(), new CompletableFuture<>());
+        when(orderOutboxRepository.lockNextBatch(anyInt()))
+                .thenReturn(List.of(outbox(1L, "ORDER-1"), outbox(2L, "ORDER-2"), outbox(3L, "ORDER-3")));
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(pending.get(0), pending.get(1));
+
+        // Act
+        int relayed = orderOutboxRelay.relayBatch();
+        int relayedWhileStillPending = orderOutboxRelay.relayBatch();
+
+        // Assert - nothing is resent while the first two records are still buffered in the producer
+        assertEquals(0, relayed);
+        assertEquals(0, relayedWhileStillPending);
+        verify(kafkaTemplate, times(2)).send(anyRecord());
+        assertEquals(2.0, meterRegistry.counter("order.outbox.relay.backpressure").count());
+        assertEquals(2.0, meterRegistry.get("order.outbox.relay.in-flight").gauge().value());
+
+        // Act - the producer finally gets its acknowledgements
+        pending.forEach(send -> send.complete(mock(SendResult.class)));
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("order.outbox.relay.in-flight").gauge().value());
+    }
+
+    @Test
+    void relayBatch_WhenOutboxEmpty_ShouldNotTouchKafka() {
+        // Arrange
+        when(orderOutboxRepository.lockNextBatch(anyInt())).thenReturn(List.of());
+
+        // Act
+        int relayed = orderOutboxRelay.relayBatch();
+
+        // Assert
+        assertEquals(0, relayed);
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void relayBatch_ShouldStampRecordsWithOrderPlacementTime() throws Exception {
+        // Arrange
+        OrderOutbox outbox = outbox(1L, "ORDER-1");
+        outbox.setCreatedAt(Instant.ofEpochMilli(1_700_000_000_123L));
+        when(orderOutboxRepository.lockNextBatch(anyInt())).thenReturn(List.of(outbox));
+        when(kafkaTemplate.send(anyRecord())).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // Act
+        orderOutboxRelay.relayBatch();
+
+        // Assert
+        ArgumentCaptor<ProducerRecord<String, OrderPlacedEvent>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        Header eventTime = record.getValue().headers().lastHeader(OrderOutboxRelay.EVENT_TIME_HEADER);
+        assertEquals("1700000000123", new String(eventTime.value(), StandardCharsets.US_ASCII));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProducerRecord<String, OrderPlacedEvent> anyRecord() {
+        return any(ProducerRecord.class);
+    }
+
+    private static OrderOutbox outbox(Long id, String orderNumber) throws Exception {
+        OrderPlacedEvent event = new OrderPlacedEvent(orderNumber, "john@example.com", "John", "Doe");
+        ByteBuffer buffer = event.toByteBuffer();
+        byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+        return new OrderOutbox(id, orderNumber, "order-placed", payload, Instant.now());
+    }
+}
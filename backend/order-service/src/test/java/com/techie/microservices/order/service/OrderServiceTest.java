@@ -1,23 +1,43 @@
 package com.techie.microservices.order.service;
 
-import com.techie.microservices.order.client.InventoryClient;
+import com.techie.microservices.order.client.InventoryAsyncClient;
+import com.techie.microservices.order.client.InventoryUnavailableException;
+import com.techie.microservices.order.dto.CartRequest;
+import com.techie.microservices.order.dto.CartResponse;
 import com.techie.microservices.order.dto.OrderRequest;
+import com.techie.microservices.order.dto.StockAvailability;
+import com.techie.microservices.order.dto.StockRequest;
 import com.techie.microservices.order.event.OrderPlacedEvent;
 import com.techie.microservices.order.model.Order;
+import com.techie.microservices.order.model.OrderOutbox;
+import com.techie.microservices.order.model.OrderStatus;
+import com.techie.microservices.order.repository.OrderLineRepository;
+import com.techie.microservices.order.repository.OrderOutboxRepository;
 import com.techie.microservices.order.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,90 +48,135 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private InventoryClient inventoryClient;
+    private InventoryAsyncClient inventoryClient;
 
     @Mock
-    private KafkaTemplate<String, OrderPlacedEvent> kafkaTemplate;
+    private OrderOutboxRepository orderOutboxRepository;
+
+    @Mock
+    private OrderLineRepository orderLineRepository;
+
+    @Mock
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Spy
+    private OrderIdGenerator orderIdGenerator = new OrderIdGenerator(1);
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private OrderBatchWriter orderBatchWriter = new OrderBatchWriter(transactionTemplate, new SimpleMeterRegistry(),
+            false, 16, Duration.ofMillis(2), 16);
 
     @InjectMocks
     private OrderService orderService;
 
+    private static final OrderRequest.UserDetails USER_DETAILS =
+            new OrderRequest.UserDetails("john@example.com", "John", "Doe");
+
     private OrderRequest orderRequest;
 
     @BeforeEach
     void setUp() {
-        // OrderRequest with null userDetails for mocking
-        orderRequest = new OrderRequest(null, null, "SKU-001", new BigDecimal("29.99"), 5, null);
+        orderRequest = new OrderRequest(null, null, "SKU-001", new BigDecimal("29.99"), 5, USER_DETAILS);
     }
 
     @Test
-    void placeOrder_WhenProductInStock_ShouldSaveOrderAndSendKafkaMessage() {
+    void placeOrder_WhenProductInStock_ShouldSaveOrderAndOutboxEventInOneTransaction() throws Exception {
         // Arrange
-        when(inventoryClient.isInStock("SKU-001", 5)).thenReturn(true);
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.completedFuture(true));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        orderService.placeOrder(orderRequest);
+        orderService.placeOrder(orderRequest, null);
 
         // Assert - Verify order was saved
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
         verify(orderRepository, times(1)).save(orderCaptor.capture());
         
         Order savedOrder = orderCaptor.getValue();
-        assertNotNull(savedOrder.getOrderNumber());
+        assertNotNull(savedOrder.getId());
+        assertEquals(OrderIdGenerator.toOrderNumber(savedOrder.getId()), savedOrder.getOrderNumber());
         assertEquals("SKU-001", savedOrder.getSkuCode());
         assertEquals(5, savedOrder.getQuantity());
         assertEquals(new BigDecimal("149.95"), savedOrder.getPrice());
 
-        // Verify Kafka message was sent
-        ArgumentCaptor<OrderPlacedEvent> eventCaptor = ArgumentCaptor.forClass(OrderPlacedEvent.class);
-        verify(kafkaTemplate, times(1)).send(eq("order-placed"), eventCaptor.capture());
-        
-        OrderPlacedEvent sentEvent = eventCaptor.getValue();
-        assertEquals(savedOrder.getOrderNumber(), sentEvent.getOrderNumber());
-        assertEquals("john@example.com", sentEvent.getEmail());
-        assertEquals("John", sentEvent.getFirstName());
-        assertEquals("Doe", sentEvent.getLastName());
+        // Verify the event was written to the outbox within the same transaction
+        ArgumentCaptor<OrderOutbox> outboxCaptor = ArgumentCaptor.forClass(OrderOutbox.class);
+        verify(orderOutboxRepository, times(1)).save(outboxCaptor.capture());
+        verify(orderBatchWriter, times(1)).write(any());
+
+        OrderOutbox outbox = outboxCaptor.getValue();
+        assertEquals("order-placed", outbox.getTopic());
+        OrderPlacedEvent sentEvent = OrderPlacedEvent.fromByteBuffer(ByteBuffer.wrap(outbox.getPayload()));
+        assertEquals(savedOrder.getOrderNumber(), sentEvent.getOrderNumber().toString());
+        assertEquals("john@example.com", sentEvent.getEmail().toString());
+        assertEquals("John", sentEvent.getFirstName().toString());
+        assertEquals("Doe", sentEvent.getLastName().toString());
+    }
+
+    @Test
+    void placeOrder_ShouldTimeEachStageAndTheWholePlacementByOutcome() {
+        // Arrange
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any()))
+                .thenReturn(CompletableFuture.completedFuture(true))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        orderService.placeOrder(orderRequest, null);
+        assertThrows(RuntimeException.class, () -> orderService.placeOrder(orderRequest, null));
+
+        // Assert
+        assertEquals(2, meterRegistry.get("order.placement.stage").tag("stage", "inventory").timer().count());
+        assertEquals(1, meterRegistry.get("order.placement.stage").tag("stage", "persist").timer().count());
+        assertEquals(1, meterRegistry.get("order.placement.stage").tag("stage", "outbox").timer().count());
+        assertEquals(1, meterRegistry.get("order.placement").tag("outcome", "placed").timer().count());
+        assertEquals(1, meterRegistry.get("order.placement").tag("outcome", "out_of_stock").timer().count());
     }
 
     @Test
     void placeOrder_WhenProductOutOfStock_ShouldThrowException() {
         // Arrange
-        when(inventoryClient.isInStock("SKU-001", 5)).thenReturn(false);
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.completedFuture(false));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            orderService.placeOrder(orderRequest);
+            orderService.placeOrder(orderRequest, null);
         });
 
         assertTrue(exception.getMessage().contains("not in stock"));
         verify(orderRepository, never()).save(any());
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(orderOutboxRepository, never()).save(any());
     }
 
     @Test
-    void placeOrder_WhenInventoryClientFails_ShouldThrowException() {
+    void placeOrder_WhenInventoryUnavailable_ShouldThrowUnavailableRatherThanOutOfStock() {
         // Arrange
-        when(inventoryClient.isInStock("SKU-001", 5)).thenThrow(new RuntimeException("Inventory service unavailable"));
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.failedFuture(
+                new InventoryUnavailableException("Inventory unavailable for 1 skucodes",
+                        new RejectedExecutionException("Inventory concurrency limit reached"))));
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> {
-            orderService.placeOrder(orderRequest);
-        });
+        assertThrows(InventoryUnavailableException.class, () -> orderService.placeOrder(orderRequest, null));
 
         verify(orderRepository, never()).save(any());
-        verify(kafkaTemplate, never()).send(anyString(), any());
+        verify(orderOutboxRepository, never()).save(any());
+        assertEquals(1, meterRegistry.get("order.placement").tag("outcome", "inventory_unavailable").timer().count());
     }
 
     @Test
     void placeOrder_WithLargeQuantity_ShouldCalculatePriceCorrectly() {
         // Arrange
-        OrderRequest largeOrderRequest = new OrderRequest(null, null, "SKU-002", new BigDecimal("99.99"), 100, null);
-        when(inventoryClient.isInStock("SKU-002", 100)).thenReturn(true);
+        OrderRequest largeOrderRequest = new OrderRequest(null, null, "SKU-002", new BigDecimal("99.99"), 100, USER_DETAILS);
+        when(inventoryClient.isInStock(eq("SKU-002"), eq(100), any())).thenReturn(CompletableFuture.completedFuture(true));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        orderService.placeOrder(largeOrderRequest);
+        orderService.placeOrder(largeOrderRequest, null);
 
         // Assert
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
@@ -124,15 +189,200 @@ class OrderServiceTest {
     @Test
     void placeOrder_WithMinimumQuantity_ShouldSucceed() {
         // Arrange
-        OrderRequest minOrderRequest = new OrderRequest(null, null, "SKU-003", new BigDecimal("10.00"), 1, null);
-        when(inventoryClient.isInStock("SKU-003", 1)).thenReturn(true);
+        OrderRequest minOrderRequest = new OrderRequest(null, null, "SKU-003", new BigDecimal("10.00"), 1, USER_DETAILS);
+        when(inventoryClient.isInStock(eq("SKU-003"), eq(1), any())).thenReturn(CompletableFuture.completedFuture(true));
         when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        orderService.placeOrder(minOrderRequest);
+        orderService.placeOrder(minOrderRequest, null);
 
         // Assert
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(kafkaTemplate, times(1)).send(eq("order-placed"), any(OrderPlacedEvent.class));
+        verify(orderOutboxRepository, times(1)).save(any(OrderOutbox.class));
+    }
+
+    @Test
+    void acceptOrder_ShouldSavePendingOrderWithoutCallingInventoryOrOutbox() {
+        // Act
+        Order order = orderService.acceptOrder(orderRequest, null);
+
+        // Assert
+        verify(orderRepository).save(order);
+        assertEquals(OrderStatus.PENDING, order.getStatus());
+        assertEquals("john@example.com", order.getEmail());
+        assertNotNull(order.getCreatedAt());
+        verifyNoInteractions(inventoryClient, orderOutboxRepository);
+    }
+
+    @Test
+    void completeOrder_WhenProductInStock_ShouldMarkPlacedAndWriteOutboxEvent() {
+        // Arrange
+        Order pending = orderService.acceptOrder(orderRequest, null);
+        when(orderRepository.findByOrderNumber(pending.getOrderNumber())).thenReturn(Optional.of(pending));
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(orderRepository.transitionStatus(pending.getOrderNumber(), OrderStatus.PENDING, OrderStatus.PLACED))
+                .thenReturn(1);
+
+        // Act
+        OrderStatus status = orderService.completeOrder(pending.getOrderNumber());
+
+        // Assert
+        assertEquals(OrderStatus.PLACED, status);
+        verify(orderOutboxRepository, times(1)).save(any(OrderOutbox.class));
+    }
+
+    @Test
+    void completeOrder_WhenProductOutOfStock_ShouldMarkRejectedWithoutOutboxEvent() {
+        // Arrange
+        Order pending = orderService.acceptOrder(orderRequest, null);
+        when(orderRepository.findByOrderNumber(pending.getOrderNumber())).thenReturn(Optional.of(pending));
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.completedFuture(false));
+        when(orderRepository.transitionStatus(pending.getOrderNumber(), OrderStatus.PENDING, OrderStatus.REJECTED))
+                .thenReturn(1);
+
+        // Act
+        OrderStatus status = orderService.completeOrder(pending.getOrderNumber());
+
+        // Assert
+        assertEquals(OrderStatus.REJECTED, status);
+        verify(orderOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void completeOrder_WhenInventoryUnavailable_ShouldLeaveOrderPendingForResubmission() {
+        // Arrange
+        Order pending = orderService.acceptOrder(orderRequest, null);
+        when(orderRepository.findByOrderNumber(pending.getOrderNumber())).thenReturn(Optional.of(pending));
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.failedFuture(
+                new InventoryUnavailableException("Inventory unavailable for 1 skucodes",
+                        new IllegalStateException("503 Service Unavailable"))));
+
+        // Act
+        OrderStatus status = orderService.completeOrder(pending.getOrderNumber());
+
+        // Assert
+        assertEquals(OrderStatus.PENDING, status);
+        verify(orderRepository, never()).transitionStatus(any(), any(), any());
+        verify(orderOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void completeOrder_WhenAnotherWorkerCompletedFirst_ShouldNotWriteOutboxEventTwice() {
+        // Arrange
+        Order pending = orderService.acceptOrder(orderRequest, null);
+        when(orderRepository.findByOrderNumber(pending.getOrderNumber())).thenReturn(Optional.of(pending));
+        when(inventoryClient.isInStock(eq("SKU-001"), eq(5), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(orderRepository.transitionStatus(pending.getOrderNumber(), OrderStatus.PENDING, OrderStatus.PLACED))
+                .thenReturn(0);
+
+        // Act
+        orderService.completeOrder(pending.getOrderNumber());
+
+        // Assert
+        verify(orderOutboxRepository, never()).save(any());
+    }
+
+    @Test
+    void placeCart_WhenAllLinesInStock_ShouldCheckStockOnceAndBatchInsertLines() throws Exception {
+        // Arrange
+        List<CartRequest.Line> lines = List.of(
+                new CartRequest.Line("SKU-001", new BigDecimal("29.99"), 2),
+                new CartRequest.Line("SKU-002", new BigDecimal("10.00"), 3));
+        when(inventoryClient.checkStock(anyList(), any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                new StockAvailability("SKU-001", 2, 10, true),
+                new StockAvailability("SKU-002", 3, 10, true))));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Order order = orderService.placeCart(new CartRequest(lines, USER_DETAILS), "cart-key");
+
+        // Assert
+        verify(inventoryClient, times(1)).checkStock(
+                eq(List.of(new StockRequest("SKU-001", 2), new StockRequest("SKU-002", 3))), any());
+        verify(inventoryClient, never()).isInStock(any(), any(), any());
+        verify(orderLineRepository, times(1)).batchInsert(order.getId(), lines);
+        verify(orderIdempotencyService, times(1)).record("cart-key", order);
+        assertNull(order.getSkuCode());
+        assertEquals(5, order.getQuantity());
+        assertEquals(new BigDecimal("89.98"), order.getPrice());
+
+        ArgumentCaptor<OrderOutbox> outboxCaptor = ArgumentCaptor.forClass(OrderOutbox.class);
+        verify(orderOutboxRepository, times(1)).save(outboxCaptor.capture());
+        OrderPlacedEvent event = OrderPlacedEvent.fromByteBuffer(ByteBuffer.wrap(outboxCaptor.getValue().getPayload()));
+        assertEquals(order.getOrderNumber(), event.getOrderNumber().toString());
+        assertEquals(1, meterRegistry.get("order.cart.placement").tag("lines", "2-10").timer().count());
+    }
+
+    @Test
+    void placeCart_WhenAnyLineOutOfStock_ShouldThrowWithoutSaving() {
+        // Arrange
+        List<CartRequest.Line> lines = List.of(
+                new CartRequest.Line("SKU-001", new BigDecimal("29.99"), 2),
+                new CartRequest.Line("SKU-002", new BigDecimal("10.00"), 3));
+        when(inventoryClient.checkStock(anyList(), any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                new StockAvailability("SKU-001", 2, 10, true),
+                new StockAvailability("SKU-002", 3, 1, false))));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> orderService.placeCart(new CartRequest(lines, USER_DETAILS), "cart-key"));
+        assertTrue(exception.getMessage().contains("SKU-002"));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        verifyNoInteractions(orderLineRepository, orderOutboxRepository);
+    }
+
+    @Test
+    void placeCart_WhenInventoryUnavailable_ShouldThrowUnavailableWithoutSaving() {
+        // Arrange
+        List<CartRequest.Line> lines = List.of(new CartRequest.Line("SKU-001", new BigDecimal("29.99"), 2));
+        when(inventoryClient.checkStock(anyList(), any())).thenReturn(CompletableFuture.failedFuture(
+                new InventoryUnavailableException("Inventory unavailable for 1 skucodes",
+                        new IllegalStateException("Inventory call deadline exceeded"))));
+
+        // Act & Assert
+        assertThrows(InventoryUnavailableException.class,
+                () -> orderService.placeCart(new CartRequest(lines, USER_DETAILS), null));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        verifyNoInteractions(orderLineRepository, orderOutboxRepository);
+    }
+
+    @Test
+    void placeCart_WithEmptyCart_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.placeCart(new CartRequest(List.of(), USER_DETAILS), null));
+        verifyNoInteractions(inventoryClient);
+    }
+
+    @Test
+    void placeCart_WithLineMissingPriceOrQuantity_ShouldThrowException() {
+        List<CartRequest.Line> withoutPrice = List.of(new CartRequest.Line("iphone_15", null, 1));
+        List<CartRequest.Line> withoutQuantity = List.of(new CartRequest.Line("iphone_15", new BigDecimal("999.00"), null));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.placeCart(new CartRequest(withoutPrice, USER_DETAILS), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> orderService.placeCart(new CartRequest(withoutQuantity, USER_DETAILS), null));
+        verifyNoInteractions(inventoryClient, orderLineRepository);
+    }
+
+    @Test
+    void getCart_ShouldListStoredLinesWithCartTotals() {
+        // Arrange
+        Order order = new Order();
+        order.setId(42L);
+        order.setOrderNumber("ORDER-1");
+        order.setStatus(OrderStatus.PLACED);
+        order.setPrice(new BigDecimal("89.98"));
+        order.setQuantity(5);
+        List<CartResponse.Line> lines = List.of(
+                new CartResponse.Line("SKU-001", new BigDecimal("59.98"), 2),
+                new CartResponse.Line("SKU-002", new BigDecimal("30.00"), 3));
+        when(orderLineRepository.findByOrderId(42L)).thenReturn(lines);
+
+        // Act
+        CartResponse cart = orderService.getCart(order);
+
+        // Assert
+        assertEquals(new CartResponse("ORDER-1", OrderStatus.PLACED, new BigDecimal("89.98"), 5, lines), cart);
     }
 }
@@ -0,0 +1,54 @@
+package com.techie.microservices.order.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.EmbeddedValueResolver;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.expression.StandardBeanExpressionResolver;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledIntervalTest {
+
+    @Test
+    void fixedDelay_WithDefaults_ShouldResolveToMillis() throws Exception {
+        // Arrange
+        EmbeddedValueResolver resolver = resolver(Map.of());
+
+        // Act & Assert
+        assertEquals("200", resolver.resolveStringValue(fixedDelay(OrderOutboxRelay.class, "relay")));
+        assertEquals("60000", resolver.resolveStringValue(fixedDelay(OrderIdempotencyService.class, "purgeExpiredKeys")));
+        assertEquals("10000", resolver.resolveStringValue(fixedDelay(OrderPlacementPipeline.class, "resubmitPendingOrders")));
+    }
+
+    @Test
+    void fixedDelay_WithConfiguredInterval_ShouldAcceptSimpleAndIsoDurations() throws Exception {
+        // Arrange
+        EmbeddedValueResolver resolver = resolver(Map.of(
+                "order.outbox.poll-interval", "1s",
+                "order.idempotency.purge-interval", "PT5M",
+                "order.placement.resubmit-interval", "30s"));
+
+        // Act & Assert
+        assertEquals("1000", resolver.resolveStringValue(fixedDelay(OrderOutboxRelay.class, "relay")));
+        assertEquals("300000", resolver.resolveStringValue(fixedDelay(OrderIdempotencyService.class, "purgeExpiredKeys")));
+        assertEquals("30000", resolver.resolveStringValue(fixedDelay(OrderPlacementPipeline.class, "resubmitPendingOrders")));
+    }
+
+    private static EmbeddedValueResolver resolver(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver());
+        beanFactory.addEmbeddedValueResolver(environment::resolveRequiredPlaceholders);
+        return new EmbeddedValueResolver(beanFactory);
+    }
+
+    private static String fixedDelay(Class<?> type, String method) throws NoSuchMethodException {
+        return type.getMethod(method).getAnnotation(Scheduled.class).fixedDelayString();
+    }
+}
@@ -5,6 +5,14 @@ import static com.github.tomakehurst.wiremock.client.WireMock.*;
 public class InventoryClientStub {
 
     public static void stubInventoryCall(String skuCode, Integer quantity) {
+        // Orders check stock through the batch endpoint, which also reports the level on hand
+        stubFor(post(urlEqualTo("/api/inventory/check"))
+                .withRequestBody(matchingJsonPath("$[0].skuCode", equalTo(skuCode)))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"skuCode\":\"" + skuCode + "\",\"requested\":" + quantity
+                                + ",\"available\":100,\"inStock\":" + (quantity <= 100) + "}]")));
         if (quantity <= 100) {
             stubFor(get(urlEqualTo("/api/inventory?skuCode=" + skuCode + "&quantity=" + quantity))
                     .willReturn(aResponse()
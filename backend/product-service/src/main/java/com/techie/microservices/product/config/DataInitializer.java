@@ -2,44 +2,57 @@ package com.techie.microservices.product.config;
 
 import com.techie.microservices.product.entity.User;
 import com.techie.microservices.product.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
 
-@Configuration
-@RequiredArgsConstructor
+import java.util.concurrent.Executor;
+
+/**
+ * Creates the admin/admin and user/user accounts when they are missing. Runs in the background
+ * once the service is up instead of as a startup runner, which held back readiness for the
+ * MongoDB round trips; a login in the first moments after startup may not find them yet.
+ */
+@Component
+@Slf4j
 public class DataInitializer {
 
     private final UserRepository userRepository;
+    private final Executor executor;
 
-    @Bean
-    public CommandLineRunner initializeUsers() {
-        return args -> {
-            // Only initialize if users don't exist
-            if (userRepository.findByUsername("admin").isEmpty()) {
-                User admin = User.builder()
-                        .username("admin")
-                        .email("admin@mlk.shop")
-                        .password("admin")
-                        .role("admin")
-                        .enabled(true)
-                        .build();
-                userRepository.save(admin);
-                System.out.println("✅ Admin user created: admin/admin");
-            }
+    public DataInitializer(UserRepository userRepository,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                           Executor executor) {
+        this.userRepository = userRepository;
+        this.executor = executor;
+    }
 
-            if (userRepository.findByUsername("user").isEmpty()) {
-                User user = User.builder()
-                        .username("user")
-                        .email("user@mlk.shop")
-                        .password("user")
-                        .role("user")
-                        .enabled(true)
-                        .build();
-                userRepository.save(user);
-                System.out.println("✅ Regular user created: user/user");
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeUsers() {
+        executor.execute(() -> {
+            try {
+                createIfMissing("admin", "admin@mlk.shop", "admin", "admin");
+                createIfMissing("user", "user@mlk.shop", "user", "user");
+            } catch (RuntimeException e) {
+                log.error("Could not create the default users: {}", e.getMessage(), e);
             }
-        };
+        });
+    }
+
+    private void createIfMissing(String username, String email, String password, String role) {
+        if (userRepository.findByUsername(username).isPresent()) {
+            return;
+        }
+        userRepository.save(User.builder()
+                .username(username)
+                .email(email)
+                .password(password)
+                .role(role)
+                .enabled(true)
+                .build());
+        log.info("User created: {}", username);
     }
 }
@@ -1,20 +1,17 @@
 package com.techie.microservices.product.config;
 
-import com.techie.microservices.product.repository.ProductRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.boot.CommandLineRunner;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
 
-@Configuration
-@RequiredArgsConstructor
+@Component
+@Slf4j
 public class DataLoader {
 
-    @Bean
-    public CommandLineRunner loadProducts(ProductRepository productRepository) {
-        return args -> {
-            // Disabled - load products manually via API
-            System.out.println("DataLoader: No products loaded (manual creation only)");
-        };
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadProducts() {
+        // Disabled - load products manually via API
+        log.info("DataLoader: No products loaded (manual creation only)");
     }
 }
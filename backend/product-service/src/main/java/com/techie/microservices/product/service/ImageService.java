@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -32,7 +33,15 @@ public class ImageService {
     @Value("${azure.storage.account-url:}")
     private String accountUrl;
 
-    private BlobContainerClient getContainerClient() {
+    // Built on the first image operation instead of at startup or for every call; the client is thread-safe
+    private final SingletonSupplier<BlobContainerClient> lazyContainerClient =
+            SingletonSupplier.of(this::createContainerClient);
+
+    BlobContainerClient containerClient() {
+        return lazyContainerClient.obtain();
+    }
+
+    private BlobContainerClient createContainerClient() {
         BlobServiceClient blobServiceClient;
         if (!connectionString.isEmpty()) {
             blobServiceClient = new BlobServiceClientBuilder()
@@ -89,7 +98,7 @@ public class ImageService {
             String filename = generateFilename(base64Data);
 
             // Upload to Azure Storage using BinaryData
-            BlobContainerClient containerClient = getContainerClient();
+            BlobContainerClient containerClient = containerClient();
             BlobClient blobClient = containerClient.getBlobClient(filename);
             blobClient.upload(BinaryData.fromBytes(imageBytes), true);
 
@@ -113,7 +122,7 @@ public class ImageService {
         try {
             String filename = generateFilename(file.getOriginalFilename());
             
-            BlobContainerClient containerClient = getContainerClient();
+            BlobContainerClient containerClient = containerClient();
             BlobClient blobClient = containerClient.getBlobClient(filename);
             blobClient.upload(file.getInputStream(), file.getSize(), true);
 
@@ -130,7 +139,7 @@ public class ImageService {
      */
     public byte[] getImageBytes(String filename) throws IOException {
         try {
-            BlobContainerClient containerClient = getContainerClient();
+            BlobContainerClient containerClient = containerClient();
             BlobClient blobClient = containerClient.getBlobClient(filename);
             
             if (!blobClient.exists()) {
@@ -155,7 +164,7 @@ public class ImageService {
             
             // Extract filename from URL
             String filename = extractFilenameFromUrl(imagePath);
-            BlobContainerClient containerClient = getContainerClient();
+            BlobContainerClient containerClient = containerClient();
             containerClient.getBlobClient(filename).delete();
             log.info("Image deleted from Azure Storage: {}", filename);
         } catch (BlobStorageException e) {
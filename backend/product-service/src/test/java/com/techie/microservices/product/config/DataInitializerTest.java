@@ -0,0 +1,56 @@
+package com.techie.microservices.product.config;
+
+import com.techie.microservices.product.entity.User;
+import com.techie.microservices.product.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataInitializerTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Test
+    void initializeUsers_ShouldCreateOnlyMissingUsersOnTheExecutor() {
+        // Arrange
+        List<Runnable> submitted = new ArrayList<>();
+        DataInitializer dataInitializer = new DataInitializer(userRepository, submitted::add);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(User.builder().username("admin").build()));
+        when(userRepository.findByUsername("user")).thenReturn(Optional.empty());
+
+        // Act
+        dataInitializer.initializeUsers();
+
+        // Assert
+        verifyNoInteractions(userRepository);
+        assertEquals(1, submitted.size());
+        submitted.get(0).run();
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(saved.capture());
+        assertEquals("user", saved.getValue().getUsername());
+        assertEquals("user", saved.getValue().getRole());
+    }
+
+    @Test
+    void initializeUsers_WhenRepositoryFails_ShouldNotThrow() {
+        // Arrange
+        DataInitializer dataInitializer = new DataInitializer(userRepository, Runnable::run);
+        when(userRepository.findByUsername(any())).thenThrow(new IllegalStateException("MongoDB is down"));
+
+        // Act & Assert
+        assertDoesNotThrow(dataInitializer::initializeUsers);
+        verify(userRepository, never()).save(any());
+    }
+}
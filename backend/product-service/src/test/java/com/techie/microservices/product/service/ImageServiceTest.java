@@ -0,0 +1,42 @@
+package com.techie.microservices.product.service;
+
+import com.azure.storage.blob.BlobContainerClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageServiceTest {
+
+    @Test
+    void containerClient_ShouldBeBuiltOnceAndShared() {
+        // Arrange
+        ImageService imageService = imageService("", "http://127.0.0.1:10000/devstoreaccount1");
+
+        // Act
+        BlobContainerClient first = imageService.containerClient();
+        BlobContainerClient second = imageService.containerClient();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("product-images", first.getBlobContainerName());
+    }
+
+    @Test
+    void containerClient_WithoutConfiguration_ShouldFailOnFirstUseNotAtConstruction() {
+        // Arrange
+        ImageService imageService = imageService("", "");
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, imageService::containerClient);
+        assertEquals("Azure Storage configuration not found", exception.getMessage());
+    }
+
+    private static ImageService imageService(String connectionString, String accountUrl) {
+        ImageService imageService = new ImageService();
+        ReflectionTestUtils.setField(imageService, "connectionString", connectionString);
+        ReflectionTestUtils.setField(imageService, "containerName", "product-images");
+        ReflectionTestUtils.setField(imageService, "accountUrl", accountUrl);
+        return imageService;
+    }
+}
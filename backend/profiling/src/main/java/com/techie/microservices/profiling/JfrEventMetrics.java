@@ -0,0 +1,117 @@
+package com.techie.microservices.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Streams execution and allocation samples into Micrometer, so the hottest methods and biggest
+ * allocation sites show up next to the latency they cause:
+ * <ul>
+ *   <li>{@code jvm.profile.cpu.samples{method}}: execution samples, one per
+ *   {@code profiling.execution-sample-period} of CPU time on a Java thread</li>
+ *   <li>{@code jvm.profile.allocation{site}}: bytes allocated, each sample weighted by the
+ *   allocations it stands for</li>
+ * </ul>
+ * A sample is attributed to the innermost frame of a class in {@code profiling.streaming.packages},
+ * so time spent in libraries is charged to the service method that called them. Samples without
+ * such a frame, or beyond {@code profiling.streaming.max-sites} distinct methods, are tagged
+ * {@code other}.
+ */
+@Slf4j
+public class JfrEventMetrics implements AutoCloseable {
+
+    static final String OTHER = "other";
+
+    private final MeterRegistry meterRegistry;
+    private final ProfilingProperties properties;
+    private final List<String> packages;
+    private final Map<String, Counter> cpuSamples = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> allocations = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public JfrEventMetrics(ProfilingProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.packages = properties.streaming().packages().stream()
+                .map(name -> name.endsWith(".") ? name : name + ".")
+                .toList();
+    }
+
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.ExecutionSample").withPeriod(properties.executionSamplePeriod());
+        stream.enable("jdk.ObjectAllocationSample")
+                .with("throttle", properties.allocationSamplesPerSecond() + "/s");
+        // Events are consumed as they are flushed, nothing needs to stay on disk
+        stream.setMaxAge(Duration.ofSeconds(10));
+        stream.onEvent("jdk.ExecutionSample", this::onExecutionSample);
+        stream.onEvent("jdk.ObjectAllocationSample", this::onAllocationSample);
+        stream.onError(e -> log.warn("Failed to process JFR event", e));
+        stream.startAsync();
+        log.info("Streaming JFR execution and allocation samples for {} into metrics", packages);
+    }
+
+    private void onExecutionSample(RecordedEvent event) {
+        meter(cpuSamples, siteOf(event.getStackTrace()), method -> Counter.builder("jvm.profile.cpu.samples")
+                .description("JFR execution samples by innermost service method on the stack")
+                .tag("method", method)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    private void onAllocationSample(RecordedEvent event) {
+        meter(allocations, siteOf(event.getStackTrace()), site -> DistributionSummary.builder("jvm.profile.allocation")
+                .description("Bytes allocated by innermost service method on the stack, from JFR allocation samples")
+                .baseUnit("bytes")
+                .tag("site", site)
+                .register(meterRegistry))
+                .record(event.getLong("weight"));
+    }
+
+    private <M> M meter(Map<String, M> meters, String site, Function<String, M> register) {
+        M meter = meters.get(site);
+        if (meter != null) {
+            return meter;
+        }
+        String key = meters.size() < properties.streaming().maxSites() ? site : OTHER;
+        return meters.computeIfAbsent(key, register);
+    }
+
+    private String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return OTHER;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            for (String name : packages) {
+                if (type.startsWith(name)) {
+                    return type + "." + frame.getMethod().getName();
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.techie.microservices.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Owns the service's Flight Recorder recordings. A continuous recording runs from startup with
+ * the JDK's {@code default} settings (about 1% overhead), sampling method execution every
+ * {@code profiling.execution-sample-period} and allocations at
+ * {@code profiling.allocation-samples-per-second}. {@link #dump} writes the last part of it to a
+ * file, which needs no recording to have been started beforehand. {@link #startRecording} runs
+ * one more recording with the same settings until {@link #stopRecording} or its duration ends,
+ * for a profile of exactly the period of interest.
+ */
+@Slf4j
+public class JfrRecorder implements AutoCloseable {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS")
+            .withZone(ZoneOffset.UTC);
+    private static final Pattern DUMP_NAME = Pattern.compile("[\\w.-]+\\.jfr");
+
+    private final ProfilingProperties properties;
+    private final String applicationName;
+    private final Map<String, String> settings;
+    private Recording continuous;
+    private Recording onDemand;
+
+    public JfrRecorder(ProfilingProperties properties, String applicationName) {
+        this.properties = properties;
+        this.applicationName = applicationName;
+        this.settings = lowOverheadSettings(properties);
+    }
+
+    public synchronized void start() {
+        try {
+            Files.createDirectories(properties.dumpDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create JFR dump directory " + properties.dumpDirectory(), e);
+        }
+        continuous = new Recording(settings);
+        continuous.setName(applicationName + "-continuous");
+        continuous.setToDisk(true);
+        continuous.setMaxAge(properties.maxAge());
+        continuous.setMaxSize(properties.maxSize().toBytes());
+        continuous.start();
+        log.info("Continuous JFR recording started, keeping the last {} in {}", properties.maxAge(),
+                properties.dumpDirectory());
+    }
+
+    /**
+     * Starts a recording that is written to the dump directory when stopped.
+     *
+     * @param duration how long to record, at most {@code profiling.max-recording-duration}, which
+     *                 is also used when null
+     */
+    public synchronized RecordingStatus startRecording(@Nullable Duration duration) {
+        if (onDemand != null && onDemand.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("Recording " + onDemand.getName() + " is already running");
+        }
+        closeOnDemand();
+        Duration maxDuration = properties.maxRecordingDuration();
+        Duration recordFor = duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        Path destination = properties.dumpDirectory().resolve(fileName("recording"));
+        onDemand = new Recording(settings);
+        onDemand.setName(destination.getFileName().toString());
+        onDemand.setToDisk(true);
+        onDemand.setDuration(recordFor);
+        try {
+            onDemand.setDestination(destination);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JFR recording to " + destination, e);
+        }
+        onDemand.start();
+        log.info("JFR recording {} started for at most {}", onDemand.getName(), recordFor);
+        return RecordingStatus.of(onDemand);
+    }
+
+    public synchronized Dump stopRecording() {
+        if (onDemand == null || onDemand.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Instant from = onDemand.getStartTime();
+        onDemand.stop();
+        Dump dump = Dump.of(onDemand.getDestination(), from, onDemand.getStopTime(), "recording");
+        closeOnDemand();
+        prune();
+        log.info("JFR recording {} stopped, {} bytes written", dump.name(), dump.size());
+        return dump;
+    }
+
+    /**
+     * Writes the last {@code window} of the continuous recording to the dump directory.
+     *
+     * @param reason short tag, part of the file name
+     */
+    public synchronized Dump dump(Duration window, String reason) {
+        if (continuous == null) {
+            throw new IllegalStateException("Continuous recording is not running");
+        }
+        Instant to = Instant.now();
+        Instant from = to.minus(window);
+        Path destination = properties.dumpDirectory().resolve(fileName(reason));
+        Path whole = null;
+        try {
+            whole = Files.createTempFile(properties.dumpDirectory(), "continuous", ".part");
+            continuous.dump(whole);
+            try (RecordingFile recordingFile = new RecordingFile(whole)) {
+                recordingFile.write(destination, event -> !event.getEndTime().isBefore(from));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump JFR recording to " + destination, e);
+        } finally {
+            deleteQuietly(whole);
+        }
+        prune();
+        Dump dump = Dump.of(destination, from, to, reason);
+        log.info("Dumped the last {} of JFR data to {} ({} bytes)", window, dump.name(), dump.size());
+        return dump;
+    }
+
+    public synchronized Status status() {
+        return new Status(RecordingStatus.of(continuous), RecordingStatus.of(onDemand), dumps());
+    }
+
+    /**
+     * Newest first.
+     */
+    public List<DumpFile> dumps() {
+        List<DumpFile> dumps = new ArrayList<>();
+        for (Path file : dumpFiles()) {
+            try {
+                dumps.add(new DumpFile(file.getFileName().toString(), Files.size(file),
+                        Files.getLastModifiedTime(file).toInstant()));
+            } catch (IOException e) {
+                // Pruned or still being written, leave it out
+            }
+        }
+        return dumps;
+    }
+
+    /**
+     * @return the dump file of that name, or null if there is none or the name is not a plain file name
+     */
+    @Nullable
+    public Path resolveDump(String name) {
+        if (!DUMP_NAME.matcher(name).matches()) {
+            return null;
+        }
+        Path file = properties.dumpDirectory().resolve(name);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeOnDemand();
+        if (continuous != null) {
+            continuous.close();
+            continuous = null;
+        }
+    }
+
+    private void closeOnDemand() {
+        if (onDemand != null) {
+            onDemand.close();
+            onDemand = null;
+        }
+    }
+
+    private String fileName(String reason) {
+        return applicationName + "-" + reason + "-" + FILE_TIME.format(Instant.now()) + ".jfr";
+    }
+
+    private List<Path> dumpFiles() {
+        try (Stream<Path> files = Files.list(properties.dumpDirectory())) {
+            return files.filter(file -> DUMP_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing(JfrRecorder::lastModified).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list JFR dumps in " + properties.dumpDirectory(), e);
+        }
+    }
+
+    private void prune() {
+        List<Path> files = dumpFiles();
+        for (Path file : files.subList(Math.min(properties.maxDumps(), files.size()), files.size())) {
+            deleteQuietly(file);
+        }
+    }
+
+    private static Instant lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant();
+        } catch (IOException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", file, e);
+        }
+    }
+
+    static Map<String, String> lowOverheadSettings(ProfilingProperties properties) {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load the default JFR configuration", e);
+        }
+        String period = properties.executionSamplePeriod().toMillis() + " ms";
+        settings.put("jdk.ExecutionSample#enabled", "true");
+        settings.put("jdk.ExecutionSample#period", period);
+        settings.put("jdk.NativeMethodSample#period", period);
+        settings.put("jdk.ObjectAllocationSample#enabled", "true");
+        settings.put("jdk.ObjectAllocationSample#throttle", properties.allocationSamplesPerSecond() + "/s");
+        // Environment variables and system properties carry credentials, which must not end up in dumps
+        settings.put("jdk.InitialEnvironmentVariable#enabled", "false");
+        settings.put("jdk.InitialSystemProperty#enabled", "false");
+        return settings;
+    }
+
+    public record Status(RecordingStatus continuous, RecordingStatus recording, List<DumpFile> dumps) {
+    }
+
+    public record RecordingStatus(String name, String state, Instant startedAt, Duration duration) {
+
+        @Nullable
+        static RecordingStatus of(@Nullable Recording recording) {
+            if (recording == null) {
+                return null;
+            }
+            return new RecordingStatus(recording.getName(), recording.getState().name().toLowerCase(),
+                    recording.getStartTime(), recording.getDuration());
+        }
+    }
+
+    public record Dump(String name, long size, Instant from, Instant to, String reason) {
+
+        static Dump of(Path file, Instant from, Instant to, String reason) {
+            long size;
+            try {
+                size = Files.size(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read size of " + file, e);
+            }
+            return new Dump(file.getFileName().toString(), size, from, to, reason);
+        }
+    }
+
+    public record DumpFile(String name, long size, Instant createdAt) {
+    }
+}
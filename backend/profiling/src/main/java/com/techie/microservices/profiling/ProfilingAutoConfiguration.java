@@ -0,0 +1,61 @@
+package com.techie.microservices.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import jdk.jfr.FlightRecorder;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Continuous Flight Recorder profiling for every service that has this module on its classpath.
+ * Turned off with {@code profiling.enabled=false}; streaming into metrics and SLO-triggered dumps
+ * can be turned off on their own.
+ */
+@AutoConfiguration(after = CompositeMeterRegistryAutoConfiguration.class)
+@ConditionalOnClass(FlightRecorder.class)
+@ConditionalOnProperty(prefix = "profiling", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingAutoConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public JfrRecorder jfrRecorder(ProfilingProperties properties, Environment environment) {
+        return new JfrRecorder(properties, environment.getProperty("spring.application.name", "application"));
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public ProfilingEndpoint profilingEndpoint(JfrRecorder jfrRecorder, ProfilingProperties properties) {
+        return new ProfilingEndpoint(jfrRecorder, properties.dumpWindow());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "profiling.streaming", name = "enabled", matchIfMissing = true)
+    public JfrEventMetrics jfrEventMetrics(ProfilingProperties properties, MeterRegistry meterRegistry) {
+        return new JfrEventMetrics(properties, meterRegistry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "profiling.slo", name = "enabled", matchIfMissing = true)
+    static class SloConfiguration {
+
+        @Bean
+        public MeterFilter profilingSloThresholdBucket(ProfilingProperties properties) {
+            return SloBreachTrigger.thresholdBucket(properties.slo());
+        }
+
+        @Bean(initMethod = "start", destroyMethod = "close")
+        public SloBreachTrigger sloBreachTrigger(ProfilingProperties properties, JfrRecorder jfrRecorder,
+                                                 MeterRegistry meterRegistry) {
+            return new SloBreachTrigger(properties.slo(), jfrRecorder, meterRegistry);
+        }
+    }
+}
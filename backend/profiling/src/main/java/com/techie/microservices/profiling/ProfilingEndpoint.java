@@ -0,0 +1,62 @@
+package com.techie.microservices.profiling;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Flight Recorder control, exposed as {@code /actuator/profiling}. GET reports the running
+ * recordings and the dumps on disk, {@code GET /actuator/profiling/{name}} downloads a dump for
+ * JDK Mission Control or {@code jfr print}. POST to
+ * <ul>
+ *   <li>{@code /start} starts a recording for an optional {@code duration}</li>
+ *   <li>{@code /stop} stops it and writes it to disk</li>
+ *   <li>{@code /dump} writes the last {@code duration} (default {@code profiling.dump-window}) of the
+ *   continuous recording to disk</li>
+ * </ul>
+ */
+@Endpoint(id = "profiling")
+public class ProfilingEndpoint {
+
+    private final JfrRecorder recorder;
+    private final Duration dumpWindow;
+
+    public ProfilingEndpoint(JfrRecorder recorder, Duration dumpWindow) {
+        this.recorder = recorder;
+        this.dumpWindow = dumpWindow;
+    }
+
+    @ReadOperation
+    public JfrRecorder.Status status() {
+        return recorder.status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource download(@Selector String name) {
+        Path dump = recorder.resolveDump(name);
+        return dump == null ? null : new FileSystemResource(dump);
+    }
+
+    @WriteOperation
+    public Object control(@Selector String action, @Nullable Duration duration) {
+        try {
+            return switch (action) {
+                case "start" -> recorder.startRecording(duration);
+                case "stop" -> recorder.stopRecording();
+                case "dump" -> recorder.dump(duration == null ? dumpWindow : duration, "manual");
+                default -> throw new InvalidEndpointRequestException("Unknown profiling action '" + action + "'",
+                        "Unknown profiling action");
+            };
+        } catch (IllegalStateException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.techie.microservices.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Flight Recorder settings under {@code profiling.*}. The continuous recording keeps the last
+ * {@code max-age} (at most {@code max-size}) of events on disk so a dump can look back in time;
+ * dumps land in {@code dump-directory}, where only the newest {@code max-dumps} are kept.
+ */
+@ConfigurationProperties("profiling")
+public record ProfilingProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("20ms") Duration executionSamplePeriod,
+                                  @DefaultValue("100") int allocationSamplesPerSecond,
+                                  @DefaultValue("10m") Duration maxAge,
+                                  @DefaultValue("250MB") DataSize maxSize,
+                                  Path dumpDirectory,
+                                  @DefaultValue("10") int maxDumps,
+                                  @DefaultValue("1m") Duration dumpWindow,
+                                  @DefaultValue("15m") Duration maxRecordingDuration,
+                                  @DefaultValue Streaming streaming,
+                                  @DefaultValue Slo slo) {
+
+    public ProfilingProperties {
+        if (dumpDirectory == null) {
+            dumpDirectory = Path.of(System.getProperty("java.io.tmpdir"), "jfr");
+        }
+    }
+
+    /**
+     * Hot methods and allocation sites streamed into Micrometer. Samples are attributed to the
+     * innermost frame in one of {@code packages}, at most {@code max-sites} distinct ones per
+     * meter; the rest are tagged {@code other}.
+     */
+    public record Streaming(@DefaultValue("true") boolean enabled,
+                            @DefaultValue("com.techie") List<String> packages,
+                            @DefaultValue("200") int maxSites) {
+    }
+
+    /**
+     * Latency SLO on the {@code meter} timer: when more than {@code max-slow-ratio} of at least
+     * {@code min-requests} requests in a {@code check-interval} take longer than
+     * {@code threshold}, the last {@code dump-window} is dumped, at most once per
+     * {@code cooldown}.
+     */
+    public record Slo(@DefaultValue("true") boolean enabled,
+                      @DefaultValue("http.server.requests") String meter,
+                      @DefaultValue("500ms") Duration threshold,
+                      @DefaultValue("0.01") double maxSlowRatio,
+                      @DefaultValue("100") long minRequests,
+                      @DefaultValue("30s") Duration checkInterval,
+                      @DefaultValue("2m") Duration dumpWindow,
+                      @DefaultValue("15m") Duration cooldown) {
+    }
+}
@@ -0,0 +1,151 @@
+package com.techie.microservices.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.DoubleStream;
+
+/**
+ * Dumps the continuous recording when the latency SLO in {@code profiling.slo.*} is breached, so
+ * the profile of a p99 spike is on disk before anyone gets to look at it.
+ * <p>
+ * Every {@code check-interval} the requests recorded on the SLO timer since the last check are
+ * split into those within {@code threshold} and the slower ones, using a histogram bucket that
+ * {@link #thresholdBucket} adds at exactly the threshold. Bucket counts are expected to be
+ * cumulative, as the Prometheus registry keeps them. Actuator requests are left out.
+ */
+@Slf4j
+public class SloBreachTrigger implements AutoCloseable {
+
+    private final MeterRegistry meterRegistry;
+    private final JfrRecorder recorder;
+    private final ProfilingProperties.Slo slo;
+    private final double thresholdNanos;
+    private final Map<Meter.Id, long[]> previous = new HashMap<>();
+    private final Counter breaches;
+    private Instant lastDump;
+    private boolean missingBucketLogged;
+    private ScheduledExecutorService scheduler;
+
+    public SloBreachTrigger(ProfilingProperties.Slo slo, JfrRecorder recorder, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.recorder = recorder;
+        this.slo = slo;
+        this.thresholdNanos = slo.threshold().toNanos();
+        this.breaches = Counter.builder("jvm.profile.slo.breaches")
+                .description("Checks that found the latency SLO breached, whether or not a dump was taken")
+                .tag("meter", slo.meter())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds the SLO threshold to the boundaries of the SLO timer's histogram.
+     */
+    public static MeterFilter thresholdBucket(ProfilingProperties.Slo slo) {
+        double threshold = slo.threshold().toNanos();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !id.getName().equals(slo.meter())) {
+                    return config;
+                }
+                double[] existing = config.getServiceLevelObjectiveBoundaries();
+                double[] boundaries = existing == null ? new double[]{threshold}
+                        : DoubleStream.concat(Arrays.stream(existing), DoubleStream.of(threshold)).distinct().toArray();
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(boundaries)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("profiling-slo").daemon().factory());
+        long interval = slo.checkInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Dumping JFR data when more than {}% of {} take longer than {}", slo.maxSlowRatio() * 100,
+                slo.meter(), slo.threshold());
+    }
+
+    /**
+     * Compares the requests since the last check with the SLO.
+     *
+     * @return the dump taken, or null if the SLO held or a dump was taken less than a cooldown ago
+     */
+    synchronized JfrRecorder.Dump check(Instant now) {
+        long total = 0;
+        long slow = 0;
+        for (Timer timer : meterRegistry.find(slo.meter()).timers()) {
+            String uri = timer.getId().getTag("uri");
+            if (uri != null && uri.startsWith("/actuator")) {
+                continue;
+            }
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            long count = snapshot.count();
+            long within = withinThreshold(timer.getId(), snapshot);
+            long[] last = previous.put(timer.getId(), new long[]{count, within});
+            if (last == null || last[0] > count) {
+                last = new long[2];
+            }
+            total += count - last[0];
+            slow += Math.max(0, (count - within) - (last[0] - last[1]));
+        }
+        if (total < slo.minRequests() || (double) slow / total <= slo.maxSlowRatio()) {
+            return null;
+        }
+        breaches.increment();
+        if (lastDump != null && now.isBefore(lastDump.plus(slo.cooldown()))) {
+            log.debug("{} of {} requests slower than {}, last dump at {} is still recent", slow, total,
+                    slo.threshold(), lastDump);
+            return null;
+        }
+        lastDump = now;
+        log.warn("{} of {} requests on {} took longer than {}, dumping the last {} of JFR data", slow, total,
+                slo.meter(), slo.threshold(), slo.dumpWindow());
+        return recorder.dump(slo.dumpWindow(), "slo-breach");
+    }
+
+    private long withinThreshold(Meter.Id id, HistogramSnapshot snapshot) {
+        for (CountAtBucket bucket : snapshot.histogramCounts()) {
+            if (Math.abs(bucket.bucket() - thresholdNanos) < 1) {
+                return (long) bucket.count();
+            }
+        }
+        if (!missingBucketLogged) {
+            log.warn("Timer {} has no bucket at {}, latency SLO cannot be checked", id, slo.threshold());
+            missingBucketLogged = true;
+        }
+        return snapshot.count();
+    }
+
+    private void checkSafely() {
+        try {
+            check(Instant.now());
+        } catch (RuntimeException e) {
+            log.error("Failed to check latency SLO for profiling", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.techie.microservices.profiling.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+
+import java.util.List;
+
+/**
+ * Marks the bean definitions declared by classes in the given packages lazy, unless they already
+ * say whether they are lazy. A bean from a {@code @Bean} method counts as declared by the class of
+ * that method. Controllers stay mapped: their request mappings are found from the bean type, the
+ * bean itself is created on the first request.
+ */
+@Slf4j
+public class LazyPackagesPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> packagePrefixes;
+
+    public LazyPackagesPostProcessor(List<String> packages) {
+        this.packagePrefixes = packages.stream().map(name -> name.endsWith(".") ? name : name + ".").toList();
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        int deferred = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            if (beanFactory.getBeanDefinition(name) instanceof AbstractBeanDefinition definition
+                    && definition.getLazyInit() == null && isInPackages(declaringClassName(definition))) {
+                definition.setLazyInit(true);
+                deferred++;
+            }
+        }
+        if (deferred > 0) {
+            log.info("Deferred {} beans from {} until first use", deferred, packagePrefixes);
+        }
+    }
+
+    private boolean isInPackages(String className) {
+        return className != null && packagePrefixes.stream().anyMatch(className::startsWith);
+    }
+
+    private static String declaringClassName(BeanDefinition definition) {
+        if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() != null) {
+            return annotated.getFactoryMethodMetadata().getDeclaringClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
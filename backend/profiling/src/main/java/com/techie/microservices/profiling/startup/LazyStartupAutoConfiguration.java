@@ -0,0 +1,26 @@
+package com.techie.microservices.profiling.startup;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Leaves infrastructure that no request depends on until it is first used, so services become
+ * ready sooner: by default springdoc, only needed once someone opens /api-docs or the Swagger UI.
+ * Unlike {@code spring.main.lazy-initialization} the services' own beans stay eager, so a broken
+ * configuration still fails the startup. Turned off with {@code startup.lazy.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(prefix = "startup.lazy", name = "enabled", matchIfMissing = true)
+public class LazyStartupAutoConfiguration {
+
+    // Bound by hand: bean factory post-processors are created before configuration properties beans
+    @Bean
+    public static LazyPackagesPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        LazyStartupProperties properties = Binder.get(environment)
+                .bindOrCreate("startup.lazy", LazyStartupProperties.class);
+        return new LazyPackagesPostProcessor(properties.packages());
+    }
+}
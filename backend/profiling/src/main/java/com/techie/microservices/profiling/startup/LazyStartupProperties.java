@@ -0,0 +1,15 @@
+package com.techie.microservices.profiling.startup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Lazy startup under {@code startup.lazy.*}: beans declared by a class in one of
+ * {@code packages} are created when first used instead of while the service starts.
+ */
+@ConfigurationProperties("startup.lazy")
+public record LazyStartupProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("org.springdoc") List<String> packages) {
+}
@@ -0,0 +1,55 @@
+package com.techie.microservices.profiling.tracing;
+
+import brave.Tracing;
+import brave.TracingCustomizer;
+import brave.handler.SpanHandler;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tail sampling for services traced with Brave. Replaces the probability sampler of
+ * {@code management.tracing.sampling.probability}, which only applies with
+ * {@code tracing.tail-sampling.enabled=false}, and puts {@link TailSamplingSpanHandler} in front
+ * of the exporting span handlers.
+ */
+// No ordering after the meter registry: Prometheus exemplars already order BraveAutoConfiguration
+// before it, and the registry is injected by type when the span handler is created
+@AutoConfiguration(before = BraveAutoConfiguration.class)
+@ConditionalOnClass(Tracing.class)
+@ConditionalOnProperty(prefix = "tracing.tail-sampling", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(TailSamplingProperties.class)
+public class TailSamplingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Sampler braveSampler() {
+        // Record every trace, TailSamplingSpanHandler decides which ones are exported
+        return Sampler.ALWAYS_SAMPLE;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public TailSamplingSpanHandler tailSamplingSpanHandler(TailSamplingProperties properties,
+                                                           MeterRegistry meterRegistry) {
+        return new TailSamplingSpanHandler(properties, meterRegistry);
+    }
+
+    @Bean
+    public TracingCustomizer tailSamplingTracingCustomizer(TailSamplingSpanHandler tailSamplingSpanHandler) {
+        return builder -> {
+            List<SpanHandler> exporters = new ArrayList<>(builder.spanHandlers());
+            builder.clearSpanHandlers();
+            tailSamplingSpanHandler.wrap(exporters);
+            builder.addSpanHandler(tailSamplingSpanHandler);
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.techie.microservices.profiling.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tail sampling under {@code tracing.tail-sampling.*}. A trace is exported when one of its spans
+ * failed or took at least {@code latency-threshold}, when a server span's route matches one of
+ * {@code routes} (Ant-style patterns), or when its trace ID falls in the {@code baseline-rate}
+ * share of traces. The decision is made when the trace's local root span ends, or after
+ * {@code decision-wait} for traces whose root has not ended. At most {@code max-traces} traces
+ * of up to {@code max-spans-per-trace} spans each are held.
+ */
+@ConfigurationProperties("tracing.tail-sampling")
+public record TailSamplingProperties(@DefaultValue("true") boolean enabled,
+                                     @DefaultValue("500ms") Duration latencyThreshold,
+                                     @DefaultValue List<String> routes,
+                                     @DefaultValue("0.01") double baselineRate,
+                                     @DefaultValue("5s") Duration decisionWait,
+                                     @DefaultValue("10000") int maxTraces,
+                                     @DefaultValue("1000") int maxSpansPerTrace) {
+
+    public TailSamplingProperties {
+        if (baselineRate < 0 || baselineRate > 1) {
+            throw new IllegalArgumentException("Baseline rate must be between 0 and 1");
+        }
+    }
+}
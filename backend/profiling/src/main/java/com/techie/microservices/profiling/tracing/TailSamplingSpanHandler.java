@@ -0,0 +1,299 @@
+package com.techie.microservices.profiling.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds finished spans per trace and hands a trace to the exporting span handlers only once it is
+ * known to be worth keeping, see {@link TailSamplingProperties}. Every trace has to be recorded
+ * for this, so the tracer samples everything and this handler decides what leaves the process.
+ * <p>
+ * Each service decides on its own part of a trace. The baseline is taken by trace ID, so all
+ * services keep the same baseline traces whole; a trace kept for being slow or failing in one
+ * service may miss the spans of services where it was fast. Spans that end after their trace was
+ * decided follow that decision.
+ */
+@Slf4j
+public class TailSamplingSpanHandler extends SpanHandler implements AutoCloseable {
+
+    private static final String[] ROUTE_TAGS = {"uri", "http.route", "http.path"};
+
+    private final TailSamplingProperties properties;
+    private final long latencyThresholdMicros;
+    private final long baselineBoundary;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, BufferedTrace> traces = new LinkedHashMap<>();
+    private final Map<String, Boolean> decided;
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+    private final Counter spansExported;
+    private final Counter spansDropped;
+    private volatile List<SpanHandler> delegates = List.of();
+    private ScheduledExecutorService scheduler;
+
+    public TailSamplingSpanHandler(TailSamplingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.latencyThresholdMicros = properties.latencyThreshold().toNanos() / 1000;
+        this.baselineBoundary = (long) (Long.MAX_VALUE * properties.baselineRate());
+        this.decided = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > properties.maxTraces();
+            }
+        };
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder("tracing.tail.traces")
+                    .description("Traces decided by tail sampling, by the reason they were kept or dropped")
+                    .tag("decision", decision.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.spansExported = Counter.builder("tracing.tail.spans")
+                .description("Finished spans after tail sampling")
+                .tag("result", "exported")
+                .register(meterRegistry);
+        this.spansDropped = Counter.builder("tracing.tail.spans")
+                .description("Finished spans after tail sampling")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("tracing.tail.buffered", this, TailSamplingSpanHandler::bufferedTraces)
+                .description("Traces waiting for a tail sampling decision")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sets the handlers kept traces are passed on to, in order.
+     */
+    public void wrap(List<SpanHandler> spanHandlers) {
+        this.delegates = spanHandlers.stream()
+                .filter(spanHandler -> spanHandler != this)
+                .toList();
+    }
+
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("tail-sampling").daemon().factory());
+        long interval = Math.max(100, properties.decisionWait().toMillis() / 5);
+        scheduler.scheduleWithFixedDelay(this::decideStaleSafely, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Tail sampling traces slower than {}, failed, on routes {} or in a {}% baseline",
+                properties.latencyThreshold(), properties.routes(), properties.baselineRate() * 100);
+    }
+
+    @Override
+    public boolean begin(TraceContext context, MutableSpan span, TraceContext parent) {
+        for (SpanHandler delegate : delegates) {
+            if (!delegate.begin(context, span, parent)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return forward(context, span, cause);
+        }
+        String traceId = context.traceIdString();
+        List<BufferedTrace> ready = new ArrayList<>(1);
+        Boolean keep;
+        synchronized (this) {
+            keep = decided.get(traceId);
+            if (keep == null) {
+                BufferedTrace trace = traces.computeIfAbsent(traceId, id -> new BufferedTrace(context));
+                if (!trace.add(context, span)) {
+                    spansDropped.increment();
+                }
+                if (context.isLocalRoot()) {
+                    ready.add(traces.remove(traceId));
+                } else if (traces.size() > properties.maxTraces()) {
+                    // Decide the oldest trace early rather than grow without bound
+                    Iterator<BufferedTrace> oldest = traces.values().iterator();
+                    ready.add(oldest.next());
+                    oldest.remove();
+                }
+                ready.forEach(this::recordDecision);
+            }
+        }
+        if (keep != null) {
+            if (keep) {
+                spansExported.increment();
+                forward(context, span, cause);
+            } else {
+                spansDropped.increment();
+            }
+        }
+        ready.forEach(this::flush);
+        return false;
+    }
+
+    @Override
+    public boolean handlesAbandoned() {
+        return delegates.stream().anyMatch(SpanHandler::handlesAbandoned);
+    }
+
+    /**
+     * Decides traces that have waited {@code decision-wait} without their local root ending.
+     */
+    void decideStale(long now) {
+        long waitNanos = properties.decisionWait().toNanos();
+        List<BufferedTrace> stale = new ArrayList<>();
+        synchronized (this) {
+            Iterator<BufferedTrace> iterator = traces.values().iterator();
+            while (iterator.hasNext()) {
+                BufferedTrace trace = iterator.next();
+                if (now - trace.bufferedAt < waitNanos) {
+                    break;
+                }
+                iterator.remove();
+                recordDecision(trace);
+                stale.add(trace);
+            }
+        }
+        stale.forEach(this::flush);
+    }
+
+    private void decideStaleSafely() {
+        try {
+            decideStale(System.nanoTime());
+        } catch (RuntimeException e) {
+            log.error("Failed to decide buffered traces", e);
+        }
+    }
+
+    private void recordDecision(BufferedTrace trace) {
+        trace.decision = decide(trace);
+        decided.put(trace.traceIdString, trace.decision.keep());
+        decisions.get(trace.decision).increment();
+    }
+
+    private Decision decide(BufferedTrace trace) {
+        if (trace.failed) {
+            return Decision.ERROR;
+        }
+        if (trace.longestMicros >= latencyThresholdMicros) {
+            return Decision.SLOW;
+        }
+        if (trace.routeMatched) {
+            return Decision.ROUTE;
+        }
+        if ((trace.traceId & Long.MAX_VALUE) < baselineBoundary || properties.baselineRate() >= 1) {
+            return Decision.BASELINE;
+        }
+        return Decision.DROPPED;
+    }
+
+    private void flush(BufferedTrace trace) {
+        if (!trace.decision.keep()) {
+            spansDropped.increment(trace.spans.size());
+            return;
+        }
+        spansExported.increment(trace.spans.size());
+        for (BufferedSpan buffered : trace.spans) {
+            forward(buffered.context, buffered.span, Cause.FINISHED);
+        }
+    }
+
+    private boolean forward(TraceContext context, MutableSpan span, Cause cause) {
+        for (SpanHandler delegate : delegates) {
+            if (!delegate.end(context, span, cause)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesRoute(MutableSpan span) {
+        if (properties.routes().isEmpty()) {
+            return false;
+        }
+        for (String tag : ROUTE_TAGS) {
+            String route = span.tag(tag);
+            if (route != null) {
+                for (String pattern : properties.routes()) {
+                    if (pathMatcher.match(pattern, route)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean failed(MutableSpan span) {
+        if (span.error() != null || span.tag("error") != null) {
+            return true;
+        }
+        String status = span.tag("status");
+        return status != null && status.startsWith("5");
+    }
+
+    private synchronized int bufferedTraces() {
+        return traces.size();
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    enum Decision {
+        ERROR, SLOW, ROUTE, BASELINE, DROPPED;
+
+        boolean keep() {
+            return this != DROPPED;
+        }
+    }
+
+    private record BufferedSpan(TraceContext context, MutableSpan span) {
+    }
+
+    private final class BufferedTrace {
+
+        private final long traceId;
+        private final String traceIdString;
+        private final long bufferedAt = System.nanoTime();
+        private final List<BufferedSpan> spans = new ArrayList<>();
+        private boolean failed;
+        private boolean routeMatched;
+        private long longestMicros;
+        private Decision decision;
+
+        private BufferedTrace(TraceContext context) {
+            this.traceId = context.traceId();
+            this.traceIdString = context.traceIdString();
+        }
+
+        /**
+         * @return false if the trace already holds {@code max-spans-per-trace} spans
+         */
+        private boolean add(TraceContext context, MutableSpan span) {
+            failed |= failed(span);
+            routeMatched |= matchesRoute(span);
+            if (span.startTimestamp() != 0 && span.finishTimestamp() != 0) {
+                longestMicros = Math.max(longestMicros, span.finishTimestamp() - span.startTimestamp());
+            }
+            if (spans.size() >= properties.maxSpansPerTrace()) {
+                return false;
+            }
+            spans.add(new BufferedSpan(context, span));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.techie.microservices.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventMetricsTest {
+
+    private static volatile Object sink;
+
+    @Test
+    void start_ShouldAttributeSamplesToServiceMethods() throws Exception {
+        // Arrange
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ProfilingProperties properties = JfrRecorderTest.properties(Map.of(
+                "profiling.execution-sample-period", "10ms",
+                "profiling.streaming.packages", JfrEventMetricsTest.class.getPackageName()));
+        String method = JfrEventMetricsTest.class.getName() + ".burn";
+
+        // Act
+        try (JfrEventMetrics jfrEventMetrics = new JfrEventMetrics(properties, meterRegistry)) {
+            jfrEventMetrics.start();
+            long deadline = System.nanoTime() + 20_000_000_000L;
+            while (System.nanoTime() < deadline
+                    && (cpuSamples(meterRegistry, method) == null || allocations(meterRegistry, method) == null)) {
+                burn();
+            }
+        }
+
+        // Assert
+        assertNotNull(cpuSamples(meterRegistry, method));
+        assertTrue(cpuSamples(meterRegistry, method).count() > 0);
+        assertNotNull(allocations(meterRegistry, method));
+        assertTrue(allocations(meterRegistry, method).totalAmount() > 0);
+    }
+
+    private static void burn() {
+        long deadline = System.nanoTime() + 200_000_000L;
+        while (System.nanoTime() < deadline) {
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                values.add(Integer.toString(i));
+            }
+            sink = values;
+        }
+    }
+
+    private static Counter cpuSamples(MeterRegistry meterRegistry, String method) {
+        return meterRegistry.find("jvm.profile.cpu.samples").tag("method", method).counter();
+    }
+
+    private static DistributionSummary allocations(MeterRegistry meterRegistry, String method) {
+        return meterRegistry.find("jvm.profile.allocation").tag("site", method).summary();
+    }
+}
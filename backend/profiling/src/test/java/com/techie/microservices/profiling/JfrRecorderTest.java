@@ -0,0 +1,159 @@
+package com.techie.microservices.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrRecorderTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private JfrRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    @Test
+    void dump_ShouldOnlyKeepEventsOfTheWindow() throws Exception {
+        // Arrange
+        recorder = start(Map.of());
+        Thread.sleep(1500);
+        Instant windowStart = Instant.now();
+
+        // Act
+        JfrRecorder.Dump dump = recorder.dump(Duration.ofMillis(500), "manual");
+
+        // Assert
+        Path file = dumpDirectory.resolve(dump.name());
+        assertTrue(dump.name().startsWith("order-service-manual-"));
+        assertEquals(Files.size(file), dump.size());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertFalse(events.isEmpty());
+        Instant from = windowStart.minusMillis(500).minusMillis(100);
+        assertTrue(events.stream().allMatch(event -> !event.getEndTime().isBefore(from)));
+    }
+
+    @Test
+    void dump_ShouldKeepOnlyNewestDumps() throws Exception {
+        // Arrange
+        recorder = start(Map.of("profiling.max-dumps", "2"));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            recorder.dump(Duration.ofSeconds(1), "manual" + i);
+            Thread.sleep(20);
+        }
+
+        // Assert
+        List<JfrRecorder.DumpFile> dumps = recorder.dumps();
+        assertEquals(2, dumps.size());
+        assertTrue(dumps.get(0).name().contains("manual2"));
+        assertTrue(dumps.get(1).name().contains("manual1"));
+    }
+
+    @Test
+    void stopRecording_ShouldWriteRecordingToDumpDirectory() throws Exception {
+        // Arrange
+        recorder = start(Map.of());
+        JfrRecorder.RecordingStatus started = recorder.startRecording(Duration.ofHours(1));
+
+        // Act
+        Thread.sleep(200);
+        JfrRecorder.Dump dump = recorder.stopRecording();
+
+        // Assert - capped at profiling.max-recording-duration
+        assertEquals(Duration.ofMinutes(15), started.duration());
+        assertEquals("running", started.state());
+        assertEquals(started.name(), dump.name());
+        assertTrue(Files.size(dumpDirectory.resolve(dump.name())) > 0);
+        assertNull(recorder.status().recording());
+        assertThrows(IllegalStateException.class, recorder::stopRecording);
+    }
+
+    @Test
+    void startRecording_WhenAlreadyRunning_ShouldFail() {
+        // Arrange
+        recorder = start(Map.of());
+        recorder.startRecording(null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> recorder.startRecording(null));
+    }
+
+    @Test
+    void resolveDump_ShouldOnlyResolvePlainDumpNames() throws Exception {
+        // Arrange
+        recorder = start(Map.of());
+        JfrRecorder.Dump dump = recorder.dump(Duration.ofSeconds(1), "manual");
+        Files.writeString(dumpDirectory.getParent().resolve("secret.jfr"), "secret");
+
+        // Act & Assert
+        assertEquals(dumpDirectory.resolve(dump.name()), recorder.resolveDump(dump.name()));
+        assertNull(recorder.resolveDump("../secret.jfr"));
+        assertNull(recorder.resolveDump("missing.jfr"));
+    }
+
+    @Test
+    void lowOverheadSettings_ShouldApplySamplingRates() {
+        // Arrange
+        ProfilingProperties properties = properties(Map.of(
+                "profiling.execution-sample-period", "50ms",
+                "profiling.allocation-samples-per-second", "20"));
+
+        // Act
+        Map<String, String> settings = JfrRecorder.lowOverheadSettings(properties);
+
+        // Assert
+        assertEquals("50 ms", settings.get("jdk.ExecutionSample#period"));
+        assertEquals("20/s", settings.get("jdk.ObjectAllocationSample#throttle"));
+        assertEquals("true", settings.get("jdk.ExecutionSample#enabled"));
+    }
+
+    @Test
+    void dump_ShouldNotRecordEnvironmentVariablesOrSystemProperties() throws Exception {
+        // Arrange
+        recorder = start(Map.of());
+
+        // Act
+        JfrRecorder.Dump dump = recorder.dump(Duration.ofMinutes(1), "manual");
+
+        // Assert - other events written once per chunk are there, these two are not
+        List<String> eventTypes = RecordingFile.readAllEvents(dumpDirectory.resolve(dump.name())).stream()
+                .map(event -> event.getEventType().getName())
+                .toList();
+        assertTrue(eventTypes.contains("jdk.JVMInformation"));
+        assertFalse(eventTypes.contains("jdk.InitialEnvironmentVariable"));
+        assertFalse(eventTypes.contains("jdk.InitialSystemProperty"));
+    }
+
+    private JfrRecorder start(Map<String, String> overrides) {
+        Map<String, String> values = new java.util.HashMap<>(overrides);
+        values.put("profiling.dump-directory", dumpDirectory.toString());
+        JfrRecorder jfrRecorder = new JfrRecorder(properties(values), "order-service");
+        jfrRecorder.start();
+        return jfrRecorder;
+    }
+
+    static ProfilingProperties properties(Map<String, String> values) {
+        return new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("profiling", ProfilingProperties.class);
+    }
+}
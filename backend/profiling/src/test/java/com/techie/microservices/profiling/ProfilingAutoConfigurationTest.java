@@ -0,0 +1,69 @@
+package com.techie.microservices.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.autoconfigure.endpoint.EndpointAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfilingAutoConfigurationTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+                    EndpointAutoConfiguration.class,
+                    ProfilingAutoConfiguration.class));
+
+    @Test
+    void shouldProfileAndAddSloBucket() {
+        contextRunner
+                .withPropertyValues("profiling.dump-directory=" + dumpDirectory, "profiling.slo.threshold=250ms",
+                        "management.endpoints.web.exposure.include=profiling")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(JfrRecorder.class)
+                            .hasSingleBean(JfrEventMetrics.class)
+                            .hasSingleBean(SloBreachTrigger.class)
+                            .hasSingleBean(ProfilingEndpoint.class);
+                    assertThat(context.getBean(ProfilingEndpoint.class).status().continuous().state())
+                            .isEqualTo("running");
+
+                    Timer timer = context.getBean(MeterRegistry.class).timer("http.server.requests");
+                    timer.record(Duration.ofMillis(100));
+                    assertThat(Arrays.stream(timer.takeSnapshot().histogramCounts()).map(CountAtBucket::bucket))
+                            .contains((double) Duration.ofMillis(250).toNanos());
+                });
+    }
+
+    @Test
+    void shouldBackOffWhenDisabled() {
+        contextRunner
+                .withPropertyValues("profiling.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(JfrRecorder.class)
+                        .doesNotHaveBean(ProfilingEndpoint.class));
+    }
+
+    @Test
+    void shouldSkipStreamingAndSloWhenTurnedOff() {
+        contextRunner
+                .withPropertyValues("profiling.dump-directory=" + dumpDirectory, "profiling.streaming.enabled=false",
+                        "profiling.slo.enabled=false")
+                .run(context -> assertThat(context).hasSingleBean(JfrRecorder.class)
+                        .doesNotHaveBean(JfrEventMetrics.class)
+                        .doesNotHaveBean(SloBreachTrigger.class));
+    }
+}
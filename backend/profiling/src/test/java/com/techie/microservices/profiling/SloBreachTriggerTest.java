@@ -0,0 +1,102 @@
+package com.techie.microservices.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SloBreachTriggerTest {
+
+    @Mock
+    private JfrRecorder recorder;
+
+    private MeterRegistry meterRegistry;
+    private SloBreachTrigger trigger;
+
+    @BeforeEach
+    void setUp() {
+        ProfilingProperties properties = JfrRecorderTest.properties(Map.of(
+                "profiling.slo.threshold", "200ms",
+                "profiling.slo.max-slow-ratio", "0.05",
+                "profiling.slo.min-requests", "20",
+                "profiling.slo.cooldown", "10m"));
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(SloBreachTrigger.thresholdBucket(properties.slo()));
+        trigger = new SloBreachTrigger(properties.slo(), recorder, meterRegistry);
+    }
+
+    @Test
+    void check_WhenTooManySlowRequests_ShouldDumpOncePerCooldown() {
+        // Arrange
+        JfrRecorder.Dump dump = new JfrRecorder.Dump("order-service-slo-breach.jfr", 1, Instant.now(), Instant.now(),
+                "slo-breach");
+        when(recorder.dump(any(), eq("slo-breach"))).thenReturn(dump);
+        Instant now = Instant.now();
+        record("/order", 90, Duration.ofMillis(50));
+        record("/order", 10, Duration.ofMillis(800));
+
+        // Act
+        JfrRecorder.Dump first = trigger.check(now);
+        record("/order", 90, Duration.ofMillis(50));
+        record("/order", 10, Duration.ofMillis(800));
+        JfrRecorder.Dump duringCooldown = trigger.check(now.plusSeconds(30));
+
+        // Assert
+        assertSame(dump, first);
+        assertNull(duringCooldown);
+        verify(recorder, times(1)).dump(Duration.ofMinutes(2), "slo-breach");
+        assertEquals(2, meterRegistry.get("jvm.profile.slo.breaches").counter().count());
+    }
+
+    @Test
+    void check_ShouldOnlyCountRequestsSinceLastCheck() {
+        // Arrange
+        record("/order", 90, Duration.ofMillis(50));
+        record("/order", 10, Duration.ofMillis(800));
+        trigger.check(Instant.now().minusSeconds(3600));
+        reset(recorder);
+
+        // Act - the next interval is healthy
+        record("/order", 100, Duration.ofMillis(50));
+        JfrRecorder.Dump dump = trigger.check(Instant.now());
+
+        // Assert
+        assertNull(dump);
+        verifyNoInteractions(recorder);
+    }
+
+    @Test
+    void check_ShouldIgnoreActuatorAndQuietIntervals() {
+        // Arrange
+        record("/actuator/prometheus", 100, Duration.ofSeconds(1));
+        record("/order", 10, Duration.ofSeconds(1));
+
+        // Act
+        JfrRecorder.Dump dump = trigger.check(Instant.now());
+
+        // Assert - ten slow orders are below min-requests
+        assertNull(dump);
+        verifyNoInteractions(recorder);
+    }
+
+    private void record(String uri, int requests, Duration latency) {
+        Timer timer = Timer.builder("http.server.requests").tag("uri", uri).register(meterRegistry);
+        for (int i = 0; i < requests; i++) {
+            timer.record(latency);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.techie.microservices.profiling.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LazyStartupAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(LazyStartupAutoConfiguration.class));
+
+    @Test
+    void shouldDeferBeansOfTheConfiguredPackagesOnly() {
+        contextRunner
+                .withPropertyValues("startup.lazy.packages=java.util")
+                .withBean("deferred", ArrayList.class)
+                .withBean("eager", StringBuilder.class)
+                .run(context -> {
+                    assertThat(context.getBeanFactory().getBeanDefinition("deferred").isLazyInit()).isTrue();
+                    assertThat(context.getBeanFactory().getBeanDefinition("eager").isLazyInit()).isFalse();
+                });
+    }
+
+    @Test
+    void shouldTreatBeanMethodsAsDeclaredByTheirConfigurationClass() {
+        contextRunner
+                .withPropertyValues("startup.lazy.packages=com.techie.microservices.profiling.startup")
+                .withUserConfiguration(ApiDocsConfiguration.class)
+                .run(context -> {
+                    ApiDocsConfiguration configuration = context.getBean(ApiDocsConfiguration.class);
+                    assertThat(configuration.created).hasValue(0);
+
+                    context.getBean("apiDocs");
+
+                    assertThat(configuration.created).hasValue(1);
+                });
+    }
+
+    @Test
+    void shouldKeepBeansThatSayTheyAreEager() {
+        contextRunner
+                .withPropertyValues("startup.lazy.packages=java.util")
+                .withBean("eager", ArrayList.class, ArrayList::new, definition -> definition.setLazyInit(false))
+                .run(context -> assertThat(context.getBeanFactory().getBeanDefinition("eager").isLazyInit()).isFalse());
+    }
+
+    @Test
+    void shouldDeferNothingWhenDisabled() {
+        contextRunner
+                .withPropertyValues("startup.lazy.enabled=false", "startup.lazy.packages=java.util")
+                .withBean("eager", ArrayList.class)
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(LazyPackagesPostProcessor.class);
+                    assertThat(context.getBeanFactory().getBeanDefinition("eager").isLazyInit()).isFalse();
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ApiDocsConfiguration {
+
+        final AtomicInteger created = new AtomicInteger();
+
+        @Bean
+        StringBuilder apiDocs() {
+            created.incrementAndGet();
+            return new StringBuilder("openapi");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.techie.microservices.profiling.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.sampler.Sampler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.prometheus.PrometheusMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.tracing.MicrometerTracingAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.tracing.prometheus.PrometheusExemplarsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+                    SimpleMetricsExportAutoConfiguration.class, CompositeMeterRegistryAutoConfiguration.class,
+                    BraveAutoConfiguration.class, TailSamplingAutoConfiguration.class))
+            .withUserConfiguration(ExportConfiguration.class);
+
+    @Test
+    void shouldRecordEverythingAndExportOnlyKeptTraces() {
+        contextRunner
+                .withPropertyValues("management.tracing.sampling.probability=0.0",
+                        "tracing.tail-sampling.baseline-rate=0", "tracing.tail-sampling.latency-threshold=200ms")
+                .run(context -> {
+                    assertThat(context.getBean(Sampler.class)).isSameAs(Sampler.ALWAYS_SAMPLE);
+                    Tracer tracer = context.getBean(Tracer.class);
+                    List<MutableSpan> exported = context.getBean(ExportConfiguration.class).exported;
+
+                    tracer.newTrace().name("fast").start().finish();
+                    Span slow = tracer.newTrace().name("slow").start(1_000_000);
+                    slow.finish(1_500_000);
+
+                    assertThat(exported).extracting(MutableSpan::name).containsExactly("slow");
+                });
+    }
+
+    @Test
+    void shouldLeaveHeadSamplingAloneWhenDisabled() {
+        contextRunner
+                .withPropertyValues("tracing.tail-sampling.enabled=false", "management.tracing.sampling.probability=1.0")
+                .run(context -> {
+                    assertThat(context).doesNotHaveBean(TailSamplingSpanHandler.class);
+                    context.getBean(Tracer.class).newTrace().name("fast").start().finish();
+                    assertThat(context.getBean(ExportConfiguration.class).exported).hasSize(1);
+                });
+    }
+
+    @Test
+    void shouldStartAlongsidePrometheusExemplars() {
+        contextRunner
+                .withConfiguration(AutoConfigurations.of(MicrometerTracingAutoConfiguration.class,
+                        PrometheusExemplarsAutoConfiguration.class, PrometheusMetricsExportAutoConfiguration.class))
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(TailSamplingSpanHandler.class);
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class ExportConfiguration {
+
+        final List<MutableSpan> exported = new CopyOnWriteArrayList<>();
+
+        @Bean
+        SpanHandler exportingSpanHandler() {
+            return new SpanHandler() {
+                @Override
+                public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                    exported.add(span);
+                    return true;
+                }
+            };
+        }
+    }
+}
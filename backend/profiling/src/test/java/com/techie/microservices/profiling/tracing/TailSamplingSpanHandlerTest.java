@@ -0,0 +1,185 @@
+package com.techie.microservices.profiling.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanHandlerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<MutableSpan> exported = new CopyOnWriteArrayList<>();
+    private TailSamplingSpanHandler handler;
+    private Tracing tracing;
+    private Tracer tracer;
+
+    @AfterEach
+    void tearDown() {
+        tracing.close();
+    }
+
+    @Test
+    void end_ShouldExportSlowTracesAndDropFastOnes() {
+        // Arrange
+        start(Map.of());
+
+        // Act
+        trace("/order", 100, false);
+        trace("/order", 700, false);
+
+        // Assert - the slow trace is exported whole, root and child
+        assertEquals(2, exported.size());
+        assertTrue(exported.stream().allMatch(span -> span.traceId().equals(exported.get(0).traceId())));
+        assertEquals(1, decisions("slow"));
+        assertEquals(1, decisions("dropped"));
+        assertEquals(2, meterRegistry.get("tracing.tail.spans").tag("result", "dropped").counter().count());
+    }
+
+    @Test
+    void end_ShouldExportFailedTraces() {
+        // Arrange
+        start(Map.of());
+
+        // Act
+        trace("/order", 10, true);
+
+        // Assert
+        assertEquals(2, exported.size());
+        assertEquals(1, decisions("error"));
+    }
+
+    @Test
+    void end_ShouldExportTracesOnConfiguredRoutes() {
+        // Arrange
+        start(Map.of("tracing.tail-sampling.routes", "/order/**"));
+
+        // Act
+        trace("/order/cart", 10, false);
+        trace("/product", 10, false);
+
+        // Assert
+        assertEquals(2, exported.size());
+        assertEquals("/order/cart", exported.get(1).tag("uri"));
+        assertEquals(1, decisions("route"));
+    }
+
+    @Test
+    void end_ShouldKeepBaselineByTraceId() {
+        // Arrange
+        start(Map.of("tracing.tail-sampling.baseline-rate", "0.5"));
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            trace("/order", 10, false);
+        }
+
+        // Assert - about half, the same half in every service as it depends on the trace ID alone
+        double baseline = decisions("baseline");
+        assertTrue(baseline > 400 && baseline < 600, "baseline traces: " + baseline);
+        assertEquals(2 * baseline, exported.size());
+    }
+
+    @Test
+    void end_WhenSpanEndsAfterDecision_ShouldFollowDecision() {
+        // Arrange
+        start(Map.of());
+        Span root = tracer.newTrace().name("http post /order");
+        long start = tracing.clock(root.context()).currentTimeMicroseconds();
+        root.start(start);
+        Span late = tracer.newChild(root.context()).name("send order-placed").start(start);
+
+        // Act
+        root.finish(start + 800_000);
+        late.finish(start + 900_000);
+
+        // Assert
+        assertEquals(2, exported.size());
+        assertEquals("send order-placed", exported.get(1).name());
+    }
+
+    @Test
+    void decideStale_ShouldDecideTracesWhoseRootNeverEnded() {
+        // Arrange
+        start(Map.of("tracing.tail-sampling.decision-wait", "1s"));
+        Span root = tracer.newTrace().name("kafka consume").start();
+        Span child = tracer.newChild(root.context()).name("send email").start();
+        child.error(new IllegalStateException("SMTP down"));
+        child.finish();
+
+        // Act
+        handler.decideStale(System.nanoTime());
+        int beforeWait = exported.size();
+        handler.decideStale(System.nanoTime() + Duration.ofSeconds(1).toNanos());
+
+        // Assert
+        assertEquals(0, beforeWait);
+        assertEquals(1, exported.size());
+        assertEquals(1, decisions("error"));
+    }
+
+    @Test
+    void end_WhenTooManyTracesBuffered_ShouldDecideOldestEarly() {
+        // Arrange
+        start(Map.of("tracing.tail-sampling.max-traces", "2"));
+
+        // Act - three traces whose roots have not ended yet
+        for (int i = 0; i < 3; i++) {
+            Span root = tracer.newTrace().name("http get /order").start();
+            tracer.newChild(root.context()).name("select").start().finish();
+        }
+
+        // Assert
+        assertEquals(1, decisions("dropped"));
+        assertEquals(2.0, meterRegistry.get("tracing.tail.buffered").gauge().value());
+    }
+
+    private void trace(String uri, long durationMillis, boolean childFails) {
+        Span root = tracer.newTrace().name("http post " + uri).tag("uri", uri);
+        long start = tracing.clock(root.context()).currentTimeMicroseconds();
+        root.start(start);
+        Span child = tracer.newChild(root.context()).name("http get /api/inventory").start(start + 1_000);
+        if (childFails) {
+            child.error(new IllegalStateException("inventory-service unavailable"));
+        }
+        child.finish(start + 2_000);
+        root.finish(start + durationMillis * 1000);
+    }
+
+    private void start(Map<String, String> overrides) {
+        Map<String, String> values = new HashMap<>(overrides);
+        values.putIfAbsent("tracing.tail-sampling.baseline-rate", "0");
+        TailSamplingProperties properties = new Binder(new MapConfigurationPropertySource(values))
+                .bindOrCreate("tracing.tail-sampling", TailSamplingProperties.class);
+        handler = new TailSamplingSpanHandler(properties, meterRegistry);
+        handler.wrap(List.of(new SpanHandler() {
+            @Override
+            public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+                exported.add(span);
+                return true;
+            }
+        }));
+        tracing = Tracing.newBuilder().sampler(Sampler.ALWAYS_SAMPLE).addSpanHandler(handler).build();
+        tracer = tracing.tracer();
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry.get("tracing.tail.traces").tag("decision", decision).counter().count();
+    }
+}
@@ -21,6 +21,13 @@ echo.
 
 cd backend
 
+echo !YELLOW!Running Shared Module Tests...!NC!
+call mvn install -pl profiling,order-events -DskipITs
+if %errorlevel% neq 0 (
+    echo !RED!Shared module tests failed!NC!
+    exit /b 1
+)
+
 echo !YELLOW!Running Product Service Tests...!NC!
 call mvn test -pl product-service -DskipITs
 if %errorlevel% neq 0 (
@@ -17,6 +17,9 @@ echo -e "${YELLOW}========================================${NC}\n"
 echo -e "${YELLOW}[1/2] Running Backend Tests...${NC}\n"
 cd backend
 
+echo -e "${YELLOW}Running Shared Module Tests...${NC}"
+mvn install -pl profiling,order-events -DskipITs || { echo -e "${RED}Shared module tests failed${NC}"; exit 1; }
+
 echo -e "${YELLOW}Running Product Service Tests...${NC}"
 mvn test -pl product-service -DskipITs || { echo -e "${RED}Product Service tests failed${NC}"; exit 1; }
 